@@ -1,14 +1,23 @@
 package fr.eql.ai116.duflot.backend;
 
+import fr.eql.ai116.duflot.backend.cli.BatchParsingRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class DemoApplication {
 
 	public static void main(String[] args) {
+		// "batch" runs the headless corpus parser instead of the web application
+		if (args.length > 0 && BatchParsingRunner.COMMAND.equals(args[0])) {
+			System.exit(BatchParsingRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+		}
 		SpringApplication.run(DemoApplication.class, args);
 	}
 
@@ -0,0 +1,55 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+/**
+ * Constants of the binary artifact format shared by ArtifactWriter and ArtifactReader.
+ *
+ * Layout: MAGIC (4 bytes), FORMAT_VERSION (1 byte), flags (1 byte), then the body, deflated
+ * when FLAG_DEFLATE is set. The body starts with the extraction version, job ID and file name,
+ * followed by tagged records (LINE, SECTION) and an END tag.
+ *
+ * Integers are unsigned LEB128 varints, signed values are zigzag encoded first. Coordinates and
+ * sizes are stored in hundredths of a point: line Y as a delta from the previous line, item X
+ * as a delta from the previous item of the line, item Y as a delta from its line. Font names are
+ * dictionary encoded: the first use of a font writes its name, later uses only its index.
+ *
+ * Version 2 adds the page index of each line (varint before its Y); its items share it.
+ */
+public final class ArtifactFormat {
+
+    public static final byte[] MAGIC = {'R', 'P', 'A', 'C'};
+    public static final int FORMAT_VERSION = 2;
+
+    public static final int FLAG_DEFLATE = 1;
+    // Reserved for a faster block codec (e.g. LZ4) if one is added to the build
+    public static final int FLAG_RESERVED_LZ4 = 1 << 1;
+
+    static final int TAG_END = 0;
+    static final int TAG_LINE = 1;
+    static final int TAG_SECTION = 2;
+
+    static final int ITEM_BOLD = 1;
+    static final int ITEM_EOL = 1 << 1;
+
+    /** Coordinates are quantized to 1/QUANTUM of a point. */
+    static final float QUANTUM = 100f;
+
+    /**
+     * Kinds of record found in an artifact stream.
+     */
+    public enum RecordType {
+        LINE,
+        SECTION,
+        END
+    }
+
+    private ArtifactFormat() {
+    }
+
+    static int quantize(float value) {
+        return Math.round(value * QUANTUM);
+    }
+
+    static float dequantize(int value) {
+        return value / QUANTUM;
+    }
+}
@@ -0,0 +1,203 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streaming reader for the binary artifact format described in ArtifactFormat.
+ * Call next() to get the type of the following record, then readLine() or readSection().
+ */
+public final class ArtifactReader implements Closeable {
+
+    private static final SectionType[] SECTION_TYPES = SectionType.values();
+
+    private final InputStream rawIn;
+    private final InputStream in;
+    private final Inflater inflater;
+    private final List<String> fontDictionary = new ArrayList<>();
+    private final int extractionVersion;
+    private final String jobId;
+    private final String fileName;
+    private int previousLineY;
+
+    /**
+     * Reads and validates the header.
+     *
+     * @param source Stream positioned at the start of an artifact, closed with this reader
+     * @throws IOException If the stream is not a supported artifact
+     */
+    public ArtifactReader(InputStream source) throws IOException {
+        this.rawIn = new BufferedInputStream(source);
+        byte[] magic = rawIn.readNBytes(ArtifactFormat.MAGIC.length);
+        if (!Arrays.equals(magic, ArtifactFormat.MAGIC)) {
+            throw new IOException("Not a pipeline artifact stream");
+        }
+        int formatVersion = rawIn.read();
+        if (formatVersion != ArtifactFormat.FORMAT_VERSION) {
+            throw new IOException("Unsupported artifact format version " + formatVersion);
+        }
+        int flags = rawIn.read();
+        if (flags < 0 || (flags & ~ArtifactFormat.FLAG_DEFLATE) != 0) {
+            throw new IOException("Unsupported artifact flags " + flags);
+        }
+        if ((flags & ArtifactFormat.FLAG_DEFLATE) != 0) {
+            this.inflater = new Inflater();
+            this.in = new BufferedInputStream(new InflaterInputStream(rawIn, inflater, 8192));
+        } else {
+            this.inflater = null;
+            this.in = rawIn;
+        }
+        this.extractionVersion = readVarint();
+        this.jobId = readString();
+        this.fileName = readString();
+    }
+
+    public int getExtractionVersion() { return extractionVersion; }
+    public String getJobId() { return jobId; }
+    public String getFileName() { return fileName; }
+
+    /**
+     * Reads the tag of the next record.
+     */
+    public ArtifactFormat.RecordType next() throws IOException {
+        int tag = readByte();
+        switch (tag) {
+            case ArtifactFormat.TAG_LINE:
+                return ArtifactFormat.RecordType.LINE;
+            case ArtifactFormat.TAG_SECTION:
+                return ArtifactFormat.RecordType.SECTION;
+            case ArtifactFormat.TAG_END:
+                return ArtifactFormat.RecordType.END;
+            default:
+                throw new IOException("Corrupted artifact stream, unknown tag " + tag);
+        }
+    }
+
+    /**
+     * Reads the body of a LINE record.
+     */
+    public ResumeLineEntity readLine() throws IOException {
+        int pageIndex = readVarint();
+        int lineY = previousLineY + readSignedVarint();
+        previousLineY = lineY;
+
+        ResumeLineEntity line = new ResumeLineEntity();
+        line.setY(ArtifactFormat.dequantize(lineY));
+        line.setPageIndex(pageIndex);
+        int itemCount = readVarint();
+        int previousX = 0;
+        for (int i = 0; i < itemCount; i++) {
+            String text = readString();
+            int x = previousX + readSignedVarint();
+            previousX = x;
+            int y = lineY + readSignedVarint();
+            int width = readSignedVarint();
+            int height = readSignedVarint();
+            String fontName = readFont();
+            int fontSize = readSignedVarint();
+            int flags = readByte();
+            ResumeTextItemEntity item = new ResumeTextItemEntity(text,
+                    ArtifactFormat.dequantize(x), ArtifactFormat.dequantize(y),
+                    ArtifactFormat.dequantize(width), ArtifactFormat.dequantize(height),
+                    fontName, ArtifactFormat.dequantize(fontSize), (flags & ArtifactFormat.ITEM_BOLD) != 0);
+            item.setHasEOL((flags & ArtifactFormat.ITEM_EOL) != 0);
+            item.setPageIndex(pageIndex);
+            line.addItem(item);
+        }
+        return line;
+    }
+
+    /**
+     * Reads the body of a SECTION record, including its lines.
+     */
+    public ResumeSectionEntity readSection() throws IOException {
+        int ordinal = readVarint();
+        if (ordinal < 0 || ordinal >= SECTION_TYPES.length) {
+            throw new IOException("Corrupted artifact stream, unknown section type " + ordinal);
+        }
+        ResumeSectionEntity section = new ResumeSectionEntity(SECTION_TYPES[ordinal], readString());
+        int lineCount = readVarint();
+        for (int i = 0; i < lineCount; i++) {
+            section.addLine(readLine());
+        }
+        return section;
+    }
+
+    private String readFont() throws IOException {
+        int index = readVarint();
+        if (index < fontDictionary.size()) {
+            return fontDictionary.get(index);
+        }
+        if (index != fontDictionary.size()) {
+            throw new IOException("Corrupted artifact stream, font index " + index + " out of order");
+        }
+        String name = readString();
+        fontDictionary.add(name);
+        return name;
+    }
+
+    private String readString() throws IOException {
+        int lengthPlusOne = readVarint();
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        if (lengthPlusOne < 0) {
+            throw new IOException("Corrupted artifact stream, string length " + lengthPlusOne);
+        }
+        byte[] bytes = in.readNBytes(lengthPlusOne - 1);
+        if (bytes.length != lengthPlusOne - 1) {
+            throw new EOFException("Truncated artifact stream");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readSignedVarint() throws IOException {
+        int raw = readVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted artifact stream, varint too long");
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Truncated artifact stream");
+        }
+        return b;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            rawIn.close();
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+}
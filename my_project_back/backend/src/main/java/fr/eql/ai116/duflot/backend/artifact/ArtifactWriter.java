@@ -0,0 +1,166 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Streaming writer for the binary artifact format described in ArtifactFormat.
+ * Records are written as they come, nothing is buffered beyond the output stream itself.
+ */
+public final class ArtifactWriter implements Closeable {
+
+    private final OutputStream rawOut;
+    private final OutputStream out;
+    private final DeflaterOutputStream deflaterOut;
+    private final Deflater deflater;
+    private final Map<String, Integer> fontDictionary = new HashMap<>();
+    private int previousLineY;
+    private boolean closed;
+
+    /**
+     * Writes the header and prepares the body stream.
+     *
+     * @param target Destination stream, closed with this writer
+     * @param extractionVersion Version of the extraction code that produced the data
+     * @param jobId Job that produced the data (may be null)
+     * @param fileName Original file name (may be null)
+     * @param deflate Whether the body should be deflated
+     */
+    public ArtifactWriter(OutputStream target, int extractionVersion, String jobId, String fileName,
+                          boolean deflate) throws IOException {
+        this.rawOut = new BufferedOutputStream(target);
+        rawOut.write(ArtifactFormat.MAGIC);
+        rawOut.write(ArtifactFormat.FORMAT_VERSION);
+        rawOut.write(deflate ? ArtifactFormat.FLAG_DEFLATE : 0);
+        if (deflate) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+            this.deflaterOut = new DeflaterOutputStream(rawOut, deflater, 8192);
+            this.out = new BufferedOutputStream(deflaterOut);
+        } else {
+            this.deflater = null;
+            this.deflaterOut = null;
+            this.out = rawOut;
+        }
+        writeVarint(extractionVersion);
+        writeString(jobId);
+        writeString(fileName);
+    }
+
+    /**
+     * Writes one line with its items.
+     */
+    public void writeLine(ResumeLineEntity line) throws IOException {
+        out.write(ArtifactFormat.TAG_LINE);
+        writeLineBody(line);
+    }
+
+    /**
+     * Writes a section header followed by its lines.
+     */
+    public void writeSection(ResumeSectionEntity section) throws IOException {
+        out.write(ArtifactFormat.TAG_SECTION);
+        writeVarint(section.getType().ordinal());
+        writeString(section.getTitleFound());
+        writeVarint(section.getLines().size());
+        for (ResumeLineEntity line : section.getLines()) {
+            writeLineBody(line);
+        }
+    }
+
+    private void writeLineBody(ResumeLineEntity line) throws IOException {
+        writeVarint(line.getPageIndex());
+        int lineY = ArtifactFormat.quantize(line.getY());
+        writeSignedVarint(lineY - previousLineY);
+        previousLineY = lineY;
+
+        writeVarint(line.getItems().size());
+        int previousX = 0;
+        for (ResumeTextItemEntity item : line.getItems()) {
+            writeString(item.getText());
+            int x = ArtifactFormat.quantize(item.getX());
+            writeSignedVarint(x - previousX);
+            previousX = x;
+            writeSignedVarint(ArtifactFormat.quantize(item.getY()) - lineY);
+            writeSignedVarint(ArtifactFormat.quantize(item.getWidth()));
+            writeSignedVarint(ArtifactFormat.quantize(item.getHeight()));
+            writeFont(item.getFontName());
+            writeSignedVarint(ArtifactFormat.quantize(item.getFontSize()));
+            int flags = (item.isBold() ? ArtifactFormat.ITEM_BOLD : 0) | (item.isHasEOL() ? ArtifactFormat.ITEM_EOL : 0);
+            out.write(flags);
+        }
+    }
+
+    private void writeFont(String fontName) throws IOException {
+        String key = fontName != null ? fontName : "";
+        Integer index = fontDictionary.get(key);
+        if (index != null) {
+            writeVarint(index);
+            return;
+        }
+        // A new font gets the next index; the reader recognises it and reads the name inline
+        int newIndex = fontDictionary.size();
+        fontDictionary.put(key, newIndex);
+        writeVarint(newIndex);
+        writeString(key);
+    }
+
+    /**
+     * Nullable string: length + 1 as varint (0 means null), then UTF-8 bytes.
+     */
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private void writeSignedVarint(int value) throws IOException {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    private void writeVarint(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Writes the END tag and flushes. Closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.write(ArtifactFormat.TAG_END);
+        out.flush();
+        try {
+            if (deflaterOut != null) {
+                deflaterOut.finish();
+            }
+            rawOut.close();
+        } finally {
+            // A Deflater we created ourselves is not released by DeflaterOutputStream
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * File-system store for PipelineArtifacts, one file per document hash, written with ArtifactWriter.
+ *
+ * Each file records the EXTRACTION_VERSION it was produced with. Bump it whenever Step 1 or
+ * Step 2 changes (stripper, layout analysis, line grouping) so stale artifacts are ignored and rebuilt;
+ * changes to section heuristics or attribute extraction do not need a bump.
+ * <p>
+ * The files hold the text of the resumes, so the store is off by default. When on, files are
+ * deleted {@code max-age-hours} after they were written and the oldest go first past
+ * {@code max-bytes}; turning the store off deletes the files left in its directory at startup.
+ */
+@Component
+public class PipelineArtifactStore {
+
+    private static final Logger logger = LogManager.getLogger(PipelineArtifactStore.class);
+
+    public static final int EXTRACTION_VERSION = 4;
+
+    private static final String EXTENSION = ".rpa";
+
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    @Value("${resume.artifacts.enabled:false}")
+    private boolean enabled;
+
+    @Value("${resume.artifacts.dir:${java.io.tmpdir}/resume-artifacts}")
+    private String directory;
+
+    // Deflate trades a little CPU for roughly 3x smaller files, see ArtifactCodecBenchmark
+    @Value("${resume.artifacts.deflate:true}")
+    private boolean deflate;
+
+    @Value("${resume.artifacts.max-age-hours:168}")
+    private long maxAgeHours;
+
+    @Value("${resume.artifacts.max-bytes:536870912}")
+    private long maxBytes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void purgeIfDisabled() {
+        if (enabled) {
+            return;
+        }
+        List<StoredFile> files = listFiles();
+        for (StoredFile file : files) {
+            delete(file.path);
+        }
+        if (!files.isEmpty()) {
+            logger.info("Pipeline artifacts are disabled, deleted {} files left in {}", files.size(), directory);
+        }
+    }
+
+    /**
+     * Deletes the files older than the maximum age, then the oldest ones until the store fits in
+     * its maximum size.
+     */
+    @Scheduled(fixedDelayString = "${resume.artifacts.cleanup-interval-ms:600000}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+        List<StoredFile> files = new ArrayList<>(listFiles());
+        files.sort(Comparator.comparingLong(file -> file.lastModified));
+        long expiredBefore = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(maxAgeHours);
+        long totalBytes = 0;
+        for (StoredFile file : files) {
+            totalBytes += file.size;
+        }
+        int deleted = 0;
+        for (StoredFile file : files) {
+            if (file.lastModified >= expiredBefore && totalBytes <= maxBytes) {
+                break;
+            }
+            if (delete(file.path)) {
+                totalBytes -= file.size;
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Evicted {} pipeline artifact files, {} bytes left", deleted, totalBytes);
+        }
+    }
+
+    /**
+     * Stores the artifacts of a document, replacing any previous version atomically.
+     */
+    public void save(PipelineArtifacts artifacts) {
+        if (!enabled) {
+            return;
+        }
+        Path target = pathFor(artifacts.getDocumentHash());
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), artifacts.getDocumentHash(), TEMP_EXTENSION);
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    write(artifacts, out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Gone once moved, otherwise a partial file nobody will ever load
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // The cache is an optimisation, never fail a job because of it
+            logger.warn("Could not store pipeline artifacts for {}: {}", artifacts.getDocumentHash(), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the artifacts for a document hash, if present and produced by the current extraction version.
+     */
+    public Optional<PipelineArtifacts> load(String documentHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Path source = pathFor(documentHash);
+        if (!Files.exists(source)) {
+            return Optional.empty();
+        }
+        try (InputStream in = Files.newInputStream(source)) {
+            return Optional.ofNullable(read(documentHash, in));
+        } catch (IOException e) {
+            logger.warn("Could not read pipeline artifacts for {}: {}", documentHash, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return The hashes of every stored document
+     */
+    public List<String> listDocumentHashes() {
+        if (!enabled) {
+            return List.of();
+        }
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .map(name -> name.substring(0, name.length() - EXTENSION.length()))
+                    .toList();
+        } catch (IOException e) {
+            logger.error("Could not list pipeline artifacts in {}", root, e);
+            return List.of();
+        }
+    }
+
+    private Path pathFor(String documentHash) {
+        return Paths.get(directory, documentHash + EXTENSION);
+    }
+
+    /**
+     * A stored artifact, or a temporary file a failed write left behind.
+     */
+    private static class StoredFile {
+        final Path path;
+        final long lastModified;
+        final long size;
+
+        StoredFile(Path path, BasicFileAttributes attributes) {
+            this.path = path;
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+        }
+    }
+
+    // Only the files this store writes: the directory may be shared with other data
+    private List<StoredFile> listFiles() {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        List<StoredFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(EXTENSION) && !name.endsWith(TEMP_EXTENSION)) {
+                    continue;
+                }
+                try {
+                    files.add(new StoredFile(path, Files.readAttributes(path, BasicFileAttributes.class)));
+                } catch (IOException e) {
+                    // Deleted or replaced meanwhile
+                    logger.debug("Skipping pipeline artifact {}: {}", path, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not list pipeline artifacts in {}", root, e);
+        }
+        return files;
+    }
+
+    private static boolean delete(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete pipeline artifact {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private void write(PipelineArtifacts artifacts, OutputStream target) throws IOException {
+        try (ArtifactWriter writer = new ArtifactWriter(target, EXTRACTION_VERSION,
+                artifacts.getJobId(), artifacts.getFileName(), deflate)) {
+            for (ResumeLineEntity line : artifacts.getLines()) {
+                writer.writeLine(line);
+            }
+        }
+    }
+
+    private static PipelineArtifacts read(String documentHash, InputStream source) throws IOException {
+        try (ArtifactReader reader = new ArtifactReader(source)) {
+            if (reader.getExtractionVersion() != EXTRACTION_VERSION) {
+                logger.debug("Ignoring artifacts for {} produced by extraction version {}",
+                        documentHash, reader.getExtractionVersion());
+                return null;
+            }
+            List<ResumeLineEntity> lines = new ArrayList<>();
+            ArtifactFormat.RecordType record;
+            while ((record = reader.next()) != ArtifactFormat.RecordType.END) {
+                if (record == ArtifactFormat.RecordType.LINE) {
+                    lines.add(reader.readLine());
+                } else {
+                    // Sections are not part of extraction artifacts, skip them
+                    reader.readSection();
+                }
+            }
+            return new PipelineArtifacts(documentHash, reader.getJobId(), reader.getFileName(), lines);
+        }
+    }
+}
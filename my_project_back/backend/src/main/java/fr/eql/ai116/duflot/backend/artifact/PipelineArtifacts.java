@@ -0,0 +1,42 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output of the extraction half of the pipeline (Step 1 text items grouped by Step 2 into lines)
+ * for one document. Everything after Step 2 can be re-run from these without touching the PDF.
+ */
+public class PipelineArtifacts {
+
+    private final String documentHash;
+    private final String jobId;
+    private final String fileName;
+    private final List<ResumeLineEntity> lines;
+
+    public PipelineArtifacts(String documentHash, String jobId, String fileName, List<ResumeLineEntity> lines) {
+        this.documentHash = documentHash;
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.lines = lines;
+    }
+
+    public String getDocumentHash() { return documentHash; }
+    public String getJobId() { return jobId; }
+    public String getFileName() { return fileName; }
+    public List<ResumeLineEntity> getLines() { return lines; }
+
+    /**
+     * @return The Step 1 text items, in line order
+     */
+    public List<ResumeTextItemEntity> getTextItems() {
+        List<ResumeTextItemEntity> items = new ArrayList<>();
+        for (ResumeLineEntity line : lines) {
+            items.addAll(line.getItems());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,241 @@
+package fr.eql.ai116.duflot.backend.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifactStore;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.extraction.EducationExtractor;
+import fr.eql.ai116.duflot.backend.extraction.ExperienceExtractor;
+import fr.eql.ai116.duflot.backend.extraction.LanguagesExtractor;
+import fr.eql.ai116.duflot.backend.extraction.ProjectsExtractor;
+import fr.eql.ai116.duflot.backend.extraction.SkillMatcher;
+import fr.eql.ai116.duflot.backend.extraction.SkillsExtractor;
+import fr.eql.ai116.duflot.backend.layout.LayoutAnalyzer;
+import fr.eql.ai116.duflot.backend.layout.RunningTextFilter;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingHelper;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.service.impl.ResumeParsingServiceImpl;
+import fr.eql.ai116.duflot.backend.service.impl.SectionExtractionServiceImpl;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Headless batch mode: parses every PDF under a directory and writes one NDJSON line per document.
+ *
+ * Usage: java -jar backend.jar batch --input=/archive [--output=results.ndjson] [--parallelism=8]
+ * Any other --key=value argument is passed to Spring as a property (e.g. --resume.artifacts.enabled=true).
+ *
+ * Only the parsing beans are started: no web server, no datasource, no JPA.
+ */
+public final class BatchParsingRunner {
+
+    public static final String COMMAND = "batch";
+
+    // The beans needed to run ResumeParsingService.parseResume, nothing else
+    private static final Class<?>[] PARSING_COMPONENTS = {
+            ResumeParsingServiceImpl.class,
+            ResumeParsingHelper.class,
+            LayoutAnalyzer.class,
+            RunningTextFilter.class,
+            PipelineArtifactStore.class,
+            ParsingMetrics.class,
+            SectionExtractionServiceImpl.class,
+            ExperienceExtractor.class,
+            EducationExtractor.class,
+            SkillsExtractor.class,
+            SkillMatcher.class,
+            LanguagesExtractor.class,
+            ProjectsExtractor.class
+    };
+
+    private final Path input;
+    private final Path output;
+    private final int parallelism;
+    private final PrintStream console;
+
+    private BatchParsingRunner(Path input, Path output, int parallelism, PrintStream console) {
+        this.input = input;
+        this.output = output;
+        this.parallelism = parallelism;
+        this.console = console;
+    }
+
+    /**
+     * Entry point, called from DemoApplication when the first argument is "batch".
+     *
+     * @param args The arguments following "batch"
+     * @return The process exit code
+     */
+    public static int run(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--input=") || arg.startsWith("--output=") || arg.startsWith("--parallelism=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        if (!options.containsKey("input")) {
+            System.err.println("Usage: batch --input=<dir> [--output=results.ndjson] [--parallelism=N] [--spring.property=value...]");
+            return 2;
+        }
+        Path input = Paths.get(options.get("input"));
+        if (!Files.isDirectory(input)) {
+            System.err.println("Input directory not found: " + input.toAbsolutePath());
+            return 2;
+        }
+        Path output = Paths.get(options.getOrDefault("output", "results.ndjson"));
+        int parallelism = options.containsKey("parallelism")
+                ? Integer.parseInt(options.get("parallelism"))
+                : Runtime.getRuntime().availableProcessors();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(parsingComponents())
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(springArgs.toArray(new String[0]));
+        try {
+            ResumeParsingService parsingService = context.getBean(ResumeParsingService.class);
+            return new BatchParsingRunner(input, output, parallelism, System.out).process(parsingService);
+        } catch (IOException e) {
+            System.err.println("Batch run failed: " + e.getMessage());
+            return 1;
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * The components a context needs to run ResumeParsingService outside the web application.
+     */
+    public static Class<?>[] parsingComponents() {
+        return PARSING_COMPONENTS.clone();
+    }
+
+    private int process(ResumeParsingService parsingService) throws IOException {
+        List<Path> pdfFiles;
+        try (Stream<Path> files = Files.walk(input)) {
+            pdfFiles = files.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+                    .sorted()
+                    .toList();
+        }
+        console.printf("Parsing %d PDF files from %s with %d threads%n", pdfFiles.size(), input.toAbsolutePath(), parallelism);
+
+        ObjectMapper mapper = new ObjectMapper();
+        long[] latenciesNanos = new long[pdfFiles.size()];
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long start = System.nanoTime();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < pdfFiles.size(); i++) {
+                int index = i;
+                executor.execute(() -> {
+                    String json = parseOne(parsingService, mapper, pdfFiles.get(index), latenciesNanos, index, failures);
+                    synchronized (writer) {
+                        try {
+                            writer.write(json);
+                            writer.newLine();
+                        } catch (IOException e) {
+                            System.err.println("Could not write result for " + pdfFiles.get(index) + ": " + e.getMessage());
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            return 1;
+        }
+
+        printSummary(pdfFiles.size(), failures.get(), System.nanoTime() - start, latenciesNanos);
+        return failures.get() == 0 ? 0 : 1;
+    }
+
+    private String parseOne(ResumeParsingService parsingService, ObjectMapper mapper, Path pdf,
+                            long[] latenciesNanos, int index, AtomicInteger failures) {
+        String relativePath = input.relativize(pdf).toString();
+        ParsingTraceDTO traceData = new ParsingTraceDTO(relativePath, pdf.getFileName().toString(), TraceLevel.SUMMARY);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("file", relativePath);
+        long start = System.nanoTime();
+        try {
+            ResumeDTO resume = parsingService.parseResume(pdf.toFile(), traceData);
+            resume.setFileName(pdf.getFileName().toString());
+            long elapsed = System.nanoTime() - start;
+            resume.setParseTime(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            latenciesNanos[index] = elapsed;
+            result.put("status", Status.SUCCESS);
+            result.put("parseTimeMs", resume.getParseTime());
+            result.put("data", resume);
+        } catch (Exception e) {
+            latenciesNanos[index] = System.nanoTime() - start;
+            failures.incrementAndGet();
+            result.put("status", Status.FAILURE);
+            result.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        try {
+            return mapper.writeValueAsString(result);
+        } catch (IOException e) {
+            return "{\"file\":" + quote(relativePath) + ",\"status\":\"FAILURE\",\"error\":\"unserializable result\"}";
+        }
+    }
+
+    private void printSummary(int documents, int failures, long wallNanos, long[] latenciesNanos) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, latenciesNanos.length);
+        Arrays.sort(sorted);
+        double seconds = wallNanos / 1e9;
+        console.println("--- Batch summary ---");
+        console.printf("Documents  : %d (%d succeeded, %d failed)%n", documents, documents - failures, failures);
+        console.printf("Wall time  : %.2f s%n", seconds);
+        console.printf("Throughput : %.1f docs/s%n", seconds > 0 ? documents / seconds : 0.0);
+        console.printf("Latency    : p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0);
+        console.printf("Results    : %s%n", output.toAbsolutePath());
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array, in milliseconds.
+     */
+    static double percentileMillis(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, rank - 1))] / 1e6;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
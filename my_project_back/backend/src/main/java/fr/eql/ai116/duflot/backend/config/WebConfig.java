@@ -0,0 +1,19 @@
+package fr.eql.ai116.duflot.backend.config;
+
+import fr.eql.ai116.duflot.backend.controller.IdempotencyKeyInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private IdempotencyKeyInterceptor idempotencyKeyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idempotencyKeyInterceptor).addPathPatterns("/api/resume/parse");
+    }
+}
@@ -0,0 +1,64 @@
+package fr.eql.ai116.duflot.backend.controller;
+
+import fr.eql.ai116.duflot.backend.artifact.DocumentHasher;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * The caller a job is accounted to: rate limits, fair queue turns, cancellation rights and
+ * idempotency keys all hang on this id, so a caller must not be able to choose it.
+ */
+@Component
+public class ClientIdResolver {
+
+    // Enough of the SHA-256 to tell keys apart in metrics and client-weights, without revealing them
+    private static final int KEY_ID_HEX_LENGTH = 16;
+
+    private final List<byte[]> apiKeyDigests;
+
+    /**
+     * @param apiKeys Comma-separated integration keys accepted in X-Api-Key
+     */
+    public ClientIdResolver(@Value("${resume.api-keys:}") String apiKeys) {
+        this.apiKeyDigests = Arrays.stream(apiKeys.split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(ClientIdResolver::digest)
+                .toList();
+    }
+
+    /**
+     * The authenticated principal, else a configured API key, else the remote address. Unknown
+     * keys are ignored, and a known key is identified by its hash: the key itself would end up in
+     * metrics.
+     */
+    public String resolve(String apiKey, Principal principal, HttpServletRequest request) {
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        if (apiKey != null && !apiKey.isBlank()) {
+            byte[] digest = digest(apiKey.trim());
+            // Constant-time comparison, a known key cannot be guessed byte by byte
+            boolean known = false;
+            for (byte[] configured : apiKeyDigests) {
+                known |= MessageDigest.isEqual(configured, digest);
+            }
+            if (known) {
+                return "key:" + HexFormat.of().formatHex(digest).substring(0, KEY_ID_HEX_LENGTH);
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static byte[] digest(String apiKey) {
+        return DocumentHasher.newDigest().digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
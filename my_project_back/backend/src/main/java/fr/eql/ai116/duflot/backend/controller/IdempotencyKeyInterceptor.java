@@ -0,0 +1,61 @@
+package fr.eql.ai116.duflot.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.job.ParseJobScheduler;
+import fr.eql.ai116.duflot.backend.service.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Optional;
+
+/**
+ * Answers a repeated POST /api/resume/parse before its arguments are resolved. With
+ * spring.servlet.multipart.resolve-lazily the upload is then never read nor validated again.
+ * A first attempt goes through: ResumeController reserves its key, which settles concurrent ones.
+ */
+@Component
+public class IdempotencyKeyInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LogManager.getLogger(IdempotencyKeyInterceptor.class);
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ParseJobScheduler parseJobScheduler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientIdResolver clientIdResolver;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String idempotencyKey = request.getHeader(ResumeController.IDEMPOTENCY_KEY);
+        if (!HttpMethod.POST.matches(request.getMethod()) || idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > ResumeController.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return true;
+        }
+        String clientId = clientIdResolver.resolve(request.getHeader("X-Api-Key"), request.getUserPrincipal(), request);
+        Optional<String> jobId = idempotencyStore.find(ResumeController.storedIdempotencyKey(clientId, idempotencyKey));
+        if (jobId.isEmpty()) {
+            return true;
+        }
+        logger.info("Repeated {} for Job ID: {}, upload not read", ResumeController.IDEMPOTENCY_KEY, jobId.get());
+        response.setStatus(HttpStatus.ACCEPTED.value());
+        response.setHeader(ResumeController.IDEMPOTENT_REPLAYED, "true");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ResumeController.replayBody(jobId.get(), parseJobScheduler.getStatus(jobId.get())));
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package fr.eql.ai116.duflot.backend.controller;
+
+import fr.eql.ai116.duflot.backend.entity.dto.ReanalysisReportDTO;
+import fr.eql.ai116.duflot.backend.service.ResumeReanalysisService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/resume/reanalysis")
+@CrossOrigin(origins = "http://127.0.0.1:5500")
+public class ReanalysisController {
+
+    private static final Logger logger = LogManager.getLogger(ReanalysisController.class);
+
+    @Autowired
+    private ResumeReanalysisService reanalysisService;
+
+    /**
+     * Starts re-analysing every cached document with the current section heuristics.
+     * Returns 409 if a run is already in progress.
+     */
+    @PostMapping
+    public ResponseEntity<ReanalysisReportDTO> startReanalysis() {
+        if (!reanalysisService.startReanalysis()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reanalysisService.getReport());
+        }
+        logger.info("Archive re-analysis started");
+        return ResponseEntity.accepted().body(reanalysisService.getReport());
+    }
+
+    /**
+     * Progress of the current run, or the outcome of the last one.
+     */
+    @GetMapping
+    public ResponseEntity<ReanalysisReportDTO> getReport() {
+        return ResponseEntity.ok(reanalysisService.getReport());
+    }
+}
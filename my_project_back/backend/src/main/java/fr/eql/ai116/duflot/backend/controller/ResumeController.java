@@ -1,13 +1,23 @@
 package fr.eql.ai116.duflot.backend.controller;
 
+import fr.eql.ai116.duflot.backend.artifact.DocumentHasher;
 import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
-import fr.eql.ai116.duflot.backend.service.ResumeParsingOrchestrator;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.SectionExplanationDTO;
+import fr.eql.ai116.duflot.backend.job.JobRejectedException;
+import fr.eql.ai116.duflot.backend.job.ParseJobScheduler;
+import fr.eql.ai116.duflot.backend.job.ParseMode;
+import fr.eql.ai116.duflot.backend.service.IdempotencyStore;
 import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.service.SectionExplanationCache;
 import fr.eql.ai116.duflot.backend.util.SseService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +29,17 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.Principal;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -31,15 +49,28 @@ public class ResumeController {
 
     private static final Logger logger = LogManager.getLogger(ResumeController.class);
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Autowired
     private ResumeParsingService resumeParsingService; // For synchronous processing
 
     @Autowired
-    private ResumeParsingOrchestrator resumeParsingOrchestrator; // For asynchronous processing
+    private ParseJobScheduler parseJobScheduler; // For asynchronous processing
 
     @Autowired
     private SseService sseService;
 
+    @Autowired
+    private SectionExplanationCache sectionExplanationCache;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ClientIdResolver clientIdResolver;
+
     /**
      * Simple synchronous parsing endpoint.
      * Extracts text items and returns their count.
@@ -56,10 +87,13 @@ public class ResumeController {
                     .body(Map.of("error", "Invalid or empty PDF file provided."));
         }
 
+        Path tempFile = null;
         try {
-            // Assuming this service method performs the required synchronous steps
-            // and returns the necessary data (here, just items for counting).
-            List<ResumeTextItemEntity> extractedItems = resumeParsingService.extractTextItemsWithPositions(file); // Or parseResumeSynchronously(file) if it does more
+            // The service works on files, so spool the upload to a temporary location first
+            tempFile = Files.createTempFile("resume_sync_", ".pdf");
+            file.transferTo(tempFile.toFile());
+            ParsingTraceDTO traceData = new ParsingTraceDTO(UUID.randomUUID().toString(), file.getOriginalFilename(), TraceLevel.SUMMARY);
+            List<ResumeTextItemEntity> extractedItems = resumeParsingService.extractTextItemsWithPositions(tempFile.toFile(), traceData);
 
             logger.info("Synchronous processing complete for file: {}, Items extracted: {}", file.getOriginalFilename(), extractedItems.size());
 
@@ -73,6 +107,14 @@ public class ResumeController {
             logger.error("Error during synchronous processing of resume: {}", file.getOriginalFilename(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to process resume due to an internal error."));
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.error("Failed to delete temporary file: {}", tempFile, e);
+                }
+            }
         }
     }
 
@@ -81,10 +123,32 @@ public class ResumeController {
      * Returns a Job ID and the URL to poll for status updates via SSE.
      *
      * @param file The uploaded PDF file.
-     * @return ResponseEntity with Job ID and Status URL, or an error.
+     * @param explain Records the section title score of every line, see {@link #getExplanation}.
+     * @param mode "full" (default) or "profile": only the first page is read, and only the profile is extracted.
+     *             Profile jobs run in the small lane under their own latency target (resume.profile.slo-ms).
+     * @param apiKey Identifies integration clients for rate limiting when it is one of resume.api-keys, optional.
+     * @param idempotencyKey Makes retries return the job of the first attempt instead of starting another, optional.
+     *                       Repeats are answered by IdempotencyKeyInterceptor before the upload is read.
+     * @return ResponseEntity with Job ID and Status URL, or an error (429 when the client is over its limits).
      */
     @PostMapping(value = "/parse", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Map<String, String>> parseResumeAsync(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, String>> parseResumeAsync(@RequestParam("file") MultipartFile file,
+                                                                @RequestParam(value = "explain", defaultValue = "false") boolean explain,
+                                                                @RequestParam(value = "mode", defaultValue = "full") String mode,
+                                                                @RequestHeader(value = "X-Api-Key", required = false) String apiKey,
+                                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                                Principal principal,
+                                                                HttpServletRequest request) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", IDEMPOTENCY_KEY + " must have 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters."));
+        }
+        ParseMode parseMode;
+        try {
+            parseMode = ParseMode.fromParameter(mode);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown mode '" + mode + "', expected full or profile."));
+        }
         if (!isValidPdf(file)) {
             logger.warn("Invalid file uploaded to /parse endpoint. Type: {}, Empty: {}", file.getContentType(), file.isEmpty());
             return ResponseEntity.badRequest()
@@ -92,22 +156,56 @@ public class ResumeController {
         }
 
         String jobId = UUID.randomUUID().toString();
+        String clientId = clientIdResolver.resolve(apiKey, principal, request);
+        // Reserved before queuing: of two concurrent attempts, only one starts a job
+        String storedKey = idempotencyKey != null ? storedIdempotencyKey(clientId, idempotencyKey) : null;
+        if (storedKey != null) {
+            Optional<String> existingJobId = idempotencyStore.reserve(storedKey, jobId);
+            if (existingJobId.isPresent()) {
+                logger.info("Repeated {} for Job ID: {}, upload ignored", IDEMPOTENCY_KEY, existingJobId.get());
+                return ResponseEntity.accepted().header(IDEMPOTENT_REPLAYED, "true")
+                        .body(replayBody(existingJobId.get(), parseJobScheduler.getStatus(existingJobId.get())));
+            }
+        }
         logger.info("Initiating asynchronous parsing job with ID: {} for file: {}", jobId, file.getOriginalFilename());
 
         try {
-            // Delegate the actual parsing to the async orchestrator
-            resumeParsingOrchestrator.parseResumeAsync(jobId, file);
+            // Queue the job in the lane matching the document size, a worker runs the orchestrator
+            parseJobScheduler.submit(jobId, clientId, file, explain, parseMode);
 
             // Return the Job ID and the status URL immediately
-            return ResponseEntity.accepted() // 202 Accepted is suitable for async initiation
-                    .body(Map.of(
-                            "jobId", jobId,
-                            "message", "Parsing job initiated successfully.",
-                            "statusUrl", "/api/resumes/status/" + jobId // Relative or absolute URL
-                    ));
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("jobId", jobId);
+            body.put("message", "Parsing job initiated successfully.");
+            body.put("statusUrl", "/api/resume/status/" + jobId); // Relative or absolute URL
+            if (explain) {
+                body.put("explanationUrl", "/api/resume/explanation/" + jobId);
+            }
+            return ResponseEntity.accepted().body(body); // 202 Accepted is suitable for async initiation
+        } catch (JobRejectedException e) {
+            logger.warn("Parsing job {} rejected: {}", jobId, e.getMessage());
+            // No job was started, a retry with the same key must be able to start one
+            releaseIdempotencyKey(storedKey, jobId);
+            if (e.getReason() == JobRejectedException.Reason.STOPPED) {
+                // This node is draining before a restart, another one (or this one once back) takes the upload
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(Map.of("error", "The server is restarting, please retry shortly."));
+            }
+            if (!e.isClientLimit()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(Map.of("error", "Too many parsing jobs waiting, please retry later."));
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+            if (e.getRetryAfterSeconds() > 0) {
+                response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            }
+            return response.body(Map.of("error", e.getReason() == JobRejectedException.Reason.RATE_LIMITED
+                    ? "Too many parsing jobs submitted, please slow down."
+                    : "Too many of your parsing jobs are waiting, please retry once some have finished."));
         } catch (Exception e) {
             // Catch potential immediate errors during job kickoff
             logger.error("Failed to initiate async parsing for Job ID: {} and file: {}", jobId, file.getOriginalFilename(), e);
+            releaseIdempotencyKey(storedKey, jobId);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to start parsing job: " + e.getMessage()));
         }
@@ -122,7 +220,7 @@ public class ResumeController {
      */
     @GetMapping("/status/{jobId}")
     public SseEmitter getParsingStatus(@PathVariable String jobId) {
-        logger.info("Client requesting SSE connection for Job ID: {}", jobId);
+        logger.debug("Client requesting SSE connection for Job ID: {}", jobId);
         try {
             // Delegate emitter creation/retrieval to the SseService
             // Consider adding a check here: if (!orchestrator.isJobActiveOrKnown(jobId)) throw new JobNotFoundException();
@@ -135,6 +233,74 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Cancels a parsing job of the caller. A waiting job is dropped, a running one stops at its next
+     * page or stage; either way its status stream ends with a parsingCancelled event.
+     *
+     * @param jobId The ID of the parsing job.
+     * @return 202 once cancellation is requested, 404 when the caller has no such job waiting or running.
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, String>> cancelJob(@PathVariable String jobId,
+                                                         @RequestHeader(value = "X-Api-Key", required = false) String apiKey,
+                                                         Principal principal,
+                                                         HttpServletRequest request) {
+        if (!parseJobScheduler.cancel(jobId, clientIdResolver.resolve(apiKey, principal, request), "Cancelled by the client.")) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No parsing job " + jobId + " waiting or running");
+        }
+        return ResponseEntity.accepted().body(Map.of("jobId", jobId, "message", "Cancellation requested."));
+    }
+
+    /**
+     * Per-line section title scores of a job started with explain=true.
+     * Only the most recent explained jobs are kept, older ones return 404.
+     *
+     * @param jobId The ID of the parsing job.
+     * @return The score breakdown of every scored line.
+     */
+    @GetMapping("/explanation/{jobId}")
+    public ResponseEntity<SectionExplanationDTO> getExplanation(@PathVariable String jobId) {
+        return sectionExplanationCache.get(jobId)
+                .map(explanation -> ResponseEntity.ok(explanation.toDTO(jobId)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No explanation available for job " + jobId));
+    }
+
+    private void releaseIdempotencyKey(String storedKey, String jobId) {
+        if (storedKey == null) {
+            return;
+        }
+        try {
+            idempotencyStore.release(storedKey, jobId);
+        } catch (RuntimeException e) {
+            // The key answers with a job that never ran until it expires
+            logger.error("Failed to release {} of Job ID: {}", IDEMPOTENCY_KEY, jobId, e);
+        }
+    }
+
+    /**
+     * What a repeated request gets instead of a new job.
+     */
+    static Map<String, String> replayBody(String jobId, String status) {
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("jobId", jobId);
+        body.put("status", status);
+        body.put("message", "Parsing job already initiated for this " + IDEMPOTENCY_KEY + ".");
+        body.put("statusUrl", "/api/resume/status/" + jobId);
+        return body;
+    }
+
+    /**
+     * The key as stored: scoped to its client, so two clients never share a key, and hashed to a
+     * fixed length.
+     */
+    static String storedIdempotencyKey(String clientId, String idempotencyKey) {
+        MessageDigest digest = DocumentHasher.newDigest();
+        digest.update(clientId.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Helper method to validate the uploaded file.
      * Checks if the file is not null, not empty, and has the PDF MIME type.
@@ -0,0 +1,70 @@
+package fr.eql.ai116.duflot.backend.controller;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import fr.eql.ai116.duflot.backend.service.ResumeSearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/resume")
+@CrossOrigin(origins = "http://127.0.0.1:5500")
+public class ResumeSearchController {
+
+    private static final Logger logger = LogManager.getLogger(ResumeSearchController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ResumeSearchService resumeSearchService;
+
+    /**
+     * Searches parsed resumes by free text, skill, section and email domain.
+     * All given criteria must match.
+     *
+     * @param q Free text, matched against all sections (or only 'section' when given)
+     * @param skill A skill name as listed in the SKILLS section
+     * @param section Restrict the text search to this section type
+     * @param emailDomain Domain of the candidate's email address
+     * @param page Zero-based page number, its first result must be within the first 2^31 - 1
+     * @param size Page size (max 100)
+     * @return One page of results
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultPageDTO> search(@RequestParam(required = false) String q,
+                                                      @RequestParam(required = false) String skill,
+                                                      @RequestParam(required = false) String section,
+                                                      @RequestParam(required = false) String emailDomain,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page > Integer.MAX_VALUE / size) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be at most " + Integer.MAX_VALUE / size + " for size " + size);
+        }
+        SectionType sectionType = null;
+        if (section != null && !section.isBlank()) {
+            try {
+                sectionType = SectionType.valueOf(section.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown section type: " + section);
+            }
+        }
+
+        ResumeSearchQuery query = new ResumeSearchQuery(q, skill, sectionType, emailDomain);
+        logger.debug("Search request: {} (page {}, size {})", query, page, size);
+        return ResponseEntity.ok(resumeSearchService.search(query, page, size));
+    }
+}
@@ -1,4 +1,73 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Transient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persisted in resume_education; descriptions only live in the resume's result JSON.
+ */
+@Embeddable
 public class EducationEntity {
+    @Column(columnDefinition = "text")
+    private String degree;      // e.g. "Master Informatique"
+    @Column(columnDefinition = "text")
+    private String institution;
+    @Column(columnDefinition = "text")
+    private String location;
+    @Column(columnDefinition = "text")
+    private String period;      // Date range as written in the resume
+    @Column(name = "start_date", length = 7)
+    private String startDate;   // "yyyy-MM", January when only the year is written
+    @Column(name = "end_date", length = 7)
+    private String endDate;     // "yyyy-MM", December when only the year is written, null while current
+    @Column(name = "is_current")
+    private boolean current;
+    @Column(name = "duration_months")
+    private Integer durationMonths; // Both ends included, up to this month when current
+    @Transient
+    private List<String> descriptions = new ArrayList<>();
+
+    // --- Default Constructor ---
+    public EducationEntity() {}
+
+    // --- Getters and Setters ---
+    public String getDegree() { return degree; }
+    public void setDegree(String degree) { this.degree = degree; }
+
+    public String getInstitution() { return institution; }
+    public void setInstitution(String institution) { this.institution = institution; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public boolean isCurrent() { return current; }
+    public void setCurrent(boolean current) { this.current = current; }
+
+    public Integer getDurationMonths() { return durationMonths; }
+    public void setDurationMonths(Integer durationMonths) { this.durationMonths = durationMonths; }
+
+    public List<String> getDescriptions() { return descriptions; }
+    public void setDescriptions(List<String> descriptions) { this.descriptions = descriptions; }
+
+    @Override
+    public String toString() {
+        return "EducationEntity{" +
+                "degree='" + degree + '\'' +
+                ", institution='" + institution + '\'' +
+                ", period='" + period + '\'' +
+                '}';
+    }
 }
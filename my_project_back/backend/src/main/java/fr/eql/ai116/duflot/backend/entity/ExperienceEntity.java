@@ -1,4 +1,78 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Transient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persisted in resume_experience; descriptions and skills only live in the resume's result JSON.
+ */
+@Embeddable
 public class ExperienceEntity {
+    @Column(columnDefinition = "text")
+    private String title;       // Job title, e.g. "Développeur Java"
+    @Column(columnDefinition = "text")
+    private String company;
+    @Column(columnDefinition = "text")
+    private String location;
+    @Column(columnDefinition = "text")
+    private String period;      // Date range as written in the resume
+    @Column(name = "start_date", length = 7)
+    private String startDate;   // "yyyy-MM", January when only the year is written
+    @Column(name = "end_date", length = 7)
+    private String endDate;     // "yyyy-MM", December when only the year is written, null while current
+    @Column(name = "is_current")
+    private boolean current;
+    @Column(name = "duration_months")
+    private Integer durationMonths; // Both ends included, up to this month when current
+    @Transient
+    private List<String> descriptions = new ArrayList<>(); // Bullet points / free text lines
+    @Transient
+    private List<SkillEntity> skills = new ArrayList<>(); // Dictionary skills mentioned in this experience
+
+    // --- Default Constructor ---
+    public ExperienceEntity() {}
+
+    // --- Getters and Setters ---
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public boolean isCurrent() { return current; }
+    public void setCurrent(boolean current) { this.current = current; }
+
+    public Integer getDurationMonths() { return durationMonths; }
+    public void setDurationMonths(Integer durationMonths) { this.durationMonths = durationMonths; }
+
+    public List<String> getDescriptions() { return descriptions; }
+    public void setDescriptions(List<String> descriptions) { this.descriptions = descriptions; }
+
+    public List<SkillEntity> getSkills() { return skills; }
+    public void setSkills(List<SkillEntity> skills) { this.skills = skills; }
+
+    @Override
+    public String toString() {
+        return "ExperienceEntity{" +
+                "title='" + title + '\'' +
+                ", company='" + company + '\'' +
+                ", period='" + period + '\'' +
+                '}';
+    }
 }
@@ -1,4 +1,19 @@
 package fr.eql.ai116.duflot.backend.entity;
 
-public class HardSkillEntity {
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Technical skill: language, framework, tool, database...
+ */
+@Embeddable
+@DiscriminatorValue("HARD")
+public class HardSkillEntity extends SkillEntity {
+
+    // --- Constructors ---
+    public HardSkillEntity() {}
+
+    public HardSkillEntity(String name, String category) {
+        super(name, category);
+    }
 }
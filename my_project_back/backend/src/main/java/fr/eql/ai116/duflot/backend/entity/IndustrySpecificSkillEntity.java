@@ -1,4 +1,19 @@
 package fr.eql.ai116.duflot.backend.entity;
 
-public class IndustrySpecificSkillEntity {
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Domain knowledge or regulation tied to a sector: IFRS, GMP, BIM...
+ */
+@Embeddable
+@DiscriminatorValue("INDUSTRY")
+public class IndustrySpecificSkillEntity extends SkillEntity {
+
+    // --- Constructors ---
+    public IndustrySpecificSkillEntity() {}
+
+    public IndustrySpecificSkillEntity(String name, String category) {
+        super(name, category);
+    }
 }
@@ -1,4 +1,45 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Persisted in resume_language.
+ */
+@Embeddable
 public class LanguageEntity {
+    @Column(columnDefinition = "text")
+    private String name;       // e.g. "Anglais"
+    @Column(name = "written_level", columnDefinition = "text")
+    private String level;      // Level as written, e.g. "courant", "C1", "TOEIC 950"
+    @Column(name = "cefr_level", length = 8)
+    private String cefrLevel;  // Normalized level: A1 to C2, or NATIVE (null if unknown)
+
+    // --- Constructors ---
+    public LanguageEntity() {}
+
+    public LanguageEntity(String name, String level, String cefrLevel) {
+        this.name = name;
+        this.level = level;
+        this.cefrLevel = cefrLevel;
+    }
+
+    // --- Getters and Setters ---
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getLevel() { return level; }
+    public void setLevel(String level) { this.level = level; }
+
+    public String getCefrLevel() { return cefrLevel; }
+    public void setCefrLevel(String cefrLevel) { this.cefrLevel = cefrLevel; }
+
+    @Override
+    public String toString() {
+        return "LanguageEntity{" +
+                "name='" + name + '\'' +
+                ", level='" + level + '\'' +
+                ", cefrLevel='" + cefrLevel + '\'' +
+                '}';
+    }
 }
@@ -0,0 +1,73 @@
+package fr.eql.ai116.duflot.backend.entity;
+
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Persisted copy of a single ParsingTraceDTO.LogEntry.
+ * Entries are linked to their job by jobId only, so traces of failed jobs are kept as well.
+ */
+@Entity
+@Table(name = "parsing_trace_entry", indexes = @Index(name = "idx_trace_entry_job", columnList = "job_id"))
+public class ParsingTraceEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trace_entry_seq")
+    @SequenceGenerator(name = "trace_entry_seq", sequenceName = "parsing_trace_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 64)
+    private String jobId;
+
+    @Column(name = "entry_index", nullable = false)
+    private int entryIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step", length = 32)
+    private LogEntry.Step step;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private Status status;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "details_json", columnDefinition = "text")
+    private String detailsJson;
+
+    @Column(name = "logged_at")
+    private long loggedAt;
+
+    public ParsingTraceEntryEntity() {
+    }
+
+    public ParsingTraceEntryEntity(String jobId, int entryIndex, LogEntry.Step step, Status status,
+                                   String message, String detailsJson, long loggedAt) {
+        this.jobId = jobId;
+        this.entryIndex = entryIndex;
+        this.step = step;
+        this.status = status;
+        this.message = message;
+        this.detailsJson = detailsJson;
+        this.loggedAt = loggedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getJobId() { return jobId; }
+    public int getEntryIndex() { return entryIndex; }
+    public LogEntry.Step getStep() { return step; }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+    public String getDetailsJson() { return detailsJson; }
+    public long getLoggedAt() { return loggedAt; }
+}
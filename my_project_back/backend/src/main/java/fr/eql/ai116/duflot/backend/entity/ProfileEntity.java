@@ -1,8 +1,11 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import jakarta.persistence.Embeddable;
+
 import java.util.ArrayList;
 import java.util.List;
 
+@Embeddable
 public class ProfileEntity {
     private String firstName;
     private String lastName;
@@ -1,4 +1,40 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ProjectEntity {
+    private String name;
+    private String period;
+    private String url;
+    private List<String> technologies = new ArrayList<>();
+    private List<String> descriptions = new ArrayList<>();
+
+    // --- Default Constructor ---
+    public ProjectEntity() {}
+
+    // --- Getters and Setters ---
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public List<String> getTechnologies() { return technologies; }
+    public void setTechnologies(List<String> technologies) { this.technologies = technologies; }
+
+    public List<String> getDescriptions() { return descriptions; }
+    public void setDescriptions(List<String> descriptions) { this.descriptions = descriptions; }
+
+    @Override
+    public String toString() {
+        return "ProjectEntity{" +
+                "name='" + name + '\'' +
+                ", url='" + url + '\'' +
+                ", technologies=" + technologies +
+                '}';
+    }
 }
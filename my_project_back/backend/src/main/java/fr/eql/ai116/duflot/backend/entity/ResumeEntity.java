@@ -1,4 +1,164 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persisted outcome of a parsing job.
+ * The profile is embedded; experiences, educations, skills and languages are rows of their own
+ * tables, in resume order. The full parsed structure (sections, projects, descriptions...) is also
+ * kept as JSON for later reuse, and the text of each section for the search index to be rebuilt.
+ * Failed and cancelled jobs only have their status. The document hash links the jobs that uploaded
+ * the same PDF, re-analysis refreshes them all. Schema: db/postgres/001_resume_persistence.sql,
+ * 008_resume_details.sql, 009_resume_document_hash.sql and 010_resume_section_texts.sql.
+ */
+@Entity
+@Table(name = "resume", indexes = @Index(name = "idx_resume_document_hash", columnList = "document_hash"))
 public class ResumeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_seq")
+    // allocationSize must match the sequence INCREMENT so ids can be handed out in pools
+    @SequenceGenerator(name = "resume_seq", sequenceName = "resume_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, unique = true, length = 64)
+    private String jobId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "document_hash", length = 64)
+    private String documentHash;
+
+    @Column(name = "page_count")
+    private int pageCount;
+
+    @Column(name = "parse_time_ms")
+    private long parseTimeMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16)
+    private Status status;
+
+    @Column(name = "parsed_at")
+    private Instant parsedAt;
+
+    @Embedded
+    private ProfileEntity profile;
+
+    @ElementCollection
+    @CollectionTable(name = "resume_experience", joinColumns = @JoinColumn(name = "resume_id"))
+    @OrderColumn(name = "entry_index")
+    private List<ExperienceEntity> experiences = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "resume_education", joinColumns = @JoinColumn(name = "resume_id"))
+    @OrderColumn(name = "entry_index")
+    private List<EducationEntity> educations = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "resume_skill", joinColumns = @JoinColumn(name = "resume_id"))
+    @OrderColumn(name = "entry_index")
+    private List<SkillEntity> skills = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "resume_language", joinColumns = @JoinColumn(name = "resume_id"))
+    @OrderColumn(name = "entry_index")
+    private List<LanguageEntity> languages = new ArrayList<>();
+
+    @Column(name = "result_json", columnDefinition = "text")
+    private String resultJson;
+
+    @Column(name = "section_texts_json", columnDefinition = "text")
+    private String sectionTextsJson;
+
+    public ResumeEntity() {
+    }
+
+    public Long getId() { return id; }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getDocumentHash() { return documentHash; }
+    public void setDocumentHash(String documentHash) { this.documentHash = documentHash; }
+
+    public int getPageCount() { return pageCount; }
+    public void setPageCount(int pageCount) { this.pageCount = pageCount; }
+
+    public long getParseTimeMs() { return parseTimeMs; }
+    public void setParseTimeMs(long parseTimeMs) { this.parseTimeMs = parseTimeMs; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Instant getParsedAt() { return parsedAt; }
+    public void setParsedAt(Instant parsedAt) { this.parsedAt = parsedAt; }
+
+    public ProfileEntity getProfile() { return profile; }
+    public void setProfile(ProfileEntity profile) { this.profile = profile; }
+
+    public List<ExperienceEntity> getExperiences() { return experiences; }
+    public void setExperiences(List<ExperienceEntity> experiences) { this.experiences = experiences; }
+
+    public List<EducationEntity> getEducations() { return educations; }
+    public void setEducations(List<EducationEntity> educations) { this.educations = educations; }
+
+    public List<SkillEntity> getSkills() { return skills; }
+    public void setSkills(List<SkillEntity> skills) { this.skills = skills; }
+
+    public List<LanguageEntity> getLanguages() { return languages; }
+    public void setLanguages(List<LanguageEntity> languages) { this.languages = languages; }
+
+    public String getResultJson() { return resultJson; }
+    public void setResultJson(String resultJson) { this.resultJson = resultJson; }
+
+    public String getSectionTextsJson() { return sectionTextsJson; }
+    public void setSectionTextsJson(String sectionTextsJson) { this.sectionTextsJson = sectionTextsJson; }
+
+    /**
+     * Takes the parsed data of another result of the same document, keeping this job's status,
+     * upload name and timings.
+     */
+    public void replaceResult(ResumeEntity result) {
+        this.pageCount = result.pageCount;
+        this.profile = result.profile;
+        this.experiences = result.experiences;
+        this.educations = result.educations;
+        this.skills = result.skills;
+        this.languages = result.languages;
+        this.resultJson = result.resultJson;
+        this.sectionTextsJson = result.sectionTextsJson;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumeEntity{" +
+                "id=" + id +
+                ", jobId='" + jobId + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", status=" + status +
+                '}';
+    }
 }
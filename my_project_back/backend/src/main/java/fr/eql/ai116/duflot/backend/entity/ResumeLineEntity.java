@@ -10,6 +10,7 @@ public class ResumeLineEntity {
 
     private List<ResumeTextItemEntity> items = new ArrayList<>();
     private float y; // Store the approximate Y-coordinate of the line
+    private int pageIndex; // 0-based page, y is relative to its top
 
     public ResumeLineEntity() {
     }
@@ -17,6 +18,7 @@ public class ResumeLineEntity {
     public ResumeLineEntity(ResumeTextItemEntity firstItem) {
         this.items.add(firstItem);
         this.y = firstItem.getY(); // Initialize with the first item's Y
+        this.pageIndex = firstItem.getPageIndex();
     }
 
     public void addItem(ResumeTextItemEntity item) {
@@ -35,6 +37,14 @@ public class ResumeLineEntity {
         this.y = y;
     }
 
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    public void setPageIndex(int pageIndex) {
+        this.pageIndex = pageIndex;
+    }
+
     public ResumeTextItemEntity getLastItem() {
         if (items.isEmpty()) {
             return null;
@@ -54,6 +64,6 @@ public class ResumeLineEntity {
 
     @Override
     public String toString() {
-        return "Line{y=" + y + ", text='" + getLineText() + "'}";
+        return "Line{page=" + pageIndex + ", y=" + y + ", text='" + getLineText() + "'}";
     }
 }
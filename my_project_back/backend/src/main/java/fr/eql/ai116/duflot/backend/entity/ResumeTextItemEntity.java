@@ -11,6 +11,7 @@ public class ResumeTextItemEntity {
     private float fontSize;
     private boolean bold;
     private boolean hasEOL;
+    private int pageIndex; // 0-based, Y restarts from the top on each page
 
     public ResumeTextItemEntity(String text, float x, float y, float width, float height, String fontName, float fontSize, boolean bold) {
         this.text = text;
@@ -40,6 +41,9 @@ public class ResumeTextItemEntity {
         this.hasEOL = hasEOL;
     }
 
+    public int getPageIndex() { return pageIndex; }
+    public void setPageIndex(int pageIndex) { this.pageIndex = pageIndex; }
+
     @Override
     public String toString() {
         return "TextItem{" +
@@ -51,6 +55,7 @@ public class ResumeTextItemEntity {
                 ", fontName='" + fontName + '\'' +
                 ", fontSize=" + fontSize +
                 ", bold=" + bold +
+                ", pageIndex=" + pageIndex +
                 '}';
     }
 }
@@ -1,4 +1,54 @@
 package fr.eql.ai116.duflot.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorColumn;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Embeddable;
+
+/**
+ * A skill read from the resume. Skills recognised by the skill dictionary are typed
+ * (hard, soft or industry specific), anything else stays a plain SkillEntity.
+ * Persisted in resume_skill, the type in the same column values as the JSON one.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonTypeName("UNCLASSIFIED")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = HardSkillEntity.class, name = "HARD"),
+        @JsonSubTypes.Type(value = SoftSkillEntity.class, name = "SOFT"),
+        @JsonSubTypes.Type(value = IndustrySpecificSkillEntity.class, name = "INDUSTRY")
+})
+@Embeddable
+@DiscriminatorColumn(name = "skill_type", length = 16)
+@DiscriminatorValue("UNCLASSIFIED")
 public class SkillEntity {
+    @Column(columnDefinition = "text")
+    private String name;
+    @Column(columnDefinition = "text")
+    private String category; // Group label found in the resume, e.g. "Langages" in "Langages : Java, Python"
+
+    // --- Constructors ---
+    public SkillEntity() {}
+
+    public SkillEntity(String name, String category) {
+        this.name = name;
+        this.category = category;
+    }
+
+    // --- Getters and Setters ---
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                '}';
+    }
 }
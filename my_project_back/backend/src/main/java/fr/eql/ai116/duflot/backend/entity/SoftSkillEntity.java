@@ -1,4 +1,19 @@
 package fr.eql.ai116.duflot.backend.entity;
 
-public class SoftSkillEntity {
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Interpersonal or behavioural skill: communication, leadership...
+ */
+@Embeddable
+@DiscriminatorValue("SOFT")
+public class SoftSkillEntity extends SkillEntity {
+
+    // --- Constructors ---
+    public SoftSkillEntity() {}
+
+    public SoftSkillEntity(String name, String category) {
+        super(name, category);
+    }
 }
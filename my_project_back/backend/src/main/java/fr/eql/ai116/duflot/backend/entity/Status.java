@@ -5,6 +5,7 @@ public enum Status {
     RUNNING,
     SUCCESS,
     FAILURE,
-    INFO
+    INFO,
+    CANCELLED
     // Status for overall job and individual log entries
 }
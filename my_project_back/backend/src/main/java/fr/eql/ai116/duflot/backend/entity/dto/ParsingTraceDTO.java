@@ -1,12 +1,14 @@
 package fr.eql.ai116.duflot.backend.entity.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.util.CancellationToken;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Data Transfer Object responsible for the logging and tracing of the parsing mechanisms.
@@ -14,12 +16,44 @@ import java.util.stream.Collectors;
  */
 public class ParsingTraceDTO {
 
+    /**
+     * How much of the pipeline is recorded. Each level includes the previous ones.
+     */
+    public enum TraceLevel {
+        OFF,        // Only the overall status
+        SUMMARY,    // Last status and time of each step, no entries
+        STAGE,      // Stage-level log entries
+        HEURISTIC   // Per-line heuristic decisions as well
+    }
+
+    private static final int STAGE_MAX_ENTRIES = 128;
+    private static final int HEURISTIC_MAX_ENTRIES = 1024;
+    private static final LogEntry.Step[] STEPS = LogEntry.Step.values();
+
     private final String jobId;
     private final String originalFilename;
+    private final TraceLevel level;
     private final long startTime;
     private long endTime;
     private Status overallStatus;
-    private final List<LogEntry> logEntries;
+
+    // SUMMARY bookkeeping, indexed by Step ordinal
+    private final Status[] stepStatuses = new Status[STEPS.length];
+    private final long[] stepTimestamps = new long[STEPS.length];
+
+    // Bounded entry buffer, allocated once per job (empty below STAGE)
+    private final LogEntry[] logEntries;
+    private int entryCount;
+    private int droppedEntries;
+
+    // Section title score breakdown, only set for jobs parsed with explain=true
+    private SectionTitleExplanation sectionExplanation;
+
+    // Set for asynchronous jobs, which can be cancelled while they run
+    private CancellationToken cancellation;
+
+    // SHA-256 of the PDF when the caller already computed it, so the pipeline does not hash it again
+    private String documentHash;
 
     // Optional: Store intermediate results directly (can make object large)
     // private List<ResumeTextItemEntity> rawTextItems;
@@ -28,11 +62,20 @@ public class ParsingTraceDTO {
     // private ResumeEntity finalResult; // Or whatever your final parsed structure is
 
     public ParsingTraceDTO(String jobId, String originalFilename) {
+        this(jobId, originalFilename, TraceLevel.STAGE);
+    }
+
+    public ParsingTraceDTO(String jobId, String originalFilename, TraceLevel level) {
         this.jobId = jobId;
         this.originalFilename = originalFilename;
+        this.level = level;
         this.startTime = System.currentTimeMillis();
         this.overallStatus = Status.RUNNING;
-        this.logEntries = new ArrayList<>();
+        this.logEntries = new LogEntry[switch (level) {
+            case OFF, SUMMARY -> 0;
+            case STAGE -> STAGE_MAX_ENTRIES;
+            case HEURISTIC -> HEURISTIC_MAX_ENTRIES;
+        }];
     }
 
     /**
@@ -43,13 +86,13 @@ public class ParsingTraceDTO {
         private final Step step; // Enum defining the parsing stage
         private final Status status; // Outcome of this step/log
         private final String message; // Human-readable description
-        // Using LinkedHashMap to preserve insertion order if needed
-        private Map<String, Object> details; // Structured data (counts, scores, errors, etc.)
+        private final Map<String, Object> details; // Structured data (counts, scores, errors, etc.)
 
         public enum Step {
             PREPARATION,
             VECTOR_EXTRACTION,
             TEXT_EXTRACTION,
+            LAYOUT_ANALYSIS, // Column gutters, reading order blocks
             LINE_GROUPING,
             SECTION_GROUPING, // Covers title detection heuristics
             ATTRIBUTE_EXTRACTION,
@@ -57,13 +100,14 @@ public class ParsingTraceDTO {
             UNKNOWN
         }
 
-        // Private constructor, use factory method in outer class
-        private LogEntry(Step step, Status status, String message, Map<String, Object> details) {
-            this.timestamp = System.currentTimeMillis();
+        // Private constructor, use factory method in outer class.
+        // Details are kept as given (callers pass immutable maps), not copied.
+        private LogEntry(long timestamp, Step step, Status status, String message, Map<String, Object> details) {
+            this.timestamp = timestamp;
             this.step = step;
             this.status = status;
             this.message = message;
-            this.details = (details != null) ? new LinkedHashMap<>(details) : new LinkedHashMap<>();
+            this.details = (details != null) ? details : Map.of();
         }
 
         // Getters for Jackson serialization to JSON
@@ -74,22 +118,53 @@ public class ParsingTraceDTO {
         public Map<String, Object> getDetails() { return details; }
     }
 
+    /**
+     * Whether entries of the given level are recorded. Check it before building details.
+     */
+    public boolean isEnabled(TraceLevel entryLevel) {
+        return level.compareTo(entryLevel) >= 0;
+    }
+
+    public TraceLevel getLevel() { return level; }
+
     /**
      * Adds a log entry to the trace.
-     * @return The created LogEntry.
+     * @return The created LogEntry, or null when the trace level does not record entries.
      */
-    public LogEntry addLogEntry(LogEntry.Step step, Status status, String message, Map<String, Object> details) {
-        LogEntry entry = new LogEntry(step, status, message, details);
-        this.logEntries.add(entry);
+    public LogEntry addLogEntry(TraceLevel entryLevel, LogEntry.Step step, Status status, String message, Map<String, Object> details) {
         // Update overall status if a failure occurs
         if (status == Status.FAILURE) {
             this.overallStatus = Status.FAILURE;
         }
+        if (level == TraceLevel.OFF) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        int stepIndex = step.ordinal();
+        // A failed step stays failed
+        if (stepStatuses[stepIndex] != Status.FAILURE) {
+            stepStatuses[stepIndex] = status;
+        }
+        stepTimestamps[stepIndex] = now;
+
+        if (!isEnabled(entryLevel) || entryLevel.compareTo(TraceLevel.STAGE) < 0) {
+            return null;
+        }
+        if (entryCount == logEntries.length) {
+            droppedEntries++;
+            return null;
+        }
+        LogEntry entry = new LogEntry(now, step, status, message, details);
+        logEntries[entryCount++] = entry;
         return entry;
     }
 
+    public LogEntry addLogEntry(LogEntry.Step step, Status status, String message, Map<String, Object> details) {
+        return addLogEntry(TraceLevel.STAGE, step, status, message, details);
+    }
+
     public LogEntry addLogEntry(LogEntry.Step step, Status status, String message) {
-        return addLogEntry(step, status, message, null);
+        return addLogEntry(TraceLevel.STAGE, step, status, message, null);
     }
 
     /**
@@ -97,10 +172,7 @@ public class ParsingTraceDTO {
      * @return The last log entry or null if no entries exist.
      */
     public LogEntry getLastEntry() {
-        if (logEntries.isEmpty()) {
-            return null;
-        }
-        return logEntries.get(logEntries.size() - 1);
+        return entryCount == 0 ? null : logEntries[entryCount - 1];
     }
 
     // --- Getters for main trace object ---
@@ -109,24 +181,57 @@ public class ParsingTraceDTO {
     public long getStartTime() { return startTime; }
     public long getEndTime() { return endTime; }
     public Status getOverallStatus() { return overallStatus; }
-    public List<LogEntry> getLogEntries() { return logEntries; }
+    public List<LogEntry> getLogEntries() {
+        return entryCount == 0 ? List.of() : Collections.unmodifiableList(Arrays.asList(logEntries).subList(0, entryCount));
+    }
+    public int getDroppedEntries() { return droppedEntries; }
+
+    public SectionTitleExplanation getSectionExplanation() { return sectionExplanation; }
+    @JsonIgnore
+    public CancellationToken getCancellation() { return cancellation; }
+    @JsonIgnore
+    public String getDocumentHash() { return documentHash; }
+
+    /**
+     * Stops the pipeline at a stage boundary when the job was cancelled.
+     */
+    public void checkCancelled() {
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+    }
 
     public void setEndTime(long endTime) { this.endTime = endTime; }
+    public void setSectionExplanation(SectionTitleExplanation sectionExplanation) { this.sectionExplanation = sectionExplanation; }
+    public void setCancellation(CancellationToken cancellation) { this.cancellation = cancellation; }
+    public void setDocumentHash(String documentHash) { this.documentHash = documentHash; }
     public void setOverallStatus(Status overallStatus) { this.overallStatus = overallStatus; }
 
+    /**
+     * Last recorded status of a step, or null if the step never reported (or the level is OFF).
+     */
+    public Status getStepStatus(LogEntry.Step step) { return stepStatuses[step.ordinal()]; }
 
     /**
      * Provides a summary of the trace steps and their status.
      */
     public Map<String, String> getSummary() {
+        StringBuilder steps = new StringBuilder(128);
+        for (LogEntry.Step step : STEPS) {
+            Status status = stepStatuses[step.ordinal()];
+            if (status != null) {
+                if (steps.length() > 0) {
+                    steps.append(", ");
+                }
+                steps.append(step.name()).append(": ").append(status.name());
+            }
+        }
         Map<String, String> summary = new LinkedHashMap<>();
         summary.put("Job ID", jobId);
         summary.put("Filename", originalFilename);
         summary.put("Overall Status", overallStatus.name());
         summary.put("Duration (ms)", endTime > 0 ? String.valueOf(endTime - startTime) : "N/A");
-        summary.put("Steps", logEntries.stream()
-                .map(entry -> entry.getStep() + ": " + entry.getStatus())
-                .collect(Collectors.joining(", ")));
+        summary.put("Steps", steps.toString());
         return summary;
     }
 }
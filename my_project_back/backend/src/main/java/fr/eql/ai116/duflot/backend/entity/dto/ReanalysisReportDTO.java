@@ -0,0 +1,40 @@
+package fr.eql.ai116.duflot.backend.entity.dto;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Progress and outcome of an archive-wide re-analysis run.
+ */
+public class ReanalysisReportDTO {
+
+    private final Status status;
+    private final int totalDocuments;
+    private final int processedDocuments;
+    private final int failedDocuments;
+    private final long startTime;
+    private final long durationMs;
+    private final Map<SectionType, Integer> sectionCounts;
+
+    public ReanalysisReportDTO(Status status, int totalDocuments, int processedDocuments, int failedDocuments,
+                               long startTime, long durationMs, Map<SectionType, Integer> sectionCounts) {
+        this.status = status;
+        this.totalDocuments = totalDocuments;
+        this.processedDocuments = processedDocuments;
+        this.failedDocuments = failedDocuments;
+        this.startTime = startTime;
+        this.durationMs = durationMs;
+        this.sectionCounts = sectionCounts != null ? sectionCounts : new EnumMap<>(SectionType.class);
+    }
+
+    public Status getStatus() { return status; }
+    public int getTotalDocuments() { return totalDocuments; }
+    public int getProcessedDocuments() { return processedDocuments; }
+    public int getFailedDocuments() { return failedDocuments; }
+    public long getStartTime() { return startTime; }
+    public long getDurationMs() { return durationMs; }
+    public Map<SectionType, Integer> getSectionCounts() { return sectionCounts; }
+}
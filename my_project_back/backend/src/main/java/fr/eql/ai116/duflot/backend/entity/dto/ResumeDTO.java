@@ -1,13 +1,16 @@
 package fr.eql.ai116.duflot.backend.entity.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import fr.eql.ai116.duflot.backend.entity.EducationEntity;
 import fr.eql.ai116.duflot.backend.entity.ExperienceEntity;
 import fr.eql.ai116.duflot.backend.entity.LanguageEntity;
 import fr.eql.ai116.duflot.backend.entity.LinkEntity;
 import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
 import fr.eql.ai116.duflot.backend.entity.ProjectEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
 import fr.eql.ai116.duflot.backend.entity.SkillEntity;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,28 +20,51 @@ import java.util.List;
 public class ResumeDTO {
 
     private ProfileEntity profile;
-    private List<LinkEntity> links;
-    private List<SkillEntity> skills;
-    private List<LanguageEntity> languages;
-    private List<ProjectEntity> projects;
-    private List<ExperienceEntity> experiences;
-    private List<EducationEntity> educations;
+    private List<LinkEntity> links = new ArrayList<>();
+    private List<SkillEntity> skills = new ArrayList<>();
+    private List<LanguageEntity> languages = new ArrayList<>();
+    private List<ProjectEntity> projects = new ArrayList<>();
+    private List<ExperienceEntity> experiences = new ArrayList<>();
+    private List<EducationEntity> educations = new ArrayList<>();
 
     private String fileName;
     private int pageCount;
     private long parseTime;
 
+    // Grouped sections, kept for indexing only (too large to send to clients)
+    private List<ResumeSectionEntity> sections = new ArrayList<>();
+
     public ResumeDTO() {
     }
 
+    // --- Getters (needed for Jackson serialization and persistence mapping) ---
+    public ProfileEntity getProfile() { return profile; }
+    public List<LinkEntity> getLinks() { return links; }
+    public List<SkillEntity> getSkills() { return skills; }
+    public List<LanguageEntity> getLanguages() { return languages; }
+    public List<ProjectEntity> getProjects() { return projects; }
+    public List<ExperienceEntity> getExperiences() { return experiences; }
+    public List<EducationEntity> getEducations() { return educations; }
+    public String getFileName() { return fileName; }
+    public int getPageCount() { return pageCount; }
+    public long getParseTime() { return parseTime; }
+    @JsonIgnore
+    public List<ResumeSectionEntity> getSections() { return sections; }
+
     public void setParseTime(long parseTime) {
         this.parseTime = parseTime;
     }
     public void setFileName(String fileName) {
         this.fileName = fileName;
     }
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
     public void setProfile(ProfileEntity profile) {
         this.profile = profile;
     }
+    public void setSections(List<ResumeSectionEntity> sections) {
+        this.sections = sections;
+    }
 
 }
@@ -0,0 +1,27 @@
+package fr.eql.ai116.duflot.backend.entity.dto;
+
+/**
+ * A single search hit returned by /api/resume/search.
+ */
+public class ResumeSearchResultDTO {
+
+    private final String jobId;
+    private final String fileName;
+    private final String fullName;
+    private final String email;
+    private final double score;
+
+    public ResumeSearchResultDTO(String jobId, String fileName, String fullName, String email, double score) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.fullName = fullName;
+        this.email = email;
+        this.score = score;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getFileName() { return fileName; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public double getScore() { return score; }
+}
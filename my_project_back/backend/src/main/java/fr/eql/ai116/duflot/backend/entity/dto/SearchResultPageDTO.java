@@ -0,0 +1,27 @@
+package fr.eql.ai116.duflot.backend.entity.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results with the paging metadata the frontend needs.
+ */
+public class SearchResultPageDTO {
+
+    private final List<ResumeSearchResultDTO> results;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+
+    public SearchResultPageDTO(List<ResumeSearchResultDTO> results, int page, int size, long totalElements) {
+        this.results = results;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    public List<ResumeSearchResultDTO> getResults() { return results; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public long getTotalElements() { return totalElements; }
+    public int getTotalPages() { return size == 0 ? 0 : (int) ((totalElements + size - 1) / size); }
+}
@@ -0,0 +1,58 @@
+package fr.eql.ai116.duflot.backend.entity.dto;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expanded form of {@link SectionTitleExplanation}, sent to the debugging UI.
+ */
+public class SectionExplanationDTO {
+
+    private final String jobId;
+    private final int threshold;
+    private final List<LineExplanation> lines;
+
+    public SectionExplanationDTO(String jobId, int threshold, List<LineExplanation> lines) {
+        this.jobId = jobId;
+        this.threshold = threshold;
+        this.lines = lines;
+    }
+
+    public String getJobId() { return jobId; }
+    public int getThreshold() { return threshold; }
+    public List<LineExplanation> getLines() { return lines; }
+
+    public static class LineExplanation {
+        private final int lineIndex;
+        private final String text;
+        private final Map<String, Integer> scores;
+        private final int total;
+        private final String veto;
+        private final boolean likelyTitle;
+        private final SectionType detectedType;
+        private final boolean startsSection;
+
+        public LineExplanation(int lineIndex, String text, Map<String, Integer> scores, int total, String veto,
+                               boolean likelyTitle, SectionType detectedType, boolean startsSection) {
+            this.lineIndex = lineIndex;
+            this.text = text;
+            this.scores = scores;
+            this.total = total;
+            this.veto = veto;
+            this.likelyTitle = likelyTitle;
+            this.detectedType = detectedType;
+            this.startsSection = startsSection;
+        }
+
+        public int getLineIndex() { return lineIndex; }
+        public String getText() { return text; }
+        public Map<String, Integer> getScores() { return scores; }
+        public int getTotal() { return total; }
+        public String getVeto() { return veto; }
+        public boolean isLikelyTitle() { return likelyTitle; }
+        public SectionType getDetectedType() { return detectedType; }
+        public boolean isStartsSection() { return startsSection; }
+    }
+}
@@ -0,0 +1,121 @@
+package fr.eql.ai116.duflot.backend.entity.dto;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-line breakdown of the section title heuristic, recorded only when a job is parsed with explain=true.
+ *
+ * Scores are kept in one byte array (one fixed-size row per line) and only expanded
+ * into a {@link SectionExplanationDTO} when a client asks for it.
+ */
+public class SectionTitleExplanation {
+
+    // Score components, in the order they are evaluated by isPotentialSectionTitle
+    public static final int CAPS = 0;
+    public static final int BOLD = 1;
+    public static final int FONT = 2;
+    public static final int GAP = 3;
+    public static final int SHORT = 4;
+    public static final int WORDS = 5;
+    public static final int NO_PUNCTUATION = 6;
+    public static final int KEYWORD = 7;
+    private static final String[] COMPONENT_NAMES = {"caps", "bold", "font", "gap", "short", "words", "noPunctuation", "keyword"};
+
+    // Reasons a line is rejected before scoring
+    public static final byte VETO_NONE = 0;
+    public static final byte VETO_EMPTY_OR_LONG = 1;
+    public static final byte VETO_BULLET = 2;
+    public static final byte VETO_CONTACT = 3;
+    public static final byte VETO_PUNCTUATION = 4;
+    public static final byte VETO_DATE_RANGE = 5;
+    private static final String[] VETO_NAMES = {null, "emptyOrTooLong", "bullet", "contactInfo", "trailingPunctuation", "dateRange"};
+
+    private static final int VETO = 8;
+    private static final int DETECTED_TYPE = 9;
+    private static final int FLAGS = 10;
+    private static final int STRIDE = 11;
+
+    private static final byte FLAG_SCORED = 1;
+    private static final byte FLAG_LIKELY_TITLE = 2;
+    private static final byte FLAG_STARTS_SECTION = 4;
+
+    private static final SectionType[] SECTION_TYPES = SectionType.values();
+
+    private byte[] rows = new byte[0];
+    private List<ResumeLineEntity> lines = List.of();
+    private int threshold;
+
+    /**
+     * Sizes the buffer for a document. Called by the helper before scoring its lines.
+     */
+    public void reset(List<ResumeLineEntity> lines, int threshold) {
+        this.lines = lines;
+        this.threshold = threshold;
+        this.rows = new byte[lines.size() * STRIDE];
+    }
+
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    public void recordScore(int lineIndex, int component, int score) {
+        int row = lineIndex * STRIDE;
+        rows[row + component] = (byte) score;
+        rows[row + FLAGS] |= FLAG_SCORED;
+    }
+
+    public void recordVeto(int lineIndex, byte veto) {
+        int row = lineIndex * STRIDE;
+        rows[row + VETO] = veto;
+        rows[row + FLAGS] |= FLAG_SCORED;
+    }
+
+    public void recordDecision(int lineIndex, boolean likelyTitle, SectionType detectedType, boolean startsSection) {
+        int row = lineIndex * STRIDE;
+        rows[row + DETECTED_TYPE] = (byte) detectedType.ordinal();
+        rows[row + FLAGS] |= (byte) ((likelyTitle ? FLAG_LIKELY_TITLE : 0) | (startsSection ? FLAG_STARTS_SECTION : 0));
+    }
+
+    public int getTotal(int lineIndex) {
+        int row = lineIndex * STRIDE;
+        int total = 0;
+        for (int c = CAPS; c <= KEYWORD; c++) {
+            total += rows[row + c];
+        }
+        return total;
+    }
+
+    /**
+     * Expands the scored lines into a serializable DTO. Lines that were never scored are skipped.
+     */
+    public SectionExplanationDTO toDTO(String jobId) {
+        List<SectionExplanationDTO.LineExplanation> explained = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            int row = i * STRIDE;
+            byte flags = rows[row + FLAGS];
+            if ((flags & FLAG_SCORED) == 0) {
+                continue;
+            }
+            Map<String, Integer> scores = new LinkedHashMap<>();
+            for (int c = CAPS; c <= KEYWORD; c++) {
+                scores.put(COMPONENT_NAMES[c], (int) rows[row + c]);
+            }
+            explained.add(new SectionExplanationDTO.LineExplanation(
+                    i,
+                    lines.get(i).getLineText(),
+                    scores,
+                    getTotal(i),
+                    VETO_NAMES[rows[row + VETO]],
+                    (flags & FLAG_LIKELY_TITLE) != 0,
+                    (flags & FLAG_LIKELY_TITLE) != 0 ? SECTION_TYPES[rows[row + DETECTED_TYPE]] : null,
+                    (flags & FLAG_STARTS_SECTION) != 0));
+        }
+        return new SectionExplanationDTO(jobId, threshold, explained);
+    }
+}
@@ -0,0 +1,11 @@
+package fr.eql.ai116.duflot.backend.exception;
+
+/**
+ * Thrown at the next cancellation check of a parse job once it was cancelled. Unchecked, so it
+ * crosses the pipeline stages and PDFBox callbacks up to the orchestrator.
+ */
+public class JobCancelledException extends RuntimeException {
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A date range found by {@link DateRangeScanner}, normalized to months.
+ * A bare year starts in January and ends in December; a range still running has no end month.
+ */
+public final class DateRange {
+
+    private final CharSequence source;
+    private final int startIndex;
+    private final int endIndex; // exclusive
+    private final YearMonth start;
+    private final YearMonth end;
+    private final boolean monthPrecision; // false when both ends are bare years
+
+    DateRange(CharSequence source, int startIndex, int endIndex, YearMonth start, YearMonth end,
+              boolean monthPrecision) {
+        this.source = source;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.start = start;
+        this.end = end;
+        this.monthPrecision = monthPrecision;
+    }
+
+    /**
+     * @return The range as written, e.g. "janv. 2021 – aujourd'hui"
+     */
+    public String getText() {
+        return source.subSequence(startIndex, endIndex).toString();
+    }
+
+    public int getStartIndex() { return startIndex; }
+    public int getEndIndex() { return endIndex; }
+    public YearMonth getStart() { return start; }
+    public YearMonth getEnd() { return end; }
+    public boolean isCurrent() { return end == null; }
+    public boolean isMonthPrecision() { return monthPrecision; }
+
+    /**
+     * @return Months covered, both ends included; a current range runs up to {@code today}
+     */
+    public int getDurationMonths(YearMonth today) {
+        YearMonth last = end != null ? end : today;
+        return (int) Math.max(0, ChronoUnit.MONTHS.between(start, last) + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "DateRange{" + start + " -> " + (end != null ? end : "present") + '}';
+    }
+}
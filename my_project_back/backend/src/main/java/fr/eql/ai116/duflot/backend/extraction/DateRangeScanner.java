@@ -0,0 +1,306 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import java.time.YearMonth;
+
+/**
+ * Finds the first date range in a line, French or English:
+ * "janv. 2021 – aujourd'hui", "03/2019 - 12/2020", "2018–Present", "Sept 2019 to May 2021",
+ * "mars – juin 2022", "depuis 2020".
+ * <p>
+ * Hand-written rather than a regex: one pass over the characters, each word start tried once with
+ * a bounded look-ahead, so the scan is linear. Intermediate dates are packed into longs and nothing
+ * is allocated until a range is found.
+ */
+public final class DateRangeScanner {
+
+    // Folded month names, index % 12 is the month
+    private static final String[] MONTH_NAMES = {
+            "janvier", "fevrier", "mars", "avril", "mai", "juin",
+            "juillet", "aout", "septembre", "octobre", "novembre", "decembre",
+            "january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"
+    };
+    private static final int MIN_MONTH_LENGTH = 3; // "jan", "déc."
+
+    // Folded, a space stands for any single whitespace character
+    private static final String[] PRESENT_WORDS = {
+            "aujourd'hui", "present", "actuellement", "actuel", "en cours", "ce jour", "now", "currently",
+            "current", "today", "ongoing"
+    };
+    private static final String[] SEPARATOR_WORDS = {"au", "a", "to", "until", "till"};
+    private static final String[] OPEN_WORDS = {"depuis", "since"};
+
+    private static final int MIN_YEAR = 1950;
+    private static final int MAX_YEAR = 2100;
+    private static final long NO_DATE = -1;
+
+    private DateRangeScanner() {
+    }
+
+    /**
+     * @return The first date range of the text, or null
+     */
+    public static DateRange find(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (isWordStart(text, i)) {
+                DateRange range = rangeAt(text, i);
+                if (range != null) {
+                    return range;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static boolean containsRange(CharSequence text) {
+        return find(text) != null;
+    }
+
+    private static DateRange rangeAt(CharSequence text, int i) {
+        if (!canStartRange(text.charAt(i))) {
+            return null;
+        }
+        // "depuis mars 2020", "since 2019"
+        int open = matchWord(text, i, OPEN_WORDS);
+        if (open >= 0) {
+            long date = parseDate(text, skipSpaces(text, open));
+            return date != NO_DATE && year(date) != 0 ? build(text, i, next(date), date, NO_DATE) : null;
+        }
+
+        long first = parseDate(text, i);
+        if (first == NO_DATE) {
+            return null;
+        }
+        int k = separatorEnd(text, skipSpaces(text, next(first)));
+        if (k < 0) {
+            return null;
+        }
+        k = skipSpaces(text, k);
+        int present = matchWord(text, k, PRESENT_WORDS);
+        if (present >= 0) {
+            return year(first) != 0 ? build(text, i, present, first, NO_DATE) : null;
+        }
+        long second = parseDate(text, k);
+        if (second == NO_DATE || year(second) == 0) {
+            return null;
+        }
+        return build(text, i, next(second), first, second);
+    }
+
+    private static DateRange build(CharSequence text, int startIndex, int endIndex, long first, long second) {
+        int startMonth = month(first);
+        int startYear = year(first);
+        if (startYear == 0) {
+            // "mars – juin 2022": the start takes the end year, or the year before if it wraps
+            int endMonth = month(second);
+            if (endMonth == 0) {
+                return null;
+            }
+            startYear = startMonth <= endMonth ? year(second) : year(second) - 1;
+        }
+        YearMonth start = YearMonth.of(startYear, startMonth != 0 ? startMonth : 1);
+        YearMonth end = null;
+        if (second != NO_DATE) {
+            end = YearMonth.of(year(second), month(second) != 0 ? month(second) : 12);
+            if (end.isBefore(start)) {
+                return null;
+            }
+        }
+        return new DateRange(text, startIndex, endIndex, start, end, startMonth != 0);
+    }
+
+    // --- Dates: packed as (next index << 32) | (year << 4) | month, month 0 when absent ---
+
+    private static long parseDate(CharSequence text, int i) {
+        int length = text.length();
+        if (i >= length) {
+            return NO_DATE;
+        }
+        char c = text.charAt(i);
+        if (isDigit(c)) {
+            int value = 0;
+            int j = i;
+            while (j < length && isDigit(text.charAt(j)) && j - i < 4) {
+                value = value * 10 + (text.charAt(j) - '0');
+                j++;
+            }
+            if (j < length && isDigit(text.charAt(j))) {
+                return NO_DATE; // Longer number
+            }
+            int digits = j - i;
+            if (digits == 4) {
+                return isYear(value) && !(j < length && Character.isLetter(text.charAt(j))) ? pack(j, value, 0) : NO_DATE;
+            }
+            // "03/2019", "3.2019"
+            if (j < length && (text.charAt(j) == '/' || text.charAt(j) == '.') && value >= 1 && value <= 12) {
+                int year = parseYear(text, j + 1);
+                return year != 0 ? pack(j + 5, year, value) : NO_DATE;
+            }
+            return NO_DATE;
+        }
+        if (Character.isLetter(c)) {
+            int j = i;
+            while (j < length && Character.isLetter(text.charAt(j))) {
+                j++;
+            }
+            int month = monthOf(text, i, j);
+            if (month == 0) {
+                return NO_DATE;
+            }
+            if (j < length && text.charAt(j) == '.') {
+                j++;
+            }
+            int year = parseYear(text, skipSpaces(text, j));
+            return year != 0 ? pack(skipSpaces(text, j) + 4, year, month) : pack(j, 0, month);
+        }
+        return NO_DATE;
+    }
+
+    // Four digits not followed by another digit, within the accepted years
+    private static int parseYear(CharSequence text, int i) {
+        if (i + 4 > text.length() || (i + 4 < text.length() && isDigit(text.charAt(i + 4)))) {
+            return 0;
+        }
+        int value = 0;
+        for (int j = i; j < i + 4; j++) {
+            char c = text.charAt(j);
+            if (!isDigit(c)) {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return isYear(value) ? value : 0;
+    }
+
+    // A word that starts a month name, at least three letters long; ambiguous prefixes ("jui") are rejected
+    private static int monthOf(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < MIN_MONTH_LENGTH) {
+            return 0;
+        }
+        int found = 0;
+        for (int m = 0; m < MONTH_NAMES.length; m++) {
+            String name = MONTH_NAMES[m];
+            if (length > name.length()) {
+                continue;
+            }
+            boolean prefix = true;
+            for (int k = 0; k < length && prefix; k++) {
+                prefix = fold(text.charAt(start + k)) == name.charAt(k);
+            }
+            if (prefix) {
+                int month = m % 12 + 1;
+                if (found != 0 && found != month) {
+                    return 0;
+                }
+                found = month;
+            }
+        }
+        return found;
+    }
+
+    private static long pack(int next, int year, int month) {
+        return ((long) next << 32) | ((long) year << 4) | month;
+    }
+
+    private static int next(long date) {
+        return (int) (date >>> 32);
+    }
+
+    private static int year(long date) {
+        return (int) (date & 0xFFFFFFFFL) >>> 4;
+    }
+
+    private static int month(long date) {
+        return (int) (date & 0xF);
+    }
+
+    // --- Words and characters ---
+
+    private static int separatorEnd(CharSequence text, int i) {
+        if (i >= text.length()) {
+            return -1;
+        }
+        char c = text.charAt(i);
+        if (c == '-' || c == '–' || c == '—' || c == '−' || c == '~') {
+            return i + 1;
+        }
+        return matchWord(text, i, SEPARATOR_WORDS);
+    }
+
+    /**
+     * @return The index after the first of the words found at {@code i} as a whole word, or -1
+     */
+    private static int matchWord(CharSequence text, int i, String[] words) {
+        int length = text.length();
+        for (String word : words) {
+            int end = i + word.length();
+            if (end > length) {
+                continue;
+            }
+            boolean match = true;
+            for (int k = 0; k < word.length() && match; k++) {
+                char expected = word.charAt(k);
+                char actual = text.charAt(i + k);
+                match = expected == ' ' ? Character.isWhitespace(actual) : fold(actual) == expected;
+            }
+            if (match && (end == length || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipSpaces(CharSequence text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWordStart(CharSequence text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    // A digit, or the first letter of a month name, "depuis" or "since": other words are skipped at once
+    private static boolean canStartRange(char c) {
+        switch (fold(c)) {
+            case 'a': case 'd': case 'f': case 'j': case 'm': case 'n': case 'o': case 's':
+                return true;
+            default:
+                return isDigit(c);
+        }
+    }
+
+    private static boolean isYear(int value) {
+        return value >= MIN_YEAR && value <= MAX_YEAR;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Lower case without the accents used in French month names and words
+    private static char fold(char c) {
+        switch (c) {
+            case 'é': case 'è': case 'ê': case 'ë': case 'É': case 'È': case 'Ê':
+                return 'e';
+            case 'à': case 'â': case 'ä': case 'À': case 'Â':
+                return 'a';
+            case 'û': case 'ù': case 'ü': case 'Û':
+                return 'u';
+            case 'ô': case 'ö': case 'Ô':
+                return 'o';
+            case 'î': case 'ï': case 'Î':
+                return 'i';
+            case 'ç': case 'Ç':
+                return 'c';
+            case '’': case '‘':
+                return '\'';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.EducationEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class EducationExtractor implements SectionExtractor<EducationEntity> {
+
+    @Override
+    public SectionType getSectionType() {
+        return SectionType.EDUCATION;
+    }
+
+    @Override
+    public List<EducationEntity> extract(ResumeSectionEntity section) {
+        List<EducationEntity> educations = new ArrayList<>();
+        YearMonth today = YearMonth.now();
+        for (EntryLines.Entry entry : EntryLines.splitEntries(section.getLines())) {
+            if (entry.getHeaders().isEmpty() && entry.getPeriod() == null) {
+                continue;
+            }
+            EducationEntity education = new EducationEntity();
+            education.setPeriod(entry.getPeriod());
+            DateRange range = entry.getDateRange();
+            if (range != null) {
+                education.setStartDate(range.getStart().toString());
+                education.setEndDate(range.isCurrent() ? null : range.getEnd().toString());
+                education.setCurrent(range.isCurrent());
+                education.setDurationMonths(range.getDurationMonths(today));
+            }
+            education.setDescriptions(entry.getDescriptions());
+
+            List<String> headers = entry.getHeaders();
+            if (!headers.isEmpty()) {
+                // "Degree - Institution" on one line, or degree and institution on consecutive lines
+                String[] parts = EntryLines.splitHeader(headers.get(0));
+                education.setDegree(parts[0]);
+                int next = 1;
+                if (parts.length > 1) {
+                    education.setInstitution(parts[1]);
+                } else if (headers.size() > next) {
+                    education.setInstitution(headers.get(next++));
+                }
+                if (headers.size() > next) {
+                    education.setLocation(headers.get(next));
+                }
+            }
+            educations.add(education);
+        }
+        return educations;
+    }
+
+    @Override
+    public void addTo(ResumeDTO resume, List<EducationEntity> extracted) {
+        resume.getEducations().addAll(extracted);
+    }
+}
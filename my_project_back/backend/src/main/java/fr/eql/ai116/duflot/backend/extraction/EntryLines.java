@@ -0,0 +1,179 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line helpers shared by the extractors: bullets, date periods, header splitting
+ * and segmentation of a section into entries (one job, one degree, one project...).
+ */
+public final class EntryLines {
+
+    // Separators between a title and an organization on a header line, most specific first
+    private static final String[] HEADER_SEPARATORS = {" chez ", " at ", " @ ", " | ", " – ", " — ", " - ", ", "};
+    private static final int MAX_HEADER_LINES = 3;
+    private static final int MAX_HEADER_LENGTH = 90;
+
+    private EntryLines() {
+    }
+
+    /**
+     * One entry of a section: its header lines, its period if any, and its description lines.
+     */
+    public static class Entry {
+        private final List<String> headers = new ArrayList<>();
+        private final List<String> descriptions = new ArrayList<>();
+        private DateRange dateRange;
+
+        public List<String> getHeaders() { return headers; }
+        public List<String> getDescriptions() { return descriptions; }
+        public DateRange getDateRange() { return dateRange; }
+        public String getPeriod() { return dateRange != null ? dateRange.getText() : null; }
+    }
+
+    public static boolean isBullet(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '•' || first == '▪' || first == '◦' || first == '●' || first == '*' || first == '·'
+                || ((first == '-' || first == '–') && text.length() > 1 && text.charAt(1) == ' ');
+    }
+
+    public static String stripBullet(String text) {
+        return isBullet(text) ? text.substring(1).trim() : text;
+    }
+
+    /**
+     * Removes the date range from a header line, along with the punctuation that separated it.
+     */
+    public static String removePeriod(String text, DateRange range) {
+        String remainder = (text.substring(0, range.getStartIndex()) + " " + text.substring(range.getEndIndex())).trim();
+        return trimSeparators(remainder);
+    }
+
+    public static String trimSeparators(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && isSeparatorChar(text.charAt(start))) start++;
+        while (end > start && isSeparatorChar(text.charAt(end - 1))) end--;
+        return text.substring(start, end);
+    }
+
+    private static boolean isSeparatorChar(char c) {
+        return Character.isWhitespace(c) || c == '|' || c == '-' || c == '–' || c == '—' || c == ',' || c == '('
+                || c == ')' || c == ':' || c == '/' || c == '·' || c == '•';
+    }
+
+    /**
+     * Splits "Développeur Java chez Acme" or "Master Informatique - Université de Lyon" in two.
+     *
+     * @return Two parts, or a single element when no separator is found
+     */
+    public static String[] splitHeader(String header) {
+        for (String separator : HEADER_SEPARATORS) {
+            int index = header.indexOf(separator);
+            if (index > 0 && index + separator.length() < header.length()) {
+                return new String[]{header.substring(0, index).trim(), header.substring(index + separator.length()).trim()};
+            }
+        }
+        return new String[]{header};
+    }
+
+    public static boolean isMostlyBold(ResumeLineEntity line) {
+        List<ResumeTextItemEntity> items = line.getItems();
+        if (items.isEmpty()) {
+            return false;
+        }
+        int bold = 0;
+        for (ResumeTextItemEntity item : items) {
+            if (item.isBold()) bold++;
+        }
+        return bold * 2 >= items.size();
+    }
+
+    /**
+     * Segments section lines into entries. A new entry starts on a non-bullet line when the current
+     * entry already has descriptions, when both carry a period, or on a bold line once the current
+     * entry has its period.
+     */
+    public static List<Entry> splitEntries(List<ResumeLineEntity> lines) {
+        List<Entry> entries = new ArrayList<>();
+        Entry current = null;
+        for (ResumeLineEntity line : lines) {
+            String text = line.getLineText().trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            if (isBullet(text)) {
+                if (current == null) {
+                    current = new Entry();
+                    entries.add(current);
+                }
+                current.descriptions.add(stripBullet(text));
+                continue;
+            }
+
+            DateRange period = DateRangeScanner.find(text);
+            boolean bold = isMostlyBold(line);
+            boolean startNew = current == null
+                    || !current.descriptions.isEmpty()
+                    || (period != null && current.dateRange != null)
+                    || (bold && current.dateRange != null && !current.headers.isEmpty());
+            if (startNew) {
+                current = new Entry();
+                entries.add(current);
+            }
+
+            if (period != null && current.dateRange == null) {
+                current.dateRange = period;
+                String remainder = removePeriod(text, period);
+                if (!remainder.isEmpty()) {
+                    current.headers.add(remainder);
+                }
+            } else if (current.headers.size() < MAX_HEADER_LINES && text.length() <= MAX_HEADER_LENGTH
+                    && (bold || current.headers.size() < 2 || current.dateRange == null)) {
+                current.headers.add(text);
+            } else {
+                // Free-text description written without bullets
+                current.descriptions.add(text);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Splits a list line ("Java, Spring; Docker • Git") outside of parentheses.
+     */
+    public static List<String> splitList(String text) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == '[') {
+                depth++;
+            } else if ((c == ')' || c == ']') && depth > 0) {
+                depth--;
+            } else if (depth == 0 && (c == ',' || c == ';' || c == '•' || c == '|' || c == '·')) {
+                addPart(parts, text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addPart(parts, text.substring(start));
+        return parts;
+    }
+
+    private static void addPart(List<String> parts, String part) {
+        String trimmed = part.trim();
+        if (trimmed.endsWith(".")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        if (!trimmed.isEmpty()) {
+            parts.add(trimmed);
+        }
+    }
+}
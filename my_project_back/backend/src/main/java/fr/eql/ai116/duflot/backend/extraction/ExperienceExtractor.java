@@ -0,0 +1,85 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.ExperienceEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.SkillEntity;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ExperienceExtractor implements SectionExtractor<ExperienceEntity> {
+
+    @Autowired
+    private SkillMatcher skillMatcher;
+
+    @Override
+    public SectionType getSectionType() {
+        return SectionType.EXPERIENCE;
+    }
+
+    @Override
+    public List<ExperienceEntity> extract(ResumeSectionEntity section) {
+        List<ExperienceEntity> experiences = new ArrayList<>();
+        YearMonth today = YearMonth.now();
+        for (EntryLines.Entry entry : EntryLines.splitEntries(section.getLines())) {
+            if (entry.getHeaders().isEmpty() && entry.getPeriod() == null) {
+                continue; // Bullets before any header, nothing to attach them to
+            }
+            ExperienceEntity experience = new ExperienceEntity();
+            experience.setPeriod(entry.getPeriod());
+            DateRange range = entry.getDateRange();
+            if (range != null) {
+                experience.setStartDate(range.getStart().toString());
+                experience.setEndDate(range.isCurrent() ? null : range.getEnd().toString());
+                experience.setCurrent(range.isCurrent());
+                experience.setDurationMonths(range.getDurationMonths(today));
+            }
+            experience.setDescriptions(entry.getDescriptions());
+
+            List<String> headers = entry.getHeaders();
+            if (!headers.isEmpty()) {
+                // "Title chez Company" on one line, or title and company on consecutive lines
+                String[] parts = EntryLines.splitHeader(headers.get(0));
+                experience.setTitle(parts[0]);
+                int next = 1;
+                if (parts.length > 1) {
+                    experience.setCompany(parts[1]);
+                } else if (headers.size() > next) {
+                    experience.setCompany(headers.get(next++));
+                }
+                if (headers.size() > next) {
+                    experience.setLocation(headers.get(next));
+                }
+            }
+            experience.setSkills(findSkills(entry));
+            experiences.add(experience);
+        }
+        return experiences;
+    }
+
+    // Technologies named in the headers and bullets, once each
+    private List<SkillEntity> findSkills(EntryLines.Entry entry) {
+        Map<String, SkillEntity> skills = new LinkedHashMap<>();
+        for (List<String> texts : List.of(entry.getHeaders(), entry.getDescriptions())) {
+            for (String text : texts) {
+                for (SkillEntity skill : skillMatcher.findSkills(text, null)) {
+                    skills.putIfAbsent(skill.getName(), skill);
+                }
+            }
+        }
+        return new ArrayList<>(skills.values());
+    }
+
+    @Override
+    public void addTo(ResumeDTO resume, List<ExperienceEntity> extracted) {
+        resume.getExperiences().addAll(extracted);
+    }
+}
@@ -0,0 +1,129 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.LanguageEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class LanguagesExtractor implements SectionExtractor<LanguageEntity> {
+
+    private static final Pattern CEFR_PATTERN = Pattern.compile("\\b([ABC][12])\\b");
+    private static final int MAX_NAME_LENGTH = 30;
+
+    // Level words (accent-free, lower case) and the CEFR level they usually mean
+    private static final Map<String, String> LEVEL_WORDS = Map.ofEntries(
+            Map.entry("natif", "NATIVE"), Map.entry("native", "NATIVE"), Map.entry("maternelle", "NATIVE"),
+            Map.entry("mother tongue", "NATIVE"), Map.entry("langue maternelle", "NATIVE"),
+            Map.entry("bilingue", "C2"), Map.entry("bilingual", "C2"),
+            Map.entry("courant", "C1"), Map.entry("fluent", "C1"), Map.entry("avance", "C1"), Map.entry("advanced", "C1"),
+            Map.entry("professionnel", "B2"), Map.entry("professional", "B2"), Map.entry("operationnel", "B2"),
+            Map.entry("intermediaire", "B1"), Map.entry("intermediate", "B1"),
+            Map.entry("scolaire", "A2"), Map.entry("notions", "A2"), Map.entry("basic", "A2"), Map.entry("elementary", "A2"),
+            Map.entry("debutant", "A1"), Map.entry("beginner", "A1")
+    );
+
+    @Override
+    public SectionType getSectionType() {
+        return SectionType.LANGUAGES;
+    }
+
+    @Override
+    public List<LanguageEntity> extract(ResumeSectionEntity section) {
+        List<LanguageEntity> languages = new ArrayList<>();
+        for (ResumeLineEntity line : section.getLines()) {
+            String text = EntryLines.stripBullet(line.getLineText().trim());
+            for (String part : EntryLines.splitList(text)) {
+                LanguageEntity language = parseLanguage(part);
+                if (language != null) {
+                    languages.add(language);
+                }
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * Parses "Anglais (C1)", "Anglais : courant", "English - fluent" or "Espagnol intermédiaire".
+     */
+    private LanguageEntity parseLanguage(String text) {
+        String name = text;
+        String level = null;
+        int paren = text.indexOf('(');
+        int colon = text.indexOf(':');
+        int dash = indexOfDash(text);
+        int split = firstPositive(paren, colon, dash);
+        if (split > 0) {
+            name = text.substring(0, split).trim();
+            level = EntryLines.trimSeparators(text.substring(split));
+        } else {
+            // No separator: the level may be the trailing words ("Anglais courant")
+            int space = text.indexOf(' ');
+            if (space > 0 && levelFromWords(text.substring(space + 1)) != null) {
+                name = text.substring(0, space);
+                level = text.substring(space + 1).trim();
+            }
+        }
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH || !Character.isLetter(name.charAt(0))) {
+            return null;
+        }
+        return new LanguageEntity(name, level == null || level.isEmpty() ? null : level, toCefr(level));
+    }
+
+    private static String toCefr(String level) {
+        if (level == null) {
+            return null;
+        }
+        Matcher matcher = CEFR_PATTERN.matcher(level);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return levelFromWords(level);
+    }
+
+    private static String levelFromWords(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        String best = null;
+        int bestLength = 0;
+        for (Map.Entry<String, String> entry : LEVEL_WORDS.entrySet()) {
+            // Longest level expression wins ("langue maternelle" over "maternelle")
+            if (entry.getKey().length() > bestLength && folded.contains(entry.getKey())) {
+                best = entry.getValue();
+                bestLength = entry.getKey().length();
+            }
+        }
+        return best;
+    }
+
+    private static int indexOfDash(String text) {
+        int index = text.indexOf(" - ");
+        return index >= 0 ? index : text.indexOf(" – ");
+    }
+
+    private static int firstPositive(int... indexes) {
+        int first = -1;
+        for (int index : indexes) {
+            if (index > 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        return first;
+    }
+
+    @Override
+    public void addTo(ResumeDTO resume, List<LanguageEntity> extracted) {
+        resume.getLanguages().addAll(extracted);
+    }
+}
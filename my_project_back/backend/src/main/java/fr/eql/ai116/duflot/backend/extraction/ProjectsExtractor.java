@@ -0,0 +1,86 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.ProjectEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class ProjectsExtractor implements SectionExtractor<ProjectEntity> {
+
+    private static final Pattern URL_PATTERN = Pattern.compile(
+            "(?:https?://|www\\.|github\\.com/|gitlab\\.com/)[^\\s,;)]+", Pattern.CASE_INSENSITIVE);
+    // Prefixes announcing the technologies of a project, e.g. "Stack : Java, Angular"
+    private static final String[] TECHNOLOGY_PREFIXES = {"technologies", "technos", "stack", "tech", "outils", "tools", "environnement", "environment"};
+
+    @Override
+    public SectionType getSectionType() {
+        return SectionType.PROJECTS;
+    }
+
+    @Override
+    public List<ProjectEntity> extract(ResumeSectionEntity section) {
+        List<ProjectEntity> projects = new ArrayList<>();
+        for (EntryLines.Entry entry : EntryLines.splitEntries(section.getLines())) {
+            if (entry.getHeaders().isEmpty()) {
+                continue;
+            }
+            ProjectEntity project = new ProjectEntity();
+            project.setPeriod(entry.getPeriod());
+            String[] parts = EntryLines.splitHeader(entry.getHeaders().get(0));
+            project.setName(parts[0]);
+            if (parts.length > 1) {
+                project.getDescriptions().add(parts[1]);
+            }
+
+            List<String> lines = new ArrayList<>(entry.getHeaders().subList(1, entry.getHeaders().size()));
+            lines.addAll(entry.getDescriptions());
+            for (String line : lines) {
+                Matcher url = URL_PATTERN.matcher(line);
+                if (project.getUrl() == null && url.find()) {
+                    project.setUrl(url.group());
+                }
+                List<String> technologies = technologiesOf(line);
+                if (technologies != null) {
+                    project.getTechnologies().addAll(technologies);
+                } else {
+                    project.getDescriptions().add(line);
+                }
+            }
+            if (project.getUrl() == null) {
+                Matcher url = URL_PATTERN.matcher(entry.getHeaders().get(0));
+                if (url.find()) {
+                    project.setUrl(url.group());
+                }
+            }
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    private static List<String> technologiesOf(String line) {
+        int colon = line.indexOf(':');
+        if (colon <= 0) {
+            return null;
+        }
+        String prefix = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+        for (String candidate : TECHNOLOGY_PREFIXES) {
+            if (prefix.startsWith(candidate)) {
+                return EntryLines.splitList(line.substring(colon + 1));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addTo(ResumeDTO resume, List<ProjectEntity> extracted) {
+        resume.getProjects().addAll(extracted);
+    }
+}
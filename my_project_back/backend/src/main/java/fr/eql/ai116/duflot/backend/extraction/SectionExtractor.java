@@ -0,0 +1,24 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+
+import java.util.List;
+
+/**
+ * Turns the lines of one section type into structured entities (Step 4 of the pipeline).
+ *
+ * Implementations must be stateless: the same instance extracts several sections concurrently.
+ * {@link #extract} only reads its section, {@link #addTo} is called afterwards on the job thread.
+ *
+ * @param <T> The entity type produced
+ */
+public interface SectionExtractor<T> {
+
+    SectionType getSectionType();
+
+    List<T> extract(ResumeSectionEntity section);
+
+    void addTo(ResumeDTO resume, List<T> extracted);
+}
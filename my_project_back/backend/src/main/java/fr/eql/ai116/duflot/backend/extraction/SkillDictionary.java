@@ -0,0 +1,399 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.HardSkillEntity;
+import fr.eql.ai116.duflot.backend.entity.IndustrySpecificSkillEntity;
+import fr.eql.ai116.duflot.backend.entity.SkillEntity;
+import fr.eql.ai116.duflot.backend.entity.SoftSkillEntity;
+import fr.eql.ai116.duflot.backend.search.SearchTextNormalizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Skill names compiled into a token trie, immutable once built.
+ * <p>
+ * Text and dictionary names are folded (lower case, no accents) and cut into tokens, then
+ * {@link #findAll(String)} walks the trie from each token and keeps the longest name found, so
+ * "Spring Boot" wins over "Spring". The walk from one token stops after at most the longest
+ * name's token count, which keeps the scan linear in the text length whatever the dictionary size.
+ * <p>
+ * Tokens and trie edges live in open addressing tables of primitive arrays: no boxing and no
+ * substring per token while scanning.
+ */
+public final class SkillDictionary {
+
+    public enum Kind {
+        HARD, SOFT, INDUSTRY;
+
+        public SkillEntity newSkill(String name, String category) {
+            switch (this) {
+                case SOFT: return new SoftSkillEntity(name, category);
+                case INDUSTRY: return new IndustrySpecificSkillEntity(name, category);
+                default: return new HardSkillEntity(name, category);
+            }
+        }
+    }
+
+    /**
+     * One dictionary line: a canonical name and the spellings that map to it.
+     * An alias starting with '=' only matches when it is the whole text ("C", "R", "Go").
+     */
+    public static final class Entry {
+        private final Kind kind;
+        private final String name;
+        private final List<String> aliases;
+
+        public Entry(Kind kind, String name, List<String> aliases) {
+            this.kind = kind;
+            this.name = name;
+            this.aliases = aliases;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getName() { return name; }
+        public List<String> getAliases() { return aliases; }
+    }
+
+    /**
+     * A dictionary name found in the text, as token positions in the folded text.
+     */
+    public static final class Match {
+        private final Entry entry;
+        private final int startToken;
+        private final int endToken; // exclusive
+
+        Match(Entry entry, int startToken, int endToken) {
+            this.entry = entry;
+            this.startToken = startToken;
+            this.endToken = endToken;
+        }
+
+        public Entry getEntry() { return entry; }
+        public int getStartToken() { return startToken; }
+        public int getEndToken() { return endToken; }
+    }
+
+    public static final SkillDictionary EMPTY = compile(List.of());
+
+    private static final int NO_NODE = -1;
+    private static final int EXACT_ONLY = 1 << 30; // Flag on a terminal entry index
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final List<Entry> entries;
+    private final int maxTokens; // Longest name, in tokens
+
+    // Token vocabulary: folded token -> id
+    private final String[] vocabulary;
+    private final int[] vocabularyIds;
+    private final int vocabularyMask;
+
+    // Trie edges: (node << 32 | tokenId) -> child node
+    private final long[] edgeKeys;
+    private final int[] edgeTargets;
+    private final int edgeMask;
+
+    // Per node: entry index (possibly flagged EXACT_ONLY), or -1
+    private final int[] terminals;
+
+    private SkillDictionary(List<Entry> entries, int maxTokens, String[] vocabulary, int[] vocabularyIds,
+                            long[] edgeKeys, int[] edgeTargets, int[] terminals) {
+        this.entries = entries;
+        this.maxTokens = maxTokens;
+        this.vocabulary = vocabulary;
+        this.vocabularyIds = vocabularyIds;
+        this.vocabularyMask = vocabulary.length - 1;
+        this.edgeKeys = edgeKeys;
+        this.edgeTargets = edgeTargets;
+        this.edgeMask = edgeKeys.length - 1;
+        this.terminals = terminals;
+    }
+
+    // --- Building ---
+
+    /**
+     * Reads the dictionary format, one entry per line: {@code KIND;Name;alias|alias}.
+     * Blank lines and lines starting with '#' are ignored, the name itself is also a spelling.
+     */
+    public static SkillDictionary parse(Reader reader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(";", -1);
+            if (fields.length < 2 || fields[1].isBlank()) {
+                throw new IOException("Invalid skill dictionary line " + lineNumber + ": " + line);
+            }
+            Kind kind;
+            try {
+                kind = Kind.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown skill kind on line " + lineNumber + ": " + fields[0]);
+            }
+            List<String> aliases = new ArrayList<>();
+            if (fields.length > 2) {
+                for (String alias : fields[2].split("\\|")) {
+                    if (!alias.isBlank()) {
+                        aliases.add(alias.trim());
+                    }
+                }
+            }
+            // "HARD;=C" : the name itself only matches as a whole text
+            String name = fields[1].trim();
+            if (name.startsWith("=")) {
+                name = name.substring(1).trim();
+                aliases.add(0, "=" + name);
+            }
+            entries.add(new Entry(kind, name, aliases));
+        }
+        return compile(entries);
+    }
+
+    public static SkillDictionary compile(List<Entry> entries) {
+        // Tokenize every spelling once, to size the tables
+        List<int[]> paths = new ArrayList<>();
+        List<Integer> pathEntries = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        Map<String, Integer> tokenIds = new HashMap<>();
+        int maxTokens = 0;
+        for (int e = 0; e < entries.size(); e++) {
+            Entry entry = entries.get(e);
+            List<String> spellings = new ArrayList<>(entry.getAliases().size() + 1);
+            if (!isExactOnlyName(entry)) {
+                spellings.add(entry.getName());
+            }
+            spellings.addAll(entry.getAliases());
+            for (String spelling : spellings) {
+                boolean exactOnly = spelling.startsWith("=");
+                String folded = SearchTextNormalizer.fold(exactOnly ? spelling.substring(1) : spelling);
+                int[] bounds = tokenBounds(folded);
+                int count = bounds[0];
+                if (count == 0) {
+                    continue;
+                }
+                int[] path = new int[count];
+                for (int t = 0; t < count; t++) {
+                    String token = folded.substring(bounds[1 + 2 * t], bounds[2 + 2 * t]);
+                    Integer id = tokenIds.get(token);
+                    if (id == null) {
+                        id = tokens.size();
+                        tokenIds.put(token, id);
+                        tokens.add(token);
+                    }
+                    path[t] = id;
+                }
+                paths.add(path);
+                pathEntries.add(exactOnly ? e | EXACT_ONLY : e);
+                maxTokens = Math.max(maxTokens, count);
+            }
+        }
+
+        int vocabularyCapacity = tableCapacity(tokens.size());
+        String[] vocabulary = new String[vocabularyCapacity];
+        int[] vocabularyIds = new int[vocabularyCapacity];
+        for (int id = 0; id < tokens.size(); id++) {
+            String token = tokens.get(id);
+            int slot = tokenSlot(token.hashCode(), vocabularyCapacity - 1);
+            while (vocabulary[slot] != null) {
+                slot = (slot + 1) & (vocabularyCapacity - 1);
+            }
+            vocabulary[slot] = token;
+            vocabularyIds[slot] = id;
+        }
+
+        int edgeBound = 0;
+        for (int[] path : paths) {
+            edgeBound += path.length;
+        }
+        int edgeCapacity = tableCapacity(edgeBound);
+        long[] edgeKeys = new long[edgeCapacity];
+        Arrays.fill(edgeKeys, -1L);
+        int[] edgeTargets = new int[edgeCapacity];
+        int[] terminals = new int[edgeBound + 1];
+        Arrays.fill(terminals, NO_NODE);
+        int nodeCount = 1; // Node 0 is the root
+
+        for (int p = 0; p < paths.size(); p++) {
+            int node = 0;
+            for (int tokenId : paths.get(p)) {
+                long key = ((long) node << 32) | tokenId;
+                int slot = edgeSlot(key, edgeCapacity - 1);
+                while (edgeKeys[slot] != -1L && edgeKeys[slot] != key) {
+                    slot = (slot + 1) & (edgeCapacity - 1);
+                }
+                if (edgeKeys[slot] == -1L) {
+                    edgeKeys[slot] = key;
+                    edgeTargets[slot] = nodeCount++;
+                }
+                node = edgeTargets[slot];
+            }
+            // First spelling wins when two entries share one; a plain spelling beats an exact-only one
+            int current = terminals[node];
+            int candidate = pathEntries.get(p);
+            if (current == NO_NODE || ((current & EXACT_ONLY) != 0 && (candidate & EXACT_ONLY) == 0)) {
+                terminals[node] = candidate;
+            }
+        }
+
+        return new SkillDictionary(List.copyOf(entries), maxTokens, vocabulary, vocabularyIds,
+                edgeKeys, edgeTargets, Arrays.copyOf(terminals, nodeCount));
+    }
+
+    // "HARD;Go;=go": an exact-only alias of the name, whatever its case, keeps the name from matching anywhere
+    private static boolean isExactOnlyName(Entry entry) {
+        String name = SearchTextNormalizer.fold(entry.getName());
+        for (String alias : entry.getAliases()) {
+            if (alias.startsWith("=") && SearchTextNormalizer.fold(alias.substring(1).trim()).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Matching ---
+
+    /**
+     * Finds the dictionary names in the text, left to right, longest match first and without overlaps.
+     */
+    public List<Match> findAll(String text) {
+        String folded = SearchTextNormalizer.fold(text);
+        int[] bounds = tokenBounds(folded);
+        int count = bounds[0];
+        if (count == 0 || entries.isEmpty()) {
+            return List.of();
+        }
+        int[] ids = new int[count];
+        for (int t = 0; t < count; t++) {
+            ids[t] = tokenId(folded, bounds[1 + 2 * t], bounds[2 + 2 * t]);
+        }
+
+        List<Match> matches = null;
+        int start = 0;
+        while (start < count) {
+            int node = 0;
+            int bestEnd = -1;
+            int bestEntry = NO_NODE;
+            int limit = Math.min(count, start + maxTokens);
+            for (int t = start; t < limit && ids[t] >= 0; t++) {
+                node = child(node, ids[t]);
+                if (node == NO_NODE) {
+                    break;
+                }
+                int terminal = terminals[node];
+                if (terminal != NO_NODE
+                        && ((terminal & EXACT_ONLY) == 0 || (start == 0 && t == count - 1))) {
+                    bestEnd = t + 1;
+                    bestEntry = terminal & ~EXACT_ONLY;
+                }
+            }
+            if (bestEnd < 0) {
+                start++;
+                continue;
+            }
+            if (matches == null) {
+                matches = new ArrayList<>();
+            }
+            matches.add(new Match(entries.get(bestEntry), start, bestEnd));
+            start = bestEnd;
+        }
+        return matches != null ? matches : List.of();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    private int child(int node, int tokenId) {
+        long key = ((long) node << 32) | tokenId;
+        int slot = edgeSlot(key, edgeMask);
+        long found;
+        while ((found = edgeKeys[slot]) != -1L) {
+            if (found == key) {
+                return edgeTargets[slot];
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+        return NO_NODE;
+    }
+
+    // Same hash as String.hashCode over the range, so no substring is needed to probe
+    private int tokenId(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int length = end - start;
+        int slot = tokenSlot(hash, vocabularyMask);
+        String token;
+        while ((token = vocabulary[slot]) != null) {
+            if (token.length() == length && text.regionMatches(start, token, 0, length)) {
+                return vocabularyIds[slot];
+            }
+            slot = (slot + 1) & vocabularyMask;
+        }
+        return -1;
+    }
+
+    // Generated names ("tech1", "tech2"...) have consecutive hashes, spread them before linear probing
+    private static int tokenSlot(int hash, int mask) {
+        return ((hash * 0x9E3779B9) >>> 8) & mask;
+    }
+
+    private static int edgeSlot(long key, int mask) {
+        return (int) ((key * GOLDEN) >>> 40) & mask;
+    }
+
+    // Power of two with a load factor of at most one half
+    private static int tableCapacity(int size) {
+        return Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+    }
+
+    /**
+     * Token boundaries of folded text: [count, start0, end0, start1, end1...].
+     * Letters and digits form tokens, '+' and '#' stay attached ("c++", "c#") and a '.' followed by a
+     * letter or digit too (".net", "node.js"), so a full stop does not.
+     */
+    static int[] tokenBounds(String folded) {
+        int[] bounds = new int[1 + 2 * Math.max(1, (folded.length() + 1) / 2)];
+        int count = 0;
+        int start = -1;
+        int length = folded.length();
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && isTokenChar(folded, i);
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                bounds[1 + 2 * count] = start;
+                bounds[2 + 2 * count] = i;
+                count++;
+                start = -1;
+            }
+        }
+        bounds[0] = count;
+        return bounds;
+    }
+
+    private static boolean isTokenChar(String text, int i) {
+        char c = text.charAt(i);
+        if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+            return true;
+        }
+        return c == '.' && i + 1 < text.length() && Character.isLetterOrDigit(text.charAt(i + 1));
+    }
+}
@@ -0,0 +1,105 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.SkillEntity;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the compiled {@link SkillDictionary} and reloads it when its file changes.
+ * <p>
+ * A reload compiles a new dictionary next to the current one and swaps the reference, so parsing
+ * jobs never wait and a job keeps the dictionary it started with. A dictionary that fails to load
+ * is logged and the previous one stays in use.
+ */
+@Component
+public class SkillMatcher {
+
+    private static final Logger logger = LogManager.getLogger(SkillMatcher.class);
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    // Any Spring resource location, e.g. file:/etc/resume/skills.txt to edit it without a rebuild
+    @Value("${resume.skills.dictionary:classpath:skills/skills-dictionary.txt}")
+    private String location;
+
+    private volatile SkillDictionary dictionary = SkillDictionary.EMPTY;
+    private volatile long loadedLastModified = -1;
+
+    @PostConstruct
+    void load() {
+        reloadIfModified();
+    }
+
+    /**
+     * Checks the dictionary file date, and recompiles it if it changed since the last load.
+     * Runs on the scheduler; classpath resources inside a jar have no date and load once.
+     */
+    @Scheduled(fixedDelayString = "${resume.skills.reload-interval-ms:30000}",
+            initialDelayString = "${resume.skills.reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        Resource resource = resourceLoader.getResource(location);
+        long lastModified = lastModified(resource);
+        if (lastModified == loadedLastModified && loadedLastModified != -1) {
+            return;
+        }
+        if (loadedLastModified != -1 && lastModified == 0) {
+            return; // Already loaded, and the resource cannot tell whether it changed
+        }
+        long start = System.nanoTime();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            SkillDictionary compiled = SkillDictionary.parse(reader);
+            dictionary = compiled;
+            loadedLastModified = lastModified;
+            logger.info("Skill dictionary loaded from {}: {} entries in {} ms", location, compiled.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            // Do not retry a broken file on every tick, only once it changes again
+            loadedLastModified = lastModified;
+            logger.error("Could not load skill dictionary {}, keeping the previous one ({} entries)",
+                    location, dictionary.size(), e);
+        }
+    }
+
+    public SkillDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Dictionary skills mentioned in the text, typed and under their canonical name.
+     */
+    public List<SkillEntity> findSkills(String text, String category) {
+        List<SkillDictionary.Match> matches = dictionary.findAll(text);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        List<SkillEntity> skills = new ArrayList<>(matches.size());
+        for (SkillDictionary.Match match : matches) {
+            SkillDictionary.Entry entry = match.getEntry();
+            skills.add(entry.getKind().newSkill(entry.getName(), category));
+        }
+        return skills;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.SkillEntity;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class SkillsExtractor implements SectionExtractor<SkillEntity> {
+
+    private static final int MAX_CATEGORY_LENGTH = 40;
+    private static final int MAX_SKILL_LENGTH = 60;
+
+    @Autowired
+    private SkillMatcher skillMatcher;
+
+    @Override
+    public SectionType getSectionType() {
+        return SectionType.SKILLS;
+    }
+
+    @Override
+    public List<SkillEntity> extract(ResumeSectionEntity section) {
+        List<SkillEntity> skills = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ResumeLineEntity line : section.getLines()) {
+            String text = EntryLines.stripBullet(line.getLineText().trim());
+            if (text.isEmpty()) {
+                continue;
+            }
+            // "Langages : Java, Python" gives the category of the skills on that line
+            String category = null;
+            int colon = text.indexOf(':');
+            if (colon > 0 && colon <= MAX_CATEGORY_LENGTH) {
+                category = text.substring(0, colon).trim();
+                text = text.substring(colon + 1);
+            }
+            for (String name : EntryLines.splitList(text)) {
+                if (name.length() > MAX_SKILL_LENGTH) {
+                    continue;
+                }
+                // Known skills come out typed and under their canonical name, the rest as written
+                List<SkillEntity> known = skillMatcher.findSkills(name, category);
+                if (known.isEmpty()) {
+                    known = List.of(new SkillEntity(name, category));
+                }
+                for (SkillEntity skill : known) {
+                    if (seen.add(skill.getName().toLowerCase(Locale.ROOT))) {
+                        skills.add(skill);
+                    }
+                }
+            }
+        }
+        return skills;
+    }
+
+    @Override
+    public void addTo(ResumeDTO resume, List<SkillEntity> extracted) {
+        resume.getSkills().addAll(extracted);
+    }
+}
@@ -0,0 +1,68 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket on job submissions: {@code burst} jobs at once, then one every
+ * {@code 60 / rate-per-minute} seconds.
+ * <p>
+ * Kept as a generic cell rate algorithm: each client only stores the theoretical arrival time of
+ * its next job, updated with a compare-and-set, so admission takes no lock and no refill thread.
+ */
+@Component
+public class ClientRateLimiter {
+
+    @Value("${resume.ratelimit.jobs-per-minute:60}")
+    private int jobsPerMinute;
+
+    @Value("${resume.ratelimit.burst:10}")
+    private int burst;
+
+    // Theoretical arrival time of the next job of each client, in System.nanoTime() units
+    private final ConcurrentHashMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+
+    // Replaced in tests, which advance time instead of sleeping
+    private LongSupplier nanoTime = System::nanoTime;
+
+    /**
+     * Takes a token for the client.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientId) {
+        if (jobsPerMinute <= 0) {
+            return 0; // Limiting disabled
+        }
+        long interval = TimeUnit.MINUTES.toNanos(1) / jobsPerMinute;
+        long tolerance = interval * Math.max(0, burst - 1);
+        AtomicLong arrivalTime = arrivalTimes.computeIfAbsent(clientId, id -> new AtomicLong(nanoTime.getAsLong()));
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long previous = arrivalTime.get();
+            long start = previous - now < 0 ? now : previous; // An idle client starts from a full bucket
+            if (start - now > tolerance) {
+                return start - now - tolerance;
+            }
+            if (arrivalTime.compareAndSet(previous, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets clients whose bucket is full again, they start over as new clients. A client admitted
+     * during the removal gets at most one extra token.
+     */
+    @Scheduled(fixedDelayString = "${resume.ratelimit.cleanup-interval-ms:60000}")
+    public void evictIdleClients() {
+        long now = nanoTime.getAsLong();
+        arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+    }
+}
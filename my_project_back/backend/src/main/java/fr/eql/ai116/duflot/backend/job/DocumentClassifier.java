@@ -0,0 +1,49 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.apache.pdfbox.Loader.loadPDF;
+
+/**
+ * Picks the lane of an uploaded document before it is queued. The byte size decides alone when it
+ * is above the threshold; otherwise the page count is read from the page tree root, which only
+ * needs the cross-reference table and trailer: no page is parsed.
+ */
+@Component
+public class DocumentClassifier {
+
+    private static final Logger logger = LogManager.getLogger(DocumentClassifier.class);
+
+    @Value("${resume.jobs.large.min-bytes:2097152}")
+    private long largeMinBytes;
+
+    @Value("${resume.jobs.large.min-pages:5}")
+    private int largeMinPages;
+
+    /**
+     * @return The page count, or -1 when the size already makes the document large
+     */
+    public int countPages(Path file, long sizeBytes) {
+        if (sizeBytes >= largeMinBytes) {
+            return -1;
+        }
+        try (PDDocument document = loadPDF(file.toFile())) {
+            return document.getNumberOfPages();
+        } catch (IOException e) {
+            // The parse itself will report the broken file, the job only needs a lane
+            logger.debug("Could not count the pages of {}: {}", file, e.getMessage());
+            return -1;
+        }
+    }
+
+    public JobLane classify(long sizeBytes, int pageCount) {
+        return sizeBytes >= largeMinBytes || pageCount >= largeMinPages ? JobLane.LARGE : JobLane.SMALL;
+    }
+}
@@ -0,0 +1,109 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Jobs of one lane, served across clients by weighted deficit round robin: each client with
+ * waiting jobs gets {@code weight} jobs per turn, in its own submission order. A client posting
+ * hundreds of jobs therefore delays someone else's single job by at most one turn of each client.
+ * <p>
+ * Not thread-safe: LaneScheduler guards it with its lock.
+ */
+class FairQueue {
+
+    private final ToIntFunction<String> weights;
+    private final Map<String, ClientQueue> clients = new HashMap<>();
+    private final ArrayDeque<ClientQueue> turns = new ArrayDeque<>(); // Clients with waiting jobs
+    private int size;
+
+    private static final class ClientQueue {
+        final String clientId;
+        final ArrayDeque<ParseJob> jobs = new ArrayDeque<>();
+        int deficit; // Jobs left in the current turn
+
+        ClientQueue(String clientId) {
+            this.clientId = clientId;
+        }
+    }
+
+    /**
+     * @param weights Jobs per turn of each client, at least 1
+     */
+    FairQueue(ToIntFunction<String> weights) {
+        this.weights = weights;
+    }
+
+    void add(ParseJob job) {
+        ClientQueue client = clients.computeIfAbsent(job.getClientId(), ClientQueue::new);
+        if (client.jobs.isEmpty()) {
+            turns.addLast(client);
+        }
+        client.jobs.addLast(job);
+        size++;
+    }
+
+    ParseJob poll() {
+        ClientQueue client = turns.peekFirst();
+        if (client == null) {
+            return null;
+        }
+        if (client.deficit <= 0) {
+            client.deficit = Math.max(1, weights.applyAsInt(client.clientId)); // New turn
+        }
+        ParseJob job = client.jobs.pollFirst();
+        client.deficit--;
+        size--;
+        if (client.jobs.isEmpty()) {
+            turns.pollFirst();
+            clients.remove(client.clientId);
+        } else if (client.deficit <= 0) {
+            turns.addLast(turns.pollFirst());
+        }
+        return job;
+    }
+
+    /**
+     * @return The removed job, null when no job of that id is waiting
+     */
+    ParseJob remove(String jobId) {
+        for (ClientQueue client : turns) {
+            for (ParseJob job : client.jobs) {
+                if (job.getJobId().equals(jobId)) {
+                    client.jobs.remove(job);
+                    size--;
+                    if (client.jobs.isEmpty()) {
+                        turns.remove(client);
+                        clients.remove(client.clientId);
+                    }
+                    return job;
+                }
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int size(String clientId) {
+        ClientQueue client = clients.get(clientId);
+        return client != null ? client.jobs.size() : 0;
+    }
+
+    List<ParseJob> drain() {
+        List<ParseJob> jobs = new ArrayList<>(size);
+        for (ClientQueue client : turns) {
+            jobs.addAll(client.jobs);
+        }
+        clients.clear();
+        turns.clear();
+        size = 0;
+        return jobs;
+    }
+}
@@ -0,0 +1,9 @@
+package fr.eql.ai116.duflot.backend.job;
+
+/**
+ * Scheduling lane of a parse job, decided at upload from the size of the document.
+ */
+public enum JobLane {
+    SMALL,  // Typical resumes: a few pages, parsed in well under a second
+    LARGE   // Portfolios and scanned documents, kept from holding every worker
+}
@@ -0,0 +1,38 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A parse job refused at submission, with the reason the controller maps to an HTTP status.
+ */
+public class JobRejectedException extends RejectedExecutionException {
+
+    public enum Reason {
+        RATE_LIMITED,       // The client is over its token bucket
+        CLIENT_QUEUE_FULL,  // The client already has too many jobs waiting
+        LANE_FULL,          // The lane is full for everyone
+        STOPPED             // The application is shutting down
+    }
+
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public JobRejectedException(Reason reason, String message, long retryAfterSeconds) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Reason getReason() { return reason; }
+    /**
+     * @return When the client may try again, 0 when unknown
+     */
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+
+    /**
+     * @return True when the client is over its own share, false when the whole service is busy
+     */
+    public boolean isClientLimit() {
+        return reason == Reason.RATE_LIMITED || reason == Reason.CLIENT_QUEUE_FULL;
+    }
+}
@@ -0,0 +1,253 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Two lanes, each with its own workers, so a burst of large documents only holds the large lane
+ * while small ones keep flowing. Within a lane, clients are served in turn (FairQueue) and each
+ * client may only have {@code maxQueuedPerClient} jobs waiting.
+ * <p>
+ * Idle workers steal from the other lane: a large worker takes small jobs, which are short and
+ * free it again quickly; a small worker takes a large job only while {@code reservedSmall} of its
+ * lane stay free of large work, so small jobs never wait behind large ones on every thread.
+ * <p>
+ * Both lanes share one lock: a few dozen threads taking jobs that last milliseconds to seconds
+ * never contend on it.
+ */
+public class LaneScheduler {
+
+    private static final Logger logger = LogManager.getLogger(LaneScheduler.class);
+
+    private final Consumer<ParseJob> handler;
+    private final int smallWorkers;
+    private final int reservedSmall;
+    private final int capacity;
+    private final int maxQueuedPerClient;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobAvailable = lock.newCondition();
+    private final Map<JobLane, FairQueue> queues = new EnumMap<>(JobLane.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private int smallWorkersOnLarge;  // Guarded by lock
+    private boolean accepting = true; // Guarded by lock
+    private boolean stopped;          // Guarded by lock
+
+    /**
+     * @param capacity Maximum number of waiting jobs per lane
+     * @param weights Jobs per turn of each client in the fair queues
+     * @param handler Runs a job; its exceptions and errors are logged and the worker goes on
+     */
+    public LaneScheduler(int smallWorkers, int largeWorkers, int reservedSmall, int capacity, int maxQueuedPerClient,
+                         ToIntFunction<String> weights, Consumer<ParseJob> handler, String threadPrefix) {
+        if (smallWorkers < 1 || largeWorkers < 1) {
+            throw new IllegalArgumentException("Each lane needs at least one worker");
+        }
+        this.handler = handler;
+        this.smallWorkers = smallWorkers;
+        this.reservedSmall = Math.min(Math.max(0, reservedSmall), smallWorkers);
+        this.capacity = capacity;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+        for (JobLane lane : JobLane.values()) {
+            queues.put(lane, new FairQueue(weights));
+        }
+        for (int i = 0; i < smallWorkers + largeWorkers; i++) {
+            JobLane lane = i < smallWorkers ? JobLane.SMALL : JobLane.LARGE;
+            int number = i < smallWorkers ? i + 1 : i - smallWorkers + 1;
+            Thread worker = new Thread(() -> work(lane), threadPrefix + lane.name().toLowerCase() + "-" + number);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    public void start() {
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * Queues a job in its lane.
+     *
+     * @throws JobRejectedException When the client or the lane is full, or the scheduler stopped
+     */
+    public void submit(ParseJob job) {
+        lock.lock();
+        try {
+            FairQueue queue = queues.get(job.getLane());
+            if (stopped || !accepting) {
+                throw new JobRejectedException(JobRejectedException.Reason.STOPPED, "Scheduler is stopped", 0);
+            }
+            if (queuedJobs(job.getClientId()) >= maxQueuedPerClient) {
+                throw new JobRejectedException(JobRejectedException.Reason.CLIENT_QUEUE_FULL,
+                        "Client " + job.getClientId() + " already has " + maxQueuedPerClient + " jobs waiting", 0);
+            }
+            if (queue.size() >= capacity) {
+                throw new JobRejectedException(JobRejectedException.Reason.LANE_FULL,
+                        "The " + job.getLane() + " lane is full (" + capacity + " jobs)", 0);
+            }
+            queue.add(job);
+            // Any idle worker of either lane may take it
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a waiting job out of its lane.
+     *
+     * @return The job, null when it is not waiting (unknown, running or finished)
+     */
+    public ParseJob remove(String jobId) {
+        lock.lock();
+        try {
+            for (FairQueue queue : queues.values()) {
+                ParseJob job = queue.remove(jobId);
+                if (job != null) {
+                    return job;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedJobs(JobLane lane) {
+        lock.lock();
+        try {
+            return queues.get(lane).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Guarded by lock
+    private int queuedJobs(String clientId) {
+        int queued = 0;
+        for (FairQueue queue : queues.values()) {
+            queued += queue.size(clientId);
+        }
+        return queued;
+    }
+
+    /**
+     * Refuses new jobs from now on; the workers go on with the queued ones.
+     */
+    public void stopAccepting() {
+        lock.lock();
+        try {
+            accepting = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes every job still waiting out of the lanes, without stopping the workers.
+     */
+    public List<ParseJob> removeQueued() {
+        List<ParseJob> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            for (FairQueue queue : queues.values()) {
+                pending.addAll(queue.drain());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return pending;
+    }
+
+    /**
+     * Stops the workers; jobs still queued are returned and not run.
+     */
+    public List<ParseJob> stop() {
+        List<ParseJob> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            stopped = true;
+            for (FairQueue queue : queues.values()) {
+                pending.addAll(queue.drain());
+            }
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.forEach(Thread::interrupt);
+        return pending;
+    }
+
+    private void work(JobLane lane) {
+        while (true) {
+            ParseJob job;
+            try {
+                job = take(lane);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == null) {
+                return;
+            }
+            try {
+                handler.accept(job);
+            } catch (RuntimeException | Error e) {
+                // An Error of one document (stack overflow in a nested PDF, out of memory on a huge one)
+                // must not end the worker: the lane would lose a thread for good
+                logger.error("Parse job {} failed in the {} lane", job.getJobId(), lane, e);
+            } finally {
+                if (lane == JobLane.SMALL && job.getLane() == JobLane.LARGE) {
+                    release();
+                }
+            }
+        }
+    }
+
+    // Own lane first, then the other one when stealing is allowed; null once stopped
+    private ParseJob take(JobLane lane) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!stopped) {
+                ParseJob own = queues.get(lane).poll();
+                if (own != null) {
+                    return own;
+                }
+                if (lane == JobLane.LARGE) {
+                    ParseJob small = queues.get(JobLane.SMALL).poll();
+                    if (small != null) {
+                        return small;
+                    }
+                } else if (smallWorkersOnLarge < smallWorkers - reservedSmall) {
+                    ParseJob large = queues.get(JobLane.LARGE).poll();
+                    if (large != null) {
+                        smallWorkersOnLarge++;
+                        return large;
+                    }
+                }
+                jobAvailable.await();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            smallWorkersOnLarge--;
+            // A small worker waiting for its turn at the large lane may take one now
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import fr.eql.ai116.duflot.backend.util.CancellationToken;
+
+import java.nio.file.Path;
+
+/**
+ * A parse job waiting in, or taken from, a lane of the scheduler. The uploaded file is already
+ * spooled to {@code file}, which belongs to the job and is deleted once it has run, unless the job
+ * was handed over to another node while running.
+ */
+public class ParseJob {
+
+    private final String jobId;
+    private final String clientId;
+    private final Path file;
+    private final String originalFilename;
+    private final long sizeBytes;
+    private final int pageCount;
+    private final boolean explain;
+    private final ParseMode mode;
+    private final JobLane lane;
+    private final long submittedNanos;
+    private final CancellationToken cancellation = new CancellationToken();
+    private volatile boolean handedOver;
+
+    public ParseJob(String jobId, String clientId, Path file, String originalFilename, long sizeBytes, int pageCount,
+                    boolean explain, JobLane lane) {
+        this(jobId, clientId, file, originalFilename, sizeBytes, pageCount, explain, ParseMode.FULL, lane);
+    }
+
+    public ParseJob(String jobId, String clientId, Path file, String originalFilename, long sizeBytes, int pageCount,
+                    boolean explain, ParseMode mode, JobLane lane) {
+        this(jobId, clientId, file, originalFilename, sizeBytes, pageCount, explain, mode, lane, System.nanoTime());
+    }
+
+    /**
+     * @param submittedNanos When the job was queued, on this node's nanoTime scale; earlier than now
+     *                       for a job claimed from the shared queue
+     */
+    public ParseJob(String jobId, String clientId, Path file, String originalFilename, long sizeBytes, int pageCount,
+                    boolean explain, ParseMode mode, JobLane lane, long submittedNanos) {
+        this.jobId = jobId;
+        this.clientId = clientId;
+        this.file = file;
+        this.originalFilename = originalFilename;
+        this.sizeBytes = sizeBytes;
+        this.pageCount = pageCount;
+        this.explain = explain;
+        this.mode = mode;
+        this.lane = lane;
+        this.submittedNanos = submittedNanos;
+    }
+
+    public String getJobId() { return jobId; }
+    /**
+     * @return The caller the job is accounted to: principal name, API key or address
+     */
+    public String getClientId() { return clientId; }
+    public Path getFile() { return file; }
+    public String getOriginalFilename() { return originalFilename; }
+    public long getSizeBytes() { return sizeBytes; }
+    /**
+     * @return The page count read at upload, -1 when it was not needed or not readable
+     */
+    public int getPageCount() { return pageCount; }
+    public boolean isExplain() { return explain; }
+    public ParseMode getMode() { return mode; }
+    public JobLane getLane() { return lane; }
+    public long getSubmittedNanos() { return submittedNanos; }
+    /**
+     * @return Whether a draining node gave this running job back to the shared queue; its file and
+     *         outcome then belong to the node that takes it next
+     */
+    public boolean isHandedOver() { return handedOver; }
+    public CancellationToken getCancellation() { return cancellation; }
+
+    void markHandedOver() {
+        handedOver = true;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseJob{jobId='" + jobId + "', clientId='" + clientId + "', mode=" + mode + ", lane=" + lane + ", sizeBytes=" + sizeBytes + ", pageCount=" + pageCount + '}';
+    }
+}
@@ -0,0 +1,532 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingOrchestrator;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import fr.eql.ai116.duflot.backend.util.SseService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of asynchronous parsing: checks the client's rate limit, spools the upload, classifies
+ * it into a lane and queues it. Replaces the shared @Async executor, where a few large documents
+ * could hold every worker while single-page resumes waited behind them, and where one client
+ * posting in bulk delayed everyone else.
+ * <p>
+ * With resume.jobs.distributed, uploads go to a directory shared by every node and jobs to the
+ * parse_job table; each node's SharedQueuePoller feeds its own lanes from there, so any number of
+ * nodes can sit behind a load balancer and a job outlives the node that received it.
+ * <p>
+ * On shutdown the node drains before the web server stops, so SSE streams stay open: new uploads
+ * get 503, queued and running jobs get resume.jobs.drain-timeout-seconds to finish. Past it, a
+ * shared node hands its jobs back to the queue and another node resumes them, from the extraction
+ * artifacts when Steps 1 and 2 were done (resume.artifacts.dir must then be shared as well).
+ */
+@Service
+public class ParseJobScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LogManager.getLogger(ParseJobScheduler.class);
+
+    @Autowired
+    private ResumeParsingOrchestrator resumeParsingOrchestrator;
+
+    @Autowired
+    private DocumentClassifier documentClassifier;
+
+    @Autowired
+    private ClientRateLimiter clientRateLimiter;
+
+    @Autowired
+    private ParsingMetrics parsingMetrics;
+
+    @Autowired
+    private SseService sseService;
+
+    @Autowired
+    private ResumePersistenceService resumePersistenceService;
+
+    // 0 = one per CPU
+    @Value("${resume.jobs.small.concurrency:0}")
+    private int smallConcurrency;
+
+    // 0 = a quarter of the CPUs, at least one
+    @Value("${resume.jobs.large.concurrency:0}")
+    private int largeConcurrency;
+
+    // Small lane workers that never take a large job
+    @Value("${resume.jobs.small.reserved:1}")
+    private int reservedSmall;
+
+    @Value("${resume.jobs.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${resume.jobs.max-queued-per-client:50}")
+    private int maxQueuedPerClient;
+
+    // "client=weight,...": jobs per turn in the fair queues, 1 for unlisted clients
+    @Value("${resume.jobs.client-weights:}")
+    private String clientWeights;
+
+    @Value("${resume.jobs.distributed:false}")
+    private boolean distributed;
+
+    // Must be the same storage on every node, e.g. a mounted volume
+    @Value("${resume.jobs.shared-dir:${java.io.tmpdir}/resume-jobs}")
+    private Path sharedDir;
+
+    @Value("${resume.jobs.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${resume.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    // Failed shared jobs keep answering status queries (e.g. idempotent replays) this long
+    @Value("${resume.jobs.failed-retention-seconds:86400}")
+    private int failedRetentionSeconds;
+
+    @Value("${resume.jobs.poll-interval-ms:500}")
+    private long pollIntervalMs;
+
+    // Empty = process id and host name
+    @Value("${resume.jobs.node-id:}")
+    private String nodeId;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Keep under spring.lifecycle.timeout-per-shutdown-phase
+    @Value("${resume.jobs.drain-timeout-seconds:30}")
+    private long drainTimeoutSeconds;
+
+    private LaneScheduler lanes;
+    private final Map<JobLane, Integer> workers = new EnumMap<>(JobLane.class);
+    private PostgresJobQueue sharedQueue; // Only when distributed
+    private SharedQueuePoller sharedQueuePoller;
+    private final Set<ParseJob> runningJobs = ConcurrentHashMap.newKeySet();
+    // Queued or running on this node, by job id, for cancellation
+    private final Map<String, ParseJob> localJobs = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private boolean drained; // Guarded by this
+
+    @PostConstruct
+    void startLanes() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int small = smallConcurrency > 0 ? smallConcurrency : cpus;
+        int large = largeConcurrency > 0 ? largeConcurrency : Math.max(1, cpus / 4);
+        Map<String, Integer> weights = parseWeights(clientWeights);
+        lanes = new LaneScheduler(small, large, reservedSmall, queueCapacity, maxQueuedPerClient,
+                clientId -> weights.getOrDefault(clientId, 1), this::run, "parse-");
+        workers.put(JobLane.SMALL, small);
+        workers.put(JobLane.LARGE, large);
+        lanes.start();
+        // Streams are counted per node; with the shared queue a client may reconnect to another one
+        if (!distributed) {
+            sseService.onAbandoned(jobId -> cancel(jobId, null, "Every status stream was closed."));
+        }
+        logger.info("Parse job lanes started: {} small workers ({} reserved), {} large workers", small, reservedSmall, large);
+        if (distributed) {
+            startSharedQueue();
+        }
+    }
+
+    private void startSharedQueue() {
+        try {
+            Files.createDirectories(sharedDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create the shared job directory " + sharedDir, e);
+        }
+        String node = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        sharedQueue = new PostgresJobQueue(jdbcTemplate, node, leaseSeconds, maxAttempts, leaseSeconds / 2, failedRetentionSeconds);
+        // Claims only what a lane can start soon, idle nodes get the rest
+        sharedQueuePoller = new SharedQueuePoller(sharedQueue,
+                lane -> workers.get(lane) - lanes.getQueuedJobs(lane), this::queueLocally,
+                sharedDir::resolve, this::failShared,
+                jobId -> cancel(jobId, null, "Cancelled on another node."), pollIntervalMs, leaseSeconds * 1000L / 3);
+        sharedQueuePoller.start();
+        logger.info("Shared job queue started for node {}, files in {}", node, sharedDir);
+    }
+
+    // A job whose lease expired on its last attempt, reclaimed by this node whichever ran it
+    private void failShared(PostgresJobQueue.ReclaimedJob job) {
+        deleteQuietly(sharedDir.resolve(job.fileKey()));
+        sseService.errorEmitter(job.jobId(), "parsingError",
+                Map.of("errorMessage", "Parsing stopped on every attempt, the document may be damaged or too large."));
+        recordOutcome(job.jobId(), null, Status.FAILURE);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops before the web server (lower phases stop later), the clients of draining jobs keep their streams
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    @Override
+    public void stop() {
+        drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread drainer = new Thread(() -> {
+            try {
+                drain();
+            } finally {
+                callback.run();
+            }
+        }, "parse-job-drain");
+        drainer.start();
+    }
+
+    /**
+     * Refuses new jobs, then gives queued and running ones until the deadline to finish. Jobs left
+     * after it are handed to other nodes when the queue is shared, or dropped with an error event.
+     */
+    synchronized void drain() {
+        running = false;
+        if (drained) {
+            return;
+        }
+        drained = true;
+        lanes.stopAccepting();
+        if (sharedQueuePoller != null) {
+            sharedQueuePoller.stop();
+            // Idle nodes can start these right away
+            List<ParseJob> queued = lanes.removeQueued();
+            queued.forEach(job -> localJobs.remove(job.getJobId()));
+            queued.forEach(job -> parsingMetrics.recordClientQueued(job.getClientId(), -1));
+            releaseShared(queued);
+            logger.info("Draining: {} queued jobs handed back to the shared queue", queued.size());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        while (!isIdle() && System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (isIdle()) {
+            logger.info("Drained: every parse job finished");
+        } else {
+            abandon(new ArrayList<>(runningJobs));
+        }
+        for (ParseJob job : lanes.stop()) {
+            localJobs.remove(job.getJobId());
+            // Only local lanes can still hold jobs here, another node cannot take them
+            parsingMetrics.recordClientQueued(job.getClientId(), -1);
+            sseService.errorEmitter(job.getJobId(), "parsingError",
+                    Map.of("errorMessage", "The server restarted before parsing started, please upload the file again."));
+            recordOutcome(job.getJobId(), job.getOriginalFilename(), Status.FAILURE);
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private boolean isIdle() {
+        return runningJobs.isEmpty() && lanes.getQueuedJobs(JobLane.SMALL) + lanes.getQueuedJobs(JobLane.LARGE) == 0;
+    }
+
+    // Jobs still running at the deadline
+    private void abandon(List<ParseJob> jobs) {
+        if (sharedQueue == null) {
+            // They keep going until the process exits; an upload of the same file reuses their extraction artifacts
+            logger.warn("Drain deadline passed with {} parse jobs still running", jobs.size());
+            return;
+        }
+        for (ParseJob job : jobs) {
+            job.markHandedOver();
+            sseService.sendUpdate(job.getJobId(), "statusUpdate",
+                    Map.of("message", "Server restarting, parsing resumes on another node.", "type", "info"));
+        }
+        releaseShared(jobs);
+        logger.warn("Drain deadline passed: {} running parse jobs handed back to the shared queue", jobs.size());
+    }
+
+    private void releaseShared(List<ParseJob> jobs) {
+        try {
+            sharedQueue.release(jobs);
+        } catch (RuntimeException e) {
+            // Their leases expire and they are retried all the same, only later
+            logger.error("Failed to hand {} jobs back to the shared queue", jobs.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        // Already done by the lifecycle unless startup failed half way
+        drain();
+    }
+
+    /**
+     * Spools the upload and queues its job. Called on the request thread: the multipart file is
+     * only valid until the request ends.
+     *
+     * @param clientId The caller the job is accounted to, for rate limiting and fair queuing
+     * @param mode PROFILE jobs only read the first page, they always go to the small lane
+     * @throws JobRejectedException When the client is over its limits or the lane of the document is full
+     */
+    public ParseJob submit(String jobId, String clientId, MultipartFile file, boolean explain, ParseMode mode) throws IOException {
+        // Checked first, a refused upload is not even written to disk
+        long waitNanos = clientRateLimiter.tryAcquire(clientId);
+        if (waitNanos > 0) {
+            parsingMetrics.recordClientRejected(clientId, JobRejectedException.Reason.RATE_LIMITED);
+            throw new JobRejectedException(JobRejectedException.Reason.RATE_LIMITED,
+                    "Client " + clientId + " is over its job rate", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+
+        if (sharedQueue != null) {
+            return submitShared(jobId, clientId, file, explain, mode);
+        }
+        Path tempFile = Files.createTempFile("resume_", "_" + file.getOriginalFilename());
+        try {
+            file.transferTo(tempFile.toFile());
+            long sizeBytes = file.getSize();
+            ParseJob job = newJob(jobId, clientId, tempFile, file.getOriginalFilename(), sizeBytes, explain, mode);
+            // Counted before queuing, a worker may take the job at once
+            parsingMetrics.recordClientQueued(clientId, 1);
+            localJobs.put(jobId, job);
+            try {
+                lanes.submit(job);
+            } catch (JobRejectedException e) {
+                localJobs.remove(jobId);
+                parsingMetrics.recordClientQueued(clientId, -1);
+                parsingMetrics.recordClientRejected(clientId, e.getReason());
+                throw e;
+            }
+            parsingMetrics.recordClientAdmitted(clientId);
+            parsingMetrics.recordQueuedJobs(job.getLane(), lanes.getQueuedJobs(job.getLane()));
+            logger.debug("Queued {}", job);
+            return job;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    // The job id names the file: it is unique and the key means the same on every node
+    private ParseJob submitShared(String jobId, String clientId, MultipartFile file, boolean explain, ParseMode mode) throws IOException {
+        String fileKey = jobId + ".pdf";
+        Path sharedFile = sharedDir.resolve(fileKey);
+        try {
+            file.transferTo(sharedFile);
+            long sizeBytes = file.getSize();
+            ParseJob job = newJob(jobId, clientId, sharedFile, file.getOriginalFilename(), sizeBytes, explain, mode);
+            try {
+                sharedQueue.enqueue(job, fileKey, queueCapacity, maxQueuedPerClient);
+            } catch (JobRejectedException e) {
+                parsingMetrics.recordClientRejected(clientId, e.getReason());
+                throw e;
+            }
+            parsingMetrics.recordClientAdmitted(clientId);
+            logger.debug("Queued {} in the shared queue", job);
+            return job;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(sharedFile);
+            throw e;
+        }
+    }
+
+    private ParseJob newJob(String jobId, String clientId, Path file, String originalFilename, long sizeBytes,
+                            boolean explain, ParseMode mode) {
+        if (mode == ParseMode.PROFILE) {
+            // A page of work whatever the document's size, its page count is not needed
+            return new ParseJob(jobId, clientId, file, originalFilename, sizeBytes, -1, explain, mode, JobLane.SMALL);
+        }
+        int pageCount = documentClassifier.countPages(file, sizeBytes);
+        return new ParseJob(jobId, clientId, file, originalFilename, sizeBytes, pageCount, explain, mode,
+                documentClassifier.classify(sizeBytes, pageCount));
+    }
+
+    // A job claimed from the shared queue, counted like a local submission
+    private void queueLocally(ParseJob job) {
+        parsingMetrics.recordClientQueued(job.getClientId(), 1);
+        localJobs.put(job.getJobId(), job);
+        try {
+            lanes.submit(job);
+        } catch (JobRejectedException e) {
+            localJobs.remove(job.getJobId());
+            parsingMetrics.recordClientQueued(job.getClientId(), -1);
+            throw e;
+        }
+        parsingMetrics.recordQueuedJobs(job.getLane(), lanes.getQueuedJobs(job.getLane()));
+    }
+
+    private void run(ParseJob job) {
+        runningJobs.add(job);
+        parsingMetrics.recordClientQueued(job.getClientId(), -1);
+        parsingMetrics.recordQueuedJobs(job.getLane(), lanes.getQueuedJobs(job.getLane()));
+        parsingMetrics.recordQueueWait(job.getLane(), job.getSubmittedNanos());
+        try {
+            resumeParsingOrchestrator.parseResume(job);
+        } finally {
+            parsingMetrics.recordLaneLatency(job.getLane(), job.getSubmittedNanos());
+            if (job.getMode() == ParseMode.PROFILE) {
+                parsingMetrics.recordProfileLatency(job.getSubmittedNanos());
+            }
+            if (sharedQueue != null && !job.isHandedOver()) {
+                completeShared(job);
+            }
+            runningJobs.remove(job);
+            localJobs.remove(job.getJobId());
+        }
+    }
+
+    /**
+     * Cancels a job wherever it is. A waiting job is dropped at once; a running one stops at its
+     * next page or stage boundary, its worker then reports parsingCancelled and takes the next job.
+     * A job running on another node is flagged in the shared queue and stops within a poll interval.
+     * A parse shared by identical uploads only stops once all of them are cancelled.
+     *
+     * @param clientId Only cancels a job of this client, null for any
+     * @return false when no such job is waiting or running
+     */
+    public boolean cancel(String jobId, String clientId, String reason) {
+        ParseJob job = localJobs.get(jobId);
+        if (job != null && (clientId == null || clientId.equals(job.getClientId()))) {
+            job.getCancellation().cancel(reason);
+            // A worker may take the job meanwhile, it then stops at its first check
+            if (lanes.remove(jobId) != null) {
+                localJobs.remove(jobId);
+                parsingMetrics.recordClientQueued(job.getClientId(), -1);
+                parsingMetrics.recordQueuedJobs(job.getLane(), lanes.getQueuedJobs(job.getLane()));
+                if (sharedQueue != null) {
+                    completeShared(job);
+                }
+                deleteQuietly(job.getFile());
+                notifyCancelled(jobId, reason);
+                recordOutcome(jobId, job.getOriginalFilename(), Status.CANCELLED);
+            } else {
+                // Running: when other uploads of the document share its parse, it goes on for them
+                resumeParsingOrchestrator.leave(job);
+            }
+            logger.info("Cancellation of Job ID: {} requested ({})", jobId, reason);
+            return true;
+        }
+        if (job != null) {
+            return false;
+        }
+        // Joined the parse of an identical upload, its worker is already free
+        if (resumeParsingOrchestrator.cancelJoined(jobId, clientId, reason)) {
+            recordOutcome(jobId, null, Status.CANCELLED);
+            logger.info("Cancelled Job ID: {}, which shared another job's parse ({})", jobId, reason);
+            return true;
+        }
+        if (sharedQueue == null) {
+            return false;
+        }
+        try {
+            Optional<String> fileKey = sharedQueue.cancelQueued(jobId, clientId);
+            if (fileKey.isPresent()) {
+                deleteQuietly(sharedDir.resolve(fileKey.get()));
+                notifyCancelled(jobId, reason);
+                recordOutcome(jobId, null, Status.CANCELLED);
+                logger.info("Cancelled Job ID: {} in the shared queue ({})", jobId, reason);
+                return true;
+            }
+            return sharedQueue.requestCancel(jobId, clientId);
+        } catch (RuntimeException e) {
+            logger.error("Failed to cancel Job ID: {} in the shared queue", jobId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Where a job stands: QUEUED or RUNNING, then its recorded outcome, failures and cancellations
+     * included. ACCEPTED when it is known to neither, i.e. finished but not persisted yet.
+     */
+    public String getStatus(String jobId) {
+        ParseJob job = localJobs.get(jobId);
+        if (job != null) {
+            return runningJobs.contains(job) ? "RUNNING" : "QUEUED";
+        }
+        if (sharedQueue != null) {
+            Optional<String> shared = sharedQueue.status(jobId);
+            if (shared.isPresent()) {
+                // The persisted outcome says FAILURE, once the queue row is gone
+                return "FAILED".equals(shared.get()) ? Status.FAILURE.name() : shared.get();
+            }
+        }
+        return resumePersistenceService.findStatus(jobId).map(Enum::name).orElse("ACCEPTED");
+    }
+
+    // Same event as a job stopped by its worker, which never saw this one
+    private void notifyCancelled(String jobId, String reason) {
+        sseService.completeEmitter(jobId, "parsingCancelled",
+                Map.of("message", "Parsing cancelled before it started.", "reason", reason));
+    }
+
+    // The outcome of a job that ended without a worker, status queries and idempotent replays read it
+    private void recordOutcome(String jobId, String originalFilename, Status status) {
+        ParsingTraceDTO traceData = new ParsingTraceDTO(jobId, originalFilename, TraceLevel.OFF);
+        traceData.setOverallStatus(status);
+        traceData.setEndTime(System.currentTimeMillis());
+        resumePersistenceService.enqueue(traceData, null);
+    }
+
+    private void completeShared(ParseJob job) {
+        try {
+            sharedQueue.complete(job.getJobId());
+        } catch (RuntimeException e) {
+            // The lease expires and another node parses the document again, the client gets a second result
+            logger.error("Failed to remove finished job {} from the shared queue", job.getJobId(), e);
+        }
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            int equals = entry.lastIndexOf('=');
+            if (equals > 0) {
+                try {
+                    weights.put(entry.substring(0, equals).trim(), Math.max(1, Integer.parseInt(entry.substring(equals + 1).trim())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring client weight '{}': not a number", entry.trim());
+                }
+            }
+        }
+        return weights;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.error("Failed to delete temporary file: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import java.util.Locale;
+
+/**
+ * What a parse job extracts, chosen by the caller with the mode parameter of /api/resume/parse.
+ */
+public enum ParseMode {
+    FULL,    // Every page, every section
+    PROFILE; // The first page and the profile only: name and contact details, for de-duplication
+
+    /**
+     * @throws IllegalArgumentException When the value is neither "full" nor "profile"
+     */
+    public static ParseMode fromParameter(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
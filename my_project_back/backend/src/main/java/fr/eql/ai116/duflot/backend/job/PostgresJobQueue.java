@@ -0,0 +1,206 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Parse jobs shared by every backend node, in the parse_job table (db/postgres/003_parse_jobs.sql).
+ * A node claims jobs with {@code FOR UPDATE SKIP LOCKED}, so concurrent claims never wait on each
+ * other nor take the same row, and keeps them under a lease it renews while they run. When a node
+ * dies its leases expire and any node puts the jobs back in the queue.
+ * <p>
+ * Claims serve clients in turn, like FairQueue with every weight at 1: the candidates are the
+ * oldest waiting jobs ranked by their position in their own client's queue, and locked in that order.
+ * Jobs that failed for good stay FAILED, for status queries, until their retention passes.
+ */
+public class PostgresJobQueue {
+
+    private static final String FAILED = "FAILED";
+
+    private static final String INSERT_JOB =
+            "INSERT INTO parse_job (job_id, client_id, lane, status, file_key, original_filename, size_bytes, page_count, explain_requested, mode) " +
+            "VALUES (?, ?, ?, 'QUEUED', ?, ?, ?, ?, ?, ?)";
+    private static final String COUNT_QUEUED =
+            "SELECT count(*) FILTER (WHERE lane = ?), count(*) FILTER (WHERE client_id = ?) FROM parse_job WHERE status = 'QUEUED'";
+    // The ranking reads a snapshot, the locking query takes what is still queued in turn order and skips what another node holds
+    private static final String CLAIM_JOBS =
+            "UPDATE parse_job SET status = 'RUNNING', owner = ?, attempts = attempts + 1, " +
+            "lease_until = now() + make_interval(secs => ?) " +
+            "WHERE job_id IN (SELECT job.job_id FROM parse_job job JOIN (" +
+            "  SELECT job_id, turn FROM (SELECT job_id, created_at, row_number() OVER (PARTITION BY client_id ORDER BY created_at) AS turn " +
+            "    FROM parse_job WHERE status = 'QUEUED' AND lane = ? AND available_at <= now()) ranked " +
+            "  ORDER BY turn, created_at LIMIT ?) candidate ON candidate.job_id = job.job_id " +
+            "WHERE job.status = 'QUEUED' ORDER BY candidate.turn, job.created_at LIMIT ? FOR UPDATE OF job SKIP LOCKED) " +
+            "RETURNING job_id, client_id, lane, file_key, original_filename, size_bytes, page_count, explain_requested, mode, " +
+            "extract(epoch FROM now() - created_at) AS waited_seconds";
+    private static final String DELETE_QUEUED =
+            "DELETE FROM parse_job WHERE job_id = ? AND status = 'QUEUED' AND (CAST(? AS VARCHAR) IS NULL OR client_id = ?) RETURNING file_key";
+    private static final String REQUEST_CANCEL =
+            "UPDATE parse_job SET cancel_requested = true WHERE job_id = ? AND status = 'RUNNING' AND (CAST(? AS VARCHAR) IS NULL OR client_id = ?)";
+    private static final String SELECT_CANCEL_REQUESTED =
+            "SELECT job_id FROM parse_job WHERE owner = ? AND status = 'RUNNING' AND cancel_requested";
+    private static final String SELECT_STATUS = "SELECT status FROM parse_job WHERE job_id = ?";
+    private static final String RENEW_LEASES =
+            "UPDATE parse_job SET lease_until = now() + make_interval(secs => ?) WHERE owner = ? AND status = 'RUNNING'";
+    private static final String DELETE_JOB = "DELETE FROM parse_job WHERE job_id = ? AND owner = ?";
+    private static final String RELEASE_JOB =
+            "UPDATE parse_job SET status = 'QUEUED', owner = NULL, lease_until = NULL, attempts = attempts - 1 " +
+            "WHERE job_id = ? AND owner = ? AND status = 'RUNNING'";
+    // Retried jobs wait attempts * backoff seconds, a document that kills its worker does not take down the next one at once
+    private static final String DELETE_OLD_FAILED =
+            "DELETE FROM parse_job WHERE status = 'FAILED' AND available_at < now() - make_interval(secs => ?)";
+    private static final String RECLAIM_EXPIRED =
+            "UPDATE parse_job SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'QUEUED' END, " +
+            "last_error = 'Lease of ' || owner || ' expired', owner = NULL, lease_until = NULL, " +
+            "available_at = now() + make_interval(secs => attempts * ?) " +
+            "WHERE status = 'RUNNING' AND lease_until < now() " +
+            "RETURNING job_id, status, file_key";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final int leaseSeconds;
+    private final int maxAttempts;
+    private final int retryBackoffSeconds;
+    private final int failedRetentionSeconds;
+
+    /**
+     * A job whose lease expired: back in the queue, or failed for good.
+     */
+    public record ReclaimedJob(String jobId, boolean failed, String fileKey) {
+    }
+
+    /**
+     * @param nodeId Owner recorded on claimed jobs, unique per running node
+     * @param maxAttempts Claims of a job before an expired lease fails it
+     * @param failedRetentionSeconds How long a failed job still answers {@link #status}
+     */
+    public PostgresJobQueue(JdbcTemplate jdbcTemplate, String nodeId, int leaseSeconds, int maxAttempts, int retryBackoffSeconds,
+                            int failedRetentionSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffSeconds = retryBackoffSeconds;
+        this.failedRetentionSeconds = failedRetentionSeconds;
+    }
+
+    public String getNodeId() { return nodeId; }
+
+    /**
+     * Queues a job whose file was already written to shared storage under {@code fileKey}.
+     *
+     * @throws JobRejectedException When the client or the lane already has too many jobs waiting
+     */
+    public void enqueue(ParseJob job, String fileKey, int laneCapacity, int maxQueuedPerClient) {
+        // Checked without a lock: a few jobs over the limit during a burst are harmless
+        long[] queued = jdbcTemplate.queryForObject(COUNT_QUEUED,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, job.getLane().name(), job.getClientId());
+        if (queued[1] >= maxQueuedPerClient) {
+            throw new JobRejectedException(JobRejectedException.Reason.CLIENT_QUEUE_FULL,
+                    "Client " + job.getClientId() + " already has " + maxQueuedPerClient + " jobs waiting", 0);
+        }
+        if (queued[0] >= laneCapacity) {
+            throw new JobRejectedException(JobRejectedException.Reason.LANE_FULL,
+                    "The " + job.getLane() + " lane is full (" + laneCapacity + " jobs)", 0);
+        }
+        jdbcTemplate.update(INSERT_JOB, job.getJobId(), job.getClientId(), job.getLane().name(), fileKey,
+                job.getOriginalFilename(), job.getSizeBytes(), job.getPageCount(), job.isExplain(), job.getMode().name());
+    }
+
+    /**
+     * Claims up to {@code limit} waiting jobs of a lane for this node.
+     *
+     * @param files Resolves the file key of a job against this node's mount of the shared storage
+     */
+    public List<ParseJob> claim(JobLane lane, int limit, Function<String, Path> files) {
+        long now = System.nanoTime();
+        return jdbcTemplate.query(CLAIM_JOBS, (rs, rowNum) -> new ParseJob(
+                rs.getString("job_id"), rs.getString("client_id"), files.apply(rs.getString("file_key")),
+                rs.getString("original_filename"), rs.getLong("size_bytes"), rs.getInt("page_count"),
+                rs.getBoolean("explain_requested"), ParseMode.valueOf(rs.getString("mode")), JobLane.valueOf(rs.getString("lane")),
+                now - (long) (rs.getDouble("waited_seconds") * 1e9)),
+                nodeId, leaseSeconds, lane.name(), limit * 4, limit);
+    }
+
+    /**
+     * Deletes a job nobody has claimed yet.
+     *
+     * @param clientId Only a job of this client, null for any
+     * @return The key of the job's file, now up to the caller to delete; empty when the job is not waiting
+     */
+    public Optional<String> cancelQueued(String jobId, String clientId) {
+        return jdbcTemplate.queryForList(DELETE_QUEUED, String.class, jobId, clientId, clientId).stream().findFirst();
+    }
+
+    /**
+     * Asks the node holding a claimed job to cancel it, see {@link #cancelRequested()}.
+     *
+     * @param clientId Only a job of this client, null for any
+     * @return false when no node holds the job
+     */
+    public boolean requestCancel(String jobId, String clientId) {
+        return jdbcTemplate.update(REQUEST_CANCEL, jobId, clientId, clientId) > 0;
+    }
+
+    /**
+     * @return The jobs held by this node whose cancellation was requested from any node
+     */
+    public List<String> cancelRequested() {
+        return jdbcTemplate.queryForList(SELECT_CANCEL_REQUESTED, String.class, nodeId);
+    }
+
+    /**
+     * @return QUEUED, RUNNING or FAILED; empty once the job has run
+     */
+    public Optional<String> status(String jobId) {
+        return jdbcTemplate.queryForList(SELECT_STATUS, String.class, jobId).stream().findFirst();
+    }
+
+    /**
+     * Extends the lease of every job this node runs or holds in its lanes.
+     *
+     * @return The number of leases renewed
+     */
+    public int renewLeases() {
+        return jdbcTemplate.update(RENEW_LEASES, leaseSeconds, nodeId);
+    }
+
+    /**
+     * Removes a job this node has run, whatever its outcome: the client was told through SSE.
+     */
+    public void complete(String jobId) {
+        jdbcTemplate.update(DELETE_JOB, jobId, nodeId);
+    }
+
+    /**
+     * Hands claimed jobs that did not run back to the queue, without counting the claim as an attempt.
+     */
+    public void release(List<ParseJob> jobs) {
+        if (!jobs.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_JOB, jobs.stream().map(job -> new Object[]{job.getJobId(), nodeId}).toList());
+        }
+    }
+
+    /**
+     * Deletes failed jobs past their retention. Any node may run it.
+     *
+     * @return The number of jobs deleted
+     */
+    public int deleteOldFailed() {
+        return jdbcTemplate.update(DELETE_OLD_FAILED, failedRetentionSeconds);
+    }
+
+    /**
+     * Puts the jobs of dead nodes back in the queue. Any node may run it, the update is idempotent.
+     * Jobs on their last attempt fail instead: the caller ends them, see SharedQueuePoller.
+     */
+    public List<ReclaimedJob> reclaimExpired() {
+        return jdbcTemplate.query(RECLAIM_EXPIRED, (rs, rowNum) -> new ReclaimedJob(
+                rs.getString("job_id"), FAILED.equals(rs.getString("status")), rs.getString("file_key")),
+                maxAttempts, retryBackoffSeconds);
+    }
+}
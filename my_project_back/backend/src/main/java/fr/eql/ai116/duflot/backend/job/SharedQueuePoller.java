@@ -0,0 +1,137 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.dao.DataAccessException;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Moves jobs from the shared PostgreSQL queue into this node's lanes. Only as many jobs are claimed
+ * as the lanes have room for, so a node never hoards work that idle nodes could run; the leases of
+ * held jobs are renewed, and expired ones of any node are put back, every heartbeat. Cancellations
+ * requested on other nodes are picked up at every poll.
+ * <p>
+ * A job whose lease expires on its last attempt is ended by whichever node reclaims it: its file is
+ * deleted and its client told through the job event bus, which reaches the node holding the stream.
+ */
+public class SharedQueuePoller {
+
+    private static final Logger logger = LogManager.getLogger(SharedQueuePoller.class);
+
+    private final PostgresJobQueue queue;
+    private final ToIntFunction<JobLane> room;
+    private final Consumer<ParseJob> local;
+    private final Function<String, Path> files;
+    private final Consumer<PostgresJobQueue.ReclaimedJob> failed;
+    private final Consumer<String> cancel;
+    private final long pollIntervalMs;
+    private final long heartbeatMs;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param room Jobs a lane can take now
+     * @param local Queues a claimed job in its lane; throws JobRejectedException when it cannot
+     * @param files Resolves a file key against the shared storage
+     * @param failed Ends a job that failed for good: deletes its file and tells its client
+     * @param cancel Cancels a job of this node whose cancellation was requested on another one
+     */
+    public SharedQueuePoller(PostgresJobQueue queue, ToIntFunction<JobLane> room, Consumer<ParseJob> local,
+                             Function<String, Path> files, Consumer<PostgresJobQueue.ReclaimedJob> failed, Consumer<String> cancel,
+                             long pollIntervalMs, long heartbeatMs) {
+        this.queue = queue;
+        this.room = room;
+        this.local = local;
+        this.files = files;
+        this.failed = failed;
+        this.cancel = cancel;
+        this.pollIntervalMs = pollIntervalMs;
+        this.heartbeatMs = heartbeatMs;
+        this.thread = new Thread(this::poll, "parse-job-poller");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops claiming; jobs already handed to the lanes are up to their owner.
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(heartbeatMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void poll() {
+        long nextHeartbeat = 0;
+        while (running) {
+            int claimed = 0;
+            try {
+                if (System.nanoTime() - nextHeartbeat >= 0) {
+                    heartbeat();
+                    nextHeartbeat = System.nanoTime() + heartbeatMs * 1_000_000;
+                }
+                queue.cancelRequested().forEach(cancel);
+                for (JobLane lane : JobLane.values()) {
+                    claimed += claim(lane);
+                }
+            } catch (DataAccessException e) {
+                // The database is unreachable or restarting: retry at the next poll
+                logger.warn("Shared job queue unavailable: {}", e.getMessage());
+            }
+            if (claimed == 0) {
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int claim(JobLane lane) {
+        int limit = room.applyAsInt(lane);
+        if (limit <= 0) {
+            return 0;
+        }
+        List<ParseJob> jobs = queue.claim(lane, limit, files);
+        for (int i = 0; i < jobs.size(); i++) {
+            try {
+                local.accept(jobs.get(i));
+            } catch (JobRejectedException e) {
+                // Stopping, or this client's local share is full: another node will take the rest
+                queue.release(jobs.subList(i, jobs.size()));
+                return i;
+            }
+        }
+        return jobs.size();
+    }
+
+    private void heartbeat() {
+        int renewed = queue.renewLeases();
+        logger.trace("Renewed {} job leases of {}", renewed, queue.getNodeId());
+        for (PostgresJobQueue.ReclaimedJob job : queue.reclaimExpired()) {
+            if (job.failed()) {
+                logger.error("Parse job {} failed: its lease expired on its last attempt", job.jobId());
+                failed.accept(job);
+            } else {
+                logger.warn("Parse job {} requeued: the node running it stopped renewing its lease", job.jobId());
+            }
+        }
+        int deleted = queue.deleteOldFailed();
+        if (deleted > 0) {
+            logger.debug("Deleted {} failed parse jobs past their retention", deleted);
+        }
+    }
+}
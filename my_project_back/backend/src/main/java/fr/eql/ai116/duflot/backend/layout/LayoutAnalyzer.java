@@ -0,0 +1,267 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Layout analysis between Step 1 and Step 2: finds column gutters and splits the text items into
+ * blocks in reading order, so a sidebar and the main column are not merged into the same lines.
+ * <p>
+ * Gutters come from an X-projection histogram: a strip crossed by almost no item, away from the
+ * page edges, with enough items on both sides. Long vertical rules (LineDetector) are also taken
+ * as gutters when nothing crosses them. A strip whose side is made of sparse items sitting on the
+ * rows of the other side (right-aligned dates) is a table, not a column, and is rejected.
+ * <p>
+ * Items crossing a gutter (full-width name, headers) close the current column region and form a
+ * block of their own; a region is emitted column by column, left to right.
+ * Cost: one histogram pass, then sorts, so O(n log n) in the number of items.
+ */
+@Component
+public class LayoutAnalyzer {
+
+    private static final int MIN_ITEMS = 20;                 // Too little text to talk about columns
+    private static final float MIN_CONTENT_WIDTH = 100f;
+    private static final float BIN_WIDTH = 2f;               // Histogram resolution, in points
+    private static final float MIN_GUTTER_WIDTH = 8f;
+    private static final float EDGE_MARGIN_RATIO = 0.1f;     // No gutter in the outer 10% of the content
+    private static final float CROSSING_RATIO = 0.02f;       // Items allowed across a gutter (headers)
+    private static final float MIN_COLUMN_ITEMS_RATIO = 0.05f;
+    private static final int MIN_COLUMN_ITEMS = 3;
+    private static final float MAX_ALIGNED_RATIO = 0.6f;     // More rows shared than this looks like a table
+    private static final float SPARSE_GAP_FACTOR = 2f;       // Row gap vs the page's, above it a side is sparse
+    private static final float MIN_RULE_HEIGHT_RATIO = 0.25f;
+    private static final int MAX_GUTTERS = 2;
+    private static final float Y_TOLERANCE = 2.0f;           // Same rows as line grouping
+
+    private static final Comparator<ResumeTextItemEntity> READING_ORDER =
+            Comparator.comparingDouble(ResumeTextItemEntity::getY).thenComparingDouble(ResumeTextItemEntity::getX);
+
+    /**
+     * @param items Text items of Step 1, left untouched
+     * @param rules Vertical rules drawn on the page, may be empty
+     */
+    public PageLayout analyze(List<ResumeTextItemEntity> items, List<VerticalRule> rules) {
+        if (items.size() < MIN_ITEMS) {
+            return singleBlock(items);
+        }
+        float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (ResumeTextItemEntity item : items) {
+            minX = Math.min(minX, item.getX());
+            maxX = Math.max(maxX, item.getX() + Math.max(0, item.getWidth()));
+            minY = Math.min(minY, item.getY());
+            maxY = Math.max(maxY, item.getY());
+        }
+        float width = maxX - minX;
+        if (width < MIN_CONTENT_WIDTH) {
+            return singleBlock(items);
+        }
+
+        // X-projection: number of items covering each bin, through a difference array
+        int binCount = (int) (width / BIN_WIDTH) + 2;
+        int[] coverage = new int[binCount + 1];
+        for (ResumeTextItemEntity item : items) {
+            coverage[bin(item.getX(), minX)]++;
+            coverage[bin(item.getX() + Math.max(0, item.getWidth()), minX) + 1]--;
+        }
+        for (int b = 1; b < coverage.length; b++) {
+            coverage[b] += coverage[b - 1];
+        }
+
+        int tolerance = Math.max(1, Math.round(items.size() * CROSSING_RATIO));
+        int firstBin = bin(minX + width * EDGE_MARGIN_RATIO, minX);
+        int lastBin = bin(maxX - width * EDGE_MARGIN_RATIO, minX);
+        List<float[]> candidates = new ArrayList<>();
+        int runStart = -1;
+        for (int b = firstBin; b <= lastBin + 1; b++) {
+            boolean empty = b <= lastBin && coverage[b] <= tolerance;
+            if (empty && runStart < 0) {
+                runStart = b;
+            } else if (!empty && runStart >= 0) {
+                if ((b - runStart) * BIN_WIDTH >= MIN_GUTTER_WIDTH) {
+                    candidates.add(new float[]{minX + runStart * BIN_WIDTH, minX + b * BIN_WIDTH});
+                }
+                runStart = -1;
+            }
+        }
+        float minRuleLength = (maxY - minY) * MIN_RULE_HEIGHT_RATIO;
+        for (VerticalRule rule : rules) {
+            int b = bin(rule.getX(), minX);
+            if (rule.getLength() >= minRuleLength && b >= firstBin && b <= lastBin && coverage[b] <= tolerance
+                    && !overlapsAny(candidates, rule.getX())) {
+                candidates.add(new float[]{rule.getX() - BIN_WIDTH / 2, rule.getX() + BIN_WIDTH / 2});
+            }
+        }
+
+        // Widest valid strips first, then left to right
+        candidates.sort((a, b) -> Float.compare(b[1] - b[0], a[1] - a[0]));
+        List<float[]> gutters = new ArrayList<>();
+        float pageRowGap = medianRowGap(items);
+        for (float[] candidate : candidates) {
+            if (gutters.size() < MAX_GUTTERS && isColumnGutter(items, candidate, pageRowGap)) {
+                gutters.add(candidate);
+            }
+        }
+        if (gutters.isEmpty()) {
+            return singleBlock(items);
+        }
+        gutters.sort(Comparator.comparingDouble(g -> g[0]));
+        return new PageLayout(centers(gutters), splitBlocks(items, gutters));
+    }
+
+    private boolean isColumnGutter(List<ResumeTextItemEntity> items, float[] gutter, float pageRowGap) {
+        float center = (gutter[0] + gutter[1]) / 2;
+        List<ResumeTextItemEntity> left = new ArrayList<>();
+        List<ResumeTextItemEntity> right = new ArrayList<>();
+        for (ResumeTextItemEntity item : items) {
+            if (item.getX() + Math.max(0, item.getWidth()) <= center) {
+                left.add(item);
+            } else if (item.getX() >= center) {
+                right.add(item);
+            }
+        }
+        int minItems = Math.max(MIN_COLUMN_ITEMS, Math.round(items.size() * MIN_COLUMN_ITEMS_RATIO));
+        if (left.size() < minItems || right.size() < minItems) {
+            return false;
+        }
+        // A table: the smaller side mostly sits on rows of the other side, and is sparse
+        List<ResumeTextItemEntity> smaller = left.size() <= right.size() ? left : right;
+        List<ResumeTextItemEntity> larger = smaller == left ? right : left;
+        float alignedRatio = alignedRatio(smaller, larger);
+        boolean sparse = medianRowGap(smaller) > pageRowGap * SPARSE_GAP_FACTOR;
+        return !(alignedRatio > MAX_ALIGNED_RATIO && sparse);
+    }
+
+    // Share of the items of `side` whose row also holds an item of `other`
+    private static float alignedRatio(List<ResumeTextItemEntity> side, List<ResumeTextItemEntity> other) {
+        float[] rows = new float[other.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = other.get(i).getY();
+        }
+        Arrays.sort(rows);
+        int aligned = 0;
+        for (ResumeTextItemEntity item : side) {
+            int index = Arrays.binarySearch(rows, item.getY());
+            if (index >= 0) {
+                aligned++;
+                continue;
+            }
+            int insertion = -index - 1;
+            if ((insertion < rows.length && rows[insertion] - item.getY() < Y_TOLERANCE)
+                    || (insertion > 0 && item.getY() - rows[insertion - 1] < Y_TOLERANCE)) {
+                aligned++;
+            }
+        }
+        return aligned / (float) side.size();
+    }
+
+    // Median vertical distance between consecutive distinct rows
+    private static float medianRowGap(List<ResumeTextItemEntity> items) {
+        float[] ys = new float[items.size()];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = items.get(i).getY();
+        }
+        Arrays.sort(ys);
+        float[] gaps = new float[ys.length];
+        int count = 0;
+        for (int i = 1; i < ys.length; i++) {
+            float gap = ys[i] - ys[i - 1];
+            if (gap >= Y_TOLERANCE) {
+                gaps[count++] = gap;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(gaps, 0, count);
+        return gaps[count / 2];
+    }
+
+    private static List<List<ResumeTextItemEntity>> splitBlocks(List<ResumeTextItemEntity> items, List<float[]> gutters) {
+        List<ResumeTextItemEntity> sorted = new ArrayList<>(items);
+        sorted.sort(READING_ORDER);
+
+        List<List<ResumeTextItemEntity>> blocks = new ArrayList<>();
+        List<List<ResumeTextItemEntity>> columns = new ArrayList<>();
+        for (int c = 0; c <= gutters.size(); c++) {
+            columns.add(new ArrayList<>());
+        }
+        List<ResumeTextItemEntity> spanning = null;
+        for (ResumeTextItemEntity item : sorted) {
+            int column = columnOf(item, gutters);
+            if (column < 0) {
+                flushColumns(columns, blocks);
+                if (spanning == null) {
+                    spanning = new ArrayList<>();
+                }
+                spanning.add(item);
+            } else {
+                if (spanning != null) {
+                    blocks.add(spanning);
+                    spanning = null;
+                }
+                columns.get(column).add(item);
+            }
+        }
+        if (spanning != null) {
+            blocks.add(spanning);
+        }
+        flushColumns(columns, blocks);
+        return blocks;
+    }
+
+    // Column index, or -1 when the item crosses the middle of a gutter
+    private static int columnOf(ResumeTextItemEntity item, List<float[]> gutters) {
+        float start = item.getX();
+        float end = start + Math.max(0, item.getWidth());
+        int column = 0;
+        for (float[] gutter : gutters) {
+            float center = (gutter[0] + gutter[1]) / 2;
+            if (start < center && end > center) {
+                return -1;
+            }
+            if (start >= center) {
+                column++;
+            }
+        }
+        return column;
+    }
+
+    private static void flushColumns(List<List<ResumeTextItemEntity>> columns, List<List<ResumeTextItemEntity>> blocks) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (!columns.get(c).isEmpty()) {
+                blocks.add(columns.get(c));
+                columns.set(c, new ArrayList<>());
+            }
+        }
+    }
+
+    private static boolean overlapsAny(List<float[]> ranges, float x) {
+        for (float[] range : ranges) {
+            if (x >= range[0] - MIN_GUTTER_WIDTH && x <= range[1] + MIN_GUTTER_WIDTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Float> centers(List<float[]> gutters) {
+        List<Float> centers = new ArrayList<>(gutters.size());
+        for (float[] gutter : gutters) {
+            centers.add((gutter[0] + gutter[1]) / 2);
+        }
+        return centers;
+    }
+
+    private static int bin(float x, float minX) {
+        return Math.max(0, (int) ((x - minX) / BIN_WIDTH));
+    }
+
+    private static PageLayout singleBlock(List<ResumeTextItemEntity> items) {
+        return new PageLayout(List.of(), List.of(items));
+    }
+}
@@ -0,0 +1,27 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.util.List;
+
+/**
+ * Result of the layout analysis: the column gutters found and the text items split into blocks,
+ * in reading order. Each block is grouped into lines on its own.
+ */
+public class PageLayout {
+
+    private final List<Float> gutters;
+    private final List<List<ResumeTextItemEntity>> blocks;
+
+    public PageLayout(List<Float> gutters, List<List<ResumeTextItemEntity>> blocks) {
+        this.gutters = gutters;
+        this.blocks = blocks;
+    }
+
+    /**
+     * @return The x of each gutter center, left to right; empty for a single column page
+     */
+    public List<Float> getGutters() { return gutters; }
+    public List<List<ResumeTextItemEntity>> getBlocks() { return blocks; }
+    public int getColumnCount() { return gutters.size() + 1; }
+}
@@ -0,0 +1,150 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops running headers and footers of multi-page documents before the layout analysis: text
+ * repeated at the same height on most pages (name, "Page 2 / 3", confidentiality notice) would
+ * otherwise end up inside a section, or start a fake one, at every page break.
+ * <p>
+ * Only items in the top or bottom band of their page are candidates. Their key is the text, with
+ * the page number and page count folded ("Page 2 / 3"), plus the rounded position; a key found on
+ * at least half of the pages, and at least two, is running text. Its first occurrence stays: a
+ * header repeating the candidate's name and contact details is still read once, and the first
+ * page is never changed, so profile mode, which only reads that page, sees the same lines.
+ * One pass over the items and a hash map of the candidates.
+ */
+@Component
+public class RunningTextFilter {
+
+    private static final float BAND_RATIO = 0.12f;   // Of the text height of the page, at the top and the bottom
+    private static final float POSITION_STEP = 4f;   // Position rounding, in points
+    private static final int MIN_PAGES = 2;
+
+    /**
+     * @param pages Text items of each page, in page order, left untouched
+     * @return The items of each page without the running text; the same lists when nothing repeats
+     */
+    public List<List<ResumeTextItemEntity>> filter(List<List<ResumeTextItemEntity>> pages) {
+        if (pages.size() < MIN_PAGES) {
+            return pages;
+        }
+
+        // Key -> {last page seen, number of pages, first page seen}
+        Map<String, int[]> occurrences = new HashMap<>();
+        List<String[]> keys = new ArrayList<>(pages.size());
+        for (int page = 0; page < pages.size(); page++) {
+            List<ResumeTextItemEntity> items = pages.get(page);
+            String[] pageKeys = new String[items.size()];
+            float[] band = band(items);
+            for (int i = 0; i < items.size(); i++) {
+                ResumeTextItemEntity item = items.get(i);
+                boolean top = item.getY() <= band[0];
+                if (!top && item.getY() < band[1]) {
+                    continue;
+                }
+                String key = key(item, top, page + 1, pages.size());
+                if (key == null) {
+                    continue;
+                }
+                pageKeys[i] = key;
+                int pageIndex = page;
+                int[] seen = occurrences.computeIfAbsent(key, k -> new int[]{-1, 0, pageIndex});
+                if (seen[0] != page) {
+                    seen[0] = page;
+                    seen[1]++;
+                }
+            }
+            keys.add(pageKeys);
+        }
+
+        int minPages = Math.max(MIN_PAGES, (pages.size() + 1) / 2);
+        List<List<ResumeTextItemEntity>> filtered = new ArrayList<>(pages.size());
+        boolean removed = false;
+        for (int page = 0; page < pages.size(); page++) {
+            List<ResumeTextItemEntity> items = pages.get(page);
+            String[] pageKeys = keys.get(page);
+            List<ResumeTextItemEntity> kept = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                String key = pageKeys[i];
+                int[] seen = key != null ? occurrences.get(key) : null;
+                if (seen == null || seen[1] < minPages || seen[2] == page) {
+                    kept.add(items.get(i));
+                }
+            }
+            removed |= kept.size() < items.size();
+            filtered.add(kept);
+        }
+        return removed ? filtered : pages;
+    }
+
+    // Baselines at or above band[0] are in the top band, at or below band[1] in the bottom one
+    private static float[] band(List<ResumeTextItemEntity> items) {
+        float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (ResumeTextItemEntity item : items) {
+            minY = Math.min(minY, item.getY());
+            maxY = Math.max(maxY, item.getY());
+        }
+        float margin = (maxY - minY) * BAND_RATIO;
+        return new float[]{minY + margin, maxY - margin};
+    }
+
+    // Band, rounded position and folded text, the page number and count as '#'; null when the text has no letter or digit
+    private static String key(ResumeTextItemEntity item, boolean top, int pageNumber, int pageCount) {
+        String text = item.getText();
+        StringBuilder key = new StringBuilder(text.length() + 8);
+        key.append(top ? 'T' : 'B').append(Math.round(item.getY() / POSITION_STEP))
+                .append(',').append(Math.round(item.getX() / POSITION_STEP)).append(':');
+        boolean meaningful = false;
+        boolean space = false;
+        int number = -1; // Start of the digits being read in key
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (number >= 0 && !Character.isDigit(c)) {
+                foldPageNumber(key, number, pageNumber, pageCount);
+                number = -1;
+            }
+            if (i == text.length()) {
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                space = meaningful;
+                continue;
+            }
+            if (space) {
+                key.append(' ');
+                space = false;
+            }
+            if (Character.isDigit(c)) {
+                if (number < 0) {
+                    number = key.length();
+                }
+                key.append(c);
+                meaningful = true;
+            } else {
+                key.append(Character.toLowerCase(c));
+                meaningful |= Character.isLetter(c);
+            }
+        }
+        return meaningful ? key.toString() : null;
+    }
+
+    // "Page 9 / 12" and "Page 10 / 12" are the same footer, "Réf. 2021" and "Réf. 2022" are not
+    private static void foldPageNumber(StringBuilder key, int start, int pageNumber, int pageCount) {
+        int length = key.length() - start;
+        if (length > 4) {
+            return;
+        }
+        int value = Integer.parseInt(key, start, key.length(), 10);
+        if (value == pageNumber || value == pageCount) {
+            key.setLength(start);
+            key.append('#');
+        }
+    }
+}
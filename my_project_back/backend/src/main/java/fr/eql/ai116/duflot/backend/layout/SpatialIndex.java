@@ -0,0 +1,261 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid over boxes (text items or lines), built once per page and then queried by
+ * neighbourhood instead of rescanning every box: range search, nearest box to a point and
+ * nearest box above another one.
+ * <p>
+ * Boxes are kept as parallel float arrays and referenced by their index in the source list.
+ * Cells are sized for about one box per cell and store indices in one flat array (cell offsets +
+ * contents), so a query only reads the few cells it covers. A box spanning several cells is listed
+ * in each, and a range search reports it from a single cell only, which needs no visited set:
+ * queries allocate nothing and an index can be shared between threads.
+ * <p>
+ * Coordinates are those of the text items: x from the left, y from the top, a box spanning
+ * [y - height, y] above its baseline.
+ */
+public final class SpatialIndex {
+
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    private final float[] minX;
+    private final float[] minY;
+    private final float[] maxX;
+    private final float[] maxY;
+
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart; // Offsets into cellBoxes, one more than the cell count
+    private final int[] cellBoxes;
+
+    private SpatialIndex(float[] minX, float[] minY, float[] maxX, float[] maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        int count = minX.length;
+
+        float left = Float.MAX_VALUE, top = Float.MAX_VALUE, right = -Float.MAX_VALUE, bottom = -Float.MAX_VALUE;
+        double widthSum = 0, heightSum = 0;
+        for (int i = 0; i < count; i++) {
+            left = Math.min(left, minX[i]);
+            top = Math.min(top, minY[i]);
+            right = Math.max(right, maxX[i]);
+            bottom = Math.max(bottom, maxY[i]);
+            widthSum += maxX[i] - minX[i];
+            heightSum += maxY[i] - minY[i];
+        }
+        if (count == 0) {
+            left = top = 0;
+            right = bottom = 1;
+        }
+        float width = Math.max(1f, right - left);
+        float height = Math.max(1f, bottom - top);
+        // About one box per cell, never smaller than the average box
+        double side = Math.sqrt(width * (double) height / Math.max(1, count));
+        int cols = (int) Math.ceil(width / Math.max(side, count > 0 ? widthSum / count : 1));
+        int rws = (int) Math.ceil(height / Math.max(side, count > 0 ? heightSum / count : 1));
+        this.columns = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, cols));
+        this.rows = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, rws));
+        this.originX = left;
+        this.originY = top;
+        // Slightly larger cells so the right and bottom edges fall in the last cell
+        this.cellWidth = width / columns * 1.0001f;
+        this.cellHeight = height / rows * 1.0001f;
+
+        // Two passes: count the boxes of each cell, then fill the flat array
+        int[] start = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            for (int r = row(minY[i]); r <= row(maxY[i]); r++) {
+                for (int c = column(minX[i]); c <= column(maxX[i]); c++) {
+                    start[r * columns + c + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            start[cell + 1] += start[cell];
+        }
+        int[] fill = Arrays.copyOf(start, start.length - 1);
+        int[] boxes = new int[start[start.length - 1]];
+        for (int i = 0; i < count; i++) {
+            for (int r = row(minY[i]); r <= row(maxY[i]); r++) {
+                for (int c = column(minX[i]); c <= column(maxX[i]); c++) {
+                    boxes[fill[r * columns + c]++] = i;
+                }
+            }
+        }
+        this.cellStart = start;
+        this.cellBoxes = boxes;
+    }
+
+    // --- Building ---
+
+    public static SpatialIndex of(float[] minX, float[] minY, float[] maxX, float[] maxY) {
+        if (minX.length != minY.length || minX.length != maxX.length || minX.length != maxY.length) {
+            throw new IllegalArgumentException("Box coordinate arrays must have the same length");
+        }
+        return new SpatialIndex(minX, minY, maxX, maxY);
+    }
+
+    public static SpatialIndex ofItems(List<ResumeTextItemEntity> items) {
+        int count = items.size();
+        float[] minX = new float[count], minY = new float[count], maxX = new float[count], maxY = new float[count];
+        for (int i = 0; i < count; i++) {
+            ResumeTextItemEntity item = items.get(i);
+            minX[i] = item.getX();
+            maxX[i] = item.getX() + Math.max(0, item.getWidth());
+            minY[i] = item.getY() - Math.max(0, item.getHeight());
+            maxY[i] = item.getY();
+        }
+        return new SpatialIndex(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Line boxes: union of their items, with the line Y as baseline.
+     */
+    public static SpatialIndex ofLines(List<ResumeLineEntity> lines) {
+        int count = lines.size();
+        float[] minX = new float[count], minY = new float[count], maxX = new float[count], maxY = new float[count];
+        for (int i = 0; i < count; i++) {
+            ResumeLineEntity line = lines.get(i);
+            float left = Float.MAX_VALUE, right = -Float.MAX_VALUE, height = 0;
+            for (ResumeTextItemEntity item : line.getItems()) {
+                left = Math.min(left, item.getX());
+                right = Math.max(right, item.getX() + Math.max(0, item.getWidth()));
+                height = Math.max(height, item.getHeight());
+            }
+            if (line.getItems().isEmpty()) {
+                left = right = 0;
+            }
+            minX[i] = left;
+            maxX[i] = right;
+            minY[i] = line.getY() - height;
+            maxY[i] = line.getY();
+        }
+        return new SpatialIndex(minX, minY, maxX, maxY);
+    }
+
+    // --- Queries ---
+
+    /**
+     * Calls {@code visitor} once with the index of every box intersecting the rectangle.
+     */
+    public void search(float left, float top, float right, float bottom, IntConsumer visitor) {
+        if (right < left || bottom < top) {
+            return;
+        }
+        int c0 = column(left), c1 = column(right), r0 = row(top), r1 = row(bottom);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int box = cellBoxes[k];
+                    if (minX[box] > right || maxX[box] < left || minY[box] > bottom || maxY[box] < top) {
+                        continue;
+                    }
+                    // Report from the cell holding the top-left corner of the overlap only
+                    if (column(Math.max(minX[box], left)) == c && row(Math.max(minY[box], top)) == r) {
+                        visitor.accept(box);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The box closest to the point (0 when inside it), or -1 when the index is empty
+     */
+    public int nearest(float x, float y) {
+        if (minX.length == 0) {
+            return -1;
+        }
+        int centerColumn = column(x), centerRow = row(y);
+        int best = -1;
+        float bestDistance = Float.MAX_VALUE;
+        int maxRing = Math.max(columns, rows);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Boxes in rings further out are at least this far away
+            float ringDistance = (ring - 1) * Math.min(cellWidth, cellHeight);
+            if (best >= 0 && ringDistance > 0 && ringDistance * ringDistance > bestDistance) {
+                break;
+            }
+            for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                for (int c = centerColumn - ring; c <= centerColumn + ring; c += edgeRow ? 1 : 2 * Math.max(1, ring)) {
+                    if (c < 0 || c >= columns) {
+                        continue;
+                    }
+                    int cell = r * columns + c;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int box = cellBoxes[k];
+                        float dx = Math.max(0, Math.max(minX[box] - x, x - maxX[box]));
+                        float dy = Math.max(0, Math.max(minY[box] - y, y - maxY[box]));
+                        float distance = dx * dx + dy * dy;
+                        if (distance < bestDistance || (distance == bestDistance && box < best)) {
+                            bestDistance = distance;
+                            best = box;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The closest box above {@code box} that overlaps it horizontally: the previous line of the
+     * same column, whatever the order of the source list.
+     *
+     * @param tolerance Baselines closer than this are the same row, not above
+     * @return The box index, or -1 when nothing is above
+     */
+    public int nearestAbove(int box, float tolerance) {
+        float baseline = maxY[box] - tolerance;
+        int c0 = column(minX[box]), c1 = column(maxX[box]);
+        int best = -1;
+        for (int r = row(baseline); r >= 0 && best < 0; r--) {
+            // A box found in this row ends in it, rows further up can only hold higher boxes
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int other = cellBoxes[k];
+                    if (other == box || maxY[other] > baseline || maxX[other] < minX[box] || minX[other] > maxX[box]) {
+                        continue;
+                    }
+                    if (best < 0 || maxY[other] > maxY[best] || (maxY[other] == maxY[best] && other < best)) {
+                        best = other;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        return minX.length;
+    }
+
+    private int column(float x) {
+        int c = (int) ((x - originX) / cellWidth);
+        return c < 0 ? 0 : Math.min(c, columns - 1);
+    }
+
+    private int row(float y) {
+        int r = (int) ((y - originY) / cellHeight);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
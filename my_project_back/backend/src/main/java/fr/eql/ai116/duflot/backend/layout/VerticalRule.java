@@ -0,0 +1,31 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+/**
+ * A vertical line drawn on the page (column separator, sidebar border), in the coordinates of the
+ * text items: x from the left, y from the top of its page.
+ */
+public class VerticalRule {
+
+    private final int pageIndex;
+    private final float x;
+    private final float top;
+    private final float bottom;
+
+    public VerticalRule(int pageIndex, float x, float top, float bottom) {
+        this.pageIndex = pageIndex;
+        this.x = x;
+        this.top = Math.min(top, bottom);
+        this.bottom = Math.max(top, bottom);
+    }
+
+    public int getPageIndex() { return pageIndex; }
+    public float getX() { return x; }
+    public float getTop() { return top; }
+    public float getBottom() { return bottom; }
+    public float getLength() { return bottom - top; }
+
+    @Override
+    public String toString() {
+        return "VerticalRule{page=" + pageIndex + ", x=" + x + ", top=" + top + ", bottom=" + bottom + '}';
+    }
+}
@@ -0,0 +1,105 @@
+package fr.eql.ai116.duflot.backend.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket histogram, safe to update from any thread without locking.
+ * Recording is a binary search plus two adder increments, cheap enough to leave on for every document.
+ */
+public class Histogram {
+
+    private final double[] upperBounds;
+    // One more bucket than bounds for values above the last bound (+Inf)
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    public Histogram(double... upperBounds) {
+        this.upperBounds = upperBounds.clone();
+        Arrays.sort(this.upperBounds);
+        this.buckets = new LongAdder[this.upperBounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(double value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        // An exact match belongs to that bucket (le = less or equal), otherwise take the insertion point
+        buckets[index >= 0 ? index : -index - 1].increment();
+        count.increment();
+        sum.add(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Estimates a quantile by linear interpolation inside the bucket that contains it.
+     * Precision is bounded by the bucket layout, the same way Prometheus' histogram_quantile is.
+     */
+    public double quantile(double q) {
+        long[] counts = snapshot();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        double rank = q * total;
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (cumulative + counts[i] >= rank && counts[i] > 0) {
+                if (i == upperBounds.length) {
+                    return upperBounds[upperBounds.length - 1];
+                }
+                double lower = i == 0 ? 0.0 : upperBounds[i - 1];
+                return lower + (upperBounds[i] - lower) * ((rank - cumulative) / counts[i]);
+            }
+            cumulative += counts[i];
+        }
+        return upperBounds[upperBounds.length - 1];
+    }
+
+    /**
+     * Appends the histogram in Prometheus text exposition format (cumulative buckets, sum and count).
+     *
+     * @param name The metric family name
+     * @param labels Label pairs without braces (e.g. stage="TEXT_EXTRACTION"), or an empty string
+     */
+    void writePrometheus(StringBuilder out, String name, String labels) {
+        long[] counts = snapshot();
+        String separator = labels.isEmpty() ? "" : ",";
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += counts[i];
+            out.append(name).append("_bucket{").append(labels).append(separator)
+                    .append("le=\"").append(formatBound(upperBounds[i])).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += counts[upperBounds.length];
+        out.append(name).append("_bucket{").append(labels).append(separator).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(getSum()).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+
+    private long[] snapshot() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    private static String formatBound(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+}
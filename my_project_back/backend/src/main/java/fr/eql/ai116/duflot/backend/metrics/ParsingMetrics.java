@@ -0,0 +1,335 @@
+package fr.eql.ai116.duflot.backend.metrics;
+
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.job.JobLane;
+import fr.eql.ai116.duflot.backend.job.JobRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Aggregated metrics of the parsing pipeline, exposed in Prometheus text format by MetricsController.
+ *
+ * Every meter is created up front and updated with adders, so recording never allocates nor locks.
+ */
+@Component
+public class ParsingMetrics {
+
+    // Seconds, from 1 ms to 1 min
+    private static final double[] LATENCY_BUCKETS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+    private static final double[] PAGE_BUCKETS = {1, 2, 3, 4, 5, 10, 20, 50};
+    private static final double[] ITEM_BUCKETS = {10, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 50000};
+    private static final double[] LINE_BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+    private static final double[] SECTION_BUCKETS = {1, 2, 3, 4, 5, 6, 8, 10, 15, 20, 50};
+
+    private final Map<LogEntry.Step, Histogram> stageTimers = new EnumMap<>(LogEntry.Step.class);
+    private final Map<Status, LongAdder> jobOutcomes = new EnumMap<>(Status.class);
+    private final Histogram jobTimer = new Histogram(LATENCY_BUCKETS);
+    private final Histogram pagesPerDocument = new Histogram(PAGE_BUCKETS);
+    private final Histogram itemsPerDocument = new Histogram(ITEM_BUCKETS);
+    private final Histogram linesPerDocument = new Histogram(LINE_BUCKETS);
+    private final Histogram sectionsPerDocument = new Histogram(SECTION_BUCKETS);
+    private final LongAdder uploadedBytes = new LongAdder();
+    private final LongAdder coalescedJobs = new LongAdder();
+    private final LongAdder coalescedBytes = new LongAdder();
+    private final DoubleAdder coalescedSeconds = new DoubleAdder();
+    private final Histogram profileLatencyTimer = new Histogram(LATENCY_BUCKETS);
+    private final LongAdder profileSloBreaches = new LongAdder();
+
+    // Objective of mode=profile jobs, submission to result; tighter than full parses, which scale with pages
+    @Value("${resume.profile.slo-ms:500}")
+    private long profileSloMs;
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final Map<JobLane, Histogram> laneWaitTimers = new EnumMap<>(JobLane.class);
+    private final Map<JobLane, Histogram> laneLatencyTimers = new EnumMap<>(JobLane.class);
+    private final Map<JobLane, AtomicInteger> queuedJobs = new EnumMap<>(JobLane.class);
+    // One entry per caller (principal, API key or address), created on its first job and dropped once idle
+    private final Map<String, ClientCounters> clients = new ConcurrentHashMap<>();
+
+    @Value("${resume.metrics.client-idle-ms:900000}")
+    private long clientIdleMs;
+
+    private static final class ClientCounters {
+        final LongAdder admitted = new LongAdder();
+        final AtomicInteger queued = new AtomicInteger();
+        volatile long lastActive = System.nanoTime();
+        final Map<JobRejectedException.Reason, LongAdder> rejected = new EnumMap<>(JobRejectedException.Reason.class);
+
+        ClientCounters() {
+            for (JobRejectedException.Reason reason : JobRejectedException.Reason.values()) {
+                rejected.put(reason, new LongAdder());
+            }
+        }
+    }
+
+    public ParsingMetrics() {
+        for (LogEntry.Step step : LogEntry.Step.values()) {
+            stageTimers.put(step, new Histogram(LATENCY_BUCKETS));
+        }
+        for (Status status : Status.values()) {
+            jobOutcomes.put(status, new LongAdder());
+        }
+        for (JobLane lane : JobLane.values()) {
+            laneWaitTimers.put(lane, new Histogram(LATENCY_BUCKETS));
+            laneLatencyTimers.put(lane, new Histogram(LATENCY_BUCKETS));
+            queuedJobs.put(lane, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Records the duration of one pipeline stage.
+     *
+     * @param step The stage, as used in the parsing trace
+     * @param startNanos Value of System.nanoTime() when the stage started
+     */
+    public void recordStage(LogEntry.Step step, long startNanos) {
+        stageTimers.get(step).record((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    /**
+     * Marks a job as started. Must be paired with {@link #jobFinished}.
+     */
+    public void jobStarted(long sizeBytes) {
+        activeJobs.incrementAndGet();
+        uploadedBytes.add(sizeBytes);
+    }
+
+    public void jobFinished(Status outcome, long startNanos) {
+        activeJobs.decrementAndGet();
+        jobOutcomes.get(outcome).increment();
+        jobTimer.record((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    /**
+     * Time a job spent queued in its lane, recorded when a worker takes it.
+     */
+    public void recordQueueWait(JobLane lane, long submittedNanos) {
+        laneWaitTimers.get(lane).record((System.nanoTime() - submittedNanos) / 1e9);
+    }
+
+    /**
+     * Time from submission to the end of the job, queueing included: what the client waits for.
+     */
+    public void recordLaneLatency(JobLane lane, long submittedNanos) {
+        laneLatencyTimers.get(lane).record((System.nanoTime() - submittedNanos) / 1e9);
+    }
+
+    /**
+     * Time from submission to the end of a mode=profile job, checked against its objective.
+     */
+    public void recordProfileLatency(long submittedNanos) {
+        long nanos = System.nanoTime() - submittedNanos;
+        profileLatencyTimer.record(nanos / 1e9);
+        if (nanos > profileSloMs * 1_000_000) {
+            profileSloBreaches.increment();
+        }
+    }
+
+    public void recordQueuedJobs(JobLane lane, int queued) {
+        queuedJobs.get(lane).set(queued);
+    }
+
+    public void recordClientAdmitted(String clientId) {
+        updateClient(clientId, counters -> counters.admitted.increment());
+    }
+
+    public void recordClientRejected(String clientId, JobRejectedException.Reason reason) {
+        updateClient(clientId, counters -> counters.rejected.get(reason).increment());
+    }
+
+    /**
+     * @param delta +1 when a job of the client is queued, -1 when a worker takes it
+     */
+    public void recordClientQueued(String clientId, int delta) {
+        updateClient(clientId, counters -> counters.queued.addAndGet(delta));
+    }
+
+    // Updated inside compute, so an update never lands on counters being evicted
+    private void updateClient(String clientId, Consumer<ClientCounters> update) {
+        clients.compute(clientId, (id, counters) -> {
+            ClientCounters current = counters != null ? counters : new ClientCounters();
+            update.accept(current);
+            current.lastActive = System.nanoTime();
+            return current;
+        });
+    }
+
+    /**
+     * Drops the counters of clients with no job waiting and none submitted for a while, like
+     * ClientRateLimiter does with its buckets: client ids come from callers, the map must not grow
+     * with every one ever seen. A client coming back starts its counters over from zero, which
+     * Prometheus reads as a counter reset.
+     */
+    @Scheduled(fixedDelayString = "${resume.ratelimit.cleanup-interval-ms:60000}")
+    public void evictIdleClients() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(clientIdleMs);
+        for (String clientId : clients.keySet()) {
+            clients.computeIfPresent(clientId, (id, counters) ->
+                    counters.queued.get() == 0 && System.nanoTime() - counters.lastActive > idleNanos ? null : counters);
+        }
+    }
+
+    public Histogram getLaneLatencyTimer(JobLane lane) {
+        return laneLatencyTimers.get(lane);
+    }
+
+    /**
+     * A job that joined the running parse of the same document instead of parsing it again.
+     */
+    public void recordCoalesced(long sizeBytes) {
+        coalescedJobs.increment();
+        coalescedBytes.add(sizeBytes);
+    }
+
+    /**
+     * Work a shared parse saved: its duration once per job it served besides its own.
+     */
+    public void recordCoalescedResults(int jobs, long startNanos) {
+        coalescedSeconds.add(jobs * (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    public void recordPages(int pages) {
+        pagesPerDocument.record(pages);
+    }
+
+    public void recordTextItems(int items) {
+        itemsPerDocument.record(items);
+    }
+
+    public void recordLines(int lines) {
+        linesPerDocument.record(lines);
+    }
+
+    public void recordSections(int sections) {
+        sectionsPerDocument.record(sections);
+    }
+
+    public int getActiveJobs() {
+        return activeJobs.get();
+    }
+
+    public Histogram getStageTimer(LogEntry.Step step) {
+        return stageTimers.get(step);
+    }
+
+    /**
+     * Renders every meter in Prometheus text exposition format 0.0.4.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+
+        out.append("# HELP resume_parse_stage_seconds Duration of each parsing pipeline stage.\n");
+        out.append("# TYPE resume_parse_stage_seconds histogram\n");
+        for (Map.Entry<LogEntry.Step, Histogram> entry : stageTimers.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                entry.getValue().writePrometheus(out, "resume_parse_stage_seconds", "stage=\"" + entry.getKey() + "\"");
+            }
+        }
+
+        out.append("# HELP resume_parse_job_seconds End-to-end duration of parsing jobs.\n");
+        out.append("# TYPE resume_parse_job_seconds histogram\n");
+        jobTimer.writePrometheus(out, "resume_parse_job_seconds", "");
+
+        out.append("# HELP resume_parse_jobs_total Finished parsing jobs by outcome.\n");
+        out.append("# TYPE resume_parse_jobs_total counter\n");
+        for (Map.Entry<Status, LongAdder> entry : jobOutcomes.entrySet()) {
+            out.append("resume_parse_jobs_total{status=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().sum()).append('\n');
+        }
+
+        writeHistogram(out, "resume_document_pages", "Pages per parsed document.", pagesPerDocument);
+        writeHistogram(out, "resume_document_text_items", "Positioned text items extracted per document.", itemsPerDocument);
+        writeHistogram(out, "resume_document_lines", "Lines grouped per document.", linesPerDocument);
+        writeHistogram(out, "resume_document_sections", "Sections detected per document.", sectionsPerDocument);
+
+        out.append("# HELP resume_upload_bytes_total Bytes of uploaded PDF files.\n");
+        out.append("# TYPE resume_upload_bytes_total counter\n");
+        out.append("resume_upload_bytes_total ").append(uploadedBytes.sum()).append('\n');
+
+        out.append("# HELP resume_parse_active_jobs Parsing jobs currently running.\n");
+        out.append("# TYPE resume_parse_active_jobs gauge\n");
+        out.append("resume_parse_active_jobs ").append(activeJobs.get()).append('\n');
+
+        out.append("# HELP resume_parse_coalesced_total Jobs that joined a running parse of the same document.\n");
+        out.append("# TYPE resume_parse_coalesced_total counter\n");
+        out.append("resume_parse_coalesced_total ").append(coalescedJobs.sum()).append('\n');
+        out.append("# HELP resume_parse_coalesced_bytes_total Bytes of uploads served by a running parse of the same document.\n");
+        out.append("# TYPE resume_parse_coalesced_bytes_total counter\n");
+        out.append("resume_parse_coalesced_bytes_total ").append(coalescedBytes.sum()).append('\n');
+        out.append("# HELP resume_parse_coalesced_seconds_total Parse time saved by sharing results, the leading parse's duration per job served.\n");
+        out.append("# TYPE resume_parse_coalesced_seconds_total counter\n");
+        out.append("resume_parse_coalesced_seconds_total ").append(coalescedSeconds.sum()).append('\n');
+
+        out.append("# HELP resume_job_queue_wait_seconds Time parsing jobs waited in their lane.\n");
+        out.append("# TYPE resume_job_queue_wait_seconds histogram\n");
+        for (Map.Entry<JobLane, Histogram> entry : laneWaitTimers.entrySet()) {
+            entry.getValue().writePrometheus(out, "resume_job_queue_wait_seconds", "lane=\"" + entry.getKey() + "\"");
+        }
+        out.append("# HELP resume_job_latency_seconds Time from submission to the end of parsing jobs.\n");
+        out.append("# TYPE resume_job_latency_seconds histogram\n");
+        for (Map.Entry<JobLane, Histogram> entry : laneLatencyTimers.entrySet()) {
+            entry.getValue().writePrometheus(out, "resume_job_latency_seconds", "lane=\"" + entry.getKey() + "\"");
+        }
+        writeHistogram(out, "resume_profile_job_latency_seconds",
+                "Time from submission to the end of mode=profile jobs.", profileLatencyTimer);
+        out.append("# HELP resume_profile_job_slo_seconds Latency objective of mode=profile jobs.\n");
+        out.append("# TYPE resume_profile_job_slo_seconds gauge\n");
+        out.append("resume_profile_job_slo_seconds ").append(profileSloMs / 1000.0).append('\n');
+        out.append("# HELP resume_profile_job_slo_breaches_total mode=profile jobs slower than their objective.\n");
+        out.append("# TYPE resume_profile_job_slo_breaches_total counter\n");
+        out.append("resume_profile_job_slo_breaches_total ").append(profileSloBreaches.sum()).append('\n');
+        out.append("# HELP resume_job_queued Parsing jobs waiting in each lane.\n");
+        out.append("# TYPE resume_job_queued gauge\n");
+        for (Map.Entry<JobLane, AtomicInteger> entry : queuedJobs.entrySet()) {
+            out.append("resume_job_queued{lane=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().get()).append('\n');
+        }
+
+        out.append("# HELP resume_client_jobs_admitted_total Parsing jobs accepted per client.\n");
+        out.append("# TYPE resume_client_jobs_admitted_total counter\n");
+        for (Map.Entry<String, ClientCounters> entry : clients.entrySet()) {
+            out.append("resume_client_jobs_admitted_total{client=\"").append(escapeLabel(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().admitted.sum()).append('\n');
+        }
+        out.append("# HELP resume_client_jobs_queued Parsing jobs waiting per client.\n");
+        out.append("# TYPE resume_client_jobs_queued gauge\n");
+        for (Map.Entry<String, ClientCounters> entry : clients.entrySet()) {
+            out.append("resume_client_jobs_queued{client=\"").append(escapeLabel(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().queued.get()).append('\n');
+        }
+        out.append("# HELP resume_client_jobs_rejected_total Parsing jobs refused per client and reason.\n");
+        out.append("# TYPE resume_client_jobs_rejected_total counter\n");
+        for (Map.Entry<String, ClientCounters> entry : clients.entrySet()) {
+            for (Map.Entry<JobRejectedException.Reason, LongAdder> rejected : entry.getValue().rejected.entrySet()) {
+                long count = rejected.getValue().sum();
+                if (count > 0) {
+                    out.append("resume_client_jobs_rejected_total{client=\"").append(escapeLabel(entry.getKey()))
+                            .append("\",reason=\"").append(rejected.getKey()).append("\"} ").append(count).append('\n');
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String help, Histogram histogram) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        histogram.writePrometheus(out, name, "");
+    }
+}
@@ -0,0 +1,11 @@
+package fr.eql.ai116.duflot.backend.repository;
+
+import fr.eql.ai116.duflot.backend.entity.ParsingTraceEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ParsingTraceEntryRepository extends JpaRepository<ParsingTraceEntryEntity, Long> {
+
+    List<ParsingTraceEntryEntity> findByJobIdOrderByEntryIndex(String jobId);
+}
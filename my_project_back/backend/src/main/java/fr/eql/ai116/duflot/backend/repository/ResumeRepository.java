@@ -0,0 +1,19 @@
+package fr.eql.ai116.duflot.backend.repository;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeEntity;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ResumeRepository extends JpaRepository<ResumeEntity, Long> {
+
+    Optional<ResumeEntity> findByJobId(String jobId);
+
+    List<ResumeEntity> findByDocumentHashAndStatus(String documentHash, Status status);
+
+    Slice<ResumeEntity> findByStatus(Status status, Pageable pageable);
+}
@@ -0,0 +1,117 @@
+package fr.eql.ai116.duflot.backend.search;
+
+import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.SkillEntity;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flattened, search-ready view of a parsed resume.
+ * Holds only what the search subsystem needs, so indexes never keep whole ResumeDTOs alive.
+ */
+public class ResumeSearchDocument {
+
+    private final String jobId;
+    private final String fileName;
+    private final String fullName;
+    private final String email;
+    private final String emailDomain;
+    private final List<String> skills;
+    private final Map<SectionType, String> sectionTexts;
+
+    public ResumeSearchDocument(String jobId, String fileName, String fullName, String email,
+                                List<String> skills, Map<SectionType, String> sectionTexts) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.fullName = fullName;
+        this.email = email;
+        this.emailDomain = extractDomain(email);
+        this.skills = skills != null ? skills : Collections.emptyList();
+        this.sectionTexts = sectionTexts != null ? sectionTexts : Collections.emptyMap();
+    }
+
+    /**
+     * Builds a search document from the output of the parsing pipeline.
+     *
+     * @param jobId The parsing job ID, used as the document key
+     * @param resume The parsed resume (its sections must be set)
+     * @return The search document
+     */
+    public static ResumeSearchDocument fromResume(String jobId, ResumeDTO resume) {
+        return fromResume(jobId, resume, sectionTexts(resume));
+    }
+
+    /**
+     * Builds a search document from a resume whose sections are given as text, e.g. a persisted one:
+     * sections are not part of the stored resume.
+     *
+     * @param sectionTexts The text of each section, see {@link #sectionTexts(ResumeDTO)}
+     */
+    public static ResumeSearchDocument fromResume(String jobId, ResumeDTO resume, Map<SectionType, String> sectionTexts) {
+        // The skills Step 4 extracted, SKILLS lines also hold group labels and free text
+        Set<String> skills = new LinkedHashSet<>();
+        for (SkillEntity skill : resume.getSkills()) {
+            if (skill.getName() != null && !skill.getName().isBlank()) {
+                skills.add(skill.getName().trim());
+            }
+        }
+
+        ProfileEntity profile = resume.getProfile();
+        String fullName = null;
+        String email = null;
+        if (profile != null) {
+            email = profile.getEmail();
+            String first = profile.getFirstName() != null ? profile.getFirstName() : "";
+            String last = profile.getLastName() != null ? profile.getLastName() : "";
+            fullName = (first + " " + last).trim();
+        }
+        return new ResumeSearchDocument(jobId, resume.getFileName(), fullName, email,
+                new ArrayList<>(skills), sectionTexts);
+    }
+
+    /**
+     * @return The text of each section of the resume, one line per line, sections of the same type joined
+     */
+    public static Map<SectionType, String> sectionTexts(ResumeDTO resume) {
+        Map<SectionType, String> sectionTexts = new EnumMap<>(SectionType.class);
+        for (ResumeSectionEntity section : resume.getSections()) {
+            StringBuilder sb = new StringBuilder();
+            String existing = sectionTexts.get(section.getType());
+            if (existing != null) {
+                sb.append(existing).append('\n');
+            }
+            for (ResumeLineEntity line : section.getLines()) {
+                sb.append(line.getLineText()).append('\n');
+            }
+            sectionTexts.put(section.getType(), sb.toString());
+        }
+        return sectionTexts;
+    }
+
+    private static String extractDomain(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at >= 0 && at < email.length() - 1 ? SearchTextNormalizer.fold(email.substring(at + 1)) : null;
+    }
+
+    // --- Getters ---
+    public String getJobId() { return jobId; }
+    public String getFileName() { return fileName; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public String getEmailDomain() { return emailDomain; }
+    public List<String> getSkills() { return skills; }
+    public Map<SectionType, String> getSectionTexts() { return sectionTexts; }
+}
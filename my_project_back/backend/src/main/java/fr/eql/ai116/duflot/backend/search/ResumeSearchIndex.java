@@ -0,0 +1,372 @@
+package fr.eql.ai116.duflot.backend.search;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over ResumeSearchDocuments.
+ *
+ * Every document gets an increasing int id, so postings lists are appended in order and
+ * stay sorted without any merge step. Terms are namespaced by field:
+ * "t:" for full text, "SECTION:" for text inside a given section, "skill:", "domain:" and "has:".
+ * Re-indexing a job marks its previous document as deleted instead of rewriting postings; once
+ * deleted documents make up half of the index it is compacted, see {@link #compact()}.
+ */
+public class ResumeSearchIndex {
+
+    private static final String TEXT_PREFIX = "t:";
+    private static final String SKILL_PREFIX = "skill:";
+    private static final String DOMAIN_PREFIX = "domain:";
+    private static final String HAS_SECTION_PREFIX = "has:";
+    // Below this many deleted documents compaction is not worth a pass over every postings list
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private List<ResumeSearchDocument> documents = new ArrayList<>();
+    private final Map<String, Integer> docIdByJobId = new HashMap<>();
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Growable postings list: parallel arrays of document ids (ascending) and term frequencies.
+     */
+    private static final class Postings {
+        int[] docIds = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int docId, int freq) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * Index of the first entry >= docId, starting the search at 'from'.
+         */
+        int seek(int docId, int from) {
+            int pos = Arrays.binarySearch(docIds, from, size, docId);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+    }
+
+    /**
+     * A scored match.
+     */
+    public static final class Hit {
+        private final ResumeSearchDocument document;
+        private final int docId;
+        private final int score;
+
+        Hit(ResumeSearchDocument document, int docId, int score) {
+            this.document = document;
+            this.docId = docId;
+            this.score = score;
+        }
+
+        public ResumeSearchDocument getDocument() { return document; }
+        public int getScore() { return score; }
+    }
+
+    /**
+     * One page of hits plus the total number of matches.
+     */
+    public static final class Result {
+        private final List<Hit> hits;
+        private final int totalHits;
+
+        Result(List<Hit> hits, int totalHits) {
+            this.hits = hits;
+            this.totalHits = totalHits;
+        }
+
+        public List<Hit> getHits() { return hits; }
+        public int getTotalHits() { return totalHits; }
+    }
+
+    // Best score first, newest document first on ties
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt((Hit h) -> h.score)
+            .thenComparingInt(h -> h.docId)
+            .reversed();
+
+    /**
+     * Adds (or replaces) a document. Terms are computed before taking the write lock.
+     */
+    public void add(ResumeSearchDocument document) {
+        Map<String, Integer> termFreqs = collectTerms(document);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIdByJobId.get(document.getJobId());
+            if (previous != null) {
+                markDeleted(previous);
+            }
+            int docId = documents.size();
+            documents.add(document);
+            docIdByJobId.put(document.getJobId(), docId);
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                postingsByTerm.computeIfAbsent(entry.getKey(), k -> new Postings()).add(docId, entry.getValue());
+            }
+            compactIfMostlyDeleted();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from results. Its postings are kept until the index is compacted.
+     */
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdByJobId.remove(jobId);
+            if (docId != null) {
+                markDeleted(docId);
+                compactIfMostlyDeleted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops deleted documents and their postings. Live documents get new ids in the same order, so
+     * postings stay sorted and ties still rank the newest first.
+     *
+     * @return The number of documents dropped
+     */
+    public int compact() {
+        lock.writeLock().lock();
+        try {
+            return compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markDeleted(int docId) {
+        if (!deleted.get(docId)) {
+            deleted.set(docId);
+            deletedCount++;
+        }
+    }
+
+    private void compactIfMostlyDeleted() {
+        if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount * 2 >= documents.size()) {
+            compactLocked();
+        }
+    }
+
+    private int compactLocked() {
+        int dropped = deletedCount;
+        if (dropped == 0) {
+            return 0;
+        }
+        int[] newIds = new int[documents.size()];
+        List<ResumeSearchDocument> live = new ArrayList<>(documents.size() - dropped);
+        for (int docId = 0; docId < documents.size(); docId++) {
+            if (deleted.get(docId)) {
+                newIds[docId] = -1;
+            } else {
+                newIds[docId] = live.size();
+                live.add(documents.get(docId));
+            }
+        }
+        postingsByTerm.values().removeIf(postings -> {
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int newId = newIds[postings.docIds[i]];
+                if (newId >= 0) {
+                    postings.docIds[kept] = newId;
+                    postings.freqs[kept] = postings.freqs[i];
+                    kept++;
+                }
+            }
+            postings.size = kept;
+            if (kept > 0 && kept < postings.docIds.length / 4) {
+                postings.docIds = Arrays.copyOf(postings.docIds, Math.max(4, kept));
+                postings.freqs = Arrays.copyOf(postings.freqs, Math.max(4, kept));
+            }
+            return kept == 0;
+        });
+        docIdByJobId.replaceAll((jobId, docId) -> newIds[docId]);
+        documents = live;
+        deleted = new BitSet();
+        deletedCount = 0;
+        return dropped;
+    }
+
+    /**
+     * @return The number of live (non deleted) documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByJobId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a query and returns the requested page of hits.
+     *
+     * @param query The search criteria
+     * @param offset Number of hits to skip
+     * @param limit Maximum number of hits to return
+     */
+    public Result search(ResumeSearchQuery query, int offset, int limit) {
+        List<String> requiredTerms = new ArrayList<>();
+        int scoredTermCount = 0;
+        if (query.getText() != null) {
+            String prefix = query.getSection() != null ? query.getSection().name() + ":" : TEXT_PREFIX;
+            for (String term : SearchTextNormalizer.terms(query.getText())) {
+                requiredTerms.add(prefix + term);
+            }
+            scoredTermCount = requiredTerms.size();
+        } else if (query.getSection() != null) {
+            requiredTerms.add(HAS_SECTION_PREFIX + query.getSection().name());
+        }
+        if (query.getSkill() != null) {
+            requiredTerms.add(SKILL_PREFIX + SearchTextNormalizer.fold(query.getSkill()));
+        }
+        if (query.getEmailDomain() != null) {
+            requiredTerms.add(DOMAIN_PREFIX + SearchTextNormalizer.fold(query.getEmailDomain()));
+        }
+
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit >= 1");
+        }
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)), RANKING.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            if (requiredTerms.isEmpty()) {
+                // No criteria: list every live document, newest first
+                for (int docId = documents.size() - 1; docId >= 0; docId--) {
+                    if (!deleted.get(docId)) {
+                        if (total < wanted) {
+                            top.add(new Hit(documents.get(docId), docId, 0));
+                        }
+                        total++;
+                    }
+                }
+            } else {
+                Postings[] lists = new Postings[requiredTerms.size()];
+                boolean[] scored = new boolean[lists.length];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postingsByTerm.get(requiredTerms.get(i));
+                    if (lists[i] == null) {
+                        return new Result(List.of(), 0);
+                    }
+                    scored[i] = i < scoredTermCount;
+                }
+                total = intersect(lists, scored, top, wanted);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new Result(new ArrayList<>(page), total);
+    }
+
+    /**
+     * Intersects the postings lists, driving the walk from the shortest one, and keeps the best
+     * 'wanted' hits in the heap. Returns the total number of matches.
+     */
+    private int intersect(Postings[] lists, boolean[] scored, PriorityQueue<Hit> top, int wanted) {
+        int driver = 0;
+        for (int i = 1; i < lists.length; i++) {
+            if (lists[i].size < lists[driver].size) {
+                driver = i;
+            }
+        }
+        int[] cursors = new int[lists.length];
+        int total = 0;
+
+        Postings driving = lists[driver];
+        outer:
+        for (int d = 0; d < driving.size; d++) {
+            int docId = driving.docIds[d];
+            if (deleted.get(docId)) {
+                continue;
+            }
+            int score = scored[driver] ? driving.freqs[d] : 0;
+            for (int i = 0; i < lists.length; i++) {
+                if (i == driver) {
+                    continue;
+                }
+                Postings other = lists[i];
+                int pos = other.seek(docId, cursors[i]);
+                cursors[i] = pos;
+                if (pos >= other.size || other.docIds[pos] != docId) {
+                    continue outer;
+                }
+                if (scored[i]) {
+                    score += other.freqs[pos];
+                }
+            }
+            total++;
+            offer(top, docId, score, wanted);
+        }
+        return total;
+    }
+
+    /**
+     * Keeps the hit if it ranks among the best 'wanted'. Hits are only allocated when kept.
+     */
+    private void offer(PriorityQueue<Hit> top, int docId, int score, int wanted) {
+        if (top.size() < wanted) {
+            top.add(new Hit(documents.get(docId), docId, score));
+            return;
+        }
+        Hit worst = top.peek();
+        if (score > worst.score || (score == worst.score && docId > worst.docId)) {
+            top.poll();
+            top.add(new Hit(documents.get(docId), docId, score));
+        }
+    }
+
+    private static Map<String, Integer> collectTerms(ResumeSearchDocument document) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (Map.Entry<SectionType, String> section : document.getSectionTexts().entrySet()) {
+            String sectionPrefix = section.getKey().name() + ":";
+            termFreqs.put(HAS_SECTION_PREFIX + section.getKey().name(), 1);
+            for (String term : SearchTextNormalizer.terms(section.getValue())) {
+                termFreqs.merge(TEXT_PREFIX + term, 1, Integer::sum);
+                termFreqs.merge(sectionPrefix + term, 1, Integer::sum);
+            }
+        }
+        for (String skill : document.getSkills()) {
+            termFreqs.put(SKILL_PREFIX + SearchTextNormalizer.fold(skill), 1);
+        }
+        if (document.getFullName() != null) {
+            for (String term : SearchTextNormalizer.terms(document.getFullName())) {
+                termFreqs.merge(TEXT_PREFIX + term, 1, Integer::sum);
+            }
+        }
+        if (document.getEmailDomain() != null) {
+            termFreqs.put(DOMAIN_PREFIX + document.getEmailDomain(), 1);
+        }
+        return termFreqs;
+    }
+}
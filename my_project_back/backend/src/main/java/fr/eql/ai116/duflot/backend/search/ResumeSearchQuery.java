@@ -0,0 +1,45 @@
+package fr.eql.ai116.duflot.backend.search;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+
+/**
+ * Criteria for a resume search. All set criteria must match (AND semantics).
+ * A null text with a section only asks for resumes that have that section.
+ */
+public class ResumeSearchQuery {
+
+    private final String text;
+    private final String skill;
+    private final SectionType section;
+    private final String emailDomain;
+
+    public ResumeSearchQuery(String text, String skill, SectionType section, String emailDomain) {
+        this.text = blankToNull(text);
+        this.skill = blankToNull(skill);
+        this.section = section;
+        this.emailDomain = blankToNull(emailDomain);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public boolean isEmpty() {
+        return text == null && skill == null && section == null && emailDomain == null;
+    }
+
+    public String getText() { return text; }
+    public String getSkill() { return skill; }
+    public SectionType getSection() { return section; }
+    public String getEmailDomain() { return emailDomain; }
+
+    @Override
+    public String toString() {
+        return "ResumeSearchQuery{" +
+                "text='" + text + '\'' +
+                ", skill='" + skill + '\'' +
+                ", section=" + section +
+                ", emailDomain='" + emailDomain + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package fr.eql.ai116.duflot.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Folds text for indexing and querying: lower case, accents removed, split into terms.
+ * Index and queries must go through the same folding or lookups will miss.
+ */
+public final class SearchTextNormalizer {
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Lower-cases the text and strips diacritics ("Expérience" -> "experience").
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        // Fast path: plain ASCII needs no decomposition
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits already folded text into terms.
+     * Letters and digits form terms; '+' and '#' are kept so "c++" and "c#" survive.
+     */
+    public static List<String> tokenize(String foldedText) {
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= foldedText.length(); i++) {
+            boolean termChar = i < foldedText.length() && isTermChar(foldedText.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(foldedText.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Folds and tokenizes in one call.
+     */
+    public static List<String> terms(String text) {
+        return tokenize(fold(text));
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+}
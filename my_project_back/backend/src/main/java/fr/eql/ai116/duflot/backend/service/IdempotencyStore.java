@@ -0,0 +1,28 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import java.util.Optional;
+
+/**
+ * Remembers which job each Idempotency-Key of /api/resume/parse started, for
+ * resume.idempotency.ttl-seconds, so a client retrying after a timeout gets its job back instead
+ * of a duplicate. Keys are already scoped to their client when they get here.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Records the key for a new job, unless a live entry already holds it.
+     *
+     * @return The job the key already started, empty when it is now reserved for {@code jobId}
+     */
+    Optional<String> reserve(String key, String jobId);
+
+    /**
+     * @return The job the key started, empty when unknown or expired
+     */
+    Optional<String> find(String key);
+
+    /**
+     * Forgets a reservation whose job was not started, so a retry with the key can start it.
+     */
+    void release(String key, String jobId);
+}
@@ -0,0 +1,38 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Carries the events of parse jobs to the node holding each job's SSE subscribers, which is not
+ * necessarily the node running the job once jobs are shared between nodes.
+ */
+public interface JobEventBus {
+
+    /**
+     * One SSE event of a job. The last event of a job closes its streams.
+     *
+     * @param data Serialized to JSON for the client; a JsonNode when it came from another node
+     */
+    record JobEvent(String jobId, String name, Object data, Kind kind) {
+
+        public enum Kind { UPDATE, COMPLETE, ERROR }
+
+        public boolean isLast() {
+            return kind != Kind.UPDATE;
+        }
+    }
+
+    /**
+     * Sends an event to the subscribers of its job, on this node and on the others.
+     */
+    void publish(JobEvent event);
+
+    /**
+     * Registers the receiver of events, called on the publishing thread for events of this node.
+     *
+     * @param interested Whether this node holds subscribers of a job; events of other jobs are not
+     *                   decoded, nor their large payloads fetched
+     */
+    void subscribe(Predicate<String> interested, Consumer<JobEvent> listener);
+}
@@ -1,11 +1,17 @@
 package fr.eql.ai116.duflot.backend.service;
 
 import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.SectionTitleExplanation;
 import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
 import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.extraction.DateRangeScanner;
+import fr.eql.ai116.duflot.backend.layout.SpatialIndex;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -125,6 +131,7 @@ public class ResumeParsingHelper {
                     "(?:/[^\\s]*)?",
             Pattern.CASE_INSENSITIVE
     );
+    private static final int TITLE_SCORE_THRESHOLD = 5;
     private static final float MIN_GAP_FACTOR = 1.5f;
     private static final float Y_TOLERANCE = 2.0f;
     private static final float X_MERGE_TOLERANCE = 1.0f;
@@ -134,8 +141,9 @@ public class ResumeParsingHelper {
             return new ArrayList<>();
         }
 
-        // Sort items: Top-down (Ascending Y), then Left-right (Ascending X)
-        items.sort(Comparator.<ResumeTextItemEntity, Float>comparing(ResumeTextItemEntity::getY)
+        // Sort items: page by page (Y restarts on each page), top-down (Ascending Y), then Left-right (Ascending X)
+        items.sort(Comparator.comparingInt(ResumeTextItemEntity::getPageIndex)
+                .thenComparing(ResumeTextItemEntity::getY)
                 .thenComparing(ResumeTextItemEntity::getX));
 
         List<ResumeLineEntity> lines = new ArrayList<>();
@@ -148,14 +156,14 @@ public class ResumeParsingHelper {
             ResumeTextItemEntity currentItem = items.get(i);
             float lastItemY = currentLine.getItems().get(currentLine.getItems().size() - 1).getY();
 
-            // Check Vertical Alignment
-            if (Math.abs(currentItem.getY() - lastItemY) < Y_TOLERANCE) {
+            // Check Vertical Alignment, on the same page
+            if (currentItem.getPageIndex() == currentLine.getPageIndex()
+                    && Math.abs(currentItem.getY() - lastItemY) < Y_TOLERANCE) {
                 // Add to current line
                 currentLine.addItem(currentItem);
             } else {
                 // Not vertically aligned - start a new line
-                currentLine = new ResumeLineEntity();
-                currentLine.addItem(currentItem);
+                currentLine = new ResumeLineEntity(currentItem);
                 lines.add(currentLine);
             }
         }
@@ -180,6 +188,11 @@ public class ResumeParsingHelper {
         List<ResumeSectionEntity> sections = new ArrayList<>();
         ResumeSectionEntity currentSection = null;
         LineProperties[] lineProperties = calculateLineProperties(lines); // Calculate properties once
+        // Null unless the job asked for an explanation, so the scoring path stays unchanged otherwise
+        SectionTitleExplanation explanation = traceData != null ? traceData.getSectionExplanation() : null;
+        if (explanation != null) {
+            explanation.reset(lines, TITLE_SCORE_THRESHOLD);
+        }
 
         // --- Pass 1: Handle Initial Profile Section ---
         int firstRealSectionTitleIndex = -1;
@@ -189,7 +202,7 @@ public class ResumeParsingHelper {
 
             SectionType detectedType = detectSectionTypeFromKeywords(lineText);
             // Use a slightly stricter check maybe for the *first* title detection
-            if (isPotentialSectionTitle(lineText, lineProperties[i], lineProperties, i) &&
+            if (isPotentialSectionTitle(lineText, lineProperties[i], lineProperties, i, explanation) &&
                     detectedType != SectionType.UNKNOWN && detectedType != SectionType.PROFILE && detectedType != SectionType.SUMMARY) {
                 firstRealSectionTitleIndex = i;
                 break; // Found the first non-profile/summary title
@@ -213,7 +226,7 @@ public class ResumeParsingHelper {
             SectionType firstLineType = detectSectionTypeFromKeywords(potentialFirstTitleText);
             if (!potentialFirstTitleText.isEmpty() &&
                     (firstLineType == SectionType.PROFILE || firstLineType == SectionType.SUMMARY) &&
-                    isPotentialSectionTitle(potentialFirstTitleText, lineProperties[0], lineProperties, 0))
+                    isPotentialSectionTitle(potentialFirstTitleText, lineProperties[0], lineProperties, 0, explanation))
             {
                 initialType = firstLineType;
                 firstTitleText = potentialFirstTitleText;
@@ -256,7 +269,7 @@ public class ResumeParsingHelper {
                 continue;
             }
 
-            boolean isLikelyTitle = isPotentialSectionTitle(lineText, lineProperties[i], lineProperties, i);
+            boolean isLikelyTitle = isPotentialSectionTitle(lineText, lineProperties[i], lineProperties, i, explanation);
             SectionType detectedType = isLikelyTitle ? detectSectionTypeFromKeywords(lineText) : SectionType.UNKNOWN;
 
             // --- Stricter condition to start a NEW section ---
@@ -267,6 +280,14 @@ public class ResumeParsingHelper {
                     (currentSection == null || detectedType != currentSection.getType()));
 
 
+            if (explanation != null) {
+                explanation.recordDecision(i, isLikelyTitle, detectedType, startNewSection);
+            }
+            if (isLikelyTitle && traceData != null && traceData.isEnabled(TraceLevel.HEURISTIC)) {
+                traceData.addLogEntry(TraceLevel.HEURISTIC, LogEntry.Step.SECTION_GROUPING, Status.INFO, "Title candidate",
+                        Map.of("lineIndex", i, "text", lineText, "detectedType", detectedType, "startsSection", startNewSection));
+            }
+
             if (startNewSection) {
                 currentSection = new ResumeSectionEntity(detectedType, lineText);
                 sections.add(currentSection);
@@ -444,10 +465,23 @@ public class ResumeParsingHelper {
 
         float averageFontSize = fontSizeCount > 0 ? totalFontSize / fontSizeCount : 12f; // Default if no items
 
+        // Previous line = closest line above in the same column, lines of two columns are not interleaved.
+        // One index per page: lines come page by page and Y restarts on each of them
+        SpatialIndex lineIndex = null;
+        int pageStart = 0;
+
         // Calculate line gaps
         for (int i = 0; i < lines.size(); i++) {
             ResumeLineEntity line = lines.get(i);
             String text = line.getLineText().trim();
+            if (lineIndex == null || line.getPageIndex() != lines.get(i - 1).getPageIndex()) {
+                pageStart = i;
+                int pageEnd = i + 1;
+                while (pageEnd < lines.size() && lines.get(pageEnd).getPageIndex() == line.getPageIndex()) {
+                    pageEnd++;
+                }
+                lineIndex = SpatialIndex.ofLines(lines.subList(pageStart, pageEnd));
+            }
 
             // Calculate if all caps
             boolean isAllCaps = !text.isEmpty() && ALL_CAPS_PATTERN.matcher(text).matches();
@@ -469,14 +503,15 @@ public class ResumeParsingHelper {
 
             // Calculate distance to next line (for gap detection)
             float distanceToNextLine = 0f;
-            if (i < lines.size() - 1) {
+            if (i < lines.size() - 1 && lines.get(i + 1).getPageIndex() == line.getPageIndex()) {
                 distanceToNextLine = lines.get(i + 1).getY() - line.getY();
             }
 
             // Calculate if there's a significant gap above this line
             boolean isGapAbove = false;
-            if (i > 0) {
-                float distanceFromPrevLine = line.getY() - lines.get(i - 1).getY();
+            int lineAbove = lineIndex.nearestAbove(i - pageStart, Y_TOLERANCE);
+            if (lineAbove >= 0) {
+                float distanceFromPrevLine = line.getY() - lines.get(pageStart + lineAbove).getY();
                 isGapAbove = distanceFromPrevLine > MIN_GAP_FACTOR * averageFontSize;
             }
 
@@ -495,58 +530,79 @@ public class ResumeParsingHelper {
         return properties;
     }
 
-    // Improved section title detection with scoring
-    private boolean isPotentialSectionTitle(String line, LineProperties props, LineProperties[] allProps, int lineIndex) {
+    // Improved section title detection with scoring.
+    // When explanation is not null, the veto or each score component is recorded for lineIndex.
+    private boolean isPotentialSectionTitle(String line, LineProperties props, LineProperties[] allProps, int lineIndex,
+                                            SectionTitleExplanation explanation) {
         // Skip empty lines or overly long lines
         if (line.isEmpty() || line.length() > 60) {
-            return false;
+            return veto(explanation, lineIndex, SectionTitleExplanation.VETO_EMPTY_OR_LONG);
         }
 
         // --- Strong Negative Indicators ---
         String trimmedLine = line.trim();
         // Starts with bullet or common list marker
         if (trimmedLine.startsWith("•") || trimmedLine.startsWith("*") || trimmedLine.startsWith("- ")) {
-            return false;
+            return veto(explanation, lineIndex, SectionTitleExplanation.VETO_BULLET);
         }
         // Contains email/URL (already checked by containsContactInfo)
         if (containsContactInfo(line)) {
-            return false;
+            return veto(explanation, lineIndex, SectionTitleExplanation.VETO_CONTACT);
         }
         // Ends with typical sentence punctuation (less likely for titles)
         if (trimmedLine.endsWith(".") || trimmedLine.endsWith(":") || trimmedLine.endsWith(";")) {
             // Allow exceptions for short acronyms like "...", but generally exclude
-            if (trimmedLine.length() > 5) return false;
+            if (trimmedLine.length() > 5) return veto(explanation, lineIndex, SectionTitleExplanation.VETO_PUNCTUATION);
         }
-        // Contains date ranges common in entries (simple check, can be improved)
-        if (line.matches(".*\\d{4}\\s*–\\s*(Present|\\d{4}).*")) { // e.g., "2022 – Present", "2021 – 2022"
-            return false;
+        // Contains date ranges common in entries, e.g. "2022 – Present", "03/2019 - 12/2020", "janv. 2021 – aujourd'hui"
+        if (DateRangeScanner.containsRange(line)) {
+            return veto(explanation, lineIndex, SectionTitleExplanation.VETO_DATE_RANGE);
         }
 
         // --- Scoring ---
-        int score = 0;
 
         // Format indicators
-        if (props.isAllCaps) score += 3;
-        if (props.isBold) score += 2;
+        int capsScore = props.isAllCaps ? 3 : 0;
+        int boldScore = props.isBold ? 2 : 0;
         // Slightly larger font is a weaker indicator, maybe reduce points or increase factor
-        if (props.fontSize > props.averageFontSize * 1.2) score += 1; // Reduced points, increased factor
+        int fontScore = props.fontSize > props.averageFontSize * 1.2 ? 1 : 0; // Reduced points, increased factor
 
         // Significant gap indicators
-        if (props.isGapAbove) score += 2;
+        int gapScore = props.isGapAbove ? 2 : 0;
 
         // Content indicators
-        if (line.length() < 35) score += 1; // Adjusted length
+        int shortScore = line.length() < 35 ? 1 : 0; // Adjusted length
         // Check for multiple words (titles usually have > 1 word)
-        if (line.contains(" ")) score += 1;
+        int wordsScore = line.contains(" ") ? 1 : 0;
         // Lack of common punctuation within the line
-        if (!line.matches(".*[,;:•].*")) score += 1;
+        int punctuationScore = !line.matches(".*[,;:•].*") ? 1 : 0;
 
         // Keyword match is very strong evidence
         SectionType sectionType = detectSectionTypeFromKeywords(line);
-        if (sectionType != SectionType.UNKNOWN) score += 5;
+        int keywordScore = sectionType != SectionType.UNKNOWN ? 5 : 0;
+
+        if (explanation != null) {
+            explanation.recordScore(lineIndex, SectionTitleExplanation.CAPS, capsScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.BOLD, boldScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.FONT, fontScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.GAP, gapScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.SHORT, shortScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.WORDS, wordsScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.NO_PUNCTUATION, punctuationScore);
+            explanation.recordScore(lineIndex, SectionTitleExplanation.KEYWORD, keywordScore);
+        }
+
+        int score = capsScore + boldScore + fontScore + gapScore + shortScore + wordsScore + punctuationScore + keywordScore;
 
         // Final decision threshold
-        return score >= 5; // Adjust threshold based on testing
+        return score >= TITLE_SCORE_THRESHOLD; // Adjust threshold based on testing
+    }
+
+    private static boolean veto(SectionTitleExplanation explanation, int lineIndex, byte reason) {
+        if (explanation != null) {
+            explanation.recordVeto(lineIndex, reason);
+        }
+        return false;
     }
 
     // Check if a line has a significant gap above it
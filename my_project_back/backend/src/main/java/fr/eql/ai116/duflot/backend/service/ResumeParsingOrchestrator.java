@@ -1,7 +1,9 @@
 package fr.eql.ai116.duflot.backend.service;
 
+import fr.eql.ai116.duflot.backend.artifact.DocumentHasher;
 import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
 import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
 import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
@@ -9,14 +11,19 @@ import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
 import fr.eql.ai116.duflot.backend.entity.SectionType;
 import fr.eql.ai116.duflot.backend.entity.Status;
 import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SectionTitleExplanation;
+import fr.eql.ai116.duflot.backend.exception.JobCancelledException;
+import fr.eql.ai116.duflot.backend.job.ParseJob;
+import fr.eql.ai116.duflot.backend.job.ParseMode;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
 import fr.eql.ai116.duflot.backend.service.impl.ResumeParsingServiceImpl;
+import fr.eql.ai116.duflot.backend.util.CancellationToken;
 import fr.eql.ai116.duflot.backend.util.SseService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
@@ -25,9 +32,11 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Service responsible for asynchronously processing resume parsing jobs.
+ * Service responsible for processing resume parsing jobs queued by ParseJobScheduler.
  * Handles the orchestration, SSE updates, and error management.
  */
 @Service
@@ -41,46 +50,79 @@ public class ResumeParsingOrchestrator {
     @Autowired
     private ResumeParsingService resumeParsingService;
 
+    @Autowired
+    private ResumePersistenceService resumePersistenceService;
+
+    @Autowired
+    private ResumeSearchService resumeSearchService;
+
+    @Autowired
+    private ParsingMetrics parsingMetrics;
+
+    @Autowired
+    private SectionExplanationCache sectionExplanationCache;
+
+    @Value("${resume.trace.level:STAGE}")
+    private TraceLevel traceLevel;
+
+    // Uploads of a document already being parsed share that parse
+    @Value("${resume.jobs.coalesce:true}")
+    private boolean coalesce;
+
+    // Running parses by document hash, see join()
+    private final Map<String, SharedParse> sharedParses = new ConcurrentHashMap<>();
+
     /**
-     * Asynchronously parses the resume file and sends updates via SseService.
-     * @param jobId The unique ID for this parsing job.
-     * @param file The uploaded multipart file.
+     * Parses the resume of a queued job and sends updates via SseService.
+     * Runs on a worker of ParseJobScheduler; the spooled file is deleted at the end, unless the job
+     * was handed over to another node while it ran. A job whose document is already being parsed
+     * on this node joins that parse and returns at once, the result reaches its stream when it ends.
+     * @param job The job, with the uploaded file already spooled to disk.
      */
-    @Async // Marks this method to run in a separate thread
-    public void parseResumeAsync(String jobId, MultipartFile file) {
-        logger.info("Starting async parsing for Job ID: {}", jobId);
-        Path tempFile = null;
-        ParsingTraceDTO traceData = new ParsingTraceDTO(jobId, file.getOriginalFilename());
+    public void parseResume(ParseJob job) {
+        String jobId = job.getJobId();
+        logger.debug("Starting parsing for Job ID: {}", jobId);
+        Path tempFile = job.getFile();
+        String documentHash = coalesce ? hash(tempFile) : null;
+        SharedParse shared = documentHash != null ? join(job, documentHash) : new SharedParse(null, job);
+        if (shared == null) {
+            deleteQuietly(tempFile);
+            return;
+        }
+
+        ParsingTraceDTO traceData = new ParsingTraceDTO(jobId, job.getOriginalFilename(), traceLevel);
+        if (job.isExplain()) {
+            traceData.setSectionExplanation(new SectionTitleExplanation());
+        }
+        traceData.setCancellation(shared);
+        traceData.setDocumentHash(documentHash);
         ResumeDTO parsedResume = null;
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        parsingMetrics.jobStarted(job.getSizeBytes());
 
         try {
-            // --- Preparation ---
-            sendStatusUpdate(jobId, traceData, LogEntry.Step.PREPARATION, Status.INFO, "Preparing file...");
-
-            // Save multipart file to a temporary location
-            tempFile = Files.createTempFile("resume_", "_" + file.getOriginalFilename());
-            file.transferTo(tempFile.toFile());
-            logger.info("File saved temporarily to: {}", tempFile.toString());
-
-            sendStatusUpdate(jobId, traceData, LogEntry.Step.PREPARATION, Status.SUCCESS,
-                    "File prepared.", Map.of("tempPath", tempFile.toString()));
+            // --- Preparation: the upload was spooled and classified when the job was queued ---
+            sendStatusUpdate(shared, traceData, LogEntry.Step.PREPARATION, Status.SUCCESS, "File prepared.",
+                    Map.of("tempPath", tempFile.toString(), "lane", job.getLane(),
+                            "queuedMs", (startNanos - job.getSubmittedNanos()) / 1_000_000));
 
             // --- Perform the actual parsing using the service ---
             File pdfFile = tempFile.toFile();
 
-            // Call the high-level parse method
-            parsedResume = resumeParsingService.parseResume(pdfFile, traceData);
+            // Call the high-level parse method, profile jobs stop after the first page
+            parsedResume = job.getMode() == ParseMode.PROFILE
+                    ? resumeParsingService.parseProfile(pdfFile, traceData)
+                    : resumeParsingService.parseResume(pdfFile, traceData);
 
             // Add metadata to the result
             if (parsedResume != null) {
-                parsedResume.setFileName(file.getOriginalFilename());
+                parsedResume.setFileName(job.getOriginalFilename());
                 parsedResume.setParseTime(System.currentTimeMillis() - startTime);
                 // Could also set page count here if available from PDDocument
             }
 
             // --- Completion ---
-            logger.info("Async parsing processing finished successfully for Job ID: {}", jobId);
             traceData.setOverallStatus(Status.SUCCESS);
 
             Map<String, Object> finalPayload = Map.of(
@@ -90,58 +132,324 @@ public class ResumeParsingOrchestrator {
                     "parseTimeMs", System.currentTimeMillis() - startTime
             );
 
-            sseService.completeEmitter(jobId, "parsingComplete", finalPayload);
+            // Nobody joins from here on, every job in the list gets the result
+            List<ParseJob> served = shared.close();
+            // The explanation goes out as its own event just before completion, and stays fetchable afterwards
+            SectionTitleExplanation explanation = traceData.getSectionExplanation();
+            if (explanation != null && explanation.getLineCount() > 0) {
+                for (ParseJob member : served) {
+                    sectionExplanationCache.put(member.getJobId(), explanation);
+                    sseService.sendUpdate(member.getJobId(), "heuristicExplanation", explanation.toDTO(member.getJobId()));
+                }
+            }
+
+            for (ParseJob member : served) {
+                sseService.completeEmitter(member.getJobId(), "parsingComplete", finalPayload);
+            }
+            // The leading job may have been cancelled meanwhile, the others count whatever it did
+            int joined = served.contains(job) ? served.size() - 1 : served.size();
+            if (joined > 0) {
+                parsingMetrics.recordCoalescedResults(joined, startNanos);
+            }
 
-        } catch (Exception e) {
+            // Update the search index once the client has its result; a profile alone would index a partial resume.
+            // Only the jobs served: the leading one is not among them if it was cancelled meanwhile
+            if (job.getMode() == ParseMode.FULL) {
+                for (ParseJob member : served) {
+                    indexParsedResume(member.getJobId(), parsedResume);
+                }
+            }
+
+        } catch (JobCancelledException e) {
+            // Stopped at a page or stage boundary, the worker is free again once the file is deleted below
+            logger.info("Cancelled Job ID: {} ({})", jobId, e.getMessage());
+            traceData.setOverallStatus(Status.CANCELLED);
+            for (ParseJob member : shared.close()) {
+                sseService.completeEmitter(member.getJobId(), "parsingCancelled", Map.of(
+                        "message", "Parsing cancelled.",
+                        "reason", member.getCancellation().isCancelled() ? member.getCancellation().getReason() : e.getMessage(),
+                        "traceSummary", traceData.getSummary()
+                ));
+            }
+        } catch (Exception | Error e) {
+            // Errors too (a StackOverflowError on a deeply nested PDF): every waiting client gets its outcome
+            if (job.isHandedOver()) {
+                // Interrupted by the drain of this node, the node that takes the job reports its outcome
+                logger.info("Stopped parsing Job ID: {}, handed over to another node", jobId);
+                traceData.setOverallStatus(Status.FAILURE);
+                // Only the leading job goes back to the shared queue, the ones that joined it are lost
+                for (ParseJob member : shared.close()) {
+                    if (member != job) {
+                        sseService.errorEmitter(member.getJobId(), "parsingError",
+                                Map.of("errorMessage", "The server restarted before parsing finished, please upload the file again."));
+                    }
+                }
+                rethrowIfError(e);
+                return; // The finally block still cleans up
+            }
             // Handle exceptions from any step
             logger.error("Error during async parsing for Job ID: {}", jobId, e);
             traceData.setOverallStatus(Status.FAILURE);
 
             Map<String, Object> errorPayload = Map.of(
                     "errorMessage", "A critical error occurred during parsing.",
-                    "details", e.getMessage(),
+                    "details", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(),
                     "traceSummary", traceData.getSummary()
             );
 
-            // Ensure emitter is closed if an exception occurs
-            if (sseService.hasEmitter(jobId)) {
-                sseService.errorEmitter(jobId, "parsingError", errorPayload);
+            // Ensure emitter is closed if an exception occurs, it may be open on another node
+            for (ParseJob member : shared.close()) {
+                sseService.errorEmitter(member.getJobId(), "parsingError", errorPayload);
             }
+            rethrowIfError(e);
 
         } finally {
             // --- Cleanup ---
-            if (tempFile != null) {
-                try {
-                    Files.deleteIfExists(tempFile);
-                    logger.info("Deleted temporary file: {}", tempFile.toString());
-                } catch (IOException e) {
-                    logger.error("Failed to delete temporary file: {}", tempFile.toString(), e);
-                }
+            // Already closed unless an Error escaped, later uploads of the document must not join a dead parse
+            List<ParseJob> served = shared.close();
+            // A job handed over unfinished keeps its file for the next attempt, and the trace of this one is not kept
+            boolean handedOver = job.isHandedOver() && traceData.getOverallStatus() != Status.SUCCESS;
+            if (!handedOver) {
+                deleteQuietly(tempFile);
+            }
+            // The parse succeeded for the jobs that joined it, the leading one left before it ended
+            Status sharedStatus = traceData.getOverallStatus();
+            boolean leaderLeft = sharedStatus == Status.SUCCESS && !served.contains(job);
+            if (leaderLeft) {
+                traceData.setOverallStatus(Status.CANCELLED);
             }
 
             traceData.setEndTime(System.currentTimeMillis());
+            parsingMetrics.jobFinished(traceData.getOverallStatus(), startNanos);
+            // One line per job at INFO, the per-stage detail lives in the trace
             logger.info("Finished processing Job ID: {}. Overall Status: {}", jobId, traceData.getOverallStatus());
 
-            // Optional: Persist the traceData here if needed
-            // tracePersistenceService.save(traceData);
+            // Hand the result to the write-behind queue, the database write happens off this thread
+            if (!handedOver) {
+                resumePersistenceService.enqueue(traceData, leaderLeft ? null : parsedResume);
+                // The jobs that joined get a row of their own, their status would otherwise never leave ACCEPTED
+                for (ParseJob member : served) {
+                    if (member != job) {
+                        resumePersistenceService.enqueue(memberTrace(member, traceData, sharedStatus), parsedResume);
+                    }
+                }
+            }
         }
     }
 
     /**
-     * Helper method to add a log entry to the trace data and send an SSE update.
+     * The outcome of a shared parse under the id of a job that joined it; the log entries stay
+     * with the job that ran the parse.
+     */
+    private static ParsingTraceDTO memberTrace(ParseJob member, ParsingTraceDTO traceData, Status status) {
+        ParsingTraceDTO memberTrace = new ParsingTraceDTO(member.getJobId(), member.getOriginalFilename(), TraceLevel.OFF);
+        memberTrace.setDocumentHash(traceData.getDocumentHash());
+        memberTrace.setOverallStatus(status);
+        memberTrace.setEndTime(traceData.getEndTime());
+        return memberTrace;
+    }
+
+    // The worker logs it and goes on, the JVM may still need to know about it
+    private static void rethrowIfError(Throwable e) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * Joins the parse of the same document running on this node, or starts one.
+     *
+     * @return The parse this job leads, null when it joined a running one
+     */
+    private SharedParse join(ParseJob job, String documentHash) {
+        // Explained and plain parses record different traces, profile parses stop early: none are shared across kinds
+        String key = documentHash + (job.isExplain() ? ":explain" : "") + (job.getMode() == ParseMode.PROFILE ? ":profile" : "");
+        SharedParse[] started = new SharedParse[1];
+        sharedParses.compute(key, (k, running) -> {
+            if (running != null && running.add(job)) {
+                return running;
+            }
+            started[0] = new SharedParse(k, job);
+            return started[0];
+        });
+        if (started[0] == null) {
+            logger.info("Job ID: {} joined the running parse of the same document", job.getJobId());
+            parsingMetrics.recordCoalesced(job.getSizeBytes());
+            sseService.sendUpdate(job.getJobId(), "statusUpdate",
+                    Map.of("message", "The same document is already being parsed, its result will be shared.", "type", "info"));
+        }
+        return started[0];
+    }
+
+    /**
+     * Stops a job that joined a running parse, the parse itself goes on for the others.
+     *
+     * @param clientId Only a job of this client, null for any
+     * @return false when no such job waits on a parse of this node
+     */
+    public boolean cancelJoined(String jobId, String clientId, String reason) {
+        for (SharedParse shared : sharedParses.values()) {
+            ParseJob job = shared.find(jobId);
+            if (job != null && (clientId == null || clientId.equals(job.getClientId()))) {
+                job.getCancellation().cancel(reason);
+                leave(job);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called once a running job was cancelled: when other jobs wait on its parse, it keeps going
+     * for them and only this job's stream ends now. Otherwise the parse stops at its next check.
+     */
+    public void leave(ParseJob job) {
+        for (SharedParse shared : sharedParses.values()) {
+            if (shared.remove(job)) {
+                sseService.completeEmitter(job.getJobId(), "parsingCancelled",
+                        Map.of("message", "Parsing cancelled.", "reason", job.getCancellation().getReason()));
+                return;
+            }
+        }
+    }
+
+    private String hash(Path file) {
+        try {
+            return DocumentHasher.sha256Hex(file);
+        } catch (IOException e) {
+            // The parse reports the unreadable file, it just runs on its own
+            logger.warn("Could not hash {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void deleteQuietly(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+            logger.debug("Deleted temporary file: {}", tempFile);
+        } catch (IOException e) {
+            logger.error("Failed to delete temporary file: {}", tempFile.toString(), e);
+        }
+    }
+
+    /**
+     * Adds the parsed resume to the search index. Indexing failures never fail the job.
      */
-    private void sendStatusUpdate(String jobId, ParsingTraceDTO traceData, LogEntry.Step step, Status status, String message) {
-        sendStatusUpdate(jobId, traceData, step, status, message, null);
+    private void indexParsedResume(String jobId, ResumeDTO parsedResume) {
+        if (parsedResume == null) {
+            return;
+        }
+        try {
+            resumeSearchService.index(jobId, parsedResume);
+        } catch (RuntimeException e) {
+            logger.error("Failed to index parsed resume for Job ID: {}", jobId, e);
+        }
     }
 
-    private void sendStatusUpdate(String jobId, ParsingTraceDTO traceData, LogEntry.Step step, Status status, String message, Map<String, Object> details) {
+    /**
+     * Helper method to add a log entry to the trace data and send an SSE update.
+     */
+    private void sendStatusUpdate(SharedParse shared, ParsingTraceDTO traceData, LogEntry.Step step, Status status, String message, Map<String, Object> details) {
         LogEntry entry = traceData.addLogEntry(step, status, message, details);
-        // Send the LogEntry object itself as the SSE data payload
-        sseService.sendUpdate(jobId, "statusUpdate", entry);
+        // Every job sharing the parse follows its progress
+        for (ParseJob member : shared.members()) {
+            String jobId = member.getJobId();
+            // Send the LogEntry object itself as the SSE data payload, the client still gets progress when entries are not recorded
+            if (entry != null) {
+                sseService.sendUpdate(jobId, "statusUpdate", entry);
+            } else {
+                sseService.sendUpdate(jobId, "statusUpdate", Map.of("step", step, "status", status, "message", message));
+            }
+
+            // Send specific event type for heuristic results if applicable
+            if (details != null && step == LogEntry.Step.SECTION_GROUPING && details.containsKey("heuristicScore")) {
+                sseService.sendUpdate(jobId, "heuristicResult", details);
+            }
+        }
+    }
+
+    /**
+     * One run of the pipeline and the jobs waiting for its result: the job that started it, then
+     * those that uploaded the same document while it ran. As the cancellation token of the run, it
+     * only stops it once every one of them is cancelled.
+     */
+    private final class SharedParse extends CancellationToken {
+
+        private final String key; // Null when the document could not be hashed
+        private final List<ParseJob> jobs = new CopyOnWriteArrayList<>();
+        private boolean closed; // Guarded by this
 
-        // Send specific event type for heuristic results if applicable
-        if (details != null && step == LogEntry.Step.SECTION_GROUPING && details.containsKey("heuristicScore")) {
-            sseService.sendUpdate(jobId, "heuristicResult", details);
+        SharedParse(String key, ParseJob leader) {
+            this.key = key;
+            jobs.add(leader);
+        }
+
+        synchronized boolean add(ParseJob job) {
+            // A job cancelled before it got here runs on its own, and stops there at once
+            if (closed || isCancelled() || job.getCancellation().isCancelled()) {
+                return false;
+            }
+            jobs.add(job);
+            return true;
+        }
+
+        // Only while others still wait, the last job stops the run instead
+        synchronized boolean remove(ParseJob job) {
+            return !closed && jobs.size() > 1 && jobs.remove(job);
+        }
+
+        ParseJob find(String jobId) {
+            for (ParseJob job : jobs) {
+                if (job.getJobId().equals(jobId)) {
+                    return job;
+                }
+            }
+            return null;
+        }
+
+        List<ParseJob> members() {
+            return jobs;
+        }
+
+        /**
+         * @return The jobs the outcome goes to; the list no longer changes
+         */
+        List<ParseJob> close() {
+            synchronized (this) {
+                closed = true;
+            }
+            // Outside the lock: join() takes the map's lock first, then this one
+            if (key != null) {
+                sharedParses.remove(key, this);
+            }
+            return jobs;
+        }
+
+        @Override
+        public void cancel(String reason) {
+            jobs.forEach(job -> job.getCancellation().cancel(reason));
+        }
+
+        @Override
+        public boolean isCancelled() {
+            for (ParseJob job : jobs) {
+                if (!job.getCancellation().isCancelled()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String getReason() {
+            return jobs.get(0).getCancellation().getReason();
+        }
+
+        @Override
+        public void throwIfCancelled() {
+            if (isCancelled()) {
+                throw new JobCancelledException(getReason());
+            }
         }
     }
 }
@@ -27,6 +27,27 @@ public interface ResumeParsingService {
      */
     ResumeDTO parseResume(File pdfFile, ParsingTraceDTO traceData) throws IOException;
 
+    /**
+     * Parses only what a profile needs: the first page, grouped into lines, and its PROFILE section.
+     * The other pages are never read and the other sections never extracted.
+     *
+     * @param pdfFile The PDF file to process
+     * @param traceData The trace object for logging details
+     * @return A ResumeDTO with the profile and its section only
+     * @throws IOException If there's an error reading the PDF
+     */
+    ResumeDTO parseProfile(File pdfFile, ParsingTraceDTO traceData) throws IOException;
+
+    /**
+     * Runs the analysis half of the pipeline (Steps 3 and 4) on lines produced by Step 2.
+     * Used by parseResume and to re-analyse cached artifacts without touching the PDF.
+     *
+     * @param lines The lines from Step 2
+     * @param traceData The trace object for logging details
+     * @return A ResumeDTO containing the parsed resume data
+     */
+    ResumeDTO analyzeLines(List<ResumeLineEntity> lines, ParsingTraceDTO traceData);
+
     /**
      * Extracts text items with positional information from a PDF file.
      * Step 1 of the parsing pipeline.
@@ -0,0 +1,48 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service responsible for persisting parsed resumes and their parsing traces.
+ * Writes are queued and flushed in the background so callers never wait on the database.
+ */
+public interface ResumePersistenceService {
+
+    /**
+     * Queues the outcome of a parsing job for persistence.
+     * Returns immediately; the write happens later on the writer thread.
+     *
+     * @param traceData The trace of the finished job
+     * @param resume The parsed resume, or null if the job failed or was cancelled: only its outcome is stored
+     * @return true if the write was queued, false if the queue is full and the write was dropped
+     */
+    boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume);
+
+    /**
+     * Queues a new result for a job already persisted, e.g. after re-analysis. Its parsed data is
+     * replaced; its status, upload name and trace entries are kept.
+     *
+     * @return true if the write was queued, false if the queue is full and the write was dropped
+     */
+    boolean enqueueReplacement(String jobId, ResumeDTO resume);
+
+    /**
+     * @return The upload name of every job that parsed the document successfully, by job ID
+     */
+    Map<String, String> findJobsByDocumentHash(String documentHash);
+
+    /**
+     * @return The outcome recorded for a job, empty until its write is flushed
+     */
+    Optional<Status> findStatus(String jobId);
+
+    /**
+     * @return The number of writes waiting to be flushed
+     */
+    int getPendingCount();
+}
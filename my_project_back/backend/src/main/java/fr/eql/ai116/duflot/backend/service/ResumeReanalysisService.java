@@ -0,0 +1,22 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.dto.ReanalysisReportDTO;
+
+/**
+ * Service responsible for re-running section grouping and attribute extraction over the
+ * cached extraction artifacts of the whole archive, without loading any PDF.
+ */
+public interface ResumeReanalysisService {
+
+    /**
+     * Starts a re-analysis run in the background.
+     *
+     * @return false if a run is already in progress
+     */
+    boolean startReanalysis();
+
+    /**
+     * @return The progress of the current run, or the outcome of the last one
+     */
+    ReanalysisReportDTO getReport();
+}
@@ -0,0 +1,35 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+
+/**
+ * Service responsible for indexing parsed resumes and searching them.
+ * The index is updated incrementally after each completed job, PDFs are never re-parsed for a query.
+ */
+public interface ResumeSearchService {
+
+    /**
+     * Adds a parsed resume to the index, replacing any previous version for the same job.
+     *
+     * @param jobId The parsing job ID
+     * @param resume The parsed resume, with its sections
+     */
+    void index(String jobId, ResumeDTO resume);
+
+    /**
+     * Searches the indexed resumes.
+     *
+     * @param query The search criteria
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The requested page of results
+     */
+    SearchResultPageDTO search(ResumeSearchQuery query, int page, int size);
+
+    /**
+     * Reclaims the space held by replaced documents, e.g. after re-indexing every resume.
+     */
+    void compact();
+}
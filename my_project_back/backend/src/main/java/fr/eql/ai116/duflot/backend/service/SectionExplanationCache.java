@@ -0,0 +1,36 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.dto.SectionTitleExplanation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the section title explanations of the most recent explain=true jobs, in compact form,
+ * until the debugging UI fetches them. Least recently used entries are evicted first.
+ */
+@Component
+public class SectionExplanationCache {
+
+    private final Map<String, SectionTitleExplanation> explanations;
+
+    public SectionExplanationCache(@Value("${resume.explain.cache-size:100}") int maxEntries) {
+        this.explanations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SectionTitleExplanation> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void put(String jobId, SectionTitleExplanation explanation) {
+        explanations.put(jobId, explanation);
+    }
+
+    public synchronized Optional<SectionTitleExplanation> get(String jobId) {
+        return Optional.ofNullable(explanations.get(jobId));
+    }
+}
@@ -0,0 +1,20 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+
+import java.util.List;
+
+public interface SectionExtractionService {
+
+    /**
+     * Runs the extractor of each section type concurrently and adds the results to the resume,
+     * in section order. A failing extractor is traced and skipped, it does not fail the job.
+     *
+     * @param sections The grouped sections (Step 3 output)
+     * @param resume The resume to fill
+     * @param traceData The trace of the job, only written from the calling thread
+     */
+    void extractSections(List<ResumeSectionEntity> sections, ResumeDTO resume, ParsingTraceDTO traceData);
+}
@@ -0,0 +1,74 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Single node: keys live in a map bounded by resume.idempotency.max-entries, oldest first out.
+ * Entries are kept in insertion order, so expired ones are always at the head.
+ */
+@Service
+@ConditionalOnProperty(name = "resume.jobs.distributed", havingValue = "false", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(String jobId, long expiresAtNanos) {
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private LongSupplier nanoTime = System::nanoTime;
+
+    public InMemoryIdempotencyStore(@Value("${resume.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                    @Value("${resume.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized Optional<String> reserve(String key, String jobId) {
+        long now = nanoTime.getAsLong();
+        evict(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return Optional.of(existing.jobId());
+        }
+        entries.put(key, new Entry(jobId, now + ttlNanos));
+        if (entries.size() > maxEntries) {
+            Iterator<Entry> eldest = entries.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Optional<String> find(String key) {
+        evict(nanoTime.getAsLong());
+        Entry entry = entries.get(key);
+        return entry != null ? Optional.of(entry.jobId()) : Optional.empty();
+    }
+
+    @Override
+    public synchronized void release(String key, String jobId) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.jobId().equals(jobId)) {
+            entries.remove(key);
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext() && now - oldest.next().expiresAtNanos() >= 0) {
+            oldest.remove();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.entity.ResumeEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeSearchResultDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.repository.ResumeRepository;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchDocument;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchIndex;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import fr.eql.ai116.duflot.backend.service.ResumeSearchService;
+import org.apache.logging.log4j.LogManager;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search backed by the in-process inverted index. Used whenever the prod profile is not active.
+ * The index lives in memory only, so it is rebuilt from the persisted resumes at startup.
+ */
+@Service
+@Profile("!prod")
+public class InMemoryResumeSearchService implements ResumeSearchService {
+
+    private static final Logger logger = LogManager.getLogger(InMemoryResumeSearchService.class);
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private static final TypeReference<Map<SectionType, String>> SECTION_TEXTS = new TypeReference<>() { };
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ResumeSearchIndex searchIndex = new ResumeSearchIndex();
+
+    /**
+     * Indexes every successfully parsed resume, oldest first so ties still rank the newest first.
+     * Runs before the application serves requests, nothing is indexed concurrently.
+     */
+    @PostConstruct
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        int skipped = 0;
+        Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        Slice<ResumeEntity> slice;
+        do {
+            slice = resumeRepository.findByStatus(Status.SUCCESS, pageable);
+            for (ResumeEntity stored : slice) {
+                if (!indexStored(stored)) {
+                    skipped++;
+                }
+            }
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+        logger.info("Rebuilt search index with {} resumes in {} ms ({} skipped)",
+                searchIndex.size(), System.currentTimeMillis() - start, skipped);
+    }
+
+    @Override
+    public void index(String jobId, ResumeDTO resume) {
+        searchIndex.add(ResumeSearchDocument.fromResume(jobId, resume));
+        logger.debug("Indexed Job ID: {} ({} documents in index)", jobId, searchIndex.size());
+    }
+
+    // Only the JSON columns: the element collections would be loaded one resume at a time
+    private boolean indexStored(ResumeEntity stored) {
+        if (stored.getResultJson() == null) {
+            return false;
+        }
+        try {
+            ResumeDTO resume = objectMapper.readValue(stored.getResultJson(), ResumeDTO.class);
+            resume.setFileName(stored.getFileName());
+            Map<SectionType, String> sectionTexts = stored.getSectionTextsJson() != null
+                    ? objectMapper.readValue(stored.getSectionTextsJson(), SECTION_TEXTS)
+                    : Map.of();
+            searchIndex.add(ResumeSearchDocument.fromResume(stored.getJobId(), resume, sectionTexts));
+            return true;
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not index stored resume of Job ID: {}: {}", stored.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void compact() {
+        int reclaimed = searchIndex.compact();
+        logger.debug("Compacted search index: {} replaced documents dropped, {} left", reclaimed, searchIndex.size());
+    }
+
+    @Override
+    public SearchResultPageDTO search(ResumeSearchQuery query, int page, int size) {
+        // Past Integer.MAX_VALUE the offset is beyond any index anyway
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        ResumeSearchIndex.Result result = searchIndex.search(query, offset, size);
+        List<ResumeSearchResultDTO> results = result.getHits().stream()
+                .map(hit -> new ResumeSearchResultDTO(
+                        hit.getDocument().getJobId(),
+                        hit.getDocument().getFileName(),
+                        hit.getDocument().getFullName(),
+                        hit.getDocument().getEmail(),
+                        hit.getScore()))
+                .toList();
+        return new SearchResultPageDTO(results, page, size, result.getTotalHits());
+    }
+}
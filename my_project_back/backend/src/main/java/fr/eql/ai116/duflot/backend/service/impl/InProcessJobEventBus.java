@@ -0,0 +1,28 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.service.JobEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Single node: jobs run where their subscribers connect, events go straight to them.
+ */
+@Service
+@ConditionalOnProperty(name = "resume.jobs.distributed", havingValue = "false", matchIfMissing = true)
+public class InProcessJobEventBus implements JobEventBus {
+
+    private volatile Consumer<JobEvent> listener = event -> { };
+
+    @Override
+    public void publish(JobEvent event) {
+        listener.accept(event);
+    }
+
+    @Override
+    public void subscribe(Predicate<String> interested, Consumer<JobEvent> listener) {
+        this.listener = listener;
+    }
+}
@@ -1,16 +1,14 @@
 package fr.eql.ai116.duflot.backend.service.impl;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.contentstream.PDFStreamEngine;
 import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.cos.COSBase;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.graphics.state.PDGraphicsState;
 import org.apache.pdfbox.util.Matrix;
 import org.apache.pdfbox.util.Vector;
-import org.apache.pdfbox.Loader;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +16,8 @@ import java.util.List;
 
 public class LineDetector extends PDFStreamEngine {
 
+    private static final Logger logger = LogManager.getLogger(LineDetector.class);
+
     public static class LineInfo {
         Vector start;
         Vector end;
@@ -46,7 +46,7 @@ public class LineDetector extends PDFStreamEngine {
     @Override
     protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
         // Optional: You might log operators here for debugging
-        // System.out.println("Operator: " + operator.getName());
+        // logger.trace("Operator: {}", operator.getName());
         super.processOperator(operator, operands);
     }
 
@@ -57,20 +57,20 @@ public class LineDetector extends PDFStreamEngine {
         Vector pos = transform(x, y);
         currentPathPoints.add(pos);
         currentPoint = pos;
-        System.out.println("moveTo: " + pos);
+        logger.trace("moveTo: {}", pos);
     }
 
     public void lineTo(float x, float y) throws IOException {
         if (currentPoint == null) {
             // Should not happen if PDF is valid and moveTo was called first
-            System.err.println("WARN: lineTo called without current point.");
+            logger.warn("lineTo called without current point.");
             moveTo(x, y); // Try to recover? Or just log error.
             return;
         }
         Vector newPoint = transform(x, y);
         currentPathPoints.add(newPoint);
         currentPoint = newPoint;
-        System.out.println("lineTo: " + newPoint);
+        logger.trace("lineTo: {}", newPoint);
     }
 
     public void appendRectangle(float x, float y, float w, float h) throws IOException {
@@ -108,19 +108,19 @@ public class LineDetector extends PDFStreamEngine {
                 currentPoint = firstPoint; // Update current point
             }
         }
-        // System.out.println("closePath");
+        // logger.trace("closePath");
     }
 
     public void endPath() throws IOException {
         currentPathPoints.clear();
         currentPoint = null;
-        System.out.println("endPath");
+        logger.trace("endPath");
     }
 
     // --- Path Painting Operators ---
 
     public void strokePath() throws IOException {
-        // System.out.println("Stroking path with " + currentPathPoints.size() + " points");
+        // logger.trace("Stroking path with {} points", currentPathPoints.size());
         if (currentPathPoints.size() >= 2) {
             for (int i = 0; i < currentPathPoints.size() - 1; i++) {
                 Vector start = currentPathPoints.get(i);
@@ -170,12 +170,12 @@ public class LineDetector extends PDFStreamEngine {
         // Check for Horizontal line (Y coordinates are nearly the same)
         if (Math.abs(start.getY() - end.getY()) < TOLERANCE) {
             lines.add(new LineInfo(start, end, "H"));
-            // System.out.println("Detected H Line: " + start + " -> " + end);
+            // logger.trace("Detected H Line: {} -> {}", start, end);
 
             // Check for Vertical line (X coordinates are nearly the same)
         } else if (Math.abs(start.getX() - end.getX()) < TOLERANCE) {
             lines.add(new LineInfo(start, end, "V"));
-            // System.out.println("Detected V Line: " + start + " -> " + end);
+            // logger.trace("Detected V Line: {} -> {}", start, end);
         }
         // else: It's a diagonal line, ignore based on requirements
     }
@@ -187,42 +187,4 @@ public class LineDetector extends PDFStreamEngine {
     public List<LineInfo> getLines() {
         return lines;
     }
-
-
-    // --- Main Execution Logic (Example) ---
-    public static void main(String[] args) throws IOException {
-        // Ensure you provide the correct path to your PDF
-        File pdfFile = new File("path/to/your/document.pdf");
-        if (!pdfFile.exists()) {
-            System.err.println("PDF file not found: " + pdfFile.getAbsolutePath());
-            return;
-        }
-
-
-        try (PDDocument document = Loader.loadPDF(pdfFile)) {
-            LineDetector lineDetector = new LineDetector();
-            int pageNum = 0;
-            for (PDPage page : document.getPages()) {
-                pageNum++;
-                System.out.println("Processing Page: " + pageNum);
-                lineDetector.processPage(page);
-            }
-
-            List<LineInfo> detectedLines = lineDetector.getLines();
-            System.out.println("\n--- Detected Lines ---");
-            System.out.println("Total lines found: " + detectedLines.size());
-            int hCount = 0;
-            int vCount = 0;
-            for (LineInfo line : detectedLines) {
-                System.out.println(line);
-                if ("H".equals(line.type)) hCount++;
-                if ("V".equals(line.type)) vCount++;
-            }
-            System.out.println("\nHorizontal lines: " + hCount);
-            System.out.println("Vertical lines: " + vCount);
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
 }
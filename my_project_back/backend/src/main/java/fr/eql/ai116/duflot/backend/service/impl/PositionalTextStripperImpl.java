@@ -1,6 +1,9 @@
 package fr.eql.ai116.duflot.backend.service.impl;
 
 import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.util.CancellationToken;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
 import org.apache.pdfbox.pdmodel.interactive.action.PDAction;
@@ -9,23 +12,47 @@ import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
-import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-@Service
+/**
+ * Step 1: collects every text chunk of the document with its position and font.
+ * <p>
+ * Holds the items of the document being read, so it is not a bean: create one per document.
+ * PDFBox keeps the last document and page it processed in private fields, so an instance kept
+ * around (e.g. per thread) would hold on to a closed document and its page state.
+ */
 public class PositionalTextStripperImpl extends PDFTextStripper {
 
-    private final List<ResumeTextItemEntity> textItems = new ArrayList<>();
+    private static final Logger logger = LogManager.getLogger(PositionalTextStripperImpl.class);
+
+    private List<ResumeTextItemEntity> textItems = new ArrayList<>();
     private ResumeTextItemEntity lastItemProcessed = null;
+    private CancellationToken cancellation;
 
     public PositionalTextStripperImpl() throws IOException {
         // Constructor needed due to potential IOException in superclass
         super();
     }
 
+    /**
+     * @param cancellation Checked before each page, null for none
+     */
+    public void setCancellation(CancellationToken cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        // A long document stops within one page of its cancellation
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+        super.startPage(page);
+    }
+
     @Override
     protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
         if (textPositions.isEmpty()) {
@@ -51,6 +78,7 @@ public class PositionalTextStripperImpl extends PDFTextStripper {
         boolean isBold = fontDescriptor != null && (fontDescriptor.getFontWeight() >= 700 || fontName.toLowerCase().contains("bold"));
 
         ResumeTextItemEntity item = new ResumeTextItemEntity(text, startX, startY, totalWidth, height, fontName, fontSize, isBold);
+        item.setPageIndex(getCurrentPageNo() - 1); // getYDirAdj() restarts on each page
         textItems.add(item);
         this.lastItemProcessed = item;
         // Call super method if you need the default text stripping behavior as well
@@ -95,9 +123,10 @@ public class PositionalTextStripperImpl extends PDFTextStripper {
             if (annotation instanceof PDAnnotationLink) {
                 PDAnnotationLink link = (PDAnnotationLink) annotation;
                 PDAction action = link.getAction();
-                PDActionURI uri = (PDActionURI) action;
-                String url = uri.getURI();
-                System.out.println("Found URL: " + url);
+                // Links can also point inside the document (GoTo actions), only URIs are of interest
+                if (action instanceof PDActionURI uri) {
+                    logger.debug("Found URL: {}", uri.getURI());
+                }
             }
         }
     }
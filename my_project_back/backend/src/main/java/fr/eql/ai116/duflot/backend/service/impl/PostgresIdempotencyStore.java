@@ -0,0 +1,71 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.service.IdempotencyStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Several nodes: keys live in the idempotency_key table (db/postgres/006_idempotency_keys.sql), so
+ * a retry landing on another node than the first attempt still finds its job. The primary key
+ * makes concurrent reservations of one key race safely.
+ */
+@Service
+@ConditionalOnProperty(name = "resume.jobs.distributed", havingValue = "true")
+public class PostgresIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LogManager.getLogger(PostgresIdempotencyStore.class);
+
+    // Takes over an expired entry in place, RETURNING is empty when a live one holds the key
+    private static final String RESERVE =
+            "INSERT INTO idempotency_key (idempotency_key, job_id) VALUES (?, ?) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET job_id = EXCLUDED.job_id, created_at = now() " +
+            "WHERE idempotency_key.created_at < now() - make_interval(secs => ?) RETURNING job_id";
+    private static final String SELECT_LIVE =
+            "SELECT job_id FROM idempotency_key WHERE idempotency_key = ? AND created_at >= now() - make_interval(secs => ?)";
+    private static final String DELETE_KEY = "DELETE FROM idempotency_key WHERE idempotency_key = ? AND job_id = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_key WHERE created_at < now() - make_interval(secs => ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${resume.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Override
+    public Optional<String> reserve(String key, String jobId) {
+        if (!jdbcTemplate.queryForList(RESERVE, String.class, key, jobId, ttlSeconds).isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<String> existing = find(key);
+        // Released between the two statements: the key is free again
+        return existing.isPresent() ? existing : reserve(key, jobId);
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        List<String> jobIds = jdbcTemplate.queryForList(SELECT_LIVE, String.class, key, ttlSeconds);
+        return jobIds.stream().findFirst();
+    }
+
+    @Override
+    public void release(String key, String jobId) {
+        jdbcTemplate.update(DELETE_KEY, key, jobId);
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED, ttlSeconds);
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.eql.ai116.duflot.backend.service.JobEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Relays job events between nodes on a PostgreSQL NOTIFY channel. Events are delivered to this
+ * node's subscribers directly and notified to the others, which ignore their own notifications.
+ * Payloads over NOTIFY's 8000 bytes go to job_event_payload and travel by id
+ * (db/postgres/004_job_events.sql); only a node with subscribers of the job fetches them.
+ * <p>
+ * Notifications are received on one pooled connection held for good, reopened when it breaks.
+ * The PostgreSQL driver is a runtime dependency, so its PGConnection API is called reflectively.
+ */
+@Service
+@ConditionalOnProperty(name = "resume.jobs.distributed", havingValue = "true")
+public class PostgresJobEventBus implements JobEventBus {
+
+    private static final Logger logger = LogManager.getLogger(PostgresJobEventBus.class);
+
+    private static final String CHANNEL = "resume_job_events";
+    // NOTIFY refuses 8000 bytes and more, the envelope fields need a little room
+    private static final int MAX_INLINE_BYTES = 7_500;
+    private static final int RECEIVE_TIMEOUT_MS = 1_000;
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    private static final String INSERT_PAYLOAD = "INSERT INTO job_event_payload (job_id, payload) VALUES (?, ?) RETURNING id";
+    private static final String SELECT_PAYLOAD = "SELECT payload FROM job_event_payload WHERE id = ?";
+    private static final String DELETE_OLD_PAYLOADS = "DELETE FROM job_event_payload WHERE created_at < now() - interval '10 minutes'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Tells this node's notifications apart from the others'
+    private final String origin = UUID.randomUUID().toString();
+    private volatile Predicate<String> interested = jobId -> false;
+    private volatile Consumer<JobEvent> listener = event -> { };
+    private volatile boolean running = true;
+    private Thread receiver;
+
+    @PostConstruct
+    void start() {
+        receiver = new Thread(this::receive, "job-event-listener");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        receiver.interrupt();
+    }
+
+    @Override
+    public void publish(JobEvent event) {
+        listener.accept(event);
+        try {
+            ObjectNode envelope = objectMapper.createObjectNode()
+                    .put("origin", origin).put("jobId", event.jobId()).put("name", event.name()).put("kind", event.kind().name());
+            JsonNode data = objectMapper.valueToTree(event.data());
+            String inline = objectMapper.writeValueAsString(envelope.set("data", data));
+            if (inline.getBytes(StandardCharsets.UTF_8).length <= MAX_INLINE_BYTES) {
+                notify(inline);
+            } else {
+                Long id = jdbcTemplate.queryForObject(INSERT_PAYLOAD, Long.class, event.jobId(), objectMapper.writeValueAsString(data));
+                envelope.remove("data");
+                notify(objectMapper.writeValueAsString(envelope.put("ref", id)));
+            }
+        } catch (JsonProcessingException | IllegalArgumentException | DataAccessException e) {
+            // Subscribers on other nodes miss this event, the job itself goes on
+            logger.error("Failed to relay event '{}' of Job ID: {}", event.name(), event.jobId(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Predicate<String> interested, Consumer<JobEvent> listener) {
+        this.interested = interested;
+        this.listener = listener;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void deleteOldPayloads() {
+        int deleted = jdbcTemplate.update(DELETE_OLD_PAYLOADS);
+        if (deleted > 0) {
+            logger.debug("Deleted {} relayed event payloads", deleted);
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query(NOTIFY, rs -> null, CHANNEL, payload);
+    }
+
+    private void receive() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                Class<?> pgConnectionType = Class.forName("org.postgresql.PGConnection");
+                Object pgConnection = connection.unwrap(pgConnectionType);
+                Method getNotifications = pgConnectionType.getMethod("getNotifications", int.class);
+                Method getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+                logger.info("Listening for job events of other nodes on channel {}", CHANNEL);
+                while (running) {
+                    Object[] notifications = (Object[]) getNotifications.invoke(pgConnection, RECEIVE_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (Object notification : notifications) {
+                        relay((String) getParameter.invoke(notification));
+                    }
+                }
+            } catch (ReflectiveOperationException | SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Job event listener connection lost, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECEIVE_TIMEOUT_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void relay(String notification) {
+        try {
+            JsonNode envelope = objectMapper.readTree(notification);
+            String jobId = envelope.path("jobId").asText();
+            if (origin.equals(envelope.path("origin").asText()) || !interested.test(jobId)) {
+                return;
+            }
+            JsonNode data = envelope.get("data");
+            if (envelope.has("ref")) {
+                List<String> payload = jdbcTemplate.queryForList(SELECT_PAYLOAD, String.class, envelope.get("ref").asLong());
+                if (payload.isEmpty()) {
+                    logger.warn("Payload of event '{}' for Job ID: {} is gone", envelope.path("name").asText(), jobId);
+                    return;
+                }
+                data = objectMapper.readTree(payload.get(0));
+            }
+            listener.accept(new JobEvent(jobId, envelope.path("name").asText(), data,
+                    JobEvent.Kind.valueOf(envelope.path("kind").asText())));
+        } catch (JsonProcessingException | DataAccessException | IllegalArgumentException e) {
+            logger.error("Dropping malformed job event notification: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeSearchResultDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchDocument;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import fr.eql.ai116.duflot.backend.search.SearchTextNormalizer;
+import fr.eql.ai116.duflot.backend.service.ResumeSearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search backed by PostgreSQL full-text search (tsvector columns with GIN indexes).
+ * Text is folded in Java before it is stored, so the 'simple' configuration is enough
+ * and no unaccent extension is required. Schema: db/postgres/002_resume_search.sql.
+ */
+@Service
+@Profile("prod")
+public class PostgresResumeSearchService implements ResumeSearchService {
+
+    private static final Logger logger = LogManager.getLogger(PostgresResumeSearchService.class);
+
+    private static final String UPSERT_DOCUMENT =
+            "INSERT INTO resume_search_document (job_id, file_name, full_name, email, email_domain, skills, content, indexed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?::text[], ?, now()) " +
+            "ON CONFLICT (job_id) DO UPDATE SET file_name = EXCLUDED.file_name, full_name = EXCLUDED.full_name, " +
+            "email = EXCLUDED.email, email_domain = EXCLUDED.email_domain, skills = EXCLUDED.skills, " +
+            "content = EXCLUDED.content, indexed_at = EXCLUDED.indexed_at";
+    private static final String DELETE_SECTIONS = "DELETE FROM resume_search_section WHERE job_id = ?";
+    private static final String INSERT_SECTION =
+            "INSERT INTO resume_search_section (job_id, section_type, content) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void index(String jobId, ResumeDTO resume) {
+        ResumeSearchDocument document = ResumeSearchDocument.fromResume(jobId, resume);
+
+        StringBuilder content = new StringBuilder();
+        if (document.getFullName() != null) {
+            content.append(SearchTextNormalizer.fold(document.getFullName())).append('\n');
+        }
+        List<Object[]> sectionRows = new ArrayList<>();
+        for (Map.Entry<SectionType, String> section : document.getSectionTexts().entrySet()) {
+            String folded = SearchTextNormalizer.fold(section.getValue());
+            content.append(folded).append('\n');
+            sectionRows.add(new Object[]{jobId, section.getKey().name(), folded});
+        }
+        String skills = toArrayLiteral(document.getSkills());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(UPSERT_DOCUMENT, jobId, document.getFileName(), document.getFullName(),
+                    document.getEmail(), document.getEmailDomain(), skills, content.toString());
+            jdbcTemplate.update(DELETE_SECTIONS, jobId);
+            jdbcTemplate.batchUpdate(INSERT_SECTION, sectionRows);
+        });
+        logger.debug("Indexed Job ID: {} in PostgreSQL ({} sections)", jobId, sectionRows.size());
+    }
+
+    @Override
+    public void compact() {
+        // Documents are updated in place, autovacuum reclaims the old row versions
+    }
+
+    @Override
+    public SearchResultPageDTO search(ResumeSearchQuery query, int page, int size) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT d.job_id, d.file_name, d.full_name, d.email, ");
+        List<Object> params = new ArrayList<>();
+        String vectorColumn = query.getSection() != null ? "s.search_vector" : "d.search_vector";
+
+        if (query.getText() != null) {
+            sql.append("ts_rank(").append(vectorColumn).append(", websearch_to_tsquery('simple', ?)) AS score, ");
+            params.add(SearchTextNormalizer.fold(query.getText()));
+        } else {
+            sql.append("0 AS score, ");
+        }
+        sql.append("count(*) OVER () AS total FROM resume_search_document d ");
+        if (query.getSection() != null) {
+            sql.append("JOIN resume_search_section s ON s.job_id = d.job_id AND s.section_type = ? ");
+            params.add(query.getSection().name());
+        }
+        sql.append("WHERE TRUE ");
+        if (query.getText() != null) {
+            sql.append("AND ").append(vectorColumn).append(" @@ websearch_to_tsquery('simple', ?) ");
+            params.add(SearchTextNormalizer.fold(query.getText()));
+        }
+        if (query.getSkill() != null) {
+            sql.append("AND d.skills @> ARRAY[?]::text[] ");
+            params.add(SearchTextNormalizer.fold(query.getSkill()));
+        }
+        if (query.getEmailDomain() != null) {
+            sql.append("AND d.email_domain = ? ");
+            params.add(SearchTextNormalizer.fold(query.getEmailDomain()));
+        }
+        sql.append("ORDER BY score DESC, d.indexed_at DESC LIMIT ? OFFSET ?");
+        params.add(size);
+        params.add((long) page * size);
+
+        long[] total = {0};
+        List<ResumeSearchResultDTO> results = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            return new ResumeSearchResultDTO(rs.getString("job_id"), rs.getString("file_name"),
+                    rs.getString("full_name"), rs.getString("email"), rs.getDouble("score"));
+        }, params.toArray());
+
+        if (results.isEmpty() && page > 0) {
+            // Past the last page: the window function gave us nothing, count separately
+            total[0] = countMatches(query);
+        }
+        return new SearchResultPageDTO(results, page, size, total[0]);
+    }
+
+    private long countMatches(ResumeSearchQuery query) {
+        SearchResultPageDTO firstPage = search(query, 0, 1);
+        return firstPage.getTotalElements();
+    }
+
+    /**
+     * Builds a PostgreSQL array literal ({"a","b"}) from folded skill names.
+     */
+    private static String toArrayLiteral(List<String> values) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            String folded = SearchTextNormalizer.fold(values.get(i));
+            sb.append('"').append(folded.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return sb.append('}').toString();
+    }
+}
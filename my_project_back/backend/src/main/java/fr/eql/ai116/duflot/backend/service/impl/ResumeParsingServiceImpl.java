@@ -1,7 +1,11 @@
 package fr.eql.ai116.duflot.backend.service.impl;
 
+import fr.eql.ai116.duflot.backend.artifact.DocumentHasher;
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifactStore;
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifacts;
 import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
 import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
 import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
 import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
@@ -9,20 +13,37 @@ import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
 import fr.eql.ai116.duflot.backend.entity.SectionType;
 import fr.eql.ai116.duflot.backend.entity.Status;
 import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.layout.LayoutAnalyzer;
+import fr.eql.ai116.duflot.backend.layout.PageLayout;
+import fr.eql.ai116.duflot.backend.layout.RunningTextFilter;
+import fr.eql.ai116.duflot.backend.layout.VerticalRule;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
 import fr.eql.ai116.duflot.backend.service.ResumeParsingHelper;
 import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.service.SectionExtractionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.pdfbox.Loader.loadPDF;
 
@@ -34,43 +55,336 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
     @Autowired
     ResumeParsingHelper parsingHelper;
 
+    @Autowired
+    PipelineArtifactStore artifactStore;
+
+    @Autowired
+    ParsingMetrics parsingMetrics;
+
+    @Autowired
+    SectionExtractionService sectionExtractionService;
+
+    @Autowired
+    LayoutAnalyzer layoutAnalyzer;
+
+    @Autowired
+    RunningTextFilter runningTextFilter;
+
+    // Pages grouped at the same time, 0 = one thread per CPU
+    @Value("${resume.layout.parallelism:0}")
+    int pageParallelism;
+
+    // Own pool, like section extraction: jobs wait on these tasks
+    private ExecutorService pageExecutor;
+
+    // Also read the vector paths of each page so drawn column separators help the layout analysis
+    @Value("${resume.layout.vertical-rules:false}")
+    boolean useVerticalRules;
+
+    @PostConstruct
+    void startPageExecutor() {
+        int threads = pageParallelism > 0 ? pageParallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        pageExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "page-grouper-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopPageExecutor() {
+        pageExecutor.shutdownNow();
+    }
+
     /**
      * High-level method that executes the entire parsing pipeline.
      */
     @Override
     public ResumeDTO parseResume(File pdfFile, ParsingTraceDTO traceData) throws IOException {
+        // Steps 1 and 2 only depend on the PDF content, reuse them when this document was seen before
+        String documentHash = documentHash(pdfFile, traceData);
+        Optional<PipelineArtifacts> cached = documentHash != null ? artifactStore.load(documentHash) : Optional.empty();
+
+        traceData.checkCancelled();
+
+        List<ResumeLineEntity> lines;
+        if (cached.isPresent()) {
+            lines = cached.get().getLines();
+            traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Reusing cached extraction artifacts.",
+                    traceData.isEnabled(TraceLevel.STAGE) ? Map.of("documentHash", documentHash, "lineCount", lines.size()) : null);
+        } else {
+            lines = extractLines(pdfFile, traceData);
+            if (documentHash != null) {
+                artifactStore.save(new PipelineArtifacts(documentHash, traceData.getJobId(), traceData.getOriginalFilename(), lines));
+            }
+        }
+
+        parsingMetrics.recordLines(lines.size());
+        traceData.checkCancelled();
+
+        ResumeDTO resumeDTO = analyzeLines(lines, traceData);
+        parsingMetrics.recordSections(resumeDTO.getSections().size());
+        return resumeDTO;
+    }
+
+    /**
+     * Profile mode: Steps 1 and 2 on the first page only, Step 3 on its lines, and the profile part
+     * of Step 4. Cached artifacts of an earlier full parse are used when present, but a profile
+     * parse never writes them: they would lack every page but the first.
+     */
+    @Override
+    public ResumeDTO parseProfile(File pdfFile, ParsingTraceDTO traceData) throws IOException {
+        String documentHash = documentHash(pdfFile, traceData);
+        Optional<PipelineArtifacts> cached = documentHash != null ? artifactStore.load(documentHash) : Optional.empty();
+
+        traceData.checkCancelled();
+
+        List<ResumeLineEntity> lines;
+        if (cached.isPresent()) {
+            lines = new ArrayList<>();
+            for (ResumeLineEntity line : cached.get().getLines()) {
+                if (line.getPageIndex() == 0) {
+                    lines.add(line);
+                }
+            }
+            traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Reusing cached extraction artifacts.",
+                    traceData.isEnabled(TraceLevel.STAGE) ? Map.of("documentHash", documentHash, "lineCount", lines.size()) : null);
+        } else {
+            lines = extractFirstPageLines(pdfFile, traceData);
+        }
+
+        traceData.checkCancelled();
+
         ResumeDTO resumeDTO = new ResumeDTO();
+        traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Starting section grouping...");
+        long stageStart = System.nanoTime();
+        List<ResumeSectionEntity> sections = groupLinesIntoSections(lines, traceData);
+        parsingMetrics.recordStage(LogEntry.Step.SECTION_GROUPING, stageStart);
+
+        traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Starting profile extraction...");
+        stageStart = System.nanoTime();
+        // The other sections are cut at the end of the page, they are left out rather than returned incomplete
+        Optional<ResumeSectionEntity> profileSectionOpt = sections.stream()
+                .filter(s -> s.getType() == SectionType.PROFILE)
+                .findFirst();
+        if (profileSectionOpt.isPresent()) {
+            resumeDTO.setProfile(extractProfileData(profileSectionOpt.get(), traceData));
+            resumeDTO.setSections(new ArrayList<>(List.of(profileSectionOpt.get())));
+        } else {
+            traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "PROFILE section not found.");
+            resumeDTO.setProfile(new ProfileEntity()); // Empty profile
+        }
+        parsingMetrics.recordStage(LogEntry.Step.ATTRIBUTE_EXTRACTION, stageStart);
+        traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.SUCCESS, "Profile extraction complete.");
+        return resumeDTO;
+    }
 
+    // Null when artifacts are disabled; the caller may have hashed the file already. Kept on the
+    // trace so the persisted job can be found again by re-analysis.
+    private String documentHash(File pdfFile, ParsingTraceDTO traceData) throws IOException {
+        if (!artifactStore.isEnabled()) {
+            return null;
+        }
+        if (traceData.getDocumentHash() == null) {
+            traceData.setDocumentHash(DocumentHasher.sha256Hex(pdfFile.toPath()));
+        }
+        return traceData.getDocumentHash();
+    }
+
+    /**
+     * Steps 1 and 2 of profile mode: the first page's text items, then its lines. They go through
+     * the running text filter like a full parse, which keeps the first page whole: both modes, and
+     * cached artifacts, read the same first page.
+     */
+    private List<ResumeLineEntity> extractFirstPageLines(File pdfFile, ParsingTraceDTO traceData) throws IOException {
+        traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Starting text extraction of the first page...");
+        long stageStart = System.nanoTime();
+        List<VerticalRule> rules = new ArrayList<>();
+        List<ResumeTextItemEntity> textItems = extractTextItems(pdfFile, traceData, useVerticalRules ? rules : null, 1);
+        parsingMetrics.recordStage(LogEntry.Step.TEXT_EXTRACTION, stageStart);
+        if (textItems.isEmpty()) {
+            traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.FAILURE, "Text extraction failed to produce items.");
+            throw new RuntimeException("Text extraction failed to produce items.");
+        }
+
+        traceData.checkCancelled();
+        textItems = runningTextFilter.filter(List.of(textItems)).get(0);
+        traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Starting line grouping...");
+        PageLines page = groupPage(0, textItems, rules);
+        parsingMetrics.recordStage(LogEntry.Step.LAYOUT_ANALYSIS, System.nanoTime() - page.layoutNanos);
+        parsingMetrics.recordStage(LogEntry.Step.LINE_GROUPING, System.nanoTime() - page.groupingNanos);
+        traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Line grouping finished.",
+                traceData.isEnabled(TraceLevel.STAGE) ? Map.of("lineCount", page.lines.size()) : null);
+        if (page.lines.isEmpty()) {
+            traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.FAILURE, "Line grouping failed to produce lines.");
+            throw new RuntimeException("Line grouping failed to produce lines.");
+        }
+        return page.lines;
+    }
+
+    /**
+     * Steps 1 and 2: PDF to positioned text items, then items to lines.
+     */
+    private List<ResumeLineEntity> extractLines(File pdfFile, ParsingTraceDTO traceData) throws IOException {
         // Step 1: Extract text items with positions
         traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Starting text extraction...");
-        List<ResumeTextItemEntity> textItems = extractTextItemsWithPositions(pdfFile, traceData);
+        long stageStart = System.nanoTime();
+        List<VerticalRule> rules = new ArrayList<>();
+        List<ResumeTextItemEntity> textItems = extractTextItems(pdfFile, traceData, useVerticalRules ? rules : null, Integer.MAX_VALUE);
+        parsingMetrics.recordStage(LogEntry.Step.TEXT_EXTRACTION, stageStart);
+        parsingMetrics.recordTextItems(textItems.size());
         if (textItems.isEmpty()) {
             traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.FAILURE, "Text extraction failed to produce items.");
             throw new RuntimeException("Text extraction failed to produce items.");
         }
 
-        // Step 2: Group items into lines
+        traceData.checkCancelled();
+        // Between Steps 1 and 2: pages apart (Y restarts on each of them), without running headers and footers
+        List<List<ResumeTextItemEntity>> pages = runningTextFilter.filter(splitByPage(textItems));
+        List<List<VerticalRule>> pageRules = splitRulesByPage(rules, pages.size());
+
+        // Layout analysis and Step 2 (line grouping) page by page: every page but the first is forked
         traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Starting line grouping...");
-        List<ResumeLineEntity> lines = groupItemsIntoLines(textItems, traceData);
+        List<Future<PageLines>> futures = new ArrayList<>(pages.size());
+        futures.add(null);
+        for (int page = 1; page < pages.size(); page++) {
+            int pageIndex = page;
+            futures.add(pageExecutor.submit(() -> {
+                traceData.checkCancelled();
+                return groupPage(pageIndex, pages.get(pageIndex), pageRules.get(pageIndex));
+            }));
+        }
+        List<PageLines> pageLines = new ArrayList<>(pages.size());
+        try {
+            pageLines.add(groupPage(0, pages.get(0), pageRules.get(0)));
+            for (int page = 1; page < pages.size(); page++) {
+                pageLines.add(futures.get(page).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new IllegalStateException("Interrupted while grouping lines", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+
+        // Pages overlap in time, so each stage records the time its work took on all pages
+        long layoutNanos = 0, groupingNanos = 0;
+        int maxColumns = 1, blockCount = 0, keptItems = 0;
+        List<ResumeLineEntity> lines = new ArrayList<>();
+        for (PageLines page : pageLines) {
+            layoutNanos += page.layoutNanos;
+            groupingNanos += page.groupingNanos;
+            maxColumns = Math.max(maxColumns, page.layout.getColumnCount());
+            blockCount += page.layout.getBlocks().size();
+            lines.addAll(page.lines); // Sections run on across page breaks
+        }
+        for (List<ResumeTextItemEntity> page : pages) {
+            keptItems += page.size();
+        }
+        parsingMetrics.recordStage(LogEntry.Step.LAYOUT_ANALYSIS, System.nanoTime() - layoutNanos);
+        parsingMetrics.recordStage(LogEntry.Step.LINE_GROUPING, System.nanoTime() - groupingNanos);
+        traceData.addLogEntry(LogEntry.Step.LAYOUT_ANALYSIS, Status.INFO, "Layout analysis finished.",
+                traceData.isEnabled(TraceLevel.STAGE)
+                        ? Map.of("pages", pages.size(), "columns", maxColumns, "blocks", blockCount,
+                                "runningTextItems", textItems.size() - keptItems)
+                        : null);
+        traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Line grouping finished.",
+                traceData.isEnabled(TraceLevel.STAGE) ? Map.of("lineCount", lines.size()) : null);
         if (lines.isEmpty()) {
             traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.FAILURE, "Line grouping failed to produce lines.");
             throw new RuntimeException("Line grouping failed to produce lines.");
         }
+        return lines;
+    }
+
+    /**
+     * Layout analysis and line grouping of one page, block by block.
+     */
+    private PageLines groupPage(int pageIndex, List<ResumeTextItemEntity> items, List<VerticalRule> rules) {
+        long start = System.nanoTime();
+        PageLayout layout = layoutAnalyzer.analyze(items, rules);
+        long layoutNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<ResumeLineEntity> lines = new ArrayList<>();
+        for (List<ResumeTextItemEntity> block : layout.getBlocks()) {
+            lines.addAll(parsingHelper.groupItemsIntoLines(block));
+        }
+        for (ResumeLineEntity line : lines) {
+            line.setPageIndex(pageIndex);
+        }
+        return new PageLines(layout, lines, layoutNanos, System.nanoTime() - start);
+    }
+
+    private record PageLines(PageLayout layout, List<ResumeLineEntity> lines, long layoutNanos, long groupingNanos) {
+    }
+
+    // Items come page by page from the stripper; a page without text still gets its (empty) list
+    private static List<List<ResumeTextItemEntity>> splitByPage(List<ResumeTextItemEntity> items) {
+        List<List<ResumeTextItemEntity>> pages = new ArrayList<>();
+        for (ResumeTextItemEntity item : items) {
+            while (pages.size() <= item.getPageIndex()) {
+                pages.add(new ArrayList<>());
+            }
+            pages.get(item.getPageIndex()).add(item);
+        }
+        return pages;
+    }
+
+    private static List<List<VerticalRule>> splitRulesByPage(List<VerticalRule> rules, int pageCount) {
+        List<List<VerticalRule>> pages = new ArrayList<>(pageCount);
+        for (int page = 0; page < pageCount; page++) {
+            pages.add(new ArrayList<>());
+        }
+        for (VerticalRule rule : rules) {
+            if (rule.getPageIndex() < pageCount) {
+                pages.get(rule.getPageIndex()).add(rule);
+            }
+        }
+        return pages;
+    }
+
+    private static void cancelAll(List<Future<PageLines>> futures) {
+        for (Future<PageLines> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Steps 3 and 4, shared by full parsing and re-analysis of cached artifacts.
+     */
+    @Override
+    public ResumeDTO analyzeLines(List<ResumeLineEntity> lines, ParsingTraceDTO traceData) {
+        ResumeDTO resumeDTO = new ResumeDTO();
 
         // Step 3: Group lines into sections
         traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Starting section grouping...");
+        long stageStart = System.nanoTime();
         List<ResumeSectionEntity> sections = groupLinesIntoSections(lines, traceData);
+        parsingMetrics.recordStage(LogEntry.Step.SECTION_GROUPING, stageStart);
         if (sections.isEmpty()) {
             traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.FAILURE, "Section grouping failed to produce sections.");
             throw new RuntimeException("Section grouping failed to produce sections.");
         }
 
+        resumeDTO.setSections(sections);
+
         // Log section types found
-        List<String> sectionTypes = sections.stream().map(s -> s.getType().toString()).toList();
-        traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Identified Section Types", Map.of("types", sectionTypes));
+        if (traceData.isEnabled(TraceLevel.STAGE)) {
+            List<String> sectionTypes = sections.stream().map(s -> s.getType().toString()).toList();
+            traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Identified Section Types", Map.of("types", sectionTypes));
+        }
+
+        traceData.checkCancelled();
 
         // Step 4: Extract data from each section type
         traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Starting attribute extraction...");
+        stageStart = System.nanoTime();
 
         // Process profile section if present
         Optional<ResumeSectionEntity> profileSectionOpt = sections.stream()
@@ -85,14 +399,10 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
             resumeDTO.setProfile(new ProfileEntity()); // Empty profile
         }
 
-        // Process other section types (experience, education, etc.)
-        // TODO: Implement extraction for other section types
-        // For example:
-        // sections.stream().filter(s -> s.getType() == SectionType.EXPERIENCE).forEach(section -> {
-        //     ExperienceEntity experience = extractExperienceData(section, traceData);
-        //     resumeDTO.addExperience(experience);
-        // });
+        // Process other section types (experience, education, skills, languages, projects), in parallel
+        sectionExtractionService.extractSections(sections, resumeDTO, traceData);
 
+        parsingMetrics.recordStage(LogEntry.Step.ATTRIBUTE_EXTRACTION, stageStart);
         traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.SUCCESS, "Attribute extraction complete.");
         return resumeDTO;
     }
@@ -109,17 +419,33 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
      */
     @Override
     public List<ResumeTextItemEntity> extractTextItemsWithPositions(File pdfFile, ParsingTraceDTO traceData) throws IOException {
+        return extractTextItems(pdfFile, traceData, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Step 1 on the first {@code maxPages} pages, collecting the vertical rules drawn on them into
+     * {@code rules} when it is not null.
+     */
+    private List<ResumeTextItemEntity> extractTextItems(File pdfFile, ParsingTraceDTO traceData,
+                                                        List<VerticalRule> rules, int maxPages) throws IOException {
         traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Loading PDF document...");
         PDDocument document = null;
         try {
             document = loadPDF(pdfFile);
+            parsingMetrics.recordPages(document.getNumberOfPages());
             traceData.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "PDF loaded. Using PositionalTextStripper...");
 
             PositionalTextStripperImpl textStripper = new PositionalTextStripperImpl();
-            textStripper.getText(document); // Trigger processing
+            textStripper.setCancellation(traceData.getCancellation());
+            textStripper.setEndPage(maxPages);
+            textStripper.writeText(document, Writer.nullWriter()); // Only the items are needed, not the plain text
 
             List<ResumeTextItemEntity> extractedItems = textStripper.getTextItems();
-            traceData.addLogEntry(ParsingTraceDTO.LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "PositionalTextStripper finished.", Map.of("rawItemCount", extractedItems.size()));
+            if (rules != null) {
+                collectVerticalRules(document, rules, maxPages);
+            }
+            traceData.addLogEntry(ParsingTraceDTO.LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "PositionalTextStripper finished.",
+                    traceData.isEnabled(TraceLevel.STAGE) ? Map.of("rawItemCount", extractedItems.size()) : null);
 
             if (extractedItems.isEmpty()) {
                 logger.warn("No text items extracted by PositionalTextStripper for file: {}", pdfFile.getName());
@@ -144,6 +470,26 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
         }
     }
 
+    private void collectVerticalRules(PDDocument document, List<VerticalRule> rules, int maxPages) throws IOException {
+        int pageIndex = 0;
+        for (PDPage page : document.getPages()) {
+            if (pageIndex >= maxPages) {
+                break;
+            }
+            LineDetector detector = new LineDetector();
+            detector.processPage(page);
+            float pageHeight = page.getMediaBox().getHeight();
+            for (LineDetector.LineInfo line : detector.getLines()) {
+                if ("V".equals(line.type)) {
+                    // PDF user space counts y from the bottom, text items from the top
+                    rules.add(new VerticalRule(pageIndex, line.start.getX(),
+                            pageHeight - line.start.getY(), pageHeight - line.end.getY()));
+                }
+            }
+            pageIndex++;
+        }
+    }
+
     /**
      * Groups extracted text items into lines. Step 2.
      *
@@ -155,7 +501,8 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
     public List<ResumeLineEntity> groupItemsIntoLines(List<ResumeTextItemEntity> textItems, ParsingTraceDTO traceData) {
         traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Starting line grouping...");
         List<ResumeLineEntity> lines = parsingHelper.groupItemsIntoLines(textItems); // Delegate
-        traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Line grouping finished.", Map.of("lineCount", lines.size()));
+        traceData.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Line grouping finished.",
+                traceData.isEnabled(TraceLevel.STAGE) ? Map.of("lineCount", lines.size()) : null);
         return lines;
     }
 
@@ -171,7 +518,8 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
     public List<ResumeSectionEntity> groupLinesIntoSections(List<ResumeLineEntity> lines, ParsingTraceDTO traceData) {
         traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Starting section grouping...");
         List<ResumeSectionEntity> sections = parsingHelper.groupLinesIntoSections(lines, traceData); // Delegate
-        traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Section grouping finished.", Map.of("sectionCount", sections.size()));
+        traceData.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Section grouping finished.",
+                traceData.isEnabled(TraceLevel.STAGE) ? Map.of("sectionCount", sections.size()) : null);
         return sections;
     }
     /**
@@ -189,7 +537,8 @@ public class ResumeParsingServiceImpl implements ResumeParsingService {
         }
         traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Extracting data for PROFILE section...");
         ProfileEntity profile = parsingHelper.extractProfileData(profileSection); // Delegate
-        traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Profile data extraction finished.", Map.of("extractedName", profile.getFirstName() + " " + profile.getLastName()));
+        traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Profile data extraction finished.",
+                traceData.isEnabled(TraceLevel.STAGE) ? Map.of("extractedName", profile.getFirstName() + " " + profile.getLastName()) : null);
         return profile;
     }
 
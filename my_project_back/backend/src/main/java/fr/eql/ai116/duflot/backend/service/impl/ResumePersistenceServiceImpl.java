@@ -0,0 +1,289 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.entity.ParsingTraceEntryEntity;
+import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeEntity;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.repository.ParsingTraceEntryRepository;
+import fr.eql.ai116.duflot.backend.repository.ResumeRepository;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchDocument;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind implementation of ResumePersistenceService.
+ * A single writer thread drains the queue in batches and saves each batch in one transaction,
+ * letting Hibernate group the INSERTs into JDBC batches (see hibernate.jdbc.batch_size).
+ * When a batch fails, its writes are retried one per transaction, so one bad row only loses itself.
+ * Replacements update the existing row in place: job_id is unique.
+ */
+@Service
+public class ResumePersistenceServiceImpl implements ResumePersistenceService {
+
+    private static final Logger logger = LogManager.getLogger(ResumePersistenceServiceImpl.class);
+
+    // Length of the VARCHAR columns of resume (db/postgres/001_resume_persistence.sql)
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ParsingTraceEntryRepository traceEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${resume.persistence.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${resume.persistence.max-batch:32}")
+    private int maxBatch;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    /**
+     * A job outcome, or the new result of a persisted job, waiting to be written.
+     */
+    private static class PendingWrite {
+        final ParsingTraceDTO traceData;
+        final ResumeDTO resume;
+        final boolean replacement;
+
+        PendingWrite(ParsingTraceDTO traceData, ResumeDTO resume, boolean replacement) {
+            this.traceData = traceData;
+            this.resume = resume;
+            this.replacement = replacement;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = true;
+        this.writerThread = new Thread(this::writeLoop, "resume-persistence-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Flush whatever is left on the calling thread
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("Flushing {} pending resume writes on shutdown", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume) {
+        return offer(new PendingWrite(traceData, resume, false));
+    }
+
+    @Override
+    public boolean enqueueReplacement(String jobId, ResumeDTO resume) {
+        return offer(new PendingWrite(new ParsingTraceDTO(jobId, null, TraceLevel.OFF), resume, true));
+    }
+
+    @Override
+    public Map<String, String> findJobsByDocumentHash(String documentHash) {
+        Map<String, String> jobs = new LinkedHashMap<>();
+        for (ResumeEntity resume : resumeRepository.findByDocumentHashAndStatus(documentHash, Status.SUCCESS)) {
+            jobs.put(resume.getJobId(), resume.getFileName());
+        }
+        return jobs;
+    }
+
+    private boolean offer(PendingWrite write) {
+        boolean queued = queue.offer(write);
+        if (!queued) {
+            logger.warn("Persistence queue full, dropping write for Job ID: {}", write.traceData.getJobId());
+        }
+        return queued;
+    }
+
+    @Override
+    public Optional<Status> findStatus(String jobId) {
+        return resumeRepository.findByJobId(jobId).map(ResumeEntity::getStatus);
+    }
+
+    @Override
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts us, remaining writes are flushed there
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            save(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                logger.error("Failed to persist parsing result of Job ID: {}", batch.get(0).traceData.getJobId(), e);
+                return;
+            }
+            logger.warn("Failed to persist batch of {} parsing results, retrying them one by one: {}", batch.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                try {
+                    save(List.of(write));
+                } catch (RuntimeException single) {
+                    logger.error("Failed to persist parsing result of Job ID: {}", write.traceData.getJobId(), single);
+                }
+            }
+        }
+    }
+
+    // Entities are built anew on every call: those of a rolled back transaction already hold ids
+    private void save(List<PendingWrite> writes) {
+        List<ResumeEntity> resumes = new ArrayList<>(writes.size());
+        List<ResumeEntity> replacements = new ArrayList<>();
+        List<ParsingTraceEntryEntity> entries = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (write.replacement) {
+                replacements.add(toResumeEntity(write.traceData, write.resume));
+                continue;
+            }
+            // Failed and cancelled jobs get a row too, it holds the outcome status queries read
+            resumes.add(write.resume != null ? toResumeEntity(write.traceData, write.resume) : toOutcomeEntity(write.traceData));
+            addTraceEntries(write.traceData, entries);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            resumeRepository.saveAll(resumes);
+            for (ResumeEntity replacement : replacements) {
+                // Managed once found, the changes are flushed on commit
+                resumeRepository.findByJobId(replacement.getJobId()).ifPresentOrElse(
+                        stored -> stored.replaceResult(replacement),
+                        () -> logger.warn("No persisted resume to replace for Job ID: {}", replacement.getJobId()));
+            }
+            traceEntryRepository.saveAll(entries);
+        });
+        logger.debug("Persisted {} resumes, replaced {} and {} trace entries", resumes.size(), replacements.size(), entries.size());
+    }
+
+    private ResumeEntity toResumeEntity(ParsingTraceDTO traceData, ResumeDTO resume) {
+        ResumeEntity entity = toOutcomeEntity(traceData);
+        if (entity.getFileName() == null) {
+            entity.setFileName(truncate(resume.getFileName(), MAX_COLUMN_LENGTH));
+        }
+        entity.setPageCount(resume.getPageCount());
+        entity.setParseTimeMs(resume.getParseTime());
+        entity.setProfile(toStoredProfile(resume.getProfile()));
+        // Copies: Hibernate replaces the lists it manages, the DTO's stay as they are
+        entity.setExperiences(new ArrayList<>(resume.getExperiences()));
+        entity.setEducations(new ArrayList<>(resume.getEducations()));
+        entity.setSkills(new ArrayList<>(resume.getSkills()));
+        entity.setLanguages(new ArrayList<>(resume.getLanguages()));
+        entity.setResultJson(toJson(resume));
+        // The sections are not part of the JSON, the search index is rebuilt from their text
+        entity.setSectionTextsJson(toJson(ResumeSearchDocument.sectionTexts(resume)));
+        return entity;
+    }
+
+    // Only what any finished job has, the job's own upload name first: jobs that shared a parse share its resume
+    private static ResumeEntity toOutcomeEntity(ParsingTraceDTO traceData) {
+        ResumeEntity entity = new ResumeEntity();
+        entity.setJobId(traceData.getJobId());
+        entity.setFileName(truncate(traceData.getOriginalFilename(), MAX_COLUMN_LENGTH));
+        entity.setDocumentHash(traceData.getDocumentHash());
+        entity.setStatus(traceData.getOverallStatus());
+        entity.setParsedAt(Instant.ofEpochMilli(traceData.getEndTime() > 0 ? traceData.getEndTime() : System.currentTimeMillis()));
+        return entity;
+    }
+
+    // A copy cut to the column lengths, the result sent to the client keeps the full values
+    private static ProfileEntity toStoredProfile(ProfileEntity profile) {
+        if (profile == null) {
+            return null;
+        }
+        ProfileEntity stored = new ProfileEntity();
+        stored.setFirstName(truncate(profile.getFirstName(), MAX_COLUMN_LENGTH));
+        stored.setLastName(truncate(profile.getLastName(), MAX_COLUMN_LENGTH));
+        stored.setLocation(truncate(profile.getLocation(), MAX_COLUMN_LENGTH));
+        stored.setPhone(truncate(profile.getPhone(), MAX_COLUMN_LENGTH));
+        stored.setEmail(truncate(profile.getEmail(), MAX_COLUMN_LENGTH));
+        stored.setSummary(truncate(profile.getSummary(), MAX_COLUMN_LENGTH));
+        stored.setWebsite(truncate(profile.getWebsite(), MAX_COLUMN_LENGTH));
+        stored.setGithubProfile(truncate(profile.getGithubProfile(), MAX_COLUMN_LENGTH));
+        stored.setLinkedInProfile(truncate(profile.getLinkedInProfile(), MAX_COLUMN_LENGTH));
+        return stored;
+    }
+
+    private void addTraceEntries(ParsingTraceDTO traceData, List<ParsingTraceEntryEntity> target) {
+        List<LogEntry> logEntries = traceData.getLogEntries();
+        for (int i = 0; i < logEntries.size(); i++) {
+            LogEntry entry = logEntries.get(i);
+            String details = entry.getDetails() == null || entry.getDetails().isEmpty() ? null : toJson(entry.getDetails());
+            target.add(new ParsingTraceEntryEntity(traceData.getJobId(), i, entry.getStep(), entry.getStatus(),
+                    truncate(entry.getMessage(), 1000), details, entry.getTimestamp()));
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize {} to JSON: {}", value.getClass().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,164 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifactStore;
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifacts;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ReanalysisReportDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import fr.eql.ai116.duflot.backend.service.ResumeReanalysisService;
+import fr.eql.ai116.duflot.backend.service.ResumeSearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Re-analyses every cached document with the current heuristics, then refreshes the search index
+ * and the persisted resume of every job that uploaded it.
+ * Only Steps 3 and 4 run, so a full archive pass costs a fraction of the original parsing.
+ */
+@Service
+public class ResumeReanalysisServiceImpl implements ResumeReanalysisService {
+
+    private static final Logger logger = LogManager.getLogger(ResumeReanalysisServiceImpl.class);
+
+    @Autowired
+    private PipelineArtifactStore artifactStore;
+
+    @Autowired
+    private ResumeParsingService resumeParsingService;
+
+    @Autowired
+    private ResumeSearchService resumeSearchService;
+
+    @Autowired
+    private ResumePersistenceService resumePersistenceService;
+
+    @Value("${resume.reanalysis.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicIntegerArray sectionCounts = new AtomicIntegerArray(SectionType.values().length);
+    private volatile int total;
+    private volatile long startTime;
+    private volatile long endTime;
+    private volatile Status status;
+
+    @Override
+    public boolean startReanalysis() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        processed.set(0);
+        failed.set(0);
+        for (int i = 0; i < sectionCounts.length(); i++) {
+            sectionCounts.set(i, 0);
+        }
+        startTime = System.currentTimeMillis();
+        endTime = 0;
+        status = Status.RUNNING;
+
+        Thread runner = new Thread(this::runReanalysis, "resume-reanalysis");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    @Override
+    public ReanalysisReportDTO getReport() {
+        if (status == null) {
+            return new ReanalysisReportDTO(Status.INFO, 0, 0, 0, 0, 0, null);
+        }
+        Map<SectionType, Integer> counts = new EnumMap<>(SectionType.class);
+        for (SectionType type : SectionType.values()) {
+            int count = sectionCounts.get(type.ordinal());
+            if (count > 0) {
+                counts.put(type, count);
+            }
+        }
+        long duration = (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+        return new ReanalysisReportDTO(status, total, processed.get(), failed.get(), startTime, duration, counts);
+    }
+
+    private void runReanalysis() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<String> hashes = artifactStore.listDocumentHashes();
+            total = hashes.size();
+            logger.info("Re-analysing {} cached documents with {} threads", total, threads);
+
+            for (String hash : hashes) {
+                executor.execute(() -> reanalyze(hash));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            // Every document was replaced, drop the previous versions at once
+            resumeSearchService.compact();
+            status = Status.SUCCESS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = Status.FAILURE;
+        } catch (RuntimeException e) {
+            logger.error("Re-analysis run failed", e);
+            status = Status.FAILURE;
+        } finally {
+            executor.shutdownNow();
+            endTime = System.currentTimeMillis();
+            running.set(false);
+            logger.info("Re-analysis finished: {} processed, {} failed in {} ms",
+                    processed.get(), failed.get(), endTime - startTime);
+        }
+    }
+
+    private void reanalyze(String documentHash) {
+        try {
+            Optional<PipelineArtifacts> artifacts = artifactStore.load(documentHash);
+            if (artifacts.isEmpty()) {
+                // Produced by an older extraction version, it will be rebuilt on next upload
+                failed.incrementAndGet();
+                return;
+            }
+            PipelineArtifacts cached = artifacts.get();
+            ParsingTraceDTO traceData = new ParsingTraceDTO(cached.getJobId(), cached.getFileName(), TraceLevel.SUMMARY);
+            ResumeDTO resume = resumeParsingService.analyzeLines(cached.getLines(), traceData);
+            for (ResumeSectionEntity section : resume.getSections()) {
+                sectionCounts.incrementAndGet(section.getType().ordinal());
+            }
+            // Every job that uploaded this document, not only the one whose parse wrote the artifacts
+            Map<String, String> jobs = resumePersistenceService.findJobsByDocumentHash(documentHash);
+            for (Map.Entry<String, String> job : jobs.entrySet()) {
+                resume.setFileName(job.getValue());
+                resumeSearchService.index(job.getKey(), resume);
+                resumePersistenceService.enqueueReplacement(job.getKey(), resume);
+            }
+            if (jobs.isEmpty()) {
+                logger.debug("No persisted job for document {}, nothing to refresh", documentHash);
+            }
+            processed.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.warn("Re-analysis failed for document {}: {}", documentHash, e.getMessage());
+            failed.incrementAndGet();
+        }
+    }
+}
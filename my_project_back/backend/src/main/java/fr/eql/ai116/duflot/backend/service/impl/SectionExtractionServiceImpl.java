@@ -0,0 +1,122 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.extraction.SectionExtractor;
+import fr.eql.ai116.duflot.backend.service.SectionExtractionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class SectionExtractionServiceImpl implements SectionExtractionService {
+
+    private static final Logger logger = LogManager.getLogger(SectionExtractionServiceImpl.class);
+
+    @Autowired
+    private List<SectionExtractor<?>> extractors;
+
+    // 0 = one thread per CPU
+    @Value("${resume.extraction.parallelism:0}")
+    private int parallelism;
+
+    private final Map<SectionType, SectionExtractor<?>> extractorsByType = new EnumMap<>(SectionType.class);
+
+    // Own pool rather than the @Async one: jobs wait on these tasks, sharing a pool could deadlock
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        for (SectionExtractor<?> extractor : extractors) {
+            extractorsByType.put(extractor.getSectionType(), extractor);
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "section-extractor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void extractSections(List<ResumeSectionEntity> sections, ResumeDTO resume, ParsingTraceDTO traceData) {
+        List<ResumeSectionEntity> extractable = new ArrayList<>();
+        for (ResumeSectionEntity section : sections) {
+            if (extractorsByType.containsKey(section.getType())) {
+                extractable.add(section);
+            }
+        }
+        if (extractable.isEmpty()) {
+            return;
+        }
+
+        // Fork every section but the first, which runs on the calling thread meanwhile
+        List<Future<List<?>>> futures = new ArrayList<>(extractable.size());
+        futures.add(null);
+        for (int i = 1; i < extractable.size(); i++) {
+            ResumeSectionEntity section = extractable.get(i);
+            futures.add(executor.submit(() -> extractorFor(section).extract(section)));
+        }
+
+        for (int i = 0; i < extractable.size(); i++) {
+            ResumeSectionEntity section = extractable.get(i);
+            try {
+                List<?> extracted = i == 0 ? extractorFor(section).extract(section) : futures.get(i).get();
+                addTo(resume, section.getType(), extracted);
+                if (traceData.isEnabled(TraceLevel.STAGE)) {
+                    traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.INFO, "Section extracted.",
+                            Map.of("sectionType", section.getType(), "itemCount", extracted.size()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelRemaining(futures, i);
+                throw new IllegalStateException("Interrupted while extracting sections", e);
+            } catch (ExecutionException | RuntimeException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                logger.warn("Extraction failed for {} section: {}", section.getType(), cause.toString());
+                traceData.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.FAILURE, "Section extraction failed.",
+                        Map.of("sectionType", section.getType(), "error", String.valueOf(cause.getMessage())));
+            }
+        }
+    }
+
+    private SectionExtractor<?> extractorFor(ResumeSectionEntity section) {
+        return extractorsByType.get(section.getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void addTo(ResumeDTO resume, SectionType type, List<?> extracted) {
+        ((SectionExtractor<T>) extractorsByType.get(type)).addTo(resume, (List<T>) extracted);
+    }
+
+    private static void cancelRemaining(List<Future<List<?>>> futures, int from) {
+        for (int j = from + 1; j < futures.size(); j++) {
+            futures.get(j).cancel(true);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package fr.eql.ai116.duflot.backend.util;
+
+import fr.eql.ai116.duflot.backend.exception.JobCancelledException;
+
+/**
+ * Cooperative cancellation of one parse job: the requester sets it, the pipeline checks it between
+ * pages and stages and stops there, so the worker and the document's memory are freed at once.
+ * Subclasses may derive the state from other tokens, e.g. a parse shared by several jobs.
+ */
+public class CancellationToken {
+
+    private volatile String reason;
+
+    /**
+     * @param reason Why the job stops, reported to its remaining subscribers
+     */
+    public void cancel(String reason) {
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String getReason() { return reason; }
+
+    /**
+     * @throws JobCancelledException When the job was cancelled
+     */
+    public void throwIfCancelled() {
+        String cancelled = reason;
+        if (cancelled != null) {
+            throw new JobCancelledException(cancelled);
+        }
+    }
+}
@@ -1,30 +1,77 @@
 package fr.eql.ai116.duflot.backend.util;
 
+import fr.eql.ai116.duflot.backend.service.JobEventBus;
+import fr.eql.ai116.duflot.backend.service.JobEventBus.JobEvent;
+import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * Holds the SSE streams opened on this node, any number per job. Events go through the JobEventBus,
+ * so they reach the streams of a job whichever node runs it.
+ * <p>
+ * When the last stream of a job closes before its final event, the job is reported abandoned once
+ * resume.jobs.abandon-grace-ms passed without a new subscriber: browsers reconnect an EventSource
+ * within a few seconds, a closed tab never does. Subscribers are only counted on this node, so with
+ * the shared job queue (a stream may reconnect to another node) ParseJobScheduler does not listen.
+ */
 @Service
 public class SseService {
 
-    private static final Logger logger = LogManager.getLogger();
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private static final Logger logger = LogManager.getLogger(SseService.class);
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
     private static final long SSE_EMITTER_TIMEOUT = 300_000L; // (5min)
 
+    @Autowired
+    private JobEventBus jobEventBus;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${resume.jobs.abandon-grace-ms:5000}")
+    private long abandonGraceMs;
+
+    private volatile Consumer<String> abandonListener = jobId -> { };
+
+    @PostConstruct
+    void subscribe() {
+        jobEventBus.subscribe(emitters::containsKey, this::deliver);
+    }
+
+    /**
+     * Registers who to tell when every subscriber of a job has left before it finished.
+     */
+    public void onAbandoned(Consumer<String> listener) {
+        this.abandonListener = listener;
+    }
+
     public SseEmitter createEmitter(String jobId) {
         SseEmitter emitter = new SseEmitter(SSE_EMITTER_TIMEOUT);
-        this.emitters.put(jobId, emitter);
-        logger.info("SSE Emitter created and registered for Job ID: {}", jobId);
+        // Added inside compute, a concurrent removal of the last stream cannot drop the list it joins
+        this.emitters.compute(jobId, (id, subscribers) -> {
+            List<SseEmitter> joined = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            joined.add(emitter);
+            return joined;
+        });
+        logger.debug("SSE Emitter created and registered for Job ID: {}", jobId);
 
         // Define actions on completion, timeout, or error
         emitter.onCompletion(() -> {
-            logger.info("SSE Emitter completed for Job ID: {}", jobId);
-            this.emitters.remove(jobId);
+            logger.debug("SSE Emitter completed for Job ID: {}", jobId);
+            removeEmitter(jobId, emitter);
         });
         emitter.onTimeout(() -> {
             logger.warn("SSE Emitter timed out for Job ID: {}", jobId);
@@ -34,10 +81,10 @@ public class SseService {
         });
         emitter.onError(e -> {
             logger.error("SSE Emitter error for Job ID: {}: {}", jobId, e.getMessage());
-            this.emitters.remove(jobId);
+            removeEmitter(jobId, emitter);
         });
-        // Optional: Send an initial "connected" event
-        sendUpdate(jobId, "statusUpdate", Map.of("message", "SSE Connection Established", "type", "info"));
+        // Optional: Send an initial "connected" event, to this stream only
+        send(jobId, emitter, new JobEvent(jobId, "statusUpdate", Map.of("message", "SSE Connection Established", "type", "info"), JobEvent.Kind.UPDATE));
         return emitter;
     }
 
@@ -48,24 +95,60 @@ public class SseService {
      * @param data The data object to send (will be serialized to JSON).
      */
     public void sendUpdate(String jobId, String eventName, Object data) {
-        SseEmitter emitter = this.emitters.get(jobId);
-        if (emitter != null) {
-            try {
-                SseEmitter.SseEventBuilder event = SseEmitter.event()
-                        .name(eventName)
-                        .data(data) // Spring handles JSON serialization
-                        .id(String.valueOf(System.currentTimeMillis())); // Optional event ID
-
-                emitter.send(event);
-                logger.debug("Sent SSE event '{}' for Job ID: {}", eventName, jobId);
-            } catch (IOException | IllegalStateException e) {
-                logger.error("Failed to send SSE event for Job ID: {}. Removing emitter. Error: {}", jobId, e.getMessage());
-                // Assume client disconnected or error, complete and remove
-                emitter.complete(); // Trigger completion callbacks
-                this.emitters.remove(jobId); // Explicit removal
+        jobEventBus.publish(new JobEvent(jobId, eventName, data, JobEvent.Kind.UPDATE));
+    }
+
+    // Sends an event of the bus to the streams of its job on this node, if any, and closes them after the last one
+    private void deliver(JobEvent jobEvent) {
+        String jobId = jobEvent.jobId();
+        // Unregistered before the last event, so their completion is not taken for an abandonment
+        List<SseEmitter> subscribers = jobEvent.isLast() ? this.emitters.remove(jobId) : this.emitters.get(jobId);
+        if (subscribers == null) {
+            // Normal when the client has not subscribed yet or already left, so not a warning
+            logger.trace("No active SSE Emitter found for Job ID: {}. Update skipped.", jobId);
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            if (send(jobId, emitter, jobEvent) && jobEvent.isLast()) {
+                logger.debug("Completing SSE Emitter for Job ID: {}", jobId);
+                emitter.complete(); // This will trigger the onCompletion callback
             }
-        } else {
-            logger.warn("No active SSE Emitter found for Job ID: {}. Update skipped.", jobId);
+        }
+    }
+
+    private boolean send(String jobId, SseEmitter emitter, JobEvent jobEvent) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name(jobEvent.name())
+                    .data(jobEvent.data()) // Spring handles JSON serialization
+                    .id(String.valueOf(System.currentTimeMillis())); // Optional event ID
+
+            emitter.send(event);
+            logger.trace("Sent SSE event '{}' for Job ID: {}", jobEvent.name(), jobId);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.error("Failed to send SSE event for Job ID: {}. Removing emitter. Error: {}", jobId, e.getMessage());
+            // Assume client disconnected or error, complete and remove
+            emitter.complete(); // Trigger completion callbacks
+            removeEmitter(jobId, emitter); // Explicit removal
+            return false;
+        }
+    }
+
+    private void removeEmitter(String jobId, SseEmitter emitter) {
+        boolean[] lastLeft = new boolean[1];
+        this.emitters.computeIfPresent(jobId, (id, subscribers) -> {
+            subscribers.remove(emitter);
+            lastLeft[0] = subscribers.isEmpty();
+            return lastLeft[0] ? null : subscribers;
+        });
+        if (lastLeft[0]) {
+            taskScheduler.schedule(() -> {
+                if (!this.emitters.containsKey(jobId)) {
+                    logger.debug("No SSE subscriber left for Job ID: {}", jobId);
+                    abandonListener.accept(jobId);
+                }
+            }, Instant.now().plusMillis(abandonGraceMs));
         }
     }
 
@@ -76,12 +159,8 @@ public class SseService {
      * @param finalData The data for the final event.
      */
     public void completeEmitter(String jobId, String finalEventName, Object finalData) {
-        sendUpdate(jobId, finalEventName, finalData); // Send final update first
-        SseEmitter emitter = this.emitters.get(jobId);
-        if (emitter != null) {
-            logger.info("Completing SSE Emitter for Job ID: {}", jobId);
-            emitter.complete(); // This will trigger the onCompletion callback for removal
-        }
+        // The node holding the emitter completes it after sending the final event
+        jobEventBus.publish(new JobEvent(jobId, finalEventName, finalData, JobEvent.Kind.COMPLETE));
     }
 
     /**
@@ -91,15 +170,10 @@ public class SseService {
      * @param errorData The data for the error event.
      */
     public void errorEmitter(String jobId, String errorEventName, Object errorData) {
-        sendUpdate(jobId, errorEventName, errorData); // Send error update first
-        SseEmitter emitter = this.emitters.get(jobId);
-        if (emitter != null) {
-            logger.warn("Completing SSE Emitter with error for Job ID: {}", jobId);
-            emitter.complete(); // Or completeExceptionally if preferred, but complete works
-        }
+        jobEventBus.publish(new JobEvent(jobId, errorEventName, errorData, JobEvent.Kind.ERROR));
     }
 
-    // Optional: Method to check if an emitter exists
+    // Optional: Method to check if an emitter exists on this node
     public boolean hasEmitter(String jobId) {
         return this.emitters.containsKey(jobId);
     }
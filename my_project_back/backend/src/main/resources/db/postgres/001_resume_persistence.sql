@@ -0,0 +1,38 @@
+-- Schema for parsed resumes and parsing traces (prod runs with ddl-auto=validate).
+-- Sequences increment by 50 to match the JPA allocationSize, so Hibernate can hand out ids in pools.
+
+CREATE SEQUENCE IF NOT EXISTS resume_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS parsing_trace_entry_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS resume (
+    id                BIGINT PRIMARY KEY,
+    job_id            VARCHAR(64) NOT NULL UNIQUE,
+    file_name         VARCHAR(255),
+    page_count        INTEGER NOT NULL DEFAULT 0,
+    parse_time_ms     BIGINT NOT NULL DEFAULT 0,
+    status            VARCHAR(16),
+    parsed_at         TIMESTAMP(6) WITH TIME ZONE,
+    first_name        VARCHAR(255),
+    last_name         VARCHAR(255),
+    location          VARCHAR(255),
+    phone             VARCHAR(255),
+    email             VARCHAR(255),
+    summary           VARCHAR(255),
+    website           VARCHAR(255),
+    github_profile    VARCHAR(255),
+    linked_in_profile VARCHAR(255),
+    result_json       TEXT
+);
+
+CREATE TABLE IF NOT EXISTS parsing_trace_entry (
+    id           BIGINT PRIMARY KEY,
+    job_id       VARCHAR(64) NOT NULL,
+    entry_index  INTEGER NOT NULL,
+    step         VARCHAR(32),
+    status       VARCHAR(16),
+    message      VARCHAR(1000),
+    details_json TEXT,
+    logged_at    BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_trace_entry_job ON parsing_trace_entry (job_id);
@@ -0,0 +1,28 @@
+-- Full-text search over parsed resumes (used by PostgresResumeSearchService when the prod profile is active).
+-- Content is folded (lower case, no accents) by the application, so the 'simple' configuration is used.
+
+CREATE TABLE IF NOT EXISTS resume_search_document (
+    job_id        VARCHAR(64) PRIMARY KEY,
+    file_name     VARCHAR(255),
+    full_name     VARCHAR(255),
+    email         VARCHAR(255),
+    email_domain  VARCHAR(255),
+    skills        TEXT[] NOT NULL DEFAULT '{}',
+    content       TEXT,
+    search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('simple', coalesce(content, ''))) STORED,
+    indexed_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_document_vector ON resume_search_document USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_search_document_skills ON resume_search_document USING GIN (skills);
+CREATE INDEX IF NOT EXISTS idx_search_document_domain ON resume_search_document (email_domain);
+
+CREATE TABLE IF NOT EXISTS resume_search_section (
+    job_id        VARCHAR(64) NOT NULL REFERENCES resume_search_document (job_id) ON DELETE CASCADE,
+    section_type  VARCHAR(32) NOT NULL,
+    content       TEXT,
+    search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('simple', coalesce(content, ''))) STORED,
+    PRIMARY KEY (job_id, section_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_section_vector ON resume_search_section USING GIN (search_vector);
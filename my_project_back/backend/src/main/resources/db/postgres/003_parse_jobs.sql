@@ -0,0 +1,26 @@
+-- Shared parse job queue (used by ParseJobScheduler when resume.jobs.distributed=true).
+-- Nodes claim QUEUED jobs with FOR UPDATE SKIP LOCKED and hold them under a lease renewed while they run;
+-- a job whose lease expires goes back to QUEUED, or to FAILED after resume.jobs.max-attempts claims.
+-- Finished jobs are deleted, their result lives in the resume tables.
+
+CREATE TABLE IF NOT EXISTS parse_job (
+    job_id            VARCHAR(64) PRIMARY KEY,
+    client_id         VARCHAR(255) NOT NULL,
+    lane              VARCHAR(8) NOT NULL,
+    status            VARCHAR(16) NOT NULL DEFAULT 'QUEUED',
+    file_key          VARCHAR(255) NOT NULL,
+    original_filename VARCHAR(255),
+    size_bytes        BIGINT NOT NULL,
+    page_count        INTEGER NOT NULL,
+    explain_requested BOOLEAN NOT NULL DEFAULT false,
+    attempts          INTEGER NOT NULL DEFAULT 0,
+    owner             VARCHAR(255),
+    lease_until       TIMESTAMP WITH TIME ZONE,
+    available_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    last_error        TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_parse_job_queued ON parse_job (lane, client_id, created_at) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_parse_job_lease ON parse_job (lease_until) WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_parse_job_owner ON parse_job (owner) WHERE status = 'RUNNING';
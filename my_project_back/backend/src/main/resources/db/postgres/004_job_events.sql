@@ -0,0 +1,12 @@
+-- Job events relayed between nodes (used by PostgresJobEventBus when resume.jobs.distributed=true).
+-- Events travel on the resume_job_events NOTIFY channel; a payload too large for NOTIFY (8000 bytes)
+-- is stored here and the notification only carries its id. Rows are deleted after a few minutes.
+
+CREATE TABLE IF NOT EXISTS job_event_payload (
+    id         BIGSERIAL PRIMARY KEY,
+    job_id     VARCHAR(64) NOT NULL,
+    payload    TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_event_payload_created ON job_event_payload (created_at);
@@ -0,0 +1,6 @@
+-- Cancellation of shared parse jobs (DELETE /api/resume/jobs/{jobId}, or every SSE subscriber gone).
+-- A waiting job is deleted at once; a claimed one is flagged here and its node stops it at its next poll.
+
+ALTER TABLE parse_job ADD COLUMN IF NOT EXISTS cancel_requested BOOLEAN NOT NULL DEFAULT false;
+
+CREATE INDEX IF NOT EXISTS idx_parse_job_cancel ON parse_job (owner) WHERE cancel_requested;
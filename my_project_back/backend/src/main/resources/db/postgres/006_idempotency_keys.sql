@@ -0,0 +1,11 @@
+-- Idempotency-Key of /api/resume/parse -> job it started (used by PostgresIdempotencyStore when resume.jobs.distributed=true).
+-- The key is a SHA-256 of the client and the header value; rows older than resume.idempotency.ttl-seconds are
+-- ignored, reused in place and deleted every 10 minutes.
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    job_id          VARCHAR(64) NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created ON idempotency_key (created_at);
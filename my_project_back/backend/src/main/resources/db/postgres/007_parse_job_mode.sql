@@ -0,0 +1,3 @@
+-- Parse mode of shared jobs (ParseMode: FULL, or PROFILE for the first page and the profile only).
+
+ALTER TABLE parse_job ADD COLUMN IF NOT EXISTS mode VARCHAR(8) NOT NULL DEFAULT 'FULL';
@@ -0,0 +1,50 @@
+-- Experiences, educations, skills and languages of a persisted resume, one row each in resume order
+-- (ResumeEntity element collections). Descriptions and the other sections stay in resume.result_json.
+
+CREATE TABLE IF NOT EXISTS resume_experience (
+    resume_id       BIGINT NOT NULL REFERENCES resume (id) ON DELETE CASCADE,
+    entry_index     INTEGER NOT NULL,
+    title           TEXT,
+    company         TEXT,
+    location        TEXT,
+    period          TEXT,
+    start_date      VARCHAR(7),
+    end_date        VARCHAR(7),
+    is_current      BOOLEAN NOT NULL DEFAULT false,
+    duration_months INTEGER,
+    PRIMARY KEY (resume_id, entry_index)
+);
+
+CREATE TABLE IF NOT EXISTS resume_education (
+    resume_id       BIGINT NOT NULL REFERENCES resume (id) ON DELETE CASCADE,
+    entry_index     INTEGER NOT NULL,
+    degree          TEXT,
+    institution     TEXT,
+    location        TEXT,
+    period          TEXT,
+    start_date      VARCHAR(7),
+    end_date        VARCHAR(7),
+    is_current      BOOLEAN NOT NULL DEFAULT false,
+    duration_months INTEGER,
+    PRIMARY KEY (resume_id, entry_index)
+);
+
+CREATE TABLE IF NOT EXISTS resume_skill (
+    resume_id   BIGINT NOT NULL REFERENCES resume (id) ON DELETE CASCADE,
+    entry_index INTEGER NOT NULL,
+    skill_type  VARCHAR(16) NOT NULL,
+    name        TEXT,
+    category    TEXT,
+    PRIMARY KEY (resume_id, entry_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resume_skill_name ON resume_skill (lower(name));
+
+CREATE TABLE IF NOT EXISTS resume_language (
+    resume_id     BIGINT NOT NULL REFERENCES resume (id) ON DELETE CASCADE,
+    entry_index   INTEGER NOT NULL,
+    name          TEXT,
+    written_level TEXT,
+    cefr_level    VARCHAR(8),
+    PRIMARY KEY (resume_id, entry_index)
+);
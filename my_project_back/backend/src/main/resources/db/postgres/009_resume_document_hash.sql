@@ -0,0 +1,6 @@
+-- SHA-256 of the uploaded PDF, shared by every job that parsed the same document
+-- (re-analysis refreshes them all from the one cached artifact).
+
+ALTER TABLE resume ADD COLUMN IF NOT EXISTS document_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_resume_document_hash ON resume (document_hash);
@@ -0,0 +1,4 @@
+-- Text of each section of a parsed resume, as JSON keyed by section type. The sections are not part of
+-- resume.result_json; the in-memory search index is rebuilt from this column at startup.
+
+ALTER TABLE resume ADD COLUMN IF NOT EXISTS section_texts_json TEXT;
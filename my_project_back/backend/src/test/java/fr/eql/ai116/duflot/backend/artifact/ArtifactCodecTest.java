@@ -0,0 +1,124 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArtifactCodecTest {
+
+    @Test
+    void roundTripsLinesAndSections() throws IOException {
+        for (boolean deflate : new boolean[]{false, true}) {
+            ResumeLineEntity header = line(72.5f, item("Jean Dupont", 40.25f, 72.5f, "Helvetica-Bold", 18f, true));
+            ResumeLineEntity contact = line(95.75f,
+                    item("jean@exemple.fr", 40f, 95.75f, "Helvetica", 10f, false),
+                    item("06 12 34 56 78", 220.5f, 96f, "Helvetica", 10f, false));
+            ResumeSectionEntity skills = new ResumeSectionEntity(SectionType.SKILLS, "COMPÉTENCES");
+            // Second page: Y starts again from the top
+            ResumeLineEntity skillsLine = line(60f, item("Java, Spring Boot, C#", 40f, 60f, "Helvetica", 10f, false));
+            skillsLine.setPageIndex(1);
+            skills.addLine(skillsLine);
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (ArtifactWriter writer = new ArtifactWriter(buffer, 7, "job-1", null, deflate)) {
+                writer.writeLine(header);
+                writer.writeLine(contact);
+                writer.writeSection(skills);
+            }
+
+            try (ArtifactReader reader = new ArtifactReader(new ByteArrayInputStream(buffer.toByteArray()))) {
+                assertEquals(7, reader.getExtractionVersion());
+                assertEquals("job-1", reader.getJobId());
+                assertNull(reader.getFileName());
+
+                assertEquals(ArtifactFormat.RecordType.LINE, reader.next());
+                assertLineEquals(header, reader.readLine());
+                assertEquals(ArtifactFormat.RecordType.LINE, reader.next());
+                assertLineEquals(contact, reader.readLine());
+                assertEquals(ArtifactFormat.RecordType.SECTION, reader.next());
+                ResumeSectionEntity decoded = reader.readSection();
+                assertEquals(SectionType.SKILLS, decoded.getType());
+                assertEquals("COMPÉTENCES", decoded.getTitleFound());
+                assertLineEquals(skills.getLines().get(0), decoded.getLines().get(0));
+                assertEquals(ArtifactFormat.RecordType.END, reader.next());
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnknownStreams() {
+        byte[] notAnArtifact = "%PDF-1.7".getBytes();
+        assertThrows(IOException.class, () -> new ArtifactReader(new ByteArrayInputStream(notAnArtifact)));
+    }
+
+    @Test
+    void rejectsNegativeLengthsAndOrdinals() throws IOException {
+        // Job ID length of -1 as a varint
+        byte[] negativeLength = artifact(1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        assertThrows(IOException.class, () -> new ArtifactReader(new ByteArrayInputStream(negativeLength)));
+
+        // Valid header without job ID or file name, then a section of type -1
+        byte[] negativeOrdinal = artifact(1, 0, 0, ArtifactFormat.TAG_SECTION, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        try (ArtifactReader reader = new ArtifactReader(new ByteArrayInputStream(negativeOrdinal))) {
+            assertEquals(ArtifactFormat.RecordType.SECTION, reader.next());
+            assertThrows(IOException.class, reader::readSection);
+        }
+    }
+
+    // An uncompressed artifact with the given body bytes
+    private static byte[] artifact(int... body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.writeBytes(ArtifactFormat.MAGIC);
+        buffer.write(ArtifactFormat.FORMAT_VERSION);
+        buffer.write(0);
+        for (int b : body) {
+            buffer.write(b);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void assertLineEquals(ResumeLineEntity expected, ResumeLineEntity actual) {
+        assertEquals(expected.getY(), actual.getY(), 0.005f);
+        assertEquals(expected.getPageIndex(), actual.getPageIndex());
+        assertEquals(expected.getItems().size(), actual.getItems().size());
+        for (int i = 0; i < expected.getItems().size(); i++) {
+            ResumeTextItemEntity e = expected.getItems().get(i);
+            ResumeTextItemEntity a = actual.getItems().get(i);
+            assertEquals(e.getText(), a.getText());
+            assertEquals(e.getX(), a.getX(), 0.005f);
+            assertEquals(e.getY(), a.getY(), 0.005f);
+            assertEquals(e.getWidth(), a.getWidth(), 0.005f);
+            assertEquals(e.getFontName(), a.getFontName());
+            assertEquals(e.getFontSize(), a.getFontSize(), 0.005f);
+            assertEquals(e.isBold(), a.isBold());
+            assertEquals(e.isHasEOL(), a.isHasEOL());
+            assertEquals(expected.getPageIndex(), a.getPageIndex());
+        }
+    }
+
+    private static ResumeLineEntity line(float y, ResumeTextItemEntity... items) {
+        ResumeLineEntity line = new ResumeLineEntity();
+        line.setY(y);
+        for (ResumeTextItemEntity item : items) {
+            line.addItem(item);
+        }
+        items[items.length - 1].setHasEOL(true);
+        assertTrue(line.getItems().size() == items.length);
+        return line;
+    }
+
+    private static ResumeTextItemEntity item(String text, float x, float y, String font, float size, boolean bold) {
+        return new ResumeTextItemEntity(text, x, y, text.length() * size * 0.5f, size, font, size, bold);
+    }
+}
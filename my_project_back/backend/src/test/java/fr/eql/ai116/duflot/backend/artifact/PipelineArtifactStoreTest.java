@@ -0,0 +1,77 @@
+package fr.eql.ai116.duflot.backend.artifact;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelineArtifactStoreTest {
+
+    @Test
+    void evictsExpiredFilesThenTheOldestPastTheSizeBound() throws IOException {
+        Path directory = Files.createTempDirectory("artifact_store_test_");
+        PipelineArtifactStore store = store(directory, true);
+        store.save(new PipelineArtifacts("expired", "job-1", "a.pdf", List.of()));
+        store.save(new PipelineArtifacts("older", "job-2", "b.pdf", List.of()));
+        store.save(new PipelineArtifacts("newer", "job-3", "c.pdf", List.of()));
+        Path leftover = Files.writeString(directory.resolve("expired123.tmp"), "partial");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "not ours");
+        age(directory.resolve("expired.rpa"), 200);
+        age(leftover, 200);
+        age(unrelated, 200);
+        age(directory.resolve("older.rpa"), 2);
+        age(directory.resolve("newer.rpa"), 1);
+
+        // Nothing but the expired files while the store fits
+        store.evictExpired();
+        assertEquals(List.of("newer", "older"), sorted(store.listDocumentHashes()));
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(unrelated));
+
+        ReflectionTestUtils.setField(store, "maxBytes", Files.size(directory.resolve("newer.rpa")));
+        store.evictExpired();
+        assertEquals(List.of("newer"), store.listDocumentHashes());
+        assertTrue(store.load("newer").isPresent());
+    }
+
+    @Test
+    void deletesItsFilesWhenDisabled() throws IOException {
+        Path directory = Files.createTempDirectory("artifact_store_test_");
+        store(directory, true).save(new PipelineArtifacts("hash", "job-1", "a.pdf", List.of()));
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "not ours");
+
+        PipelineArtifactStore disabled = store(directory, false);
+        disabled.purgeIfDisabled();
+        assertFalse(Files.exists(directory.resolve("hash.rpa")));
+        assertTrue(Files.exists(unrelated));
+        assertEquals(List.of(), disabled.listDocumentHashes());
+        assertTrue(disabled.load("hash").isEmpty());
+    }
+
+    private static PipelineArtifactStore store(Path directory, boolean enabled) {
+        PipelineArtifactStore store = new PipelineArtifactStore();
+        ReflectionTestUtils.setField(store, "enabled", enabled);
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        ReflectionTestUtils.setField(store, "deflate", true);
+        ReflectionTestUtils.setField(store, "maxAgeHours", 168L);
+        ReflectionTestUtils.setField(store, "maxBytes", Long.MAX_VALUE);
+        return store;
+    }
+
+    private static void age(Path file, long hours) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours)));
+    }
+
+    private static List<String> sorted(List<String> values) {
+        return values.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,116 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.artifact.ArtifactFormat;
+import fr.eql.ai116.duflot.backend.artifact.ArtifactReader;
+import fr.eql.ai116.duflot.backend.artifact.ArtifactWriter;
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the binary artifact codec (raw and deflated) with Jackson JSON on synthetic pages:
+ * encoded size, encode and decode throughput.
+ */
+public class ArtifactCodecBenchmark {
+
+    private static final String[] FONTS = {"Helvetica", "Helvetica-Bold", "Calibri", "Calibri-Bold", "Arial"};
+    private static final String[] WORDS = {"Développeur", "Java", "Spring", "Boot", "PostgreSQL", "2019", "–",
+            "2023", "Paris", "Conception", "d'API", "REST", "et", "de", "microservices", "équipe", "agile"};
+
+    public static void main(String[] args) throws IOException {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        List<List<ResumeLineEntity>> corpus = new ArrayList<>(documents);
+        Random random = new Random(7);
+        for (int i = 0; i < documents; i++) {
+            corpus.add(randomDocument(random, 2 + random.nextInt(3)));
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        long jsonBytes = 0;
+        long start = System.nanoTime();
+        List<byte[]> jsonEncoded = new ArrayList<>(documents);
+        for (List<ResumeLineEntity> lines : corpus) {
+            byte[] json = mapper.writeValueAsBytes(lines);
+            jsonEncoded.add(json);
+            jsonBytes += json.length;
+        }
+        long jsonEncodeNanos = System.nanoTime() - start;
+        System.out.printf("JSON            : %8d KB, encode %7.1f docs/s%n", jsonBytes / 1024, documents / (jsonEncodeNanos / 1e9));
+
+        for (boolean deflate : new boolean[]{false, true}) {
+            // One warm-up pass, then the measured pass
+            encodeAll(corpus, deflate);
+            start = System.nanoTime();
+            List<byte[]> encoded = encodeAll(corpus, deflate);
+            long encodeNanos = System.nanoTime() - start;
+            long bytes = encoded.stream().mapToLong(b -> b.length).sum();
+
+            decodeAll(encoded);
+            start = System.nanoTime();
+            long lines = decodeAll(encoded);
+            long decodeNanos = System.nanoTime() - start;
+
+            System.out.printf("Binary%-10s: %8d KB (%.1f%% of JSON), encode %7.1f docs/s, decode %7.1f docs/s (%d lines)%n",
+                    deflate ? "+deflate" : "", bytes / 1024, 100.0 * bytes / jsonBytes,
+                    documents / (encodeNanos / 1e9), documents / (decodeNanos / 1e9), lines);
+        }
+    }
+
+    private static List<byte[]> encodeAll(List<List<ResumeLineEntity>> corpus, boolean deflate) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(corpus.size());
+        for (List<ResumeLineEntity> lines : corpus) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+            try (ArtifactWriter writer = new ArtifactWriter(buffer, 1, "job", "cv.pdf", deflate)) {
+                for (ResumeLineEntity line : lines) {
+                    writer.writeLine(line);
+                }
+            }
+            encoded.add(buffer.toByteArray());
+        }
+        return encoded;
+    }
+
+    private static long decodeAll(List<byte[]> encoded) throws IOException {
+        long lines = 0;
+        for (byte[] bytes : encoded) {
+            try (ArtifactReader reader = new ArtifactReader(new ByteArrayInputStream(bytes))) {
+                while (reader.next() == ArtifactFormat.RecordType.LINE) {
+                    reader.readLine();
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<ResumeLineEntity> randomDocument(Random random, int pages) {
+        List<ResumeLineEntity> lines = new ArrayList<>();
+        for (int page = 0; page < pages; page++) {
+            float y = 40f;
+            for (int l = 0; l < 55; l++) {
+                ResumeLineEntity line = new ResumeLineEntity();
+                line.setY(y);
+                float x = 40f + random.nextInt(3) * 0.5f;
+                int items = 1 + random.nextInt(6);
+                String font = FONTS[random.nextInt(FONTS.length)];
+                for (int i = 0; i < items; i++) {
+                    String text = WORDS[random.nextInt(WORDS.length)];
+                    float width = text.length() * 5.1f;
+                    line.addItem(new ResumeTextItemEntity(text, x, y, width, 10.2f, font, 10f, font.endsWith("Bold")));
+                    x += width + 2.8f;
+                }
+                line.getLastItem().setHasEOL(true);
+                lines.add(line);
+                y += 12.4f + (random.nextInt(8) == 0 ? 10f : 0f);
+            }
+        }
+        return lines;
+    }
+}
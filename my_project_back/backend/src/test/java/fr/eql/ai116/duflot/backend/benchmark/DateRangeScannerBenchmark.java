@@ -0,0 +1,69 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import fr.eql.ai116.duflot.backend.extraction.DateRangeScanner;
+
+import java.lang.management.ManagementFactory;
+import java.util.regex.Pattern;
+
+/**
+ * Time and allocation per line of DateRangeScanner against the two regexes it replaced: the
+ * String.matches() call of the section title heuristic and the former extractor period pattern.
+ */
+public class DateRangeScannerBenchmark {
+
+    private static final String[] LINES = {
+            "EXPÉRIENCE PROFESSIONNELLE",
+            "Développeuse Java chez Acme, janv. 2021 - aujourd'hui",
+            "- Conception d'API REST Spring Boot pour le service client",
+            "Stagiaire développement, Globex, 03/2019 - 12/2020",
+            "Master Informatique - Université de Lyon",
+            "2017 – 2019",
+            "- Migration vers PostgreSQL 15 et mise en place de tests automatisés",
+            "Senior Software Engineer, Initech 2018–Present",
+    };
+
+    private static final String MONTH = "(?:janv|févr|fevr|mars|avr|mai|juin|juil|août|aout|sept|oct|nov|déc|dec"
+            + "|jan|feb|mar|apr|may|jun|jul|aug|sep)[a-zéû]*\\.?";
+    private static final String DATE = "(?:" + MONTH + "\\s+\\d{4}|\\d{1,2}/\\d{4}|\\d{4})";
+    private static final Pattern FORMER_PERIOD = Pattern.compile(
+            DATE + "\\s*(?:-|–|—|à|to)\\s*(?:" + DATE + "|present|présent|aujourd'hui|aujourd’hui|now|current|actuel|en cours)"
+                    + "|depuis\\s+" + DATE + "|since\\s+" + DATE,
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int round = 0; round < 2; round++) { // First round is the warm-up
+            for (String name : new String[]{"scanner", "String.matches", "period regex"}) {
+                long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                long found = run(name, iterations);
+                long elapsed = System.nanoTime() - start;
+                long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+                if (round == 1) {
+                    System.out.printf("%-15s: %6.0f ns/line, %5.0f bytes/line (%d ranges)%n", name,
+                            elapsed / (double) iterations, allocated / (double) iterations, found);
+                }
+            }
+        }
+    }
+
+    private static long run(String name, int iterations) {
+        long found = 0;
+        for (int i = 0; i < iterations; i++) {
+            String line = LINES[i % LINES.length];
+            boolean hit = switch (name) {
+                case "scanner" -> DateRangeScanner.containsRange(line);
+                case "String.matches" -> line.matches(".*\\d{4}\\s*–\\s*(Present|\\d{4}).*");
+                default -> FORMER_PERIOD.matcher(line).find();
+            };
+            if (hit) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
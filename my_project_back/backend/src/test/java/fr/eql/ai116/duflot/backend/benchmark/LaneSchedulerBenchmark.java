@@ -0,0 +1,126 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.job.JobLane;
+import fr.eql.ai116.duflot.backend.job.LaneScheduler;
+import fr.eql.ai116.duflot.backend.job.ParseJob;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Latency of small jobs under mixed load, with the same four threads either as one FIFO pool
+ * (the previous @Async executor) or as two lanes (three small workers, one large). Parsing is
+ * simulated with sleeps: 20 ms per small document, 500 ms per large one, a burst of large
+ * documents arriving with a steady flow of small ones.
+ * <p>
+ * Then fairness: a batch client posts 300 small jobs at once while an interactive client posts
+ * one every 50 ms, in a FIFO lane and in the fair lanes.
+ */
+public class LaneSchedulerBenchmark {
+
+    private static final int SMALL_JOBS = 200;
+    private static final int LARGE_JOBS = 12;
+    private static final long SMALL_MS = 20;
+    private static final long LARGE_MS = 500;
+    private static final long ARRIVAL_MS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService fifo = Executors.newFixedThreadPool(4);
+        report("FIFO pool, 4 threads ", run(job -> fifo.execute(() -> simulate(job))));
+        fifo.shutdown();
+
+        LaneScheduler lanes = new LaneScheduler(3, 1, 1, 1_000, 1_000, client -> 1, LaneSchedulerBenchmark::simulate, "bench-");
+        lanes.start();
+        report("Lanes, 3 small+1 large", run(lanes::submit));
+        lanes.stop();
+
+        ExecutorService fifoLane = Executors.newFixedThreadPool(4);
+        System.out.printf("FIFO lane, 4 threads   : interactive p95 %5d ms%n", runFairness(job -> fifoLane.execute(() -> simulate(job))));
+        fifoLane.shutdown();
+        LaneScheduler fair = new LaneScheduler(3, 1, 1, 1_000, 1_000, client -> 1, LaneSchedulerBenchmark::simulate, "bench-");
+        fair.start();
+        System.out.printf("Fair lanes, 3+1 threads: interactive p95 %5d ms%n", runFairness(fair::submit));
+        fair.stop();
+    }
+
+    // Returns the p95 latency of the interactive client
+    private static long runFairness(Consumer<ParseJob> submit) throws InterruptedException {
+        int interactiveJobs = 30;
+        finished.clear();
+        remaining = new CountDownLatch(300 + interactiveJobs);
+        for (int i = 0; i < 300; i++) {
+            submit.accept(job("batch-" + i, "batch", JobLane.SMALL));
+        }
+        for (int i = 0; i < interactiveJobs; i++) {
+            submit.accept(job("user-" + i, "user", JobLane.SMALL));
+            Thread.sleep(50);
+        }
+        remaining.await();
+        List<Long> latencies = new ArrayList<>();
+        for (long[] result : finished) {
+            if (result[2] == 1) {
+                latencies.add(result[1]);
+            }
+        }
+        Collections.sort(latencies);
+        return latencies.get((int) Math.round(0.95 * (latencies.size() - 1)));
+    }
+
+    private static final ConcurrentLinkedQueue<long[]> finished = new ConcurrentLinkedQueue<>();
+    private static CountDownLatch remaining;
+
+    // Returns {lane ordinal, latency ms, interactive} of every job
+    private static List<long[]> run(Consumer<ParseJob> submit) throws InterruptedException {
+        finished.clear();
+        remaining = new CountDownLatch(SMALL_JOBS + LARGE_JOBS);
+        for (int i = 0; i < LARGE_JOBS; i++) {
+            submit.accept(job("large-" + i, "client", JobLane.LARGE));
+        }
+        for (int i = 0; i < SMALL_JOBS; i++) {
+            submit.accept(job("small-" + i, "client", JobLane.SMALL));
+            Thread.sleep(ARRIVAL_MS);
+        }
+        remaining.await();
+        return new ArrayList<>(finished);
+    }
+
+    private static void simulate(ParseJob job) {
+        try {
+            Thread.sleep(job.getLane() == JobLane.SMALL ? SMALL_MS : LARGE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finished.add(new long[]{job.getLane().ordinal(), (System.nanoTime() - job.getSubmittedNanos()) / 1_000_000,
+                "user".equals(job.getClientId()) ? 1 : 0});
+        remaining.countDown();
+    }
+
+    private static ParseJob job(String id, String clientId, JobLane lane) {
+        return new ParseJob(id, clientId, Path.of(id + ".pdf"), id + ".pdf", lane == JobLane.SMALL ? 100_000 : 9_000_000,
+                lane == JobLane.SMALL ? 1 : 30, false, lane);
+    }
+
+    private static void report(String label, List<long[]> results) {
+        System.out.printf("%s : small p50 %5d ms, p95 %5d ms | large p50 %5d ms, p95 %5d ms%n", label,
+                percentile(results, JobLane.SMALL, 0.5), percentile(results, JobLane.SMALL, 0.95),
+                percentile(results, JobLane.LARGE, 0.5), percentile(results, JobLane.LARGE, 0.95));
+    }
+
+    private static long percentile(List<long[]> results, JobLane lane, double q) {
+        List<Long> latencies = new ArrayList<>();
+        for (long[] result : results) {
+            if (result[0] == lane.ordinal()) {
+                latencies.add(result[1]);
+            }
+        }
+        Collections.sort(latencies);
+        return latencies.get((int) Math.min(latencies.size() - 1, Math.round(q * (latencies.size() - 1))));
+    }
+}
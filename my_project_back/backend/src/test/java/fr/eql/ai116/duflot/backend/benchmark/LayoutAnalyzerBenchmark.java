@@ -0,0 +1,60 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.layout.LayoutAnalyzer;
+import fr.eql.ai116.duflot.backend.layout.PageLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Layout analysis time on dense synthetic two-column pages (sidebar + main column, one word per
+ * item), from a normal resume page to pathological item counts. The cost per item should only
+ * grow with log n.
+ */
+public class LayoutAnalyzerBenchmark {
+
+    public static void main(String[] args) {
+        LayoutAnalyzer analyzer = new LayoutAnalyzer();
+        Random random = new Random(7);
+        for (int items : new int[]{500, 5_000, 50_000, 500_000}) {
+            List<ResumeTextItemEntity> page = twoColumnPage(items, random);
+            int runs = Math.max(3, 2_000_000 / items);
+            PageLayout layout = null;
+            for (int i = 0; i < runs; i++) { // Warm-up
+                layout = analyzer.analyze(page, List.of());
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                layout = analyzer.analyze(page, List.of());
+            }
+            long elapsed = (System.nanoTime() - start) / runs;
+            System.out.printf("%7d items : %8.3f ms/page, %5.0f ns/item, %d columns, %d blocks%n", items,
+                    elapsed / 1e6, elapsed / (double) items, layout.getColumnCount(), layout.getBlocks().size());
+        }
+    }
+
+    // Sidebar words in [40, 180], main column words in [215, 560], a full-width title on top
+    private static List<ResumeTextItemEntity> twoColumnPage(int items, Random random) {
+        List<ResumeTextItemEntity> page = new ArrayList<>(items);
+        page.add(new ResumeTextItemEntity("Marie Martin - Développeuse Java", 40, 40, 420, 20, "Helvetica-Bold", 20, true));
+        float sideY = 70, mainY = 70, x = 215;
+        while (page.size() < items) {
+            if (random.nextInt(4) == 0) {
+                float width = 20 + random.nextInt(100);
+                page.add(new ResumeTextItemEntity("skill", 40, sideY, width, 10, "Helvetica", 10, false));
+                sideY += 0.4f;
+            } else {
+                float width = 15 + random.nextInt(50);
+                if (x + width > 560) {
+                    x = 215;
+                    mainY += 0.3f;
+                }
+                page.add(new ResumeTextItemEntity("word", x, mainY, width, 10, "Helvetica", 10, false));
+                x += width + 3;
+            }
+        }
+        return page;
+    }
+}
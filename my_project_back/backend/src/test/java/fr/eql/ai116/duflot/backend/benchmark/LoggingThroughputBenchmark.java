@@ -0,0 +1,113 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.cli.BatchParsingRunner;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.util.SseService;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Parse throughput with application logging off, at INFO (production), DEBUG and TRACE.
+ *
+ * Each job runs the real parsing pipeline plus the SSE and orchestrator log calls of a web job
+ * (without a subscribed client). Log output goes to the configured appenders, so redirect
+ * stdout to a file and read the summary at the end: ... LoggingThroughputBenchmark > /tmp/bench.log
+ */
+public class LoggingThroughputBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(LoggingThroughputBenchmark.class);
+    private static final String APPLICATION_LOGGER = "fr.eql.ai116.duflot";
+
+    public static void main(String[] args) throws IOException {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        // Cached artifacts would skip extraction, measure the full pipeline
+        System.setProperty("resume.artifacts.enabled", "false");
+
+        Path pdf = Files.createTempFile("logging_benchmark_", ".pdf");
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                BatchParsingRunner.parsingComponents())) {
+            writeSamplePdf(pdf);
+            ResumeParsingService parsingService = context.getBean(ResumeParsingService.class);
+            SseService sseService = new SseService();
+
+            Level[] levels = {Level.OFF, Level.INFO, Level.DEBUG, Level.TRACE};
+            double[] throughput = new double[levels.length];
+            // First pass is warm-up, second is measured
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < levels.length; i++) {
+                    Configurator.setLevel(APPLICATION_LOGGER, levels[i]);
+                    throughput[i] = run(parsingService, sseService, pdf.toFile(), jobs);
+                }
+            }
+            Configurator.setLevel(APPLICATION_LOGGER, Level.INFO);
+
+            System.out.println("--- Parse throughput by application log level ---");
+            for (int i = 0; i < levels.length; i++) {
+                System.out.printf("%-5s : %7.1f docs/s (%+.1f%% vs OFF)%n", levels[i], throughput[i],
+                        (throughput[i] / throughput[0] - 1) * 100);
+            }
+        } finally {
+            Files.deleteIfExists(pdf);
+        }
+    }
+
+    private static double run(ResumeParsingService parsingService, SseService sseService, File pdf, int jobs) throws IOException {
+        long start = System.nanoTime();
+        for (int job = 0; job < jobs; job++) {
+            String jobId = "job-" + job;
+            ParsingTraceDTO trace = new ParsingTraceDTO(jobId, pdf.getName(), TraceLevel.SUMMARY);
+            logger.debug("Starting async parsing for Job ID: {}", jobId);
+            sseService.sendUpdate(jobId, "statusUpdate", Map.of("step", "PREPARATION", "status", Status.INFO));
+            parsingService.parseResume(pdf, trace);
+            sseService.sendUpdate(jobId, "parsingComplete", Map.of("status", Status.SUCCESS));
+            logger.info("Finished processing Job ID: {}. Overall Status: {}", jobId, trace.getOverallStatus());
+        }
+        return jobs / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void writeSamplePdf(Path target) throws IOException {
+        String[][] lines = {
+                {"Jean Dupont", "B"}, {"jean.dupont@example.com - 06 12 34 56 78", ""},
+                {"EXPÉRIENCE PROFESSIONNELLE", "B"}, {"Développeur Java, Acme, 2019 - 2023", ""},
+                {"Conception d'API REST et de microservices Spring Boot", ""},
+                {"FORMATION", "B"}, {"Master Informatique, Université de Lyon, 2017 - 2019", ""},
+                {"COMPÉTENCES", "B"}, {"Java, Spring, PostgreSQL, Docker, Git", ""},
+                {"LANGUES", "B"}, {"Anglais (C1), Espagnol (B1)", ""}
+        };
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.newLineAtOffset(50, 740);
+                for (String[] line : lines) {
+                    boolean isTitle = !line[1].isEmpty();
+                    content.setFont(isTitle ? bold : regular, isTitle ? 14 : 11);
+                    content.newLineAtOffset(0, isTitle ? -28 : -16);
+                    content.showText(line[0]);
+                }
+                content.endText();
+            }
+            document.save(target.toFile());
+        }
+    }
+}
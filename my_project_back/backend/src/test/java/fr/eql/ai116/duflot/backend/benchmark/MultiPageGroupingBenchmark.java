@@ -0,0 +1,92 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.layout.LayoutAnalyzer;
+import fr.eql.ai116.duflot.backend.layout.PageLayout;
+import fr.eql.ai116.duflot.backend.layout.RunningTextFilter;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Running text filtering, layout analysis and line grouping of synthetic documents of 1 to 64
+ * pages, each with a running header and a page number footer. Pages are processed one after the
+ * other here, so the time per page should stay flat whatever the page count, and every header and
+ * footer but none of the body should be dropped.
+ */
+public class MultiPageGroupingBenchmark {
+
+    private static final int ITEMS_PER_PAGE = 400;
+
+    public static void main(String[] args) {
+        RunningTextFilter filter = new RunningTextFilter();
+        LayoutAnalyzer analyzer = new LayoutAnalyzer();
+        ResumeParsingHelper helper = new ResumeParsingHelper();
+        Random random = new Random(11);
+        for (int pageCount : new int[]{1, 4, 16, 64}) {
+            List<List<ResumeTextItemEntity>> pages = new ArrayList<>();
+            for (int page = 0; page < pageCount; page++) {
+                pages.add(page(page, random));
+            }
+            int runs = Math.max(5, 2_000 / pageCount);
+            int lineCount = 0, dropped = 0;
+            long elapsed = 0;
+            for (int warmUp = 0; warmUp < 2; warmUp++) {
+                long start = System.nanoTime();
+                for (int run = 0; run < runs; run++) {
+                    List<List<ResumeTextItemEntity>> kept = filter.filter(pages);
+                    lineCount = 0;
+                    dropped = 0;
+                    for (int page = 0; page < kept.size(); page++) {
+                        dropped += pages.get(page).size() - kept.get(page).size();
+                        PageLayout layout = analyzer.analyze(kept.get(page), List.of());
+                        for (List<ResumeTextItemEntity> block : layout.getBlocks()) {
+                            List<ResumeLineEntity> lines = helper.groupItemsIntoLines(new ArrayList<>(block));
+                            lineCount += lines.size();
+                        }
+                    }
+                }
+                elapsed = (System.nanoTime() - start) / runs;
+            }
+            int expectedDropped = pageCount > 1 ? 2 * pageCount : 0;
+            System.out.printf("%3d pages : %8.1f µs/document, %6.1f µs/page, %5d lines, %3d running items dropped%s%n",
+                    pageCount, elapsed / 1e3, elapsed / 1e3 / pageCount, lineCount, dropped,
+                    dropped == expectedDropped ? "" : " (expected " + expectedDropped + ")");
+        }
+    }
+
+    // A header, a footer with the page number, and body words on about 40 lines
+    private static List<ResumeTextItemEntity> page(int pageIndex, Random random) {
+        List<ResumeTextItemEntity> items = new ArrayList<>(ITEMS_PER_PAGE + 2);
+        items.add(item(pageIndex, "Marie Martin - CV", 400, 22, 8));
+        items.add(item(pageIndex, "Page " + (pageIndex + 1), 280, 812, 8));
+        float x = 50, y = 60;
+        while (items.size() < ITEMS_PER_PAGE + 2) {
+            float width = 15 + random.nextInt(50);
+            if (x + width > 545) {
+                x = 50;
+                y += 18;
+            }
+            items.add(item(pageIndex, word(random), x, y, 10));
+            x += width + 3;
+        }
+        return items;
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static ResumeTextItemEntity item(int pageIndex, String text, float x, float y, float size) {
+        ResumeTextItemEntity item = new ResumeTextItemEntity(text, x, y, text.length() * size * 0.5f, size, "Helvetica", size, false);
+        item.setPageIndex(pageIndex);
+        return item;
+    }
+}
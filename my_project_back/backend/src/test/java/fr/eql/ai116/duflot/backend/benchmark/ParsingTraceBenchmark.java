@@ -0,0 +1,69 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.LogEntry;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Measures the bytes allocated by the trace calls of one parsing job at each trace level.
+ * The per-job trace object itself is excluded so the number reflects the addLogEntry path only.
+ */
+public class ParsingTraceBenchmark {
+
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (TraceLevel level : TraceLevel.values()) {
+            ParsingTraceDTO[] traces = new ParsingTraceDTO[1_000];
+            // Warm-up so JIT compilation does not count
+            runJobs(traces, level, jobs);
+            long traceObjects = 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            long sink = runJobs(traces, level, jobs);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            // Cost of constructing the trace objects alone, to subtract it
+            long constructBefore = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < jobs; i++) {
+                traces[i % traces.length] = new ParsingTraceDTO("job", "cv.pdf", level);
+            }
+            traceObjects = threads.getThreadAllocatedBytes(threadId) - constructBefore;
+
+            System.out.printf("%-9s : %6.0f bytes/job in trace calls, %6.0f ns/job (%d)%n", level,
+                    Math.max(0, allocated - traceObjects) / (double) jobs, elapsed / (double) jobs, sink);
+        }
+    }
+
+    // Mirrors the calls a job makes: stage messages with and without details, plus heuristic candidates
+    private static long runJobs(ParsingTraceDTO[] traces, TraceLevel level, int jobs) {
+        long sink = 0;
+        for (int job = 0; job < jobs; job++) {
+            ParsingTraceDTO trace = new ParsingTraceDTO("job", "cv.pdf", level);
+            traces[job % traces.length] = trace;
+            trace.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "Starting text extraction...");
+            trace.addLogEntry(LogEntry.Step.TEXT_EXTRACTION, Status.INFO, "PositionalTextStripper finished.",
+                    trace.isEnabled(TraceLevel.STAGE) ? Map.of("rawItemCount", 1000 + job % 500) : null);
+            trace.addLogEntry(LogEntry.Step.LINE_GROUPING, Status.INFO, "Line grouping finished.",
+                    trace.isEnabled(TraceLevel.STAGE) ? Map.of("lineCount", 200 + job % 50) : null);
+            for (int line = 0; line < 12; line++) {
+                if (trace.isEnabled(TraceLevel.HEURISTIC)) {
+                    trace.addLogEntry(TraceLevel.HEURISTIC, LogEntry.Step.SECTION_GROUPING, Status.INFO, "Title candidate",
+                            Map.of("lineIndex", line, "startsSection", line % 3 == 0));
+                }
+            }
+            trace.addLogEntry(LogEntry.Step.SECTION_GROUPING, Status.INFO, "Section grouping finished.");
+            trace.addLogEntry(LogEntry.Step.ATTRIBUTE_EXTRACTION, Status.SUCCESS, "Attribute extraction complete.");
+            sink += trace.getLogEntries().size() + (trace.getLastEntry() != null ? 1 : 0);
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,108 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.cli.BatchParsingRunner;
+import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Full parse against mode=profile on generated resumes of 1, 4 and 16 pages. Both must extract
+ * the same profile; the profile parse should stay flat while the full one grows with the pages.
+ */
+public class ProfileModeBenchmark {
+
+    private static final int[] PAGES = {1, 4, 16};
+
+    public static void main(String[] args) throws IOException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        // Cached artifacts would skip extraction, measure the pipeline itself
+        System.setProperty("resume.artifacts.enabled", "false");
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                BatchParsingRunner.parsingComponents())) {
+            ResumeParsingService parsingService = context.getBean(ResumeParsingService.class);
+            for (int pages : PAGES) {
+                Path pdf = Files.createTempFile("profile_benchmark_", ".pdf");
+                try {
+                    writeResume(pdf, pages);
+                    long full = 0, profile = 0;
+                    ResumeDTO fullResult = null, profileResult = null;
+                    // First pass is warm-up, second is measured
+                    for (int pass = 0; pass < 2; pass++) {
+                        long start = System.nanoTime();
+                        for (int i = 0; i < runs; i++) {
+                            fullResult = parsingService.parseResume(pdf.toFile(), trace(pdf.toFile()));
+                        }
+                        full = (System.nanoTime() - start) / runs;
+
+                        start = System.nanoTime();
+                        for (int i = 0; i < runs; i++) {
+                            profileResult = parsingService.parseProfile(pdf.toFile(), trace(pdf.toFile()));
+                        }
+                        profile = (System.nanoTime() - start) / runs;
+                    }
+                    System.out.printf("%2d page(s): full %7.2f ms, profile %5.2f ms, %5.1fx, profile %s%n",
+                            pages, full / 1e6, profile / 1e6, (double) full / profile,
+                            same(fullResult.getProfile(), profileResult.getProfile()) ? "identical" : "DIFFERENT");
+                } finally {
+                    Files.deleteIfExists(pdf);
+                }
+            }
+        }
+    }
+
+    private static ParsingTraceDTO trace(File pdf) {
+        return new ParsingTraceDTO("benchmark", pdf.getName(), TraceLevel.SUMMARY);
+    }
+
+    private static boolean same(ProfileEntity a, ProfileEntity b) {
+        return Objects.equals(a.getFirstName(), b.getFirstName()) && Objects.equals(a.getLastName(), b.getLastName())
+                && Objects.equals(a.getEmail(), b.getEmail()) && Objects.equals(a.getPhone(), b.getPhone());
+    }
+
+    private static void writeResume(Path target, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+            for (int page = 0; page < pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.newLineAtOffset(50, 750);
+                    if (page == 0) {
+                        content.setFont(bold, 14);
+                        content.showText("Jean Dupont");
+                        content.setFont(regular, 11);
+                        content.newLineAtOffset(0, -16);
+                        content.showText("jean.dupont@example.com - 06 12 34 56 78");
+                    }
+                    String[] titles = {"EXPÉRIENCE PROFESSIONNELLE", "FORMATION", "COMPÉTENCES"};
+                    for (int line = 0; line < 40; line++) {
+                        boolean title = line % 10 == 0;
+                        content.setFont(title ? bold : regular, title ? 14 : 10);
+                        content.newLineAtOffset(0, title ? -24 : -15);
+                        content.showText(title ? titles[(line / 10) % titles.length]
+                                : "Développeur Java, Acme, 2019 - 2023, API REST Spring Boot, ligne " + line);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(target.toFile());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchDocument;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchIndex;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures index build time and query latency of ResumeSearchIndex on synthetic resumes.
+ * Run from the IDE or with: java -cp target/classes:target/test-classes ...ResumeSearchIndexBenchmark [documents]
+ */
+public class ResumeSearchIndexBenchmark {
+
+    private static final String[] SKILLS = {"Java", "Spring Boot", "PostgreSQL", "Docker", "Kubernetes", "React",
+            "Angular", "Python", "C#", ".NET", "Git", "Jenkins", "AWS", "Azure", "Kafka", "Hibernate", "SQL", "Linux"};
+    private static final String[] WORDS = {"developpeur", "ingenieur", "projet", "equipe", "client", "application",
+            "migration", "architecture", "microservices", "api", "backend", "frontend", "conception", "tests",
+            "agile", "scrum", "performance", "securite", "donnees", "cloud", "formation", "stage", "alternance"};
+    private static final String[] DOMAINS = {"gmail.com", "outlook.fr", "yahoo.fr", "proton.me", "eql.fr"};
+
+    public static void main(String[] args) {
+        int documentCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+
+        List<ResumeSearchDocument> documents = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            documents.add(randomDocument(i, random));
+        }
+
+        ResumeSearchIndex index = new ResumeSearchIndex();
+        long start = System.nanoTime();
+        for (ResumeSearchDocument document : documents) {
+            index.add(document);
+        }
+        long buildNanos = System.nanoTime() - start;
+        System.out.printf("Indexed %d documents in %d ms (%.1f us/doc)%n",
+                documentCount, buildNanos / 1_000_000, buildNanos / 1000.0 / documentCount);
+
+        ResumeSearchQuery[] queries = {
+                new ResumeSearchQuery("microservices", null, null, null),
+                new ResumeSearchQuery("api performance", null, SectionType.EXPERIENCE, null),
+                new ResumeSearchQuery(null, "Spring Boot", null, null),
+                new ResumeSearchQuery("cloud", "Docker", null, "gmail.com"),
+                new ResumeSearchQuery(null, null, null, "eql.fr")
+        };
+        for (ResumeSearchQuery query : queries) {
+            runQuery(index, query);
+        }
+    }
+
+    private static void runQuery(ResumeSearchIndex index, ResumeSearchQuery query) {
+        // Warm up, then measure
+        for (int i = 0; i < 200; i++) {
+            index.search(query, 0, 20);
+        }
+        int iterations = 1000;
+        long[] latencies = new long[iterations];
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            hits = index.search(query, 0, 20).getTotalHits();
+            latencies[i] = System.nanoTime() - start;
+        }
+        java.util.Arrays.sort(latencies);
+        System.out.printf("%s -> %d hits, p50 %.3f ms, p99 %.3f ms%n", query, hits,
+                latencies[iterations / 2] / 1e6, latencies[iterations * 99 / 100] / 1e6);
+    }
+
+    private static ResumeSearchDocument randomDocument(int id, Random random) {
+        Map<SectionType, String> sections = new EnumMap<>(SectionType.class);
+        sections.put(SectionType.EXPERIENCE, randomText(random, 120));
+        sections.put(SectionType.EDUCATION, randomText(random, 40));
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+        }
+        sections.put(SectionType.SKILLS, String.join(", ", skills));
+        String email = "candidate" + id + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+        return new ResumeSearchDocument("job-" + id, "cv-" + id + ".pdf", "Candidate " + id, email, skills, sections);
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.eql.ai116.duflot.backend.job.JobLane;
+import fr.eql.ai116.duflot.backend.job.LaneScheduler;
+import fr.eql.ai116.duflot.backend.job.ParseJob;
+import fr.eql.ai116.duflot.backend.job.PostgresJobQueue;
+import fr.eql.ai116.duflot.backend.job.SharedQueuePoller;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of the shared PostgreSQL job queue with 1, 2 and 4 simulated nodes (four workers each,
+ * 20 ms per job) draining the same 800 jobs of 10 clients, then recovery: a node that claims jobs
+ * and dies without completing them. Needs a local database, e.g. the dev Docker Compose one:
+ * java -cp target/classes:target/test-classes:... ...SharedJobQueueBenchmark [jdbcUrl user password]
+ */
+public class SharedJobQueueBenchmark {
+
+    private static final int JOBS = 800;
+    private static final int CLIENTS = 10;
+    private static final int WORKERS_PER_NODE = 4;
+    private static final long JOB_MS = 20;
+    private static final AtomicInteger duplicates = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/devdb");
+        dataSource.setUsername(args.length > 1 ? args[1] : "devuser");
+        dataSource.setPassword(args.length > 2 ? args[2] : "devpass");
+        dataSource.setMaximumPoolSize(32);
+        dataSource.setInitializationFailTimeout(-1);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            jdbcTemplate.execute(Files.readString(Path.of("src/main/resources/db/postgres/003_parse_jobs.sql")));
+            jdbcTemplate.execute(Files.readString(Path.of("src/main/resources/db/postgres/005_parse_job_cancel.sql")));
+            jdbcTemplate.execute(Files.readString(Path.of("src/main/resources/db/postgres/007_parse_job_mode.sql")));
+        } catch (RuntimeException e) {
+            System.out.println("No PostgreSQL reachable at " + dataSource.getJdbcUrl() + ": " + e.getMessage());
+            dataSource.close();
+            return;
+        }
+
+        for (int nodes : new int[]{1, 2, 4}) {
+            jdbcTemplate.update("DELETE FROM parse_job");
+            enqueue(new PostgresJobQueue(jdbcTemplate, "producer", 60, 3, 1, 60));
+            CountDownLatch done = new CountDownLatch(JOBS);
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            duplicates.set(0);
+            List<Runnable> stops = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int n = 0; n < nodes; n++) {
+                stops.add(startNode(jdbcTemplate, "node-" + n, done, seen));
+            }
+            done.await();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            stops.forEach(Runnable::run);
+            System.out.printf("%d node(s): %4d jobs in %5d ms, %6.1f jobs/s, %d ran twice%n",
+                    nodes, JOBS, elapsedMs, JOBS * 1000.0 / elapsedMs, duplicates.get());
+        }
+
+        // A node claims ten jobs and dies: with a 2 s lease the survivor runs them once it expires
+        jdbcTemplate.update("DELETE FROM parse_job");
+        PostgresJobQueue dead = new PostgresJobQueue(jdbcTemplate, "dead-node", 2, 3, 0, 60);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ParseJob job = job("lost-" + i, "client-0");
+            dead.enqueue(job, job.getJobId() + ".pdf", 1_000, 1_000);
+            ids.add(job.getJobId());
+        }
+        dead.claim(JobLane.SMALL, 10, Path::of);
+        CountDownLatch recovered = new CountDownLatch(ids.size());
+        long start = System.nanoTime();
+        Runnable stop = startNode(jdbcTemplate, "survivor", recovered, ConcurrentHashMap.newKeySet(), 2);
+        recovered.await();
+        System.out.printf("Recovery: %d jobs of a dead node run after %d ms (2 s lease)%n",
+                ids.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        stop.run();
+        dataSource.close();
+    }
+
+    private static void enqueue(PostgresJobQueue queue) {
+        for (int i = 0; i < JOBS; i++) {
+            ParseJob job = job("job-" + i, "client-" + (i % CLIENTS));
+            queue.enqueue(job, job.getJobId() + ".pdf", JOBS, JOBS);
+        }
+    }
+
+    private static Runnable startNode(JdbcTemplate jdbcTemplate, String nodeId, CountDownLatch done, Set<String> seen) {
+        return startNode(jdbcTemplate, nodeId, done, seen, 60);
+    }
+
+    private static Runnable startNode(JdbcTemplate jdbcTemplate, String nodeId, CountDownLatch done, Set<String> seen,
+                                      int leaseSeconds) {
+        PostgresJobQueue queue = new PostgresJobQueue(jdbcTemplate, nodeId, leaseSeconds, 3, 0, 60);
+        LaneScheduler lanes = new LaneScheduler(WORKERS_PER_NODE, 1, 1, 1_000, 1_000, client -> 1, job -> {
+            try {
+                Thread.sleep(JOB_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.complete(job.getJobId());
+            if (seen.add(job.getJobId())) {
+                done.countDown();
+            } else {
+                duplicates.incrementAndGet();
+            }
+        }, nodeId + "-");
+        lanes.start();
+        SharedQueuePoller poller = new SharedQueuePoller(queue, lane -> WORKERS_PER_NODE - lanes.getQueuedJobs(lane),
+                lanes::submit, Path::of, job -> { }, jobId -> { }, 20, leaseSeconds * 1000L / 3);
+        poller.start();
+        return () -> {
+            poller.stop();
+            queue.release(lanes.stop());
+        };
+    }
+
+    private static ParseJob job(String id, String clientId) {
+        return new ParseJob(id, clientId, Path.of(id + ".pdf"), id + ".pdf", 100_000, 1, false, JobLane.SMALL);
+    }
+}
@@ -0,0 +1,123 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.extraction.SkillDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles synthetic skill dictionaries of 10k and 50k entries and measures the scan rate of
+ * resume-like lines, next to the equivalent regex alternation for reference.
+ */
+public class SkillDictionaryBenchmark {
+
+    private static final String[] REAL_SKILLS = {
+            "Java", "Spring Boot", "PostgreSQL", "C#", ".NET", "Node.js", "Docker", "Kubernetes", "React", "Angular"
+    };
+    private static final String[] WORDS = {
+            "conception", "developpement", "d'une", "application", "migration", "vers", "equipe", "de", "5",
+            "personnes", "mise", "en", "place", "tests", "automatises", "avec", "et", "sur", "architecture", "client"
+    };
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Random random = new Random(42);
+        String[] texts = new String[10_000];
+        long chars = 0;
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = randomLine(random);
+            chars += texts[i].length();
+        }
+        double averageLength = chars / (double) texts.length;
+
+        for (int size : new int[]{10_000, 50_000}) {
+            List<SkillDictionary.Entry> entries = syntheticEntries(size, random);
+
+            long compileStart = System.nanoTime();
+            SkillDictionary dictionary = SkillDictionary.compile(entries);
+            long compileMs = (System.nanoTime() - compileStart) / 1_000_000;
+
+            scan(dictionary, texts, lines); // Warm-up
+            long start = System.nanoTime();
+            long found = scan(dictionary, texts, lines);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("trie  %6d entries : compiled in %4d ms, %7.0f ns/line, %6.1f MB/s (%d matches)%n",
+                    size, compileMs, elapsed / (double) lines, lines * averageLength / (elapsed / 1e3), found);
+
+            // The regex only gets a fraction of the lines, it is orders of magnitude slower
+            Pattern alternation = alternation(entries);
+            int regexLines = Math.max(1, lines / 200);
+            scanRegex(alternation, texts, regexLines);
+            start = System.nanoTime();
+            found = scanRegex(alternation, texts, regexLines);
+            elapsed = System.nanoTime() - start;
+            System.out.printf("regex %6d entries : %23.0f ns/line, %6.3f MB/s (%d matches)%n",
+                    size, elapsed / (double) regexLines, regexLines * averageLength / (elapsed / 1e3), found);
+        }
+    }
+
+    private static long scan(SkillDictionary dictionary, String[] texts, int lines) {
+        long found = 0;
+        for (int i = 0; i < lines; i++) {
+            found += dictionary.findAll(texts[i % texts.length]).size();
+        }
+        return found;
+    }
+
+    private static long scanRegex(Pattern pattern, String[] texts, int lines) {
+        long found = 0;
+        for (int i = 0; i < lines; i++) {
+            Matcher matcher = pattern.matcher(texts[i % texts.length]);
+            while (matcher.find()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // The real names plus generated one to three token names ("Tech 123", "Lib Abc 7 Core")
+    private static List<SkillDictionary.Entry> syntheticEntries(int size, Random random) {
+        List<SkillDictionary.Entry> entries = new ArrayList<>(size);
+        for (String skill : REAL_SKILLS) {
+            entries.add(new SkillDictionary.Entry(SkillDictionary.Kind.HARD, skill, List.of()));
+        }
+        while (entries.size() < size) {
+            int n = entries.size();
+            String name = switch (random.nextInt(3)) {
+                case 0 -> "tech" + n;
+                case 1 -> "lib " + Integer.toString(n, 36);
+                default -> "framework " + Integer.toString(n, 36) + " core";
+            };
+            entries.add(new SkillDictionary.Entry(SkillDictionary.Kind.HARD, name, List.of(name.replace(' ', '-'))));
+        }
+        return entries;
+    }
+
+    private static Pattern alternation(List<SkillDictionary.Entry> entries) {
+        StringBuilder regex = new StringBuilder("(?i)(?<![\\w.#+])(?:");
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                regex.append('|');
+            }
+            regex.append(Pattern.quote(entries.get(i).getName()));
+        }
+        return Pattern.compile(regex.append(")(?![\\w#+])").toString());
+    }
+
+    private static String randomLine(Random random) {
+        StringBuilder line = new StringBuilder("- ");
+        int words = 8 + random.nextInt(10);
+        for (int w = 0; w < words; w++) {
+            if (random.nextInt(6) == 0) {
+                line.append(REAL_SKILLS[random.nextInt(REAL_SKILLS.length)]);
+            } else {
+                line.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            line.append(' ');
+        }
+        return line.toString().trim();
+    }
+}
@@ -0,0 +1,144 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.layout.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build time of SpatialIndex and cost of its queries against a linear scan of the page, on
+ * synthetic pages of word items. Every query result is checked against the scan.
+ */
+public class SpatialIndexBenchmark {
+
+    private static final float PAGE_WIDTH = 595;
+    private static final float PAGE_HEIGHT = 842;
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        for (int count : new int[]{1_000, 10_000, 100_000}) {
+            List<ResumeTextItemEntity> items = page(count, random);
+            float[][] boxes = boxes(items);
+            int queries = 20_000;
+
+            SpatialIndex index = null;
+            long start = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                index = SpatialIndex.ofItems(items);
+            }
+            long buildNs = (System.nanoTime() - start) / 20;
+
+            float[][] points = new float[queries][];
+            for (int q = 0; q < queries; q++) {
+                points[q] = new float[]{random.nextFloat() * PAGE_WIDTH, random.nextFloat() * PAGE_HEIGHT};
+            }
+
+            final SpatialIndex built = index;
+            int[] found = new int[1];
+            long indexRange = time(() -> {
+                for (float[] p : points) {
+                    built.search(p[0], p[1], p[0] + 40, p[1] + 20, box -> found[0]++);
+                }
+            });
+            // Linear reference, on fewer queries for the large pages
+            int scanQueries = Math.max(200, queries / (count / 1_000));
+            long scanRange = time(() -> {
+                for (int q = 0; q < scanQueries; q++) {
+                    scanRange(boxes, points[q][0], points[q][1], points[q][0] + 40, points[q][1] + 20);
+                }
+            });
+            long indexNearest = time(() -> {
+                for (float[] p : points) {
+                    built.nearest(p[0], p[1]);
+                }
+            });
+            long indexAbove = time(() -> {
+                for (int q = 0; q < queries; q++) {
+                    built.nearestAbove(q % count, 2f);
+                }
+            });
+
+            int mismatches = 0;
+            for (int q = 0; q < 500; q++) {
+                float x = points[q][0], y = points[q][1];
+                int[] hits = {0};
+                built.search(x, y, x + 40, y + 20, box -> hits[0]++);
+                if (hits[0] != scanRange(boxes, x, y, x + 40, y + 20)) mismatches++;
+                if (distance(boxes, built.nearest(x, y), x, y) != distance(boxes, scanNearest(boxes, x, y), x, y)) mismatches++;
+                if (built.nearestAbove(q, 2f) != scanAbove(boxes, q, 2f)) mismatches++;
+            }
+
+            System.out.printf("%6d items : build %7.3f ms | range %5.0f ns vs scan %8.0f ns | nearest %5.0f ns"
+                            + " | above %5.0f ns | %d mismatches%n",
+                    count, buildNs / 1e6, indexRange / (double) queries, scanRange / (double) scanQueries,
+                    indexNearest / (double) queries, indexAbove / (double) queries, mismatches);
+        }
+    }
+
+    private static long time(Runnable runnable) {
+        runnable.run(); // Warm-up
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    private static int scanRange(float[][] b, float left, float top, float right, float bottom) {
+        int hits = 0;
+        for (int i = 0; i < b[0].length; i++) {
+            if (b[0][i] <= right && b[2][i] >= left && b[1][i] <= bottom && b[3][i] >= top) hits++;
+        }
+        return hits;
+    }
+
+    private static int scanNearest(float[][] b, float x, float y) {
+        int best = -1;
+        float bestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < b[0].length; i++) {
+            float d = distance(b, i, x, y);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int scanAbove(float[][] b, int box, float tolerance) {
+        int best = -1;
+        for (int i = 0; i < b[0].length; i++) {
+            if (i == box || b[3][i] > b[3][box] - tolerance || b[2][i] < b[0][box] || b[0][i] > b[2][box]) continue;
+            if (best < 0 || b[3][i] > b[3][best] || (b[3][i] == b[3][best] && i < best)) best = i;
+        }
+        return best;
+    }
+
+    private static float distance(float[][] b, int i, float x, float y) {
+        float dx = Math.max(0, Math.max(b[0][i] - x, x - b[2][i]));
+        float dy = Math.max(0, Math.max(b[1][i] - y, y - b[3][i]));
+        return dx * dx + dy * dy;
+    }
+
+    private static float[][] boxes(List<ResumeTextItemEntity> items) {
+        float[][] b = new float[4][items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            ResumeTextItemEntity item = items.get(i);
+            b[0][i] = item.getX();
+            b[1][i] = item.getY() - item.getHeight();
+            b[2][i] = item.getX() + item.getWidth();
+            b[3][i] = item.getY();
+        }
+        return b;
+    }
+
+    private static List<ResumeTextItemEntity> page(int count, Random random) {
+        List<ResumeTextItemEntity> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * (PAGE_WIDTH - 60);
+            float y = 10 + random.nextFloat() * (PAGE_HEIGHT - 10);
+            items.add(new ResumeTextItemEntity("w", x, y, 10 + random.nextFloat() * 50, 8, "Helvetica", 10, false));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,83 @@
+package fr.eql.ai116.duflot.backend.benchmark;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.service.impl.PositionalTextStripperImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Step 1 on a generated two-page resume: a new stripper per document collecting the plain text
+ * too (previous behaviour), against a new stripper writing to a null writer. Both must return the
+ * same items.
+ */
+public class TextStripperBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        try (PDDocument document = resume()) {
+            int runs = 2_000;
+            List<ResumeTextItemEntity> before = null, after = null;
+            long withText = 0, nullWriter = 0;
+            for (int warmUp = 0; warmUp < 2; warmUp++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    PositionalTextStripperImpl stripper = new PositionalTextStripperImpl();
+                    stripper.getText(document);
+                    before = stripper.getTextItems();
+                }
+                withText = (System.nanoTime() - start) / runs;
+
+                start = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    PositionalTextStripperImpl stripper = new PositionalTextStripperImpl();
+                    stripper.writeText(document, Writer.nullWriter());
+                    after = stripper.getTextItems();
+                }
+                nullWriter = (System.nanoTime() - start) / runs;
+            }
+            System.out.printf("getText     : %6.1f µs/document%n", withText / 1e3);
+            System.out.printf("null writer : %6.1f µs/document%n", nullWriter / 1e3);
+            System.out.printf("%d items, %s%n", after.size(), same(before, after) ? "identical" : "DIFFERENT");
+        }
+    }
+
+    private static boolean same(List<ResumeTextItemEntity> a, List<ResumeTextItemEntity> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).toString().equals(b.get(i).toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static PDDocument resume() throws IOException {
+        PDDocument document = new PDDocument();
+        PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        for (int page = 0; page < 2; page++) {
+            PDPage pdPage = new PDPage();
+            document.addPage(pdPage);
+            try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                content.beginText();
+                content.newLineAtOffset(50, 750);
+                for (int line = 0; line < 45; line++) {
+                    boolean title = line % 9 == 0;
+                    content.setFont(title ? bold : regular, title ? 14 : 10);
+                    content.newLineAtOffset(0, -15);
+                    content.showText(title ? "EXPERIENCE PROFESSIONNELLE" : "- Conception d'API REST Spring Boot, ligne " + line);
+                }
+                content.endText();
+            }
+        }
+        return document;
+    }
+}
@@ -0,0 +1,134 @@
+package fr.eql.ai116.duflot.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.job.ParseJobScheduler;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import fr.eql.ai116.duflot.backend.service.impl.InMemoryIdempotencyStore;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyKeyInterceptorTest {
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(60, 10);
+
+    // What the interceptor wrote to the response
+    private final Map<String, Object> written = new HashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @Test
+    void replayAnswersWithoutReadingTheUpload() throws Exception {
+        store.reserve(ResumeController.storedIdempotencyKey("ip:10.0.0.1", "retry-1"), "job-1");
+
+        assertFalse(interceptor().preHandle(request("POST", "retry-1", "10.0.0.1"), response(), null));
+        assertEquals(202, written.get("status"));
+        assertEquals("true", written.get(ResumeController.IDEMPOTENT_REPLAYED));
+        Map<?, ?> replay = new ObjectMapper().readValue(body.toByteArray(), Map.class);
+        assertEquals("job-1", replay.get("jobId"));
+        assertEquals(Status.SUCCESS.name(), replay.get("status"));
+    }
+
+    @Test
+    void firstAttemptGoesThrough() throws Exception {
+        IdempotencyKeyInterceptor interceptor = interceptor();
+        assertTrue(interceptor.preHandle(request("POST", "retry-1", "10.0.0.1"), response(), null));
+
+        // Keys are scoped to their client, and requests without a usable key are left to the controller
+        store.reserve(ResumeController.storedIdempotencyKey("ip:10.0.0.1", "retry-1"), "job-1");
+        assertTrue(interceptor.preHandle(request("POST", "retry-1", "10.0.0.2"), response(), null));
+        assertTrue(interceptor.preHandle(request("POST", " ", "10.0.0.1"), response(), null));
+        assertTrue(interceptor.preHandle(request("POST", null, "10.0.0.1"), response(), null));
+        assertTrue(interceptor.preHandle(request("GET", "retry-1", "10.0.0.1"), response(), null));
+        assertTrue(written.isEmpty());
+    }
+
+    private IdempotencyKeyInterceptor interceptor() {
+        ParseJobScheduler scheduler = new ParseJobScheduler();
+        ReflectionTestUtils.setField(scheduler, "resumePersistenceService", new ResumePersistenceService() {
+            @Override
+            public boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean enqueueReplacement(String jobId, ResumeDTO resume) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Map<String, String> findJobsByDocumentHash(String documentHash) {
+                return Map.of();
+            }
+
+            @Override
+            public Optional<Status> findStatus(String jobId) {
+                return Optional.of(Status.SUCCESS);
+            }
+
+            @Override
+            public int getPendingCount() {
+                return 0;
+            }
+        });
+
+        IdempotencyKeyInterceptor interceptor = new IdempotencyKeyInterceptor();
+        ReflectionTestUtils.setField(interceptor, "idempotencyStore", store);
+        ReflectionTestUtils.setField(interceptor, "parseJobScheduler", scheduler);
+        ReflectionTestUtils.setField(interceptor, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(interceptor, "clientIdResolver", new ClientIdResolver(""));
+        return interceptor;
+    }
+
+    // Headers and the remote address only: the body, parts and parameters all hold the upload
+    private static HttpServletRequest request(String httpMethod, String idempotencyKey, String remoteAddr) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> httpMethod;
+                    case "getHeader" -> ResumeController.IDEMPOTENCY_KEY.equals(args[0]) ? idempotencyKey : null;
+                    case "getRemoteAddr" -> remoteAddr;
+                    case "getUserPrincipal" -> null;
+                    default -> throw new AssertionError("upload read through " + method.getName());
+                });
+    }
+
+    private HttpServletResponse response() {
+        return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "setStatus" -> written.put("status", args[0]);
+                    case "setHeader" -> written.put((String) args[0], args[1]);
+                    case "setContentType" -> written.put("contentType", args[0]);
+                    case "getOutputStream" -> new ServletOutputStream() {
+                        @Override
+                        public void write(int b) {
+                            body.write(b);
+                        }
+
+                        @Override
+                        public boolean isReady() {
+                            return true;
+                        }
+
+                        @Override
+                        public void setWriteListener(WriteListener writeListener) {
+                        }
+                    };
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
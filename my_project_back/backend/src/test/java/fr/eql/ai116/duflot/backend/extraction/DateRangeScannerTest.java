@@ -0,0 +1,84 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateRangeScannerTest {
+
+    @Test
+    void findsMonthRangesInFrenchAndEnglish() {
+        assertRange("03/2019 - 12/2020", YearMonth.of(2019, 3), YearMonth.of(2020, 12));
+        assertRange("3.2019 – 1.2020", YearMonth.of(2019, 3), YearMonth.of(2020, 1));
+        assertRange("Sept 2019 to May 2021", YearMonth.of(2019, 9), YearMonth.of(2021, 5));
+        assertRange("févr. 2018 au déc. 2019", YearMonth.of(2018, 2), YearMonth.of(2019, 12));
+        // "mar" starts both "mars" and "march", the same month
+        assertRange("MAR 2019 à MAI 2020", YearMonth.of(2019, 3), YearMonth.of(2020, 5));
+
+        DateRange range = DateRangeScanner.find("Développeur Java, Acme, janv. 2021 — juin 2023, Paris");
+        assertEquals("janv. 2021 — juin 2023", range.getText());
+        assertTrue(range.isMonthPrecision());
+        assertEquals(30, range.getDurationMonths(YearMonth.of(2025, 1)));
+    }
+
+    @Test
+    void findsRangesStillRunning() {
+        DateRange range = DateRangeScanner.find("janv. 2021 – aujourd'hui");
+        assertEquals(YearMonth.of(2021, 1), range.getStart());
+        assertNull(range.getEnd());
+        assertTrue(range.isCurrent());
+        assertEquals("janv. 2021 – aujourd'hui", range.getText());
+        assertEquals(12, range.getDurationMonths(YearMonth.of(2021, 12)));
+
+        assertRange("2018–Present", YearMonth.of(2018, 1), null);
+        assertRange("Sept 2019 - en cours", YearMonth.of(2019, 9), null);
+        assertRange("depuis 2020", YearMonth.of(2020, 1), null);
+        assertRange("Since March 2019", YearMonth.of(2019, 3), null);
+    }
+
+    @Test
+    void bareYearsCoverWholeYears() {
+        DateRange range = DateRangeScanner.find("Licence informatique 2015 - 2017");
+        assertEquals(YearMonth.of(2015, 1), range.getStart());
+        assertEquals(YearMonth.of(2017, 12), range.getEnd());
+        assertFalse(range.isMonthPrecision());
+        assertEquals("2015 - 2017", range.getText());
+    }
+
+    @Test
+    void monthOnlyStartTakesTheEndYear() {
+        assertRange("mars – juin 2022", YearMonth.of(2022, 3), YearMonth.of(2022, 6));
+        // Wraps into the previous year
+        assertRange("nov. – févr. 2020", YearMonth.of(2019, 11), YearMonth.of(2020, 2));
+        // Without a month at the end there is nothing to anchor the start
+        assertNull(DateRangeScanner.find("mars - 2022"));
+        assertNull(DateRangeScanner.find("mars - aujourd'hui"));
+    }
+
+    @Test
+    void rejectsAmbiguousPrefixesAndNonDates() {
+        // "jui" could be juin or juillet
+        assertNull(DateRangeScanner.find("jui – déc. 2020"));
+        // Too short to be a month
+        assertNull(DateRangeScanner.find("ja 2019 - fe 2020"));
+        // Outside the accepted years, longer numbers, a year glued to letters
+        assertNull(DateRangeScanner.find("1900 - 1920"));
+        assertNull(DateRangeScanner.find("12019 - 2020"));
+        assertNull(DateRangeScanner.find("2019abc - 2020"));
+        // A single date, an end before its start
+        assertNull(DateRangeScanner.find("Paris 2019"));
+        assertNull(DateRangeScanner.find("2020 - 2018"));
+        assertFalse(DateRangeScanner.containsRange("Java, Spring Boot, PostgreSQL"));
+    }
+
+    private static void assertRange(String text, YearMonth start, YearMonth end) {
+        DateRange range = DateRangeScanner.find(text);
+        assertEquals(start, range != null ? range.getStart() : null, text);
+        assertEquals(end, range.getEnd(), text);
+    }
+}
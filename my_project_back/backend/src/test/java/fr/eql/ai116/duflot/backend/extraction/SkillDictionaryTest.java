@@ -0,0 +1,65 @@
+package fr.eql.ai116.duflot.backend.extraction;
+
+import fr.eql.ai116.duflot.backend.extraction.SkillDictionary.Entry;
+import fr.eql.ai116.duflot.backend.extraction.SkillDictionary.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillDictionaryTest {
+
+    @Test
+    void commonWordNamesOnlyMatchAsAWholeItem() throws IOException {
+        SkillDictionary dictionary = bundled();
+        assertEquals(List.of("Go"), names(dictionary, "Go"));
+        assertEquals(List.of("Go"), names(dictionary, "go"));
+        assertEquals(List.of("C"), names(dictionary, "C"));
+        assertEquals(List.of("R"), names(dictionary, " R "));
+
+        assertEquals(List.of(), names(dictionary, "Let us go live with the new release"));
+        assertEquals(List.of(), names(dictionary, "C'est un poste en R&D"));
+        assertEquals(List.of(), names(dictionary, "Go to market, plan C"));
+    }
+
+    @Test
+    void otherSpellingsMatchAnywhere() throws IOException {
+        SkillDictionary dictionary = bundled();
+        assertEquals(List.of("Go", "C"), names(dictionary, "Développement en Golang et en langage C"));
+        assertEquals(List.of("Java", "C++", "Spring Boot"), names(dictionary, "Java 17, C++ et Spring Boot"));
+    }
+
+    @Test
+    void exactOnlyAliasOfTheNameIgnoresCase() {
+        // The name "Go" and its alias "=go" are the same spelling: only the exact one is kept
+        SkillDictionary dictionary = SkillDictionary.compile(List.of(
+                new Entry(Kind.HARD, "Go", List.of("=go", "golang"))));
+        assertEquals(List.of(), names(dictionary, "ready to go"));
+        assertEquals(List.of("Go"), names(dictionary, "GO"));
+        assertEquals(List.of("Go"), names(dictionary, "backend golang"));
+    }
+
+    @Test
+    void plainSpellingWinsOverAnExactOnlyOne() {
+        SkillDictionary dictionary = SkillDictionary.compile(List.of(
+                new Entry(Kind.HARD, "Express", List.of("=express")),
+                new Entry(Kind.SOFT, "Express delivery", List.of("express"))));
+        assertEquals(List.of("Express delivery"), names(dictionary, "express"));
+    }
+
+    private static SkillDictionary bundled() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                SkillDictionaryTest.class.getResourceAsStream("/skills/skills-dictionary.txt"), StandardCharsets.UTF_8)) {
+            return SkillDictionary.parse(reader);
+        }
+    }
+
+    private static List<String> names(SkillDictionary dictionary, String text) {
+        return dictionary.findAll(text).stream().map(match -> match.getEntry().getName()).toList();
+    }
+}
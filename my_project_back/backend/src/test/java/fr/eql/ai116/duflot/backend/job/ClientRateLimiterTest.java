@@ -0,0 +1,77 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    // Advanced by the tests, an arbitrary start like System.nanoTime()
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void admitsABurstThenOneJobPerInterval() {
+        ClientRateLimiter limiter = limiter(60, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, limiter.tryAcquire("ip:10.0.0.1"));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("ip:10.0.0.1"));
+        // Other clients have their own bucket
+        assertEquals(0L, limiter.tryAcquire("ip:10.0.0.2"));
+    }
+
+    @Test
+    void refillsAfterTheAnnouncedWait() {
+        // One job every 100 ms
+        ClientRateLimiter limiter = limiter(600, 2);
+        assertEquals(0L, limiter.tryAcquire("key:a"));
+        assertEquals(0L, limiter.tryAcquire("key:a"));
+        long wait = limiter.tryAcquire("key:a");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now.addAndGet(wait - 1);
+        assertEquals(1L, limiter.tryAcquire("key:a"));
+        now.incrementAndGet();
+        assertEquals(0L, limiter.tryAcquire("key:a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("key:a"));
+    }
+
+    @Test
+    void disabledWhenTheRateIsZero() {
+        ClientRateLimiter limiter = limiter(0, 1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0L, limiter.tryAcquire("ip:10.0.0.1"));
+        }
+    }
+
+    @Test
+    void evictsOnlyClientsWithAFullBucket() {
+        ClientRateLimiter limiter = limiter(600, 1);
+        assertEquals(0L, limiter.tryAcquire("key:idle"));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(150));
+        assertEquals(0L, limiter.tryAcquire("key:busy"));
+
+        limiter.evictIdleClients();
+        Map<?, ?> arrivalTimes = (Map<?, ?>) ReflectionTestUtils.getField(limiter, "arrivalTimes");
+        assertFalse(arrivalTimes.containsKey("key:idle"));
+        assertTrue(arrivalTimes.containsKey("key:busy"));
+        // The client still draining keeps its debt
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("key:busy"));
+    }
+
+    private ClientRateLimiter limiter(int jobsPerMinute, int burst) {
+        ClientRateLimiter limiter = new ClientRateLimiter();
+        ReflectionTestUtils.setField(limiter, "jobsPerMinute", jobsPerMinute);
+        ReflectionTestUtils.setField(limiter, "burst", burst);
+        ReflectionTestUtils.setField(limiter, "nanoTime", (LongSupplier) now::get);
+        return limiter;
+    }
+}
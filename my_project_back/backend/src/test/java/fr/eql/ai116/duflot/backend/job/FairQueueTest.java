@@ -0,0 +1,67 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FairQueueTest {
+
+    @Test
+    void servesClientsInTurn() {
+        FairQueue queue = new FairQueue(clientId -> 1);
+        for (int i = 1; i <= 3; i++) {
+            queue.add(job("a" + i, "a"));
+        }
+        queue.add(job("b1", "b"));
+        queue.add(job("c1", "c"));
+
+        // The single jobs of b and c do not wait behind all of a's
+        assertEquals(List.of("a1", "b1", "c1", "a2", "a3"), pollAll(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void weightsGiveSeveralJobsPerTurn() {
+        FairQueue queue = new FairQueue(clientId -> clientId.equals("a") ? 2 : 1);
+        for (int i = 1; i <= 3; i++) {
+            queue.add(job("a" + i, "a"));
+        }
+        queue.add(job("b1", "b"));
+        queue.add(job("b2", "b"));
+
+        assertEquals(List.of("a1", "a2", "b1", "a3", "b2"), pollAll(queue));
+    }
+
+    @Test
+    void countsWaitingJobsPerClient() {
+        FairQueue queue = new FairQueue(clientId -> 1);
+        queue.add(job("a1", "a"));
+        queue.add(job("a2", "a"));
+        queue.add(job("b1", "b"));
+        assertEquals(2, queue.size("a"));
+        assertEquals(3, queue.size());
+
+        assertEquals("a2", queue.remove("a2").getJobId());
+        assertNull(queue.remove("a2"));
+        queue.poll();
+        assertEquals(0, queue.size("a"));
+        assertEquals(1, queue.size());
+    }
+
+    private static List<String> pollAll(FairQueue queue) {
+        List<String> order = new ArrayList<>();
+        for (ParseJob job = queue.poll(); job != null; job = queue.poll()) {
+            order.add(job.getJobId());
+        }
+        return order;
+    }
+
+    private static ParseJob job(String jobId, String clientId) {
+        return new ParseJob(jobId, clientId, Path.of(jobId + ".pdf"), jobId + ".pdf", 1024, 1, false, JobLane.SMALL);
+    }
+}
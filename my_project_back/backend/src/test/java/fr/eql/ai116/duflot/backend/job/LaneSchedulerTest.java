@@ -0,0 +1,62 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaneSchedulerTest {
+
+    @Test
+    void workersSurviveErrorsOfAJob() throws InterruptedException {
+        List<String> done = new CopyOnWriteArrayList<>();
+        CountDownLatch goodJobs = new CountDownLatch(2);
+        LaneScheduler scheduler = new LaneScheduler(1, 1, 0, 10, 10, clientId -> 1, job -> {
+            if (job.getJobId().startsWith("bad")) {
+                throw new StackOverflowError();
+            }
+            done.add(job.getJobId());
+            goodJobs.countDown();
+        }, "test-");
+        // One client, so the failing jobs come first: more of them than workers
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit(job("bad" + i, "a", JobLane.SMALL));
+        }
+        scheduler.submit(job("good-small", "a", JobLane.SMALL));
+        scheduler.submit(job("good-large", "a", JobLane.LARGE));
+        scheduler.start();
+        try {
+            assertTrue(goodJobs.await(5, TimeUnit.SECONDS), "jobs left after the errors: " + done);
+            assertEquals(2, done.size());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void capsWaitingJobsPerClient() {
+        // Never started: the jobs stay queued
+        LaneScheduler scheduler = new LaneScheduler(1, 1, 0, 100, 2, clientId -> 1, job -> { }, "test-");
+        scheduler.submit(job("a1", "a", JobLane.SMALL));
+        scheduler.submit(job("a2", "a", JobLane.SMALL));
+        JobRejectedException rejected = assertThrows(JobRejectedException.class,
+                () -> scheduler.submit(job("a3", "a", JobLane.SMALL)));
+        assertEquals(JobRejectedException.Reason.CLIENT_QUEUE_FULL, rejected.getReason());
+        // Other clients are not held back, and a freed slot can be used again
+        scheduler.submit(job("b1", "b", JobLane.SMALL));
+        scheduler.remove("a1");
+        scheduler.submit(job("a3", "a", JobLane.SMALL));
+        assertEquals(3, scheduler.getQueuedJobs(JobLane.SMALL));
+    }
+
+    static ParseJob job(String jobId, String clientId, JobLane lane) {
+        return new ParseJob(jobId, clientId, Path.of(jobId + ".pdf"), jobId + ".pdf", 1024, 1, false, lane);
+    }
+}
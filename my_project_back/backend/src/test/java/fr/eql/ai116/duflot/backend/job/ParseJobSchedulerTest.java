@@ -0,0 +1,103 @@
+package fr.eql.ai116.duflot.backend.job;
+
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import fr.eql.ai116.duflot.backend.service.impl.InProcessJobEventBus;
+import fr.eql.ai116.duflot.backend.util.SseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseJobSchedulerTest {
+
+    private final RecordingPersistence persistence = new RecordingPersistence();
+
+    @Test
+    void cancelledQueuedJobReportsCancelled() throws IOException {
+        ParseJobScheduler scheduler = scheduler();
+        ParseJob job = scheduler.submit("job-1", "ip:10.0.0.1", upload(), false, ParseMode.PROFILE);
+        assertEquals("QUEUED", scheduler.getStatus("job-1"));
+
+        assertTrue(scheduler.cancel("job-1", "ip:10.0.0.1", "Cancelled by the client."));
+        assertEquals("CANCELLED", scheduler.getStatus("job-1"));
+        assertFalse(Files.exists(job.getFile()));
+    }
+
+    @Test
+    void jobDroppedAtShutdownReportsFailure() throws IOException {
+        ParseJobScheduler scheduler = scheduler();
+        scheduler.submit("job-2", "ip:10.0.0.1", upload(), false, ParseMode.PROFILE);
+
+        // No worker ever takes it, the drain gives up at once
+        scheduler.drain();
+        assertEquals(Status.FAILURE.name(), scheduler.getStatus("job-2"));
+        assertEquals("ACCEPTED", scheduler.getStatus("job-unknown"));
+    }
+
+    private ParseJobScheduler scheduler() {
+        SseService sseService = new SseService();
+        ReflectionTestUtils.setField(sseService, "jobEventBus", new InProcessJobEventBus());
+        ClientRateLimiter rateLimiter = new ClientRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "jobsPerMinute", 0);
+
+        ParseJobScheduler scheduler = new ParseJobScheduler();
+        ReflectionTestUtils.setField(scheduler, "sseService", sseService);
+        ReflectionTestUtils.setField(scheduler, "clientRateLimiter", rateLimiter);
+        ReflectionTestUtils.setField(scheduler, "parsingMetrics", new ParsingMetrics());
+        ReflectionTestUtils.setField(scheduler, "resumePersistenceService", persistence);
+        ReflectionTestUtils.setField(scheduler, "maxQueuedPerClient", 10);
+        // Lanes that are never started, so jobs stay queued
+        ReflectionTestUtils.setField(scheduler, "lanes",
+                new LaneScheduler(1, 1, 0, 10, 10, clientId -> 1, job -> { }, "test-"));
+        return scheduler;
+    }
+
+    private static MockMultipartFile upload() {
+        return new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[]{'%', 'P', 'D', 'F'});
+    }
+
+    // Writes land at once, as if flushed
+    private static final class RecordingPersistence implements ResumePersistenceService {
+
+        private final Map<String, Status> statuses = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume) {
+            statuses.put(traceData.getJobId(), traceData.getOverallStatus());
+            return true;
+        }
+
+        @Override
+        public boolean enqueueReplacement(String jobId, ResumeDTO resume) {
+            return true;
+        }
+
+        @Override
+        public Map<String, String> findJobsByDocumentHash(String documentHash) {
+            return Map.of();
+        }
+
+        @Override
+        public Optional<Status> findStatus(String jobId) {
+            return Optional.ofNullable(statuses.get(jobId));
+        }
+
+        @Override
+        public int getPendingCount() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RunningTextFilterTest {
+
+    private final RunningTextFilter filter = new RunningTextFilter();
+
+    @Test
+    void keepsTheFirstOccurrenceOfARepeatedHeader() {
+        List<List<ResumeTextItemEntity>> pages = List.of(
+                page("Jean Dupont - jean@exemple.fr - 06 12 34 56 78", "EXPÉRIENCE", null),
+                page("Jean Dupont - jean@exemple.fr - 06 12 34 56 78", "FORMATION", null));
+
+        List<List<ResumeTextItemEntity>> filtered = filter.filter(pages);
+        // The first page, read by profile extraction, is left whole
+        assertEquals(pages.get(0), filtered.get(0));
+        assertEquals(List.of("Jean Dupont - jean@exemple.fr - 06 12 34 56 78", "EXPÉRIENCE", "body 1", "body 2"),
+                texts(filtered.get(0)));
+        assertEquals(List.of("FORMATION", "body 1", "body 2"), texts(filtered.get(1)));
+    }
+
+    @Test
+    void foldsPageNumbersAndCounts() {
+        List<List<ResumeTextItemEntity>> pages = List.of(
+                page(null, "PROFIL", "Page 1 / 3"),
+                page(null, "EXPÉRIENCE", "Page 2 / 3"),
+                page(null, "FORMATION", "Page 3 / 3"));
+
+        List<List<ResumeTextItemEntity>> filtered = filter.filter(pages);
+        assertEquals(List.of("PROFIL", "body 1", "body 2", "Page 1 / 3"), texts(filtered.get(0)));
+        assertEquals(List.of("EXPÉRIENCE", "body 1", "body 2"), texts(filtered.get(1)));
+        assertEquals(List.of("FORMATION", "body 1", "body 2"), texts(filtered.get(2)));
+    }
+
+    @Test
+    void keepsLinesThatOnlyDifferByOtherNumbers() {
+        List<List<ResumeTextItemEntity>> pages = List.of(
+                page("Projet 2019", "EXPÉRIENCE", "Réf. 2021-001"),
+                page("Projet 2020", "FORMATION", "Réf. 2022-002"));
+
+        assertSame(pages, filter.filter(pages));
+    }
+
+    @Test
+    void leavesSinglePagesAlone() {
+        List<List<ResumeTextItemEntity>> pages = List.of(page("Jean Dupont", "PROFIL", "Page 1 / 1"));
+        assertSame(pages, filter.filter(pages));
+    }
+
+    // A header at the top, a title and two body lines, a footer at the bottom
+    private static List<ResumeTextItemEntity> page(String header, String title, String footer) {
+        List<ResumeTextItemEntity> items = new ArrayList<>();
+        if (header != null) {
+            items.add(item(header, 40f));
+        }
+        items.add(item(title, 200f));
+        items.add(item("body 1", 400f));
+        items.add(item("body 2", 600f));
+        if (footer != null) {
+            items.add(item(footer, 800f));
+        }
+        // The bands are relative to the text of the page, pin them with the same extent everywhere
+        items.add(item("·", 30f));
+        items.add(item("·", 810f));
+        return items;
+    }
+
+    private static ResumeTextItemEntity item(String text, float y) {
+        return new ResumeTextItemEntity(text, 50f, y, text.length() * 5f, 10f, "Helvetica", 10f, false);
+    }
+
+    private static List<String> texts(List<ResumeTextItemEntity> items) {
+        return items.stream().map(ResumeTextItemEntity::getText).filter(text -> !text.equals("·")).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package fr.eql.ai116.duflot.backend.layout;
+
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpatialIndexTest {
+
+    private static final float PAGE_WIDTH = 595;
+    private static final float PAGE_HEIGHT = 842;
+
+    @Test
+    void nearestAboveMatchesALinearScan() {
+        Random random = new Random(39);
+        for (int layout = 0; layout < 300; layout++) {
+            float[][] boxes = layout(random, 1 + random.nextInt(80), layout % 3);
+            if (layout % 2 == 0) {
+                boxes = onCellBoundaries(boxes, random);
+            }
+            assertSameAsScan(SpatialIndex.of(boxes[0], boxes[1], boxes[2], boxes[3]), boxes, "layout " + layout);
+        }
+    }
+
+    @Test
+    void nearestAboveIsThePreviousLineOfASingleColumn() {
+        // What calculateLineProperties used before the index: the previous line in list order
+        Random random = new Random(40);
+        for (int page = 0; page < 50; page++) {
+            List<ResumeLineEntity> lines = new ArrayList<>();
+            float y = 40;
+            for (int i = 0; i < 1 + random.nextInt(60); i++) {
+                lines.add(line(50 + random.nextInt(3) * 10, y, 20 + random.nextFloat() * 400));
+                y += 3 + random.nextFloat() * 30;
+            }
+            SpatialIndex index = SpatialIndex.ofLines(lines);
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals(i - 1, index.nearestAbove(i, 2f), "page " + page + ", line " + i);
+            }
+        }
+    }
+
+    private static void assertSameAsScan(SpatialIndex index, float[][] boxes, String layout) {
+        for (float tolerance : new float[]{0f, 2f}) {
+            for (int box = 0; box < index.size(); box++) {
+                assertEquals(scanAbove(boxes, box, tolerance), index.nearestAbove(box, tolerance),
+                        layout + ", box " + box + ", tolerance " + tolerance);
+            }
+        }
+    }
+
+    private static int scanAbove(float[][] b, int box, float tolerance) {
+        int best = -1;
+        for (int i = 0; i < b[0].length; i++) {
+            if (i == box || b[3][i] > b[3][box] - tolerance || b[2][i] < b[0][box] || b[0][i] > b[2][box]) {
+                continue;
+            }
+            if (best < 0 || b[3][i] > b[3][best] || (b[3][i] == b[3][best] && i < best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Boxes as {minX, minY, maxX, maxY}: scattered over the page, in two columns, or in two bands
+     * far apart so most cells in between stay empty. Coordinates are on a 5 pt lattice for ties.
+     */
+    private static float[][] layout(Random random, int count, int kind) {
+        float[][] b = new float[4][count];
+        for (int i = 0; i < count; i++) {
+            float x;
+            float y;
+            float width = 5 * random.nextInt(12);
+            if (kind == 1) {
+                x = random.nextBoolean() ? 40 : 320;
+                width = 5 + 5 * random.nextInt(50);
+                y = 20 + 5 * random.nextInt(160);
+            } else if (kind == 2) {
+                x = 5 * random.nextInt(100);
+                y = random.nextBoolean() ? 20 + 5 * random.nextInt(8) : PAGE_HEIGHT - 5 * random.nextInt(8);
+            } else {
+                x = 5 * random.nextInt(100);
+                y = 20 + 5 * random.nextInt(160);
+            }
+            b[0][i] = x;
+            b[1][i] = y - 5 * random.nextInt(3);
+            b[2][i] = Math.min(PAGE_WIDTH, x + width);
+            b[3][i] = y;
+        }
+        return b;
+    }
+
+    /**
+     * Moves about half of the boxes so an edge or the baseline falls exactly on a cell boundary.
+     * The extreme boxes stay, and so does every size: the grid is the same as before the move.
+     */
+    private static float[][] onCellBoundaries(float[][] b, Random random) {
+        SpatialIndex probe = SpatialIndex.of(b[0], b[1], b[2], b[3]);
+        float originX = (float) ReflectionTestUtils.getField(probe, "originX");
+        float originY = (float) ReflectionTestUtils.getField(probe, "originY");
+        float cellWidth = (float) ReflectionTestUtils.getField(probe, "cellWidth");
+        float cellHeight = (float) ReflectionTestUtils.getField(probe, "cellHeight");
+        int columns = (int) ReflectionTestUtils.getField(probe, "columns");
+        int rows = (int) ReflectionTestUtils.getField(probe, "rows");
+        float left = min(b[0]), top = min(b[1]), right = max(b[2]), bottom = max(b[3]);
+
+        float[][] moved = {b[0].clone(), b[1].clone(), b[2].clone(), b[3].clone()};
+        for (int i = 0; i < b[0].length; i++) {
+            boolean extreme = b[0][i] == left || b[1][i] == top || b[2][i] == right || b[3][i] == bottom;
+            if (extreme || random.nextBoolean()) {
+                continue;
+            }
+            float width = b[2][i] - b[0][i];
+            float height = b[3][i] - b[1][i];
+            float edgeX = originX + random.nextInt(columns) * cellWidth;
+            float edgeY = originY + (1 + random.nextInt(rows)) * cellHeight;
+            // The left edge on the boundary, or the right one when the box would leave the page
+            float minX = random.nextBoolean() && edgeX + width <= right ? edgeX : edgeX - width;
+            float maxY = edgeY - height >= top && edgeY <= bottom ? edgeY : b[3][i];
+            if (minX < left) {
+                continue;
+            }
+            moved[0][i] = minX;
+            moved[2][i] = minX + width;
+            moved[1][i] = maxY - height;
+            moved[3][i] = maxY;
+        }
+        SpatialIndex index = SpatialIndex.of(moved[0], moved[1], moved[2], moved[3]);
+        assertEquals(cellWidth, (float) ReflectionTestUtils.getField(index, "cellWidth"));
+        assertEquals(cellHeight, (float) ReflectionTestUtils.getField(index, "cellHeight"));
+        return moved;
+    }
+
+    private static float min(float[] values) {
+        float min = Float.MAX_VALUE;
+        for (float value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static float max(float[] values) {
+        float max = -Float.MAX_VALUE;
+        for (float value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private static ResumeLineEntity line(float x, float y, float width) {
+        return new ResumeLineEntity(new ResumeTextItemEntity("line", x, y, width, 10f, "Helvetica", 10f, false));
+    }
+}
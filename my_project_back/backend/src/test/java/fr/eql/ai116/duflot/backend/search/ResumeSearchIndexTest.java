@@ -0,0 +1,124 @@
+package fr.eql.ai116.duflot.backend.search;
+
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeSearchIndexTest {
+
+    private final ResumeSearchIndex index = new ResumeSearchIndex();
+
+    @Test
+    void matchesEveryCriterion() {
+        index.add(document("job-1", "Jean Dupont", "jean@acme.fr", List.of("Java", "Spring Boot"),
+                Map.of(SectionType.EXPERIENCE, "Développeur Java chez Acme", SectionType.SKILLS, "Java, Spring Boot")));
+        index.add(document("job-2", "Marie Curie", "marie@lab.org", List.of("Python"),
+                Map.of(SectionType.EDUCATION, "Doctorat de physique, Java en option")));
+
+        // Accents and case are folded, every term must match
+        assertEquals(List.of("job-1", "job-2"), search("java", null, null, null));
+        assertEquals(List.of("job-1"), search("DEVELOPPEUR java", null, null, null));
+        assertEquals(List.of(), search("developpeur python", null, null, null));
+        assertEquals(List.of("job-2"), search("java", null, SectionType.EDUCATION, null));
+        assertEquals(List.of("job-2"), search(null, null, SectionType.EDUCATION, null));
+        assertEquals(List.of("job-1"), search(null, "spring boot", null, null));
+        assertEquals(List.of("job-2"), search(null, null, null, "LAB.org"));
+        assertEquals(List.of("job-1"), search("dupont", "Java", null, "acme.fr"));
+        // Names are searchable as text
+        assertEquals(List.of("job-2"), search("curie", null, null, null));
+    }
+
+    @Test
+    void ranksByTermFrequencyThenNewestFirst() {
+        index.add(document("once", null, null, List.of(), Map.of(SectionType.SKILLS, "Java")));
+        index.add(document("twice", null, null, List.of(), Map.of(SectionType.SKILLS, "Java Java")));
+        index.add(document("once-newer", null, null, List.of(), Map.of(SectionType.SKILLS, "Java")));
+
+        ResumeSearchIndex.Result result = index.search(query("java", null, null, null), 0, 10);
+        assertEquals(List.of("twice", "once-newer", "once"), jobIds(result));
+        assertEquals(3, result.getTotalHits());
+
+        ResumeSearchIndex.Result page = index.search(query("java", null, null, null), 1, 1);
+        assertEquals(List.of("once-newer"), jobIds(page));
+        assertEquals(3, page.getTotalHits());
+        assertEquals(List.of(), jobIds(index.search(query("java", null, null, null), 5, 10)));
+        // Without criteria every document is listed, newest first
+        assertEquals(List.of("once-newer", "twice", "once"), jobIds(index.search(query(null, null, null, null), 0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> index.search(query("java", null, null, null), -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search(query("java", null, null, null), 0, 0));
+    }
+
+    @Test
+    void replacesAndRemovesDocumentsOfAJob() {
+        index.add(document("job-1", null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        index.add(document("job-2", null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        index.add(document("job-1", null, null, List.of("Kotlin"), Map.of(SectionType.SKILLS, "Kotlin")));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("job-2"), search(null, "Java", null, null));
+        assertEquals(List.of("job-1"), search(null, "Kotlin", null, null));
+
+        index.remove("job-2");
+        index.remove("job-unknown");
+        assertEquals(1, index.size());
+        assertEquals(List.of(), search(null, "Java", null, null));
+        assertEquals(List.of("job-1"), search(null, null, null, null));
+    }
+
+    @Test
+    void compactionKeepsResultsAndOrder() {
+        for (int i = 0; i < 5; i++) {
+            index.add(document("job-" + i, null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        }
+        index.add(document("job-1", null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        index.remove("job-3");
+        List<String> before = search(null, "Java", null, null);
+        assertEquals(List.of("job-1", "job-4", "job-2", "job-0"), before);
+
+        assertEquals(2, index.compact());
+        assertEquals(0, index.compact());
+        assertEquals(before, search(null, "Java", null, null));
+        assertEquals(4, index.size());
+
+        // Documents added afterwards still rank as the newest
+        index.add(document("job-5", null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        index.add(document("job-0", null, null, List.of("Java"), Map.of(SectionType.SKILLS, "Java")));
+        assertEquals(List.of("job-0", "job-5", "job-1", "job-4", "job-2"), search(null, "Java", null, null));
+    }
+
+    @Test
+    void compactsByItselfOnceMostlyDeleted() {
+        index.add(document("kept", null, null, List.of("Java"), Map.of()));
+        for (int i = 0; i < 1100; i++) {
+            index.add(document("replaced", null, null, List.of("Java"), Map.of()));
+        }
+        // Compacted once replaced documents made half of the index, only those added since are left
+        List<?> documents = (List<?>) ReflectionTestUtils.getField(index, "documents");
+        assertTrue(documents.size() < 100, "documents kept: " + documents.size());
+        assertEquals(List.of("replaced", "kept"), search(null, "Java", null, null));
+    }
+
+    private List<String> search(String text, String skill, SectionType section, String emailDomain) {
+        return jobIds(index.search(query(text, skill, section, emailDomain), 0, 10));
+    }
+
+    private static ResumeSearchQuery query(String text, String skill, SectionType section, String emailDomain) {
+        return new ResumeSearchQuery(text, skill, section, emailDomain);
+    }
+
+    private static List<String> jobIds(ResumeSearchIndex.Result result) {
+        return result.getHits().stream().map(hit -> hit.getDocument().getJobId()).toList();
+    }
+
+    private static ResumeSearchDocument document(String jobId, String fullName, String email, List<String> skills,
+                                                 Map<SectionType, String> sections) {
+        return new ResumeSearchDocument(jobId, jobId + ".pdf", fullName, email, skills, sections);
+    }
+}
@@ -0,0 +1,175 @@
+package fr.eql.ai116.duflot.backend.service;
+
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.job.JobLane;
+import fr.eql.ai116.duflot.backend.job.ParseJob;
+import fr.eql.ai116.duflot.backend.metrics.ParsingMetrics;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import fr.eql.ai116.duflot.backend.util.SseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeParsingOrchestratorTest {
+
+    // Outcomes as the persistence service received them, and the last event of each job's stream
+    private final Map<String, Status> persisted = new ConcurrentHashMap<>();
+    private final Set<String> indexed = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> lastEvents = new ConcurrentHashMap<>();
+
+    @Test
+    void errorOfTheParseEndsTheJob() throws IOException {
+        ResumeParsingOrchestrator orchestrator = orchestrator((pdf, trace) -> {
+            throw new StackOverflowError();
+        });
+        ParseJob job = job("job-1", "same content");
+
+        // Rethrown for the worker to log, once the job is settled
+        assertThrows(StackOverflowError.class, () -> orchestrator.parseResume(job));
+        assertEquals(Status.FAILURE, persisted.get("job-1"));
+        assertEquals("parsingError", lastEvents.get("job-1"));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(orchestrator, "sharedParses")).isEmpty(),
+                "a later upload of the document must not join the dead parse");
+    }
+
+    @Test
+    void leaderCancelledWhileAJobWaitsOnItsParse() throws Exception {
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResumeParsingOrchestrator orchestrator = orchestrator((pdf, trace) -> {
+            parsing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ResumeDTO();
+        });
+        ParseJob leader = job("leader", "same content");
+        ParseJob follower = job("follower", "same content");
+
+        Thread worker = new Thread(() -> orchestrator.parseResume(leader));
+        worker.start();
+        assertTrue(parsing.await(5, TimeUnit.SECONDS));
+        // Joins the running parse and returns at once
+        orchestrator.parseResume(follower);
+
+        leader.getCancellation().cancel("Cancelled by the client.");
+        orchestrator.leave(leader);
+        release.countDown();
+        worker.join(5000);
+
+        // The parse went on for the follower only
+        assertEquals("parsingCancelled", lastEvents.get("leader"));
+        assertEquals("parsingComplete", lastEvents.get("follower"));
+        assertEquals(Set.of("follower"), indexed);
+        assertEquals(Status.CANCELLED, persisted.get("leader"));
+        assertEquals(Status.SUCCESS, persisted.get("follower"));
+    }
+
+    interface Parse {
+        ResumeDTO run(File pdf, ParsingTraceDTO trace) throws IOException, InterruptedException;
+    }
+
+    private ResumeParsingOrchestrator orchestrator(Parse parse) {
+        SseService sseService = new SseService();
+        ReflectionTestUtils.setField(sseService, "jobEventBus", new JobEventBus() {
+            @Override
+            public void publish(JobEvent event) {
+                if (event.isLast()) {
+                    lastEvents.put(event.jobId(), event.name());
+                }
+            }
+
+            @Override
+            public void subscribe(Predicate<String> interested, Consumer<JobEvent> listener) {
+            }
+        });
+
+        ResumeParsingOrchestrator orchestrator = new ResumeParsingOrchestrator();
+        ReflectionTestUtils.setField(orchestrator, "sseService", sseService);
+        ReflectionTestUtils.setField(orchestrator, "resumeParsingService", parsingService(parse));
+        ReflectionTestUtils.setField(orchestrator, "resumePersistenceService", new ResumePersistenceService() {
+            @Override
+            public boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume) {
+                persisted.put(traceData.getJobId(), traceData.getOverallStatus());
+                return true;
+            }
+
+            @Override
+            public boolean enqueueReplacement(String jobId, ResumeDTO resume) {
+                return true;
+            }
+
+            @Override
+            public Map<String, String> findJobsByDocumentHash(String documentHash) {
+                return Map.of();
+            }
+
+            @Override
+            public Optional<Status> findStatus(String jobId) {
+                return Optional.ofNullable(persisted.get(jobId));
+            }
+
+            @Override
+            public int getPendingCount() {
+                return 0;
+            }
+        });
+        ReflectionTestUtils.setField(orchestrator, "resumeSearchService", new ResumeSearchService() {
+            @Override
+            public void index(String jobId, ResumeDTO resume) {
+                indexed.add(jobId);
+            }
+
+            @Override
+            public SearchResultPageDTO search(ResumeSearchQuery query, int page, int size) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void compact() {
+            }
+        });
+        ReflectionTestUtils.setField(orchestrator, "parsingMetrics", new ParsingMetrics());
+        ReflectionTestUtils.setField(orchestrator, "sectionExplanationCache", new SectionExplanationCache(10));
+        ReflectionTestUtils.setField(orchestrator, "traceLevel", TraceLevel.SUMMARY);
+        ReflectionTestUtils.setField(orchestrator, "coalesce", true);
+        return orchestrator;
+    }
+
+    // Only the full parse is called by these jobs
+    private static ResumeParsingService parsingService(Parse parse) {
+        return (ResumeParsingService) Proxy.newProxyInstance(ResumeParsingService.class.getClassLoader(),
+                new Class<?>[]{ResumeParsingService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("parseResume")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return parse.run((File) args[0], (ParsingTraceDTO) args[1]);
+                });
+    }
+
+    // Jobs with the same content share a document hash
+    private static ParseJob job(String jobId, String content) throws IOException {
+        Path file = Files.createTempFile("orchestrator_test_", ".pdf");
+        Files.writeString(file, content);
+        return new ParseJob(jobId, "ip:10.0.0.1", file, jobId + ".pdf", content.length(), 1, false, JobLane.SMALL);
+    }
+}
@@ -0,0 +1,70 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryIdempotencyStoreTest {
+
+    // Advanced by the tests, an arbitrary start like System.nanoTime()
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void repeatedKeyReplaysTheFirstJob() {
+        InMemoryIdempotencyStore store = store(60, 10);
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-1"));
+        assertEquals(Optional.of("job-1"), store.reserve("key-1", "job-2"));
+        assertEquals(Optional.of("job-1"), store.find("key-1"));
+        assertEquals(Optional.empty(), store.find("key-2"));
+    }
+
+    @Test
+    void releasesOnlyTheJobHoldingTheKey() {
+        InMemoryIdempotencyStore store = store(60, 10);
+        store.reserve("key-1", "job-1");
+
+        // A job that lost the reservation cannot free the winner's key
+        store.release("key-1", "job-2");
+        assertEquals(Optional.of("job-1"), store.find("key-1"));
+
+        store.release("key-1", "job-1");
+        assertEquals(Optional.empty(), store.find("key-1"));
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-3"));
+    }
+
+    @Test
+    void keysExpireAfterTheirTtl() {
+        InMemoryIdempotencyStore store = store(60, 10);
+        store.reserve("key-1", "job-1");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60) - 1);
+        assertEquals(Optional.of("job-1"), store.find("key-1"));
+        now.incrementAndGet();
+        assertEquals(Optional.empty(), store.find("key-1"));
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-2"));
+    }
+
+    @Test
+    void dropsTheOldestKeyBeyondMaxEntries() {
+        InMemoryIdempotencyStore store = store(60, 2);
+        store.reserve("key-1", "job-1");
+        store.reserve("key-2", "job-2");
+        store.reserve("key-3", "job-3");
+
+        assertEquals(Optional.empty(), store.find("key-1"));
+        assertEquals(Optional.of("job-2"), store.find("key-2"));
+        assertEquals(Optional.of("job-3"), store.find("key-3"));
+    }
+
+    private InMemoryIdempotencyStore store(long ttlSeconds, int maxEntries) {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(ttlSeconds, maxEntries);
+        ReflectionTestUtils.setField(store, "nanoTime", (LongSupplier) now::get);
+        return store;
+    }
+}
@@ -0,0 +1,118 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.entity.HardSkillEntity;
+import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeLineEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeSectionEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeTextItemEntity;
+import fr.eql.ai116.duflot.backend.entity.SectionType;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeSearchResultDTO;
+import fr.eql.ai116.duflot.backend.repository.ResumeRepository;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchDocument;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryResumeSearchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void indexesTheExtractedSkills() {
+        InMemoryResumeSearchService service = service(List.of());
+        service.index("job-1", resume("Jean", "Langages : Java, Python"));
+
+        assertEquals(List.of("job-1"), jobIds(service, null, "Python"));
+        // The group label is not a skill, it is still text of the section
+        assertEquals(List.of(), jobIds(service, null, "Langages : Java"));
+        assertEquals(List.of("job-1"), jobIds(service, "langages", null));
+    }
+
+    @Test
+    void rebuildsFromPersistedResumes() throws Exception {
+        List<ResumeEntity> rows = new ArrayList<>();
+        rows.add(stored("job-1", Status.SUCCESS, resume("Jean", "Langages : Java, Python")));
+        rows.add(stored("job-2", Status.SUCCESS, resume("Marie", "Langages : Python")));
+        // Only successful jobs have a resume, a broken row is skipped
+        rows.add(stored("job-3", Status.FAILURE, null));
+        ResumeEntity broken = stored("job-4", Status.SUCCESS, resume("Paul", "Python"));
+        broken.setResultJson("{not json");
+        rows.add(broken);
+
+        InMemoryResumeSearchService service = service(rows);
+        service.rebuild();
+
+        assertEquals(List.of("job-2", "job-1"), jobIds(service, null, "Python"));
+        assertEquals(List.of("job-1"), jobIds(service, "java", null));
+        ResumeSearchResultDTO hit = service.search(new ResumeSearchQuery("marie", null, null, null), 0, 10).getResults().get(0);
+        assertEquals("job-2.pdf", hit.getFileName());
+        assertEquals("Marie Dupont", hit.getFullName());
+    }
+
+    private InMemoryResumeSearchService service(List<ResumeEntity> rows) {
+        InMemoryResumeSearchService service = new InMemoryResumeSearchService();
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "resumeRepository", repository(rows));
+        return service;
+    }
+
+    // One page per row, to walk the slices
+    private static ResumeRepository repository(List<ResumeEntity> rows) {
+        return (ResumeRepository) Proxy.newProxyInstance(ResumeRepository.class.getClassLoader(),
+                new Class<?>[]{ResumeRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findByStatus")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<ResumeEntity> matching = rows.stream().filter(row -> row.getStatus() == args[0]).toList();
+                    int page = ((Pageable) args[1]).getPageNumber();
+                    List<ResumeEntity> content = page < matching.size() ? List.of(matching.get(page)) : List.of();
+                    return new SliceImpl<>(content, Pageable.ofSize(1).withPage(page), page + 1 < matching.size());
+                });
+    }
+
+    private ResumeEntity stored(String jobId, Status status, ResumeDTO resume) throws Exception {
+        ResumeEntity entity = new ResumeEntity();
+        entity.setJobId(jobId);
+        entity.setFileName(jobId + ".pdf");
+        entity.setStatus(status);
+        if (resume != null) {
+            entity.setResultJson(objectMapper.writeValueAsString(resume));
+            entity.setSectionTextsJson(objectMapper.writeValueAsString(ResumeSearchDocument.sectionTexts(resume)));
+        }
+        return entity;
+    }
+
+    private static ResumeDTO resume(String firstName, String skillsLine) {
+        ProfileEntity profile = new ProfileEntity();
+        profile.setFirstName(firstName);
+        profile.setLastName("Dupont");
+        ResumeDTO resume = new ResumeDTO();
+        resume.setProfile(profile);
+        ResumeSectionEntity skills = new ResumeSectionEntity(SectionType.SKILLS, "COMPÉTENCES");
+        skills.addLine(new ResumeLineEntity(new ResumeTextItemEntity(skillsLine, 50f, 100f, 200f, 10f, "Helvetica", 10f, false)));
+        resume.setSections(new ArrayList<>(List.of(skills)));
+        String[] parts = skillsLine.split(":");
+        for (String name : parts[parts.length - 1].split(",")) {
+            resume.getSkills().add(new HardSkillEntity(name.trim(), parts.length > 1 ? parts[0].trim() : null));
+        }
+        return resume;
+    }
+
+    private static List<String> jobIds(InMemoryResumeSearchService service, String text, String skill) {
+        return service.search(new ResumeSearchQuery(text, skill, null, null), 0, 10).getResults().stream()
+                .map(ResumeSearchResultDTO::getJobId)
+                .toList();
+    }
+}
@@ -0,0 +1,127 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostgresIdempotencyStoreTest {
+
+    private final IdempotencyTable table = new IdempotencyTable();
+
+    @Test
+    void repeatedKeyReplaysTheFirstJob() {
+        PostgresIdempotencyStore store = store();
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-1"));
+        assertEquals(Optional.of("job-1"), store.reserve("key-1", "job-2"));
+        assertEquals(Optional.of("job-1"), store.find("key-1"));
+        assertEquals(Optional.empty(), store.find("key-2"));
+    }
+
+    @Test
+    void releasesOnlyTheJobHoldingTheKey() {
+        PostgresIdempotencyStore store = store();
+        store.reserve("key-1", "job-1");
+
+        store.release("key-1", "job-2");
+        assertEquals(Optional.of("job-1"), store.find("key-1"));
+
+        store.release("key-1", "job-1");
+        assertEquals(Optional.empty(), store.find("key-1"));
+    }
+
+    @Test
+    void expiredKeyIsTakenOverAndDeleted() {
+        PostgresIdempotencyStore store = store();
+        store.reserve("key-1", "job-1");
+        store.reserve("key-2", "job-2");
+
+        table.now.addAndGet(61);
+        assertEquals(Optional.empty(), store.find("key-1"));
+        // The expired row is reused in place
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-3"));
+        assertEquals(Optional.of("job-3"), store.find("key-1"));
+
+        store.deleteExpired();
+        assertEquals(Map.of("key-1", "job-3"), table.jobIds());
+    }
+
+    @Test
+    void keyReleasedBetweenTheTwoStatementsIsReservedAgain() {
+        PostgresIdempotencyStore store = store();
+        store.reserve("key-1", "job-1");
+
+        // The first attempt fails and releases its key while the retry reads it
+        table.beforeSelect = () -> table.rows.remove("key-1");
+        assertEquals(Optional.empty(), store.reserve("key-1", "job-2"));
+        assertEquals(Optional.of("job-2"), store.find("key-1"));
+    }
+
+    private PostgresIdempotencyStore store() {
+        PostgresIdempotencyStore store = new PostgresIdempotencyStore();
+        ReflectionTestUtils.setField(store, "jdbcTemplate", table);
+        ReflectionTestUtils.setField(store, "ttlSeconds", 60L);
+        return store;
+    }
+
+    // The idempotency_key table, for the statements of the store only, created_at in seconds
+    private static class IdempotencyTable extends JdbcTemplate {
+
+        private record Row(String jobId, long createdAt) {
+        }
+
+        private final Map<String, Row> rows = new HashMap<>();
+        private final AtomicLong now = new AtomicLong(1_000);
+        private Runnable beforeSelect = () -> { };
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            String key = (String) args[0];
+            if (sql.startsWith("INSERT")) {
+                Row row = rows.get(key);
+                if (row != null && !expired(row, (Long) args[2])) {
+                    return List.of();
+                }
+                rows.put(key, new Row((String) args[1], now.get()));
+                return List.of((T) args[1]);
+            }
+            Runnable hook = beforeSelect;
+            beforeSelect = () -> { };
+            hook.run();
+            Row row = rows.get(key);
+            return row != null && !expired(row, (Long) args[1]) ? List.of((T) row.jobId()) : List.of();
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            int before = rows.size();
+            if (sql.contains("job_id = ?")) {
+                Row row = rows.get((String) args[0]);
+                if (row != null && row.jobId().equals(args[1])) {
+                    rows.remove((String) args[0]);
+                }
+            } else {
+                rows.values().removeIf(row -> expired(row, (Long) args[0]));
+            }
+            return before - rows.size();
+        }
+
+        private Map<String, String> jobIds() {
+            Map<String, String> jobIds = new HashMap<>();
+            rows.forEach((key, row) -> jobIds.put(key, row.jobId()));
+            return jobIds;
+        }
+
+        private boolean expired(Row row, long ttlSeconds) {
+            return row.createdAt() < now.get() - ttlSeconds;
+        }
+    }
+}
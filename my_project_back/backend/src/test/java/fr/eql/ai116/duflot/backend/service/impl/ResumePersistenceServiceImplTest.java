@@ -0,0 +1,142 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.eql.ai116.duflot.backend.entity.ProfileEntity;
+import fr.eql.ai116.duflot.backend.entity.ResumeEntity;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO.TraceLevel;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.repository.ParsingTraceEntryRepository;
+import fr.eql.ai116.duflot.backend.repository.ResumeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResumePersistenceServiceImplTest {
+
+    // Resume rows by job id, what findByJobId reads
+    private final Map<String, ResumeEntity> rows = new ConcurrentHashMap<>();
+
+    @Test
+    void recordsJobsThatEndedWithoutAResume() {
+        ResumePersistenceServiceImpl service = service();
+        service.enqueue(trace("job-ok", Status.SUCCESS), new ResumeDTO());
+        service.enqueue(trace("job-failed", Status.FAILURE), null);
+        service.enqueue(trace("job-cancelled", Status.CANCELLED), null);
+        service.stop();
+
+        assertEquals(Optional.of(Status.SUCCESS), service.findStatus("job-ok"));
+        assertEquals(Optional.of(Status.FAILURE), service.findStatus("job-failed"));
+        assertEquals(Optional.of(Status.CANCELLED), service.findStatus("job-cancelled"));
+        assertEquals("job-failed.pdf", rows.get("job-failed").getFileName());
+        assertNull(rows.get("job-failed").getProfile());
+        assertEquals(Optional.empty(), service.findStatus("job-unknown"));
+    }
+
+    @Test
+    void replacesTheResultOfAPersistedJob() {
+        ResumePersistenceServiceImpl service = service();
+        ParsingTraceDTO first = trace("job-1", Status.SUCCESS);
+        first.setDocumentHash("hash");
+        ParsingTraceDTO second = trace("job-2", Status.SUCCESS);
+        second.setDocumentHash("hash");
+        ParsingTraceDTO cancelled = trace("job-3", Status.CANCELLED);
+        cancelled.setDocumentHash("hash");
+        service.enqueue(first, resume("Old"));
+        service.enqueue(second, resume("Old"));
+        service.enqueue(cancelled, null);
+        service.enqueueReplacement("job-1", resume("New"));
+        service.enqueueReplacement("job-unknown", resume("New"));
+        service.stop();
+
+        assertEquals(Map.of("job-1", "job-1.pdf", "job-2", "job-2.pdf"), service.findJobsByDocumentHash("hash"));
+        ResumeEntity replaced = rows.get("job-1");
+        assertEquals("New", replaced.getProfile().getFirstName());
+        assertEquals("job-1.pdf", replaced.getFileName());
+        assertEquals(Status.SUCCESS, replaced.getStatus());
+        assertEquals("Old", rows.get("job-2").getProfile().getFirstName());
+        assertNull(rows.get("job-unknown"));
+    }
+
+    private ResumePersistenceServiceImpl service() {
+        ResumePersistenceServiceImpl service = new ResumePersistenceServiceImpl();
+        ReflectionTestUtils.setField(service, "resumeRepository", repository(ResumeRepository.class));
+        ReflectionTestUtils.setField(service, "traceEntryRepository", repository(ParsingTraceEntryRepository.class));
+        ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(new NoTransactionManager()));
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "maxBatch", 4);
+        service.start();
+        return service;
+    }
+
+    // Only what the service calls: saveAll, and the finders on resumes
+    private <T> T repository(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "saveAll":
+                    List<Object> saved = new ArrayList<>();
+                    for (Object entity : (Iterable<?>) args[0]) {
+                        if (entity instanceof ResumeEntity resume) {
+                            rows.put(resume.getJobId(), resume);
+                        }
+                        saved.add(entity);
+                    }
+                    return saved;
+                case "findByJobId":
+                    return Optional.ofNullable(rows.get((String) args[0]));
+                case "findByDocumentHashAndStatus":
+                    return rows.values().stream()
+                            .filter(row -> args[0].equals(row.getDocumentHash()) && args[1] == row.getStatus())
+                            .toList();
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    private static ParsingTraceDTO trace(String jobId, Status status) {
+        ParsingTraceDTO trace = new ParsingTraceDTO(jobId, jobId + ".pdf", TraceLevel.OFF);
+        trace.setOverallStatus(status);
+        return trace;
+    }
+
+    private static ResumeDTO resume(String firstName) {
+        ProfileEntity profile = new ProfileEntity();
+        profile.setFirstName(firstName);
+        ResumeDTO resume = new ResumeDTO();
+        resume.setProfile(profile);
+        return resume;
+    }
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
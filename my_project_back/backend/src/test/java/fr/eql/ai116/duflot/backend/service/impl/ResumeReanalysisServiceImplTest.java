@@ -0,0 +1,127 @@
+package fr.eql.ai116.duflot.backend.service.impl;
+
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifactStore;
+import fr.eql.ai116.duflot.backend.artifact.PipelineArtifacts;
+import fr.eql.ai116.duflot.backend.entity.Status;
+import fr.eql.ai116.duflot.backend.entity.dto.ParsingTraceDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ReanalysisReportDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.ResumeDTO;
+import fr.eql.ai116.duflot.backend.entity.dto.SearchResultPageDTO;
+import fr.eql.ai116.duflot.backend.search.ResumeSearchQuery;
+import fr.eql.ai116.duflot.backend.service.ResumeParsingService;
+import fr.eql.ai116.duflot.backend.service.ResumePersistenceService;
+import fr.eql.ai116.duflot.backend.service.ResumeSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResumeReanalysisServiceImplTest {
+
+    // File name each job was indexed with, and the jobs whose persisted result was replaced
+    private final Map<String, String> indexed = new ConcurrentHashMap<>();
+    private final Set<String> replaced = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void refreshesEveryJobThatUploadedTheDocument() throws Exception {
+        PipelineArtifactStore store = new PipelineArtifactStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directory", Files.createTempDirectory("reanalysis_test_").toString());
+        // Written by the parse of job-1, job-2 uploaded the same PDF later
+        store.save(new PipelineArtifacts("shared", "job-1", "first.pdf", List.of()));
+        // Its only job was cancelled, nothing to refresh
+        store.save(new PipelineArtifacts("cancelled", "job-3", "third.pdf", List.of()));
+
+        ResumeReanalysisServiceImpl service = new ResumeReanalysisServiceImpl();
+        ReflectionTestUtils.setField(service, "artifactStore", store);
+        ReflectionTestUtils.setField(service, "resumeParsingService", parsingService());
+        ReflectionTestUtils.setField(service, "resumeSearchService", searchService());
+        ReflectionTestUtils.setField(service, "resumePersistenceService",
+                persistenceService(Map.of("shared", Map.of("job-1", "first.pdf", "job-2", "second.pdf"))));
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+
+        service.startReanalysis();
+        ReanalysisReportDTO report = awaitReport(service);
+        assertEquals(Status.SUCCESS, report.getStatus());
+        assertEquals(2, report.getProcessedDocuments());
+        assertEquals(Map.of("job-1", "first.pdf", "job-2", "second.pdf"), indexed);
+        assertEquals(Set.of("job-1", "job-2"), replaced);
+    }
+
+    private static ReanalysisReportDTO awaitReport(ResumeReanalysisServiceImpl service) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReanalysisReportDTO report = service.getReport();
+        while (report.getStatus() == Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            report = service.getReport();
+        }
+        return report;
+    }
+
+    // Only Steps 3 and 4 are called by re-analysis
+    private static ResumeParsingService parsingService() {
+        return (ResumeParsingService) Proxy.newProxyInstance(ResumeParsingService.class.getClassLoader(),
+                new Class<?>[]{ResumeParsingService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("analyzeLines")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return new ResumeDTO();
+                });
+    }
+
+    private ResumeSearchService searchService() {
+        return new ResumeSearchService() {
+            @Override
+            public void index(String jobId, ResumeDTO resume) {
+                indexed.put(jobId, resume.getFileName());
+            }
+
+            @Override
+            public SearchResultPageDTO search(ResumeSearchQuery query, int page, int size) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void compact() {
+            }
+        };
+    }
+
+    private ResumePersistenceService persistenceService(Map<String, Map<String, String>> jobsByHash) {
+        return new ResumePersistenceService() {
+            @Override
+            public boolean enqueue(ParsingTraceDTO traceData, ResumeDTO resume) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean enqueueReplacement(String jobId, ResumeDTO resume) {
+                replaced.add(jobId);
+                return true;
+            }
+
+            @Override
+            public Map<String, String> findJobsByDocumentHash(String documentHash) {
+                return jobsByHash.getOrDefault(documentHash, Map.of());
+            }
+
+            @Override
+            public Optional<Status> findStatus(String jobId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public int getPendingCount() {
+                return 0;
+            }
+        };
+    }
+}